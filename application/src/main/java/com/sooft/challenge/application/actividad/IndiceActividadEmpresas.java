@@ -0,0 +1,194 @@
+package com.sooft.challenge.application.actividad;
+
+import com.sooft.challenge.domain.model.ActividadEmpresa;
+import com.sooft.challenge.domain.model.CursorEmpresa;
+import com.sooft.challenge.domain.model.Empresa;
+import com.sooft.challenge.domain.model.PaginaCursor;
+import com.sooft.challenge.domain.model.Transferencia;
+import com.sooft.challenge.domain.port.in.EmpresasConTransferenciasRecientesUseCase;
+import com.sooft.challenge.domain.port.out.EmpresaRepositoryPort;
+import com.sooft.challenge.domain.port.out.TransferenciaRepositoryPort;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Primary
+@ConditionalOnProperty(name = "empresas.actividad.indice.enabled", havingValue = "true")
+@Slf4j
+public class IndiceActividadEmpresas implements EmpresasConTransferenciasRecientesUseCase {
+
+    static final int DIAS_RETENIDOS = 32;
+
+    private static final Comparator<Actividad> ORDEN = Comparator.comparing((Actividad actividad) -> actividad.razonSocial)
+            .thenComparing(actividad -> actividad.idEmpresa);
+
+    private final EmpresaRepositoryPort empresaRepositoryPort;
+    private final TransferenciaRepositoryPort transferenciaRepositoryPort;
+    private final Clock clock;
+    private final Map<String, Actividad> actividades = new ConcurrentHashMap<>();
+
+    public IndiceActividadEmpresas(EmpresaRepositoryPort empresaRepositoryPort,
+                                   TransferenciaRepositoryPort transferenciaRepositoryPort,
+                                   Clock clock) {
+        this.empresaRepositoryPort = empresaRepositoryPort;
+        this.transferenciaRepositoryPort = transferenciaRepositoryPort;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void reconstruir() {
+        var desde = LocalDate.now(clock).minusDays(DIAS_RETENIDOS - 1);
+        var filas = transferenciaRepositoryPort.contarActividadDesde(desde);
+        actividades.clear();
+        for (ActividadEmpresa fila : filas) {
+            actividades.computeIfAbsent(fila.getIdEmpresa(), id -> new Actividad(id, fila.getRazonSocial()))
+                    .registrar(fila.getFecha().toEpochDay(), fila.getCantidad());
+        }
+        log.info("Índice de actividad reconstruido con {} empresas activas desde {}", actividades.size(), desde);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void registrar(Transferencia transferencia) {
+        var idEmpresa = transferencia.getIdEmpresa();
+        if (idEmpresa == null || transferencia.getFecha() == null) {
+            return;
+        }
+        var razonSocial = Optional.ofNullable(actividades.get(idEmpresa))
+                .map(actividad -> actividad.razonSocial)
+                .or(() -> empresaRepositoryPort.findById(idEmpresa).map(Empresa::getRazonSocial));
+        if (razonSocial.isEmpty()) {
+            log.warn("Se ignora la transferencia {} de la empresa inexistente {}", transferencia.getId(), idEmpresa);
+            return;
+        }
+        actividades.compute(idEmpresa, (id, actividad) -> {
+            var vigente = actividad != null ? actividad : new Actividad(id, razonSocial.get());
+            vigente.registrar(transferencia.getFecha().toEpochDay(), 1);
+            return vigente;
+        });
+    }
+
+    public long transferenciasEnElUltimoMes(String idEmpresa) {
+        var actividad = actividades.get(idEmpresa);
+        var hoy = LocalDate.now(clock);
+        return actividad == null ? 0 : actividad.cantidadEntre(hoy.minusMonths(1).toEpochDay(), hoy.toEpochDay());
+    }
+
+    @Override
+    public Page<Empresa> findEmpresasConTransferenciasRecientes(Pageable pageable) {
+        var activas = activasOrdenadas();
+        int desde = (int) Math.min(pageable.getOffset(), activas.size());
+        int hasta = Math.min(desde + pageable.getPageSize(), activas.size());
+        return new PageImpl<>(cargar(activas.subList(desde, hasta)), pageable, activas.size());
+    }
+
+    @Override
+    public PaginaCursor<Empresa> findEmpresasConTransferenciasRecientes(CursorEmpresa cursor, int tamanio) {
+        PaginaCursor.validarTamanio(tamanio);
+        var activas = activasOrdenadas();
+        int desde = cursor == null ? 0 : posicionPosterior(activas, cursor);
+        int hasta = Math.min(desde + tamanio, activas.size());
+        var contenido = new SliceImpl<>(cargar(activas.subList(desde, hasta)), PageRequest.ofSize(tamanio), hasta < activas.size());
+        return PaginaCursor.de(contenido, empresa -> CursorEmpresa.of(empresa.getRazonSocial(), empresa.getId()));
+    }
+
+    private List<Actividad> activasOrdenadas() {
+        var hoy = LocalDate.now(clock);
+        long desde = hoy.minusMonths(1).toEpochDay();
+        long hasta = hoy.toEpochDay();
+        List<Actividad> activas = new ArrayList<>();
+        for (String idEmpresa : actividades.keySet()) {
+            var actividad = actividades.computeIfPresent(idEmpresa, (id, vigente) -> vigente.vencida(hasta) ? null : vigente);
+            if (actividad != null && actividad.razonSocial != null && actividad.cantidadEntre(desde, hasta) > 0) {
+                activas.add(actividad);
+            }
+        }
+        activas.sort(ORDEN);
+        return activas;
+    }
+
+    private int posicionPosterior(List<Actividad> activas, CursorEmpresa cursor) {
+        var referencia = new Actividad(cursor.getId(), cursor.getClave());
+        int posicion = Collections.binarySearch(activas, referencia, ORDEN);
+        return posicion >= 0 ? posicion + 1 : -posicion - 1;
+    }
+
+    private List<Empresa> cargar(List<Actividad> pagina) {
+        if (pagina.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Empresa> empresas = empresaRepositoryPort.findAllById(pagina.stream().map(actividad -> actividad.idEmpresa).toList())
+                .stream()
+                .collect(Collectors.toMap(Empresa::getId, Function.identity()));
+        return pagina.stream()
+                .map(actividad -> empresas.get(actividad.idEmpresa))
+                .filter(empresa -> empresa != null)
+                .toList();
+    }
+
+    private static final class Actividad {
+
+        private final String idEmpresa;
+        private final String razonSocial;
+        private final long[] dias = new long[DIAS_RETENIDOS];
+        private final long[] cantidades = new long[DIAS_RETENIDOS];
+
+        private Actividad(String idEmpresa, String razonSocial) {
+            this.idEmpresa = idEmpresa;
+            this.razonSocial = razonSocial;
+            Arrays.fill(dias, Long.MIN_VALUE);
+        }
+
+        private synchronized void registrar(long dia, long cantidad) {
+            int slot = Math.floorMod(dia, DIAS_RETENIDOS);
+            if (dias[slot] > dia) {
+                return;
+            }
+            if (dias[slot] != dia) {
+                dias[slot] = dia;
+                cantidades[slot] = 0;
+            }
+            cantidades[slot] += cantidad;
+        }
+
+        private synchronized long cantidadEntre(long desde, long hasta) {
+            long total = 0;
+            for (int slot = 0; slot < DIAS_RETENIDOS; slot++) {
+                if (dias[slot] >= desde && dias[slot] <= hasta) {
+                    total += cantidades[slot];
+                }
+            }
+            return total;
+        }
+
+        private synchronized boolean vencida(long hoy) {
+            for (long dia : dias) {
+                if (dia > hoy - DIAS_RETENIDOS) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
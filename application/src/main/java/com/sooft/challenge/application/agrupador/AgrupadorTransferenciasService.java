@@ -0,0 +1,233 @@
+package com.sooft.challenge.application.agrupador;
+
+import com.sooft.challenge.application.service.TransferenciaService;
+import com.sooft.challenge.domain.exception.ResultadoTransferenciaDesconocidoException;
+import com.sooft.challenge.domain.model.Monto;
+import com.sooft.challenge.domain.model.ResultadoTransferencia;
+import com.sooft.challenge.domain.model.SolicitudTransferencia;
+import com.sooft.challenge.domain.model.Transferencia;
+import com.sooft.challenge.domain.port.in.RealizarTransferenciaUseCase;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+@Service
+@Primary
+@ConditionalOnExpression("${transferencias.group-commit.enabled:false} and !${ledger.enabled:false}")
+@Slf4j
+public class AgrupadorTransferenciasService implements RealizarTransferenciaUseCase {
+
+    private final TransferenciaService transferenciaService;
+    private final long ventanaNanos;
+    private final int loteMaximo;
+    private final Duration esperaMaxima;
+    private final List<Thread> hilos = new ArrayList<>();
+    private final BlockingQueue<Pendiente> cola = new LinkedBlockingQueue<>();
+    private final LongAdder transferenciasAgrupadas = new LongAdder();
+    private final LongAdder lotesEjecutados = new LongAdder();
+    private final LongAdder tiempoEsperaNanos = new LongAdder();
+    private volatile boolean activo = true;
+
+    public AgrupadorTransferenciasService(TransferenciaService transferenciaService,
+                                          @Value("${transferencias.group-commit.ventana:2ms}") Duration ventana,
+                                          @Value("${transferencias.group-commit.lote-maximo:64}") int loteMaximo,
+                                          @Value("${transferencias.group-commit.hilos:1}") int cantidadHilos,
+                                          @Value("${transferencias.group-commit.espera-maxima:30s}") Duration esperaMaxima) {
+        if (loteMaximo < 1 || cantidadHilos < 1) {
+            throw new IllegalArgumentException("El tamaño de lote y la cantidad de hilos del agrupador deben ser positivos");
+        }
+        if (esperaMaxima.isNegative() || esperaMaxima.isZero()) {
+            throw new IllegalArgumentException("La espera máxima del agrupador debe ser positiva");
+        }
+        this.transferenciaService = transferenciaService;
+        this.ventanaNanos = ventana.toNanos();
+        this.loteMaximo = loteMaximo;
+        this.esperaMaxima = esperaMaxima;
+        for (int indice = 0; indice < cantidadHilos; indice++) {
+            hilos.add(new Thread(this::ejecutar, "transferencias-group-commit-" + indice));
+        }
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        hilos.forEach(Thread::start);
+        log.info("Agrupador de transferencias iniciado. Ventana: {} µs, lote máximo: {}, hilos: {}",
+                TimeUnit.NANOSECONDS.toMicros(ventanaNanos), loteMaximo, hilos.size());
+    }
+
+    @PreDestroy
+    public void detener() throws InterruptedException {
+        activo = false;
+        List<Pendiente> sinProcesar = new ArrayList<>();
+        cola.drainTo(sinProcesar);
+        sinProcesar.forEach(pendiente -> pendiente.resultado.completeExceptionally(detenido()));
+        if (!sinProcesar.isEmpty()) {
+            log.warn("Se detiene el agrupador con {} transferencias sin procesar", sinProcesar.size());
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+    }
+
+    @Override
+    public Transferencia realizarTransferencia(String cuentaDebito, String idEmpresaCredito, String cuentaCredito, Monto importe) {
+        return realizarTransferencia(SolicitudTransferencia.builder()
+                .cuentaDebito(cuentaDebito)
+                .idEmpresaCredito(idEmpresaCredito)
+                .cuentaCredito(cuentaCredito)
+                .importe(importe)
+                .build(), transferencia -> { });
+    }
+
+    @Override
+    public Transferencia realizarTransferencia(SolicitudTransferencia solicitud, Consumer<Transferencia> alConfirmar) {
+        if (!activo) {
+            throw detenido();
+        }
+        var pendiente = new Pendiente(solicitud, alConfirmar);
+        cola.add(pendiente);
+        if (!activo && cola.remove(pendiente)) {
+            throw detenido();
+        }
+        try {
+            try {
+                return pendiente.resultado.get(esperaMaxima.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (cola.remove(pendiente)) {
+                    throw new IllegalStateException("La transferencia no se procesó dentro de la espera máxima del agrupador");
+                }
+                return pendiente.resultado.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (cola.remove(pendiente)) {
+                throw new IllegalStateException("Se interrumpió la espera de la transferencia", e);
+            }
+            throw new ResultadoTransferenciaDesconocidoException(e);
+        }
+    }
+
+    @Override
+    public List<ResultadoTransferencia> realizarTransferencias(List<SolicitudTransferencia> solicitudes) {
+        return transferenciaService.realizarTransferencias(solicitudes);
+    }
+
+    public long transferenciasAgrupadas() {
+        return transferenciasAgrupadas.sum();
+    }
+
+    public long lotesEjecutados() {
+        return lotesEjecutados.sum();
+    }
+
+    public double tiempoEsperaTotalNanos() {
+        return tiempoEsperaNanos.sum();
+    }
+
+    public int pendientes() {
+        return cola.size();
+    }
+
+    private void ejecutar() {
+        List<Pendiente> lote = new ArrayList<>(loteMaximo);
+        while (activo) {
+            try {
+                var primera = cola.poll(100, TimeUnit.MILLISECONDS);
+                if (primera == null) {
+                    continue;
+                }
+                lote.add(primera);
+                long limite = System.nanoTime() + ventanaNanos;
+                while (lote.size() < loteMaximo) {
+                    long restante = limite - System.nanoTime();
+                    if (restante <= 0 && cola.drainTo(lote, loteMaximo - lote.size()) == 0) {
+                        break;
+                    }
+                    var siguiente = restante > 0 ? cola.poll(restante, TimeUnit.NANOSECONDS) : null;
+                    if (siguiente != null) {
+                        lote.add(siguiente);
+                    }
+                }
+                procesar(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lote.forEach(pendiente -> pendiente.resultado.completeExceptionally(e));
+                return;
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void procesar(List<Pendiente> lote) {
+        long inicio = System.nanoTime();
+        lote.forEach(pendiente -> tiempoEsperaNanos.add(inicio - pendiente.encolado));
+        transferenciasAgrupadas.add(lote.size());
+        lotesEjecutados.increment();
+
+        List<ResultadoTransferencia> resultados;
+        try {
+            resultados = transferenciaService.realizarTransferencias(lote.stream().map(pendiente -> pendiente.solicitud).toList(),
+                    lote.stream().map(pendiente -> pendiente.alConfirmar).toList());
+        } catch (RuntimeException e) {
+            log.warn("Falló la transacción agrupada de {} transferencias. Se reintentan individualmente.", lote.size(), e);
+            lote.forEach(this::procesarIndividualmente);
+            return;
+        }
+
+        for (ResultadoTransferencia resultado : resultados) {
+            var pendiente = lote.get(resultado.getIndice());
+            if (resultado.isExitosa()) {
+                pendiente.resultado.complete(resultado.getTransferencia());
+            } else {
+                pendiente.resultado.completeExceptionally(resultado.getError());
+            }
+        }
+    }
+
+    private void procesarIndividualmente(Pendiente pendiente) {
+        try {
+            pendiente.resultado.complete(transferenciaService.realizarTransferencia(pendiente.solicitud, pendiente.alConfirmar));
+        } catch (RuntimeException e) {
+            pendiente.resultado.completeExceptionally(e);
+        }
+    }
+
+    private static IllegalStateException detenido() {
+        return new IllegalStateException("El agrupador de transferencias está detenido");
+    }
+
+    private static final class Pendiente {
+
+        private final SolicitudTransferencia solicitud;
+        private final Consumer<Transferencia> alConfirmar;
+        private final long encolado = System.nanoTime();
+        private final CompletableFuture<Transferencia> resultado = new CompletableFuture<>();
+
+        private Pendiente(SolicitudTransferencia solicitud, Consumer<Transferencia> alConfirmar) {
+            this.solicitud = solicitud;
+            this.alConfirmar = alConfirmar;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.sooft.challenge.application.idempotency;
+
+import com.sooft.challenge.application.service.EmpresaService;
+import com.sooft.challenge.domain.exception.IdempotencyKeyReutilizadaException;
+import com.sooft.challenge.domain.exception.IdempotentRequestException;
+import com.sooft.challenge.domain.model.Empresa;
+import com.sooft.challenge.domain.model.IdempotencyRecord;
+import com.sooft.challenge.domain.port.in.AdherirEmpresaUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Function;
+
+@Service
+@Primary
+@RequiredArgsConstructor
+public class AdhesionIdempotenteService implements AdherirEmpresaUseCase {
+
+    static final String AMBITO = "empresas:";
+
+    private final EmpresaService empresaService;
+    private final CoordinadorIdempotencia coordinadorIdempotencia;
+
+    @Override
+    public Empresa adherirEmpresa(Empresa empresa, String idempotencyKey, Function<Empresa, byte[]> responseSerializer) {
+        var clave = AMBITO + idempotencyKey;
+        return coordinadorIdempotencia.ejecutar(clave,
+                registro -> repetir(registro, idempotencyKey),
+                () -> empresaService.adherirEmpresa(empresa, clave, responseSerializer));
+    }
+
+    private RuntimeException repetir(IdempotencyRecord registro, String idempotencyKey) {
+        if (registro.getRequestHash() != null) {
+            return new IdempotencyKeyReutilizadaException(idempotencyKey);
+        }
+        return new IdempotentRequestException(registro.getResponseBody(), registro.getResponseStatus());
+    }
+}
@@ -0,0 +1,98 @@
+package com.sooft.challenge.application.idempotency;
+
+import com.sooft.challenge.domain.exception.IdempotencyKeyEnCursoException;
+import com.sooft.challenge.domain.exception.ResultadoTransferenciaDesconocidoException;
+import com.sooft.challenge.domain.model.IdempotencyRecord;
+import com.sooft.challenge.domain.port.out.IdempotencyKeyPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class CoordinadorIdempotencia {
+
+    private static final long SONDEO_MILLIS = 50;
+
+    private final IdempotencyKeyPort idempotencyKeyPort;
+    private final Duration espera;
+    private final Map<String, CompletableFuture<Void>> enVuelo = new ConcurrentHashMap<>();
+
+    public CoordinadorIdempotencia(IdempotencyKeyPort idempotencyKeyPort,
+                                   @Value("${idempotency.reserva.espera:PT10S}") Duration espera) {
+        this.idempotencyKeyPort = idempotencyKeyPort;
+        this.espera = espera;
+    }
+
+    public <T> T ejecutar(String idempotencyKey, Function<IdempotencyRecord, RuntimeException> alRepetir, Supplier<T> operacion) {
+        var vuelo = new CompletableFuture<Void>();
+        var previo = enVuelo.putIfAbsent(idempotencyKey, vuelo);
+        if (previo != null) {
+            log.info("[IDEMPOTENCY-KEY:{}] Petición concurrente detectada. Esperando el resultado de la primera.", idempotencyKey);
+            esperar(previo, idempotencyKey);
+            return ejecutarConReserva(idempotencyKey, alRepetir, operacion);
+        }
+        try {
+            return ejecutarConReserva(idempotencyKey, alRepetir, operacion);
+        } finally {
+            enVuelo.remove(idempotencyKey, vuelo);
+            vuelo.complete(null);
+        }
+    }
+
+    private <T> T ejecutarConReserva(String idempotencyKey, Function<IdempotencyRecord, RuntimeException> alRepetir, Supplier<T> operacion) {
+        long limite = System.nanoTime() + espera.toNanos();
+        while (!idempotencyKeyPort.reservar(idempotencyKey)) {
+            var registro = idempotencyKeyPort.findById(idempotencyKey);
+            if (registro.isPresent()) {
+                throw alRepetir.apply(registro.get());
+            }
+            if (System.nanoTime() >= limite) {
+                log.warn("[IDEMPOTENCY-KEY:{}] La clave sigue reservada por otra petición.", idempotencyKey);
+                throw new IdempotencyKeyEnCursoException(idempotencyKey);
+            }
+            dormir(idempotencyKey);
+        }
+        try {
+            return operacion.get();
+        } catch (ResultadoTransferenciaDesconocidoException e) {
+            log.warn("[IDEMPOTENCY-KEY:{}] Resultado desconocido. La reserva se mantiene hasta su vencimiento.", idempotencyKey);
+            throw e;
+        } catch (RuntimeException e) {
+            idempotencyKeyPort.liberar(idempotencyKey);
+            throw e;
+        }
+    }
+
+    private void esperar(CompletableFuture<Void> vuelo, String idempotencyKey) {
+        try {
+            vuelo.get(espera.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyEnCursoException(idempotencyKey);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyEnCursoException(idempotencyKey);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void dormir(String idempotencyKey) {
+        try {
+            Thread.sleep(SONDEO_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyEnCursoException(idempotencyKey);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.sooft.challenge.application.idempotency;
+
+import com.sooft.challenge.domain.port.out.IdempotencyKeyPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+@ConditionalOnProperty(name = "idempotency.purga.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class PurgaIdempotencyKeysService {
+
+    private final IdempotencyKeyPort idempotencyKeyPort;
+    private final int lote;
+    private final int lotesMaximos;
+
+    public PurgaIdempotencyKeysService(IdempotencyKeyPort idempotencyKeyPort,
+                                       @Value("${idempotency.purga.lote:500}") int lote,
+                                       @Value("${idempotency.purga.lotes-maximos:100}") int lotesMaximos) {
+        if (lote < 1 || lotesMaximos < 1) {
+            throw new IllegalArgumentException("El lote y la cantidad de lotes de la purga deben ser positivos.");
+        }
+        this.idempotencyKeyPort = idempotencyKeyPort;
+        this.lote = lote;
+        this.lotesMaximos = lotesMaximos;
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purga.intervalo:PT5M}", initialDelayString = "${idempotency.purga.intervalo:PT5M}")
+    public int purgar() {
+        int total = 0;
+        for (int lotes = 0; lotes < lotesMaximos; lotes++) {
+            int borradas = idempotencyKeyPort.purgarExpiradas(lote);
+            total += borradas;
+            if (borradas < lote) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Purga de claves de idempotencia: {} claves expiradas eliminadas", total);
+        }
+        return total;
+    }
+}
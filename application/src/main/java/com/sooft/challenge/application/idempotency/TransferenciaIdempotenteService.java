@@ -0,0 +1,66 @@
+package com.sooft.challenge.application.idempotency;
+
+import com.sooft.challenge.domain.exception.IdempotencyKeyReutilizadaException;
+import com.sooft.challenge.domain.exception.IdempotentRequestException;
+import com.sooft.challenge.domain.model.IdempotencyRecord;
+import com.sooft.challenge.domain.model.SolicitudTransferencia;
+import com.sooft.challenge.domain.model.Transferencia;
+import com.sooft.challenge.domain.port.in.RealizarTransferenciaIdempotenteUseCase;
+import com.sooft.challenge.domain.port.in.RealizarTransferenciaUseCase;
+import com.sooft.challenge.domain.port.out.IdempotencyKeyPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransferenciaIdempotenteService implements RealizarTransferenciaIdempotenteUseCase {
+
+    static final String AMBITO = "transferencias:";
+
+    private final RealizarTransferenciaUseCase realizarTransferenciaUseCase;
+    private final IdempotencyKeyPort idempotencyKeyPort;
+    private final CoordinadorIdempotencia coordinadorIdempotencia;
+    private final Clock clock;
+
+    @Override
+    public Transferencia realizarTransferencia(SolicitudTransferencia solicitud, String idempotencyKey,
+                                               Function<Transferencia, byte[]> responseSerializer) {
+        var huella = solicitud.huella();
+        var clave = AMBITO + idempotencyKey;
+        var existente = idempotencyKeyPort.findById(clave);
+        if (existente.isPresent()) {
+            throw repetir(existente.get(), huella, idempotencyKey);
+        }
+        return coordinadorIdempotencia.ejecutar(clave,
+                registro -> repetir(registro, huella, idempotencyKey),
+                () -> transferir(solicitud, huella, clave, responseSerializer));
+    }
+
+    private Transferencia transferir(SolicitudTransferencia solicitud, byte[] huella, String clave,
+                                     Function<Transferencia, byte[]> responseSerializer) {
+        return realizarTransferenciaUseCase.realizarTransferencia(solicitud, transferencia ->
+                idempotencyKeyPort.save(IdempotencyRecord.builder()
+                        .idempotencyKey(clave)
+                        .requestHash(huella)
+                        .responseBody(responseSerializer.apply(transferencia))
+                        .responseStatus(201)
+                        .createdAt(LocalDateTime.now(clock))
+                        .build()));
+    }
+
+    private RuntimeException repetir(IdempotencyRecord registro, byte[] huella, String idempotencyKey) {
+        if (registro.getRequestHash() == null || !MessageDigest.isEqual(registro.getRequestHash(), huella)) {
+            log.warn("[IDEMPOTENCY-KEY:{}] La clave fue reutilizada con una solicitud distinta.", idempotencyKey);
+            return new IdempotencyKeyReutilizadaException(idempotencyKey);
+        }
+        log.info("[IDEMPOTENCY-KEY:{}] Transferencia duplicada detectada. Devolviendo respuesta guardada.", idempotencyKey);
+        return new IdempotentRequestException(registro.getResponseBody(), registro.getResponseStatus());
+    }
+}
@@ -0,0 +1,255 @@
+package com.sooft.challenge.application.ledger;
+
+import com.sooft.challenge.domain.exception.EmpresaNotFoundException;
+import com.sooft.challenge.domain.exception.FondosInsuficientesException;
+import com.sooft.challenge.domain.exception.MontoNegativoException;
+import com.sooft.challenge.domain.exception.TransferenciaException;
+import com.sooft.challenge.domain.exception.TransferenciaIdempotenteNoSoportadaException;
+import com.sooft.challenge.domain.model.AsientoLedger;
+import com.sooft.challenge.domain.model.Empresa;
+import com.sooft.challenge.domain.model.Monto;
+import com.sooft.challenge.domain.model.NumeroCuenta;
+import com.sooft.challenge.domain.model.ResultadoTransferencia;
+import com.sooft.challenge.domain.model.SolicitudTransferencia;
+import com.sooft.challenge.domain.model.Transferencia;
+import com.sooft.challenge.domain.port.in.RealizarTransferenciaUseCase;
+import com.sooft.challenge.domain.port.out.EmpresaRepositoryPort;
+import com.sooft.challenge.domain.port.out.LedgerCheckpointPort;
+import com.sooft.challenge.domain.port.out.LedgerJournalPort;
+import com.sooft.challenge.domain.port.out.OutboxPort;
+import com.sooft.challenge.domain.port.out.TransferenciaRepositoryPort;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+@Service
+@Primary
+@ConditionalOnProperty(name = "ledger.enabled", havingValue = "true")
+@Slf4j
+public class LedgerTransferenciaService implements RealizarTransferenciaUseCase {
+
+    private static final Comparator<AsientoLedger> ORDEN_CONFIRMACION = Comparator.comparingLong(AsientoLedger::getOrden)
+            .thenComparingInt(AsientoLedger::getParticion)
+            .thenComparingLong(AsientoLedger::getSecuencia);
+
+    private final EmpresaRepositoryPort empresaRepositoryPort;
+    private final LedgerJournalPort ledgerJournalPort;
+    private final LedgerCheckpointPort ledgerCheckpointPort;
+    private final Clock clock;
+    private final int cantidadParticiones;
+    private final int loteMaximo;
+    private final ProyectorLedger proyector;
+    private final Map<String, Empresa> empresasPorCuenta = new ConcurrentHashMap<>();
+    private final Map<String, Empresa> empresasPorCodigo = new ConcurrentHashMap<>();
+    private final Set<String> cuentasCargadas = ConcurrentHashMap.newKeySet();
+    private final AtomicLong orden = new AtomicLong();
+    private ParticionLedger[] particiones;
+
+    public LedgerTransferenciaService(EmpresaRepositoryPort empresaRepositoryPort,
+                                      TransferenciaRepositoryPort transferenciaRepositoryPort,
+                                      LedgerJournalPort ledgerJournalPort,
+                                      LedgerCheckpointPort ledgerCheckpointPort,
+                                      OutboxPort outboxPort,
+                                      PlatformTransactionManager transactionManager,
+                                      Clock clock,
+                                      @Value("${ledger.particiones:4}") int cantidadParticiones,
+                                      @Value("${ledger.lote-maximo:256}") int loteMaximo,
+                                      @Value("${ledger.proyeccion.reintentos:5}") int reintentosProyeccion,
+                                      @Value("${ledger.proyeccion.espera-reintento:1s}") Duration esperaReintento) {
+        if (cantidadParticiones < 1 || loteMaximo < 1) {
+            throw new IllegalArgumentException("La cantidad de particiones y el tamaño de lote del ledger deben ser positivos");
+        }
+        if (reintentosProyeccion < 1) {
+            throw new IllegalArgumentException("La cantidad de intentos de proyección del ledger debe ser positiva");
+        }
+        this.empresaRepositoryPort = empresaRepositoryPort;
+        this.ledgerJournalPort = ledgerJournalPort;
+        this.ledgerCheckpointPort = ledgerCheckpointPort;
+        this.clock = clock;
+        this.cantidadParticiones = cantidadParticiones;
+        this.loteMaximo = loteMaximo;
+        this.proyector = new ProyectorLedger(empresaRepositoryPort, transferenciaRepositoryPort, ledgerJournalPort, ledgerCheckpointPort,
+                outboxPort, new TransactionTemplate(transactionManager), loteMaximo, reintentosProyeccion, esperaReintento);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        particiones = new ParticionLedger[cantidadParticiones];
+        long[] ultimasSecuencias = new long[cantidadParticiones];
+        List<AsientoLedger> pendientes = new ArrayList<>();
+        for (int indice = 0; indice < cantidadParticiones; indice++) {
+            var checkpoint = ledgerCheckpointPort.ultimaSecuenciaProyectada(indice);
+            pendientes.addAll(ledgerJournalPort.leerDesde(indice, checkpoint));
+            ultimasSecuencias[indice] = Math.max(checkpoint, ledgerJournalPort.ultimaSecuencia(indice));
+            orden.accumulateAndGet(ledgerJournalPort.ultimoOrden(indice), Math::max);
+        }
+        if (!pendientes.isEmpty()) {
+            pendientes.sort(ORDEN_CONFIRMACION);
+            log.info("Reproyectando {} asientos del journal en orden de confirmación", pendientes.size());
+            for (int desde = 0; desde < pendientes.size(); desde += loteMaximo) {
+                proyector.proyectar(pendientes.subList(desde, Math.min(desde + loteMaximo, pendientes.size())));
+            }
+        }
+        for (int indice = 0; indice < cantidadParticiones; indice++) {
+            particiones[indice] = new ParticionLedger(indice, ultimasSecuencias[indice], ledgerJournalPort, empresaRepositoryPort,
+                    this::alConfirmar, orden, loteMaximo);
+        }
+        proyector.iniciar();
+        for (ParticionLedger particion : particiones) {
+            particion.iniciar();
+        }
+        log.info("Ledger de transferencias iniciado con {} particiones", cantidadParticiones);
+    }
+
+    @PreDestroy
+    public void detener() throws InterruptedException {
+        for (ParticionLedger particion : particiones) {
+            particion.detener();
+        }
+        proyector.detener();
+        log.info("Ledger de transferencias detenido");
+    }
+
+    @Override
+    public Transferencia realizarTransferencia(String cuentaDebito, String idEmpresaCredito, String cuentaCredito, Monto importe) {
+        log.info("Iniciando transferencia en ledger de {} desde cuenta {} hacia cuenta {} (Empresa Crédito: {})",
+                importe, cuentaDebito, cuentaCredito, idEmpresaCredito);
+        var asiento = esperar(enviar(cuentaDebito, idEmpresaCredito, cuentaCredito, importe));
+        log.info("Transferencia confirmada en el journal (partición {}, secuencia {})", asiento.getParticion(), asiento.getSecuencia());
+        return aTransferencia(asiento);
+    }
+
+    @Override
+    public Transferencia realizarTransferencia(SolicitudTransferencia solicitud, Consumer<Transferencia> alConfirmar) {
+        throw new TransferenciaIdempotenteNoSoportadaException();
+    }
+
+    @Override
+    public List<ResultadoTransferencia> realizarTransferencias(List<SolicitudTransferencia> solicitudes) {
+        log.info("Iniciando lote de {} transferencias en ledger", solicitudes.size());
+        List<CompletableFuture<AsientoLedger>> envios = new ArrayList<>(solicitudes.size());
+        for (SolicitudTransferencia solicitud : solicitudes) {
+            try {
+                envios.add(enviar(solicitud.getCuentaDebito(), solicitud.getIdEmpresaCredito(),
+                        solicitud.getCuentaCredito(), solicitud.getImporte()));
+            } catch (RuntimeException e) {
+                envios.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        List<ResultadoTransferencia> resultados = new ArrayList<>(solicitudes.size());
+        int rechazadas = 0;
+        for (int indice = 0; indice < envios.size(); indice++) {
+            try {
+                resultados.add(ResultadoTransferencia.exitosa(indice, aTransferencia(esperar(envios.get(indice)))));
+            } catch (EmpresaNotFoundException | FondosInsuficientesException | TransferenciaException
+                     | MontoNegativoException | IllegalArgumentException e) {
+                log.warn("Transferencia {} del lote rechazada: {}", indice, e.getMessage());
+                resultados.add(ResultadoTransferencia.rechazada(indice, e));
+                rechazadas++;
+            }
+        }
+
+        log.info("Lote finalizado en ledger. Exitosas: {}, Rechazadas: {}", solicitudes.size() - rechazadas, rechazadas);
+        return resultados;
+    }
+
+    public int asientosPendientesDeProyeccion() {
+        return proyector.pendientes();
+    }
+
+    public List<AsientoLedger> asientosApartados() {
+        return proyector.apartados();
+    }
+
+    private CompletableFuture<AsientoLedger> enviar(String cuentaDebito, String idEmpresaCredito, String cuentaCredito, Monto importe) {
+        var empresaDebito = empresaPorCuenta(cuentaDebito);
+        var empresaCredito = empresaPorCodigo(idEmpresaCredito);
+
+        if (empresaDebito.getId().equals(empresaCredito.getId())) {
+            throw new TransferenciaException("La cuenta de débito y crédito no pueden pertenecer a la misma empresa.");
+        }
+        if (!empresaCredito.getNumeroCuenta().getValor().equals(cuentaCredito)) {
+            throw new TransferenciaException("La cuenta de crédito " + cuentaCredito + " no pertenece a la empresa '" + empresaCredito.getRazonSocial() + "'.");
+        }
+        if (importe == null || !importe.esPositivo()) {
+            throw new MontoNegativoException("El monto a debitar debe ser positivo.");
+        }
+
+        if (!cuentasCargadas.contains(cuentaCredito)) {
+            esperar(particion(cuentaCredito).cargar(cuentaCredito));
+            cuentasCargadas.add(cuentaCredito);
+        }
+        return particion(cuentaDebito).debitar(empresaDebito, empresaCredito, importe, LocalDate.now(clock));
+    }
+
+    private void alConfirmar(AsientoLedger asiento) {
+        proyector.encolar(asiento);
+        particion(asiento.getCuentaCredito()).acreditar(asiento.getCuentaCredito(), asiento.getImporte());
+    }
+
+    private ParticionLedger particion(String cuenta) {
+        return particiones[Math.floorMod(cuenta.hashCode(), cantidadParticiones)];
+    }
+
+    private Empresa empresaPorCuenta(String cuenta) {
+        var empresa = empresasPorCuenta.get(cuenta);
+        if (empresa == null) {
+            empresa = empresaRepositoryPort.findByNumeroCuenta(NumeroCuenta.of(cuenta))
+                    .orElseThrow(() -> new EmpresaNotFoundException("La cuenta de débito " + cuenta + " no existe."));
+            empresasPorCuenta.put(cuenta, empresa);
+        }
+        return empresa;
+    }
+
+    private Empresa empresaPorCodigo(String codigo) {
+        var empresa = empresasPorCodigo.get(codigo);
+        if (empresa == null) {
+            empresa = empresaRepositoryPort.findByCodigo(codigo)
+                    .orElseThrow(() -> new EmpresaNotFoundException("La empresa de crédito con código " + codigo + " no existe."));
+            empresasPorCodigo.put(codigo, empresa);
+        }
+        return empresa;
+    }
+
+    private Transferencia aTransferencia(AsientoLedger asiento) {
+        return Transferencia.builder()
+                .cuentaDebito(asiento.getCuentaDebito())
+                .cuentaCredito(asiento.getCuentaCredito())
+                .idEmpresa(asiento.getIdEmpresaDebito())
+                .importe(asiento.getImporte())
+                .fecha(asiento.getFecha())
+                .build();
+    }
+
+    private static <T> T esperar(CompletableFuture<T> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+}
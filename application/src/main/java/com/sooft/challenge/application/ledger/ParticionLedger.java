@@ -0,0 +1,260 @@
+package com.sooft.challenge.application.ledger;
+
+import com.sooft.challenge.domain.exception.EmpresaNotFoundException;
+import com.sooft.challenge.domain.exception.FondosInsuficientesException;
+import com.sooft.challenge.domain.exception.JournalInconsistenteException;
+import com.sooft.challenge.domain.model.AsientoLedger;
+import com.sooft.challenge.domain.model.Empresa;
+import com.sooft.challenge.domain.model.Monto;
+import com.sooft.challenge.domain.model.NumeroCuenta;
+import com.sooft.challenge.domain.port.out.EmpresaRepositoryPort;
+import com.sooft.challenge.domain.port.out.LedgerJournalPort;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+@Slf4j
+class ParticionLedger implements Runnable {
+
+    private final int indice;
+    private final LedgerJournalPort journal;
+    private final EmpresaRepositoryPort empresaRepositoryPort;
+    private final Consumer<AsientoLedger> alConfirmar;
+    private final AtomicLong orden;
+    private final int loteMaximo;
+    private final BlockingQueue<Tarea> cola = new LinkedBlockingQueue<>();
+    private final Map<String, Monto> saldos = new HashMap<>();
+    private final Thread hilo;
+    private volatile boolean activa = true;
+    private volatile JournalInconsistenteException fallo;
+    private long secuencia;
+
+    ParticionLedger(int indice, long ultimaSecuencia, LedgerJournalPort journal, EmpresaRepositoryPort empresaRepositoryPort,
+                    Consumer<AsientoLedger> alConfirmar, AtomicLong orden, int loteMaximo) {
+        this.indice = indice;
+        this.secuencia = ultimaSecuencia;
+        this.journal = journal;
+        this.empresaRepositoryPort = empresaRepositoryPort;
+        this.alConfirmar = alConfirmar;
+        this.orden = orden;
+        this.loteMaximo = loteMaximo;
+        this.hilo = new Thread(this, "ledger-particion-" + indice);
+    }
+
+    void iniciar() {
+        hilo.start();
+    }
+
+    void detener() throws InterruptedException {
+        activa = false;
+        hilo.join();
+    }
+
+    CompletableFuture<Void> cargar(String cuenta) {
+        var tarea = new Carga(cuenta);
+        encolar(tarea);
+        return tarea.resultado;
+    }
+
+    CompletableFuture<AsientoLedger> debitar(Empresa empresaDebito, Empresa empresaCredito, Monto importe, LocalDate fecha) {
+        var tarea = new Debito(empresaDebito, empresaCredito, importe, fecha);
+        encolar(tarea);
+        return tarea.resultado;
+    }
+
+    void acreditar(String cuenta, Monto importe) {
+        encolar(new Credito(cuenta, importe));
+    }
+
+    private void encolar(Tarea tarea) {
+        cola.add(tarea);
+        if (fallo != null && cola.remove(tarea)) {
+            tarea.fallar(fallo);
+        }
+    }
+
+    @Override
+    public void run() {
+        List<Tarea> lote = new ArrayList<>(loteMaximo);
+        while ((activa || !cola.isEmpty()) && fallo == null) {
+            try {
+                var primera = cola.poll(100, TimeUnit.MILLISECONDS);
+                if (primera == null) {
+                    continue;
+                }
+                lote.add(primera);
+                cola.drainTo(lote, loteMaximo - 1);
+                procesar(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Partición {} del ledger interrumpida con {} tareas pendientes", indice, cola.size());
+                return;
+            } catch (RuntimeException e) {
+                log.error("Error inesperado en la partición {} del ledger", indice, e);
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void procesar(List<Tarea> lote) {
+        List<Debito> debitos = new ArrayList<>();
+        for (Tarea tarea : lote) {
+            try {
+                tarea.aplicar(debitos);
+            } catch (RuntimeException e) {
+                tarea.fallar(e);
+            }
+        }
+        if (debitos.isEmpty()) {
+            return;
+        }
+
+        List<AsientoLedger> asientos = debitos.stream().map(debito -> debito.asiento).toList();
+        try {
+            journal.agregar(indice, asientos);
+        } catch (JournalInconsistenteException e) {
+            log.error("El journal de la partición {} quedó inconsistente. Se detiene la partición.", indice, e);
+            debitos.forEach(debito -> debito.fallar(e));
+            detenerPorFallo(e);
+            return;
+        } catch (RuntimeException e) {
+            log.error("No se pudo escribir el journal de la partición {}. Se revierten {} débitos.", indice, debitos.size(), e);
+            for (Debito debito : debitos) {
+                saldos.merge(debito.cuenta, debito.importe, Monto::sumar);
+                debito.fallar(e);
+            }
+            secuencia -= debitos.size();
+            return;
+        }
+
+        for (Debito debito : debitos) {
+            debito.resultado.complete(debito.asiento);
+            alConfirmar.accept(debito.asiento);
+        }
+    }
+
+    private void detenerPorFallo(JournalInconsistenteException error) {
+        fallo = error;
+        activa = false;
+        List<Tarea> descartadas = new ArrayList<>();
+        cola.drainTo(descartadas);
+        descartadas.forEach(tarea -> tarea.fallar(error));
+    }
+
+    private Monto saldo(String cuenta) {
+        var saldo = saldos.get(cuenta);
+        if (saldo != null) {
+            return saldo;
+        }
+        saldo = empresaRepositoryPort.findSaldoByNumeroCuenta(NumeroCuenta.of(cuenta))
+                .orElseThrow(() -> new EmpresaNotFoundException("La cuenta " + cuenta + " no existe."));
+        saldos.put(cuenta, saldo);
+        log.debug("Partición {} cargó la cuenta {} con saldo {}", indice, cuenta, saldo);
+        return saldo;
+    }
+
+    private abstract static class Tarea {
+
+        abstract void aplicar(List<Debito> debitos);
+
+        abstract void fallar(RuntimeException error);
+    }
+
+    private final class Carga extends Tarea {
+
+        private final String cuenta;
+        private final CompletableFuture<Void> resultado = new CompletableFuture<>();
+
+        private Carga(String cuenta) {
+            this.cuenta = cuenta;
+        }
+
+        @Override
+        void aplicar(List<Debito> debitos) {
+            saldo(cuenta);
+            resultado.complete(null);
+        }
+
+        @Override
+        void fallar(RuntimeException error) {
+            resultado.completeExceptionally(error);
+        }
+    }
+
+    private final class Credito extends Tarea {
+
+        private final String cuenta;
+        private final Monto importe;
+
+        private Credito(String cuenta, Monto importe) {
+            this.cuenta = cuenta;
+            this.importe = importe;
+        }
+
+        @Override
+        void aplicar(List<Debito> debitos) {
+            saldos.put(cuenta, saldo(cuenta).sumar(importe));
+        }
+
+        @Override
+        void fallar(RuntimeException error) {
+            log.error("No se pudo aplicar en memoria el crédito de {} a la cuenta {}", importe, cuenta, error);
+        }
+    }
+
+    private final class Debito extends Tarea {
+
+        private final Empresa empresaDebito;
+        private final Empresa empresaCredito;
+        private final String cuenta;
+        private final Monto importe;
+        private final LocalDate fecha;
+        private final CompletableFuture<AsientoLedger> resultado = new CompletableFuture<>();
+        private AsientoLedger asiento;
+
+        private Debito(Empresa empresaDebito, Empresa empresaCredito, Monto importe, LocalDate fecha) {
+            this.empresaDebito = empresaDebito;
+            this.empresaCredito = empresaCredito;
+            this.cuenta = empresaDebito.getNumeroCuenta().getValor();
+            this.importe = importe;
+            this.fecha = fecha;
+        }
+
+        @Override
+        void aplicar(List<Debito> debitos) {
+            var saldoActual = saldo(cuenta);
+            if (saldoActual.esMenorQue(importe)) {
+                throw new FondosInsuficientesException(cuenta);
+            }
+            saldos.put(cuenta, saldoActual.restar(importe));
+            asiento = AsientoLedger.builder()
+                    .particion(indice)
+                    .secuencia(++secuencia)
+                    .orden(orden.incrementAndGet())
+                    .idEmpresaDebito(empresaDebito.getId())
+                    .cuentaDebito(cuenta)
+                    .codigoEmpresaCredito(empresaCredito.getCodigo())
+                    .cuentaCredito(empresaCredito.getNumeroCuenta().getValor())
+                    .importe(importe)
+                    .fecha(fecha)
+                    .build();
+            debitos.add(this);
+        }
+
+        @Override
+        void fallar(RuntimeException error) {
+            resultado.completeExceptionally(error);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.sooft.challenge.application.ledger;
+
+import com.sooft.challenge.domain.model.AsientoLedger;
+import com.sooft.challenge.domain.model.NumeroCuenta;
+import com.sooft.challenge.domain.model.Transferencia;
+import com.sooft.challenge.domain.model.TransferenciaRealizada;
+import com.sooft.challenge.domain.port.out.EmpresaRepositoryPort;
+import com.sooft.challenge.domain.port.out.LedgerCheckpointPort;
+import com.sooft.challenge.domain.port.out.LedgerJournalPort;
+import com.sooft.challenge.domain.port.out.OutboxPort;
+import com.sooft.challenge.domain.port.out.TransferenciaRepositoryPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+class ProyectorLedger implements Runnable {
+
+    private final EmpresaRepositoryPort empresaRepositoryPort;
+    private final TransferenciaRepositoryPort transferenciaRepositoryPort;
+    private final LedgerJournalPort ledgerJournalPort;
+    private final LedgerCheckpointPort ledgerCheckpointPort;
+    private final OutboxPort outboxPort;
+    private final TransactionTemplate transactionTemplate;
+    private final int loteMaximo;
+    private final int reintentos;
+    private final Duration esperaReintento;
+    private final BlockingQueue<AsientoLedger> pendientes = new LinkedBlockingQueue<>();
+    private final List<AsientoLedger> apartados = new CopyOnWriteArrayList<>();
+    private final Thread hilo;
+    private volatile boolean activo = true;
+
+    ProyectorLedger(EmpresaRepositoryPort empresaRepositoryPort, TransferenciaRepositoryPort transferenciaRepositoryPort,
+                    LedgerJournalPort ledgerJournalPort, LedgerCheckpointPort ledgerCheckpointPort, OutboxPort outboxPort,
+                    TransactionTemplate transactionTemplate, int loteMaximo, int reintentos, Duration esperaReintento) {
+        this.empresaRepositoryPort = empresaRepositoryPort;
+        this.transferenciaRepositoryPort = transferenciaRepositoryPort;
+        this.ledgerJournalPort = ledgerJournalPort;
+        this.ledgerCheckpointPort = ledgerCheckpointPort;
+        this.outboxPort = outboxPort;
+        this.transactionTemplate = transactionTemplate;
+        this.loteMaximo = loteMaximo;
+        this.reintentos = reintentos;
+        this.esperaReintento = esperaReintento;
+        this.hilo = new Thread(this, "ledger-proyector");
+    }
+
+    void iniciar() {
+        hilo.start();
+    }
+
+    void detener() throws InterruptedException {
+        activo = false;
+        hilo.join();
+    }
+
+    void encolar(AsientoLedger asiento) {
+        pendientes.add(asiento);
+    }
+
+    int pendientes() {
+        return pendientes.size();
+    }
+
+    List<AsientoLedger> apartados() {
+        return List.copyOf(apartados);
+    }
+
+    @Override
+    public void run() {
+        List<AsientoLedger> lote = new ArrayList<>(loteMaximo);
+        while (activo || !pendientes.isEmpty()) {
+            try {
+                var primero = pendientes.poll(100, TimeUnit.MILLISECONDS);
+                if (primero == null) {
+                    continue;
+                }
+                lote.add(primero);
+                pendientes.drainTo(lote, loteMaximo - 1);
+                if (!proyectarConReintentos(lote)) {
+                    log.warn("Proyector del ledger detenido con {} asientos sin proyectar. Se reproyectarán desde el journal al iniciar.",
+                            lote.size() + pendientes.size());
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Proyector del ledger interrumpido con {} asientos pendientes", pendientes.size());
+                return;
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    void proyectar(List<AsientoLedger> asientos) {
+        if (asientos.isEmpty()) {
+            return;
+        }
+        Map<Integer, Long> checkpoints = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (AsientoLedger asiento : asientos) {
+                aplicar(asiento);
+                checkpoints.merge(asiento.getParticion(), asiento.getSecuencia(), Math::max);
+            }
+            checkpoints.forEach(ledgerCheckpointPort::registrarProyeccion);
+        });
+        log.debug("Proyectados {} asientos del ledger en la base de datos", asientos.size());
+        checkpoints.forEach(this::descartarJournal);
+    }
+
+    private boolean proyectarConReintentos(List<AsientoLedger> lote) throws InterruptedException {
+        for (int intento = 1; ; intento++) {
+            try {
+                proyectar(lote);
+                return true;
+            } catch (RuntimeException e) {
+                if (!activo) {
+                    log.error("Error proyectando {} asientos del ledger durante la detención.", lote.size(), e);
+                    return false;
+                }
+                if (intento >= reintentos) {
+                    log.error("Error proyectando {} asientos del ledger tras {} intentos. Se proyectarán de a uno.", lote.size(), intento, e);
+                    break;
+                }
+                log.error("Error proyectando {} asientos del ledger (intento {} de {}). Se reintentará.", lote.size(), intento, reintentos, e);
+                Thread.sleep(esperaReintento.toMillis());
+            }
+        }
+        for (AsientoLedger asiento : lote) {
+            try {
+                proyectar(List.of(asiento));
+            } catch (RuntimeException e) {
+                if (!activo) {
+                    return false;
+                }
+                apartados.add(asiento);
+                log.error("Se aparta el asiento {}/{} del ledger ({} de la cuenta {} a la empresa {}). Queda en el journal para reprocesarlo.",
+                        asiento.getParticion(), asiento.getSecuencia(), asiento.getImporte(), asiento.getCuentaDebito(),
+                        asiento.getCodigoEmpresaCredito(), e);
+            }
+        }
+        return true;
+    }
+
+    private void descartarJournal(int particion, long checkpoint) {
+        long limite = apartados.stream()
+                .filter(asiento -> asiento.getParticion() == particion)
+                .mapToLong(asiento -> asiento.getSecuencia() - 1)
+                .reduce(checkpoint, Math::min);
+        try {
+            ledgerJournalPort.descartarHasta(particion, limite);
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron descartar los segmentos proyectados del journal de la partición {}", particion, e);
+        }
+    }
+
+    private void aplicar(AsientoLedger asiento) {
+        if (!empresaRepositoryPort.debitarSiHayFondos(NumeroCuenta.of(asiento.getCuentaDebito()), asiento.getImporte())) {
+            throw new IllegalStateException("El saldo persistido de la cuenta " + asiento.getCuentaDebito()
+                    + " no coincide con el ledger (asiento " + asiento.getParticion() + "/" + asiento.getSecuencia() + ").");
+        }
+        if (!empresaRepositoryPort.acreditar(asiento.getCodigoEmpresaCredito(), asiento.getImporte())) {
+            throw new IllegalStateException("No se pudo acreditar el importe a la empresa con código " + asiento.getCodigoEmpresaCredito());
+        }
+        var transferencia = transferenciaRepositoryPort.save(Transferencia.builder()
+                .cuentaDebito(asiento.getCuentaDebito())
+                .cuentaCredito(asiento.getCuentaCredito())
+                .idEmpresa(asiento.getIdEmpresaDebito())
+                .importe(asiento.getImporte())
+                .fecha(asiento.getFecha())
+                .build());
+        outboxPort.registrar(TransferenciaRealizada.de(transferencia, asiento.getCodigoEmpresaCredito()));
+    }
+}
@@ -0,0 +1,169 @@
+package com.sooft.challenge.application.lock;
+
+import com.sooft.challenge.domain.exception.CuentaBloqueadaException;
+import com.sooft.challenge.domain.model.NumeroCuenta;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@Slf4j
+public class CuentaLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final LongAdder[] adquisiciones;
+    private final LongAdder[] contenciones;
+    private final LongAdder[] tiempoEsperaNanos;
+    private final int mascara;
+    private final long esperaMaximaNanos;
+
+    public CuentaLockManager(@Value("${transferencias.lock.stripes:256}") int cantidadStripes,
+                             @Value("${transferencias.lock.espera-maxima:5s}") Duration esperaMaxima) {
+        if (cantidadStripes <= 0) {
+            throw new IllegalArgumentException("La cantidad de stripes debe ser positiva.");
+        }
+        if (esperaMaxima.isNegative() || esperaMaxima.isZero()) {
+            throw new IllegalArgumentException("La espera máxima de los bloqueos de cuenta debe ser positiva.");
+        }
+        int tamanio = cantidadStripes == 1 ? 1 : Integer.highestOneBit(cantidadStripes - 1) << 1;
+        this.stripes = new ReentrantLock[tamanio];
+        this.adquisiciones = new LongAdder[tamanio];
+        this.contenciones = new LongAdder[tamanio];
+        this.tiempoEsperaNanos = new LongAdder[tamanio];
+        for (int i = 0; i < tamanio; i++) {
+            stripes[i] = new ReentrantLock();
+            adquisiciones[i] = new LongAdder();
+            contenciones[i] = new LongAdder();
+            tiempoEsperaNanos[i] = new LongAdder();
+        }
+        this.mascara = tamanio - 1;
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+        log.info("Lock manager de cuentas inicializado con {} stripes", tamanio);
+    }
+
+    public Bloqueo bloquear(Collection<NumeroCuenta> cuentas) {
+        int[] indices = cuentas.stream()
+                .mapToInt(this::indiceStripe)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        long limite = System.nanoTime() + esperaMaximaNanos;
+        for (int adquiridos = 0; adquiridos < indices.length; adquiridos++) {
+            if (!adquirir(indices[adquiridos], limite)) {
+                new Bloqueo(Arrays.copyOf(indices, adquiridos)).close();
+                throw new CuentaBloqueadaException();
+            }
+        }
+        return new Bloqueo(indices);
+    }
+
+    public int cantidadStripes() {
+        return stripes.length;
+    }
+
+    public List<EstadisticaStripe> estadisticas() {
+        List<EstadisticaStripe> estadisticas = new ArrayList<>(stripes.length);
+        for (int i = 0; i < stripes.length; i++) {
+            estadisticas.add(estadistica(i));
+        }
+        return estadisticas;
+    }
+
+    public EstadisticaStripe estadistica(int indice) {
+        return new EstadisticaStripe(indice, adquisiciones[indice].sum(), contenciones[indice].sum(),
+                tiempoEsperaNanos[indice].sum(), stripes[indice].getQueueLength());
+    }
+
+    public long adquisicionesTotales() {
+        return sumar(adquisiciones);
+    }
+
+    public long contencionesTotales() {
+        return sumar(contenciones);
+    }
+
+    public long tiempoEsperaTotalNanos() {
+        return sumar(tiempoEsperaNanos);
+    }
+
+    public int longitudColaTotal() {
+        int total = 0;
+        for (ReentrantLock stripe : stripes) {
+            total += stripe.getQueueLength();
+        }
+        return total;
+    }
+
+    public int longitudColaMaxima() {
+        int maxima = 0;
+        for (ReentrantLock stripe : stripes) {
+            maxima = Math.max(maxima, stripe.getQueueLength());
+        }
+        return maxima;
+    }
+
+    int indiceStripe(NumeroCuenta cuenta) {
+        int hash = cuenta.getValor().hashCode();
+        return (hash ^ (hash >>> 16)) & mascara;
+    }
+
+    private boolean adquirir(int indice, long limite) {
+        var stripe = stripes[indice];
+        if (!stripe.tryLock()) {
+            long inicio = System.nanoTime();
+            contenciones[indice].increment();
+            boolean adquirido;
+            try {
+                adquirido = stripe.tryLock(limite - inicio, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                adquirido = false;
+            }
+            tiempoEsperaNanos[indice].add(System.nanoTime() - inicio);
+            if (!adquirido) {
+                return false;
+            }
+        }
+        adquisiciones[indice].increment();
+        return true;
+    }
+
+    private static long sumar(LongAdder[] contadores) {
+        long total = 0;
+        for (LongAdder contador : contadores) {
+            total += contador.sum();
+        }
+        return total;
+    }
+
+    public final class Bloqueo implements AutoCloseable {
+
+        private final int[] indices;
+        private boolean liberado;
+
+        private Bloqueo(int[] indices) {
+            this.indices = indices;
+        }
+
+        @Override
+        public void close() {
+            if (liberado) {
+                return;
+            }
+            liberado = true;
+            for (int i = indices.length - 1; i >= 0; i--) {
+                stripes[indices[i]].unlock();
+            }
+        }
+    }
+}
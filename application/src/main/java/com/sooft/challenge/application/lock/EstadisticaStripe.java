@@ -0,0 +1,13 @@
+package com.sooft.challenge.application.lock;
+
+import lombok.Value;
+
+@Value
+public class EstadisticaStripe {
+
+    int indice;
+    long adquisiciones;
+    long contenciones;
+    long tiempoEsperaNanos;
+    int longitudCola;
+}
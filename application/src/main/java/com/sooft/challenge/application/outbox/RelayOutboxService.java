@@ -0,0 +1,65 @@
+package com.sooft.challenge.application.outbox;
+
+import com.sooft.challenge.domain.model.EventoOutbox;
+import com.sooft.challenge.domain.port.out.OutboxPort;
+import com.sooft.challenge.domain.port.out.PublicadorEventosPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class RelayOutboxService {
+
+    private final OutboxPort outboxPort;
+    private final PublicadorEventosPort publicadorEventosPort;
+    private final TransactionTemplate transactionTemplate;
+    private final int lote;
+    private final int lotesMaximos;
+
+    public RelayOutboxService(OutboxPort outboxPort,
+                              PublicadorEventosPort publicadorEventosPort,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${outbox.relay.lote:500}") int lote,
+                              @Value("${outbox.relay.lotes-maximos:20}") int lotesMaximos) {
+        if (lote < 1 || lotesMaximos < 1) {
+            throw new IllegalArgumentException("El lote y la cantidad de lotes del relay deben ser positivos.");
+        }
+        this.outboxPort = outboxPort;
+        this.publicadorEventosPort = publicadorEventosPort;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lote = lote;
+        this.lotesMaximos = lotesMaximos;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.intervalo:PT1S}", initialDelayString = "${outbox.relay.intervalo:PT1S}")
+    public int drenar() {
+        int total = 0;
+        for (int lotes = 0; lotes < lotesMaximos; lotes++) {
+            Integer publicados = transactionTemplate.execute(status -> publicarLote());
+            total += publicados;
+            if (publicados < lote) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.debug("Relay de outbox: {} eventos publicados", total);
+        }
+        return total;
+    }
+
+    private int publicarLote() {
+        var eventos = outboxPort.bloquearPendientes(lote);
+        if (eventos.isEmpty()) {
+            return 0;
+        }
+        publicadorEventosPort.publicar(eventos);
+        outboxPort.eliminar(eventos.stream().map(EventoOutbox::getId).toList());
+        return eventos.size();
+    }
+}
@@ -0,0 +1,45 @@
+package com.sooft.challenge.application.saldo;
+
+import com.sooft.challenge.domain.port.out.EmpresaRepositoryPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+@ConditionalOnProperty(name = "empresas.saldos.compactacion.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class CompactacionSaldosService {
+
+    private final EmpresaRepositoryPort empresaRepositoryPort;
+    private final int lote;
+    private final int lotesMaximos;
+
+    public CompactacionSaldosService(EmpresaRepositoryPort empresaRepositoryPort,
+                                     @Value("${empresas.saldos.compactacion.lote:200}") int lote,
+                                     @Value("${empresas.saldos.compactacion.lotes-maximos:50}") int lotesMaximos) {
+        if (lote < 1 || lotesMaximos < 1) {
+            throw new IllegalArgumentException("El lote y la cantidad de lotes de la compactación deben ser positivos.");
+        }
+        this.empresaRepositoryPort = empresaRepositoryPort;
+        this.lote = lote;
+        this.lotesMaximos = lotesMaximos;
+    }
+
+    @Scheduled(fixedDelayString = "${empresas.saldos.compactacion.intervalo:PT1M}", initialDelayString = "${empresas.saldos.compactacion.intervalo:PT1M}")
+    public int compactar() {
+        int total = 0;
+        for (int lotes = 0; lotes < lotesMaximos; lotes++) {
+            int compactadas = empresaRepositoryPort.compactarSaldos(lote);
+            total += compactadas;
+            if (compactadas < lote) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Compactación de saldos: {} empresas consolidadas", total);
+        }
+        return total;
+    }
+}
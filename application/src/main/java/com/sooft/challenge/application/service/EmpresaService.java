@@ -1,16 +1,20 @@
 package com.sooft.challenge.application.service;
 
 import com.sooft.challenge.domain.exception.EmpresaNotFoundException;
+import com.sooft.challenge.domain.exception.IdempotencyKeyReutilizadaException;
 import com.sooft.challenge.domain.exception.IdempotentRequestException;
+import com.sooft.challenge.domain.model.CursorEmpresa;
 import com.sooft.challenge.domain.model.Empresa;
 import com.sooft.challenge.domain.exception.CuitDuplicadoException;
 import com.sooft.challenge.domain.exception.FechaAdhesionException;
 import com.sooft.challenge.domain.model.IdempotencyRecord;
 import com.sooft.challenge.domain.model.NumeroCuenta;
+import com.sooft.challenge.domain.model.PaginaCursor;
 import com.sooft.challenge.domain.port.in.AdherirEmpresaUseCase;
 import com.sooft.challenge.domain.port.in.EmpresasAdheridasUltimoMesUseCase;
 import com.sooft.challenge.domain.port.in.EmpresasConTransferenciasRecientesUseCase;
 import com.sooft.challenge.domain.port.in.BuscarEmpresaPorIdUseCase;
+import com.sooft.challenge.domain.port.in.BuscarEmpresasPorCodigoUseCase;
 import com.sooft.challenge.domain.port.in.BuscarTodasLasEmpresasUseCase;
 import com.sooft.challenge.domain.port.out.EmpresaRepositoryPort;
 import com.sooft.challenge.domain.port.out.IdempotencyKeyPort;
@@ -24,6 +28,9 @@ import org.springframework.stereotype.Service;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
@@ -32,7 +39,8 @@ import java.util.function.Function;
 @RequiredArgsConstructor
 @Slf4j
 public class EmpresaService implements AdherirEmpresaUseCase, EmpresasAdheridasUltimoMesUseCase,
-        EmpresasConTransferenciasRecientesUseCase, BuscarEmpresaPorIdUseCase, BuscarTodasLasEmpresasUseCase {
+        EmpresasConTransferenciasRecientesUseCase, BuscarEmpresaPorIdUseCase, BuscarEmpresasPorCodigoUseCase,
+        BuscarTodasLasEmpresasUseCase {
 
     private final EmpresaRepositoryPort empresaRepositoryPort;
     private final Clock clock;
@@ -40,11 +48,15 @@ public class EmpresaService implements AdherirEmpresaUseCase, EmpresasAdheridasU
 
     @Override
     @Transactional
-    public Empresa adherirEmpresa(Empresa empresa, String idempotencyKey, Function<Empresa, String> responseSerializer) {
+    public Empresa adherirEmpresa(Empresa empresa, String idempotencyKey, Function<Empresa, byte[]> responseSerializer) {
         log.info("Iniciando proceso de adhesión para empresa con CUIT: {}", empresa.getCuit().getValor());
 
         Optional<IdempotencyRecord> existingRecord = idempotencyKeyPort.findById(idempotencyKey);
         if (existingRecord.isPresent()) {
+            if (existingRecord.get().getRequestHash() != null) {
+                log.warn("[IDEMPOTENCY-KEY:{}] La clave pertenece a otra operación.", idempotencyKey);
+                throw new IdempotencyKeyReutilizadaException(idempotencyKey);
+            }
             log.warn("[IDEMPOTENCY-KEY:{}] Petición duplicada detectada. Devolviendo respuesta guardada.", idempotencyKey);
             throw new IdempotentRequestException(
                     existingRecord.get().getResponseBody(),
@@ -105,6 +117,15 @@ public class EmpresaService implements AdherirEmpresaUseCase, EmpresasAdheridasU
         return empresaRepositoryPort.findEmpresasAdheridasEnElUltimoMes(pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursor<Empresa> findEmpresasAdheridasRecientemente(CursorEmpresa cursor, int tamanio) {
+        PaginaCursor.validarTamanio(tamanio);
+        log.info("Buscando empresas adheridas en el último mes por cursor. Tamaño: {}", tamanio);
+        return PaginaCursor.de(empresaRepositoryPort.findEmpresasAdheridasEnElUltimoMes(cursor, tamanio),
+                empresa -> CursorEmpresa.of(empresa.getFechaAdhesion().toString(), empresa.getId()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<Empresa> findEmpresasConTransferenciasRecientes(Pageable pageable) {
@@ -112,15 +133,37 @@ public class EmpresaService implements AdherirEmpresaUseCase, EmpresasAdheridasU
         return empresaRepositoryPort.findEmpresasConTransferenciasEnElUltimoMes(pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursor<Empresa> findEmpresasConTransferenciasRecientes(CursorEmpresa cursor, int tamanio) {
+        PaginaCursor.validarTamanio(tamanio);
+        log.info("Buscando empresas con transferencias recientes por cursor. Tamaño: {}", tamanio);
+        return PaginaCursor.de(empresaRepositoryPort.findEmpresasConTransferenciasEnElUltimoMes(cursor, tamanio),
+                empresa -> CursorEmpresa.of(empresa.getRazonSocial(), empresa.getId()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Empresa> findById(String id) {
         log.info("Buscando empresa por código: {}", id);
-        return Optional.of(empresaRepositoryPort.findByCodigo(id)
+        var empresa = empresaRepositoryPort.findByCodigo(id)
                 .orElseThrow(() -> {
                     log.warn("No se encontró ninguna empresa con el código: {}", id);
                     return new EmpresaNotFoundException(id);
-                }));
+                });
+        empresaRepositoryPort.findSaldoByNumeroCuenta(empresa.getNumeroCuenta()).ifPresent(empresa::setSaldo);
+        return Optional.of(empresa);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Empresa> findAllByCodigo(Collection<String> codigos) {
+        var unicos = new LinkedHashSet<>(codigos);
+        if (unicos.size() > MAXIMO_CODIGOS) {
+            throw new IllegalArgumentException("No se pueden buscar más de " + MAXIMO_CODIGOS + " empresas por consulta.");
+        }
+        log.info("Buscando {} empresas por código", unicos.size());
+        return empresaRepositoryPort.findAllByCodigoIn(unicos);
     }
 
     @Override
@@ -130,6 +173,15 @@ public class EmpresaService implements AdherirEmpresaUseCase, EmpresasAdheridasU
         return empresaRepositoryPort.findAll(pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursor<Empresa> findAll(CursorEmpresa cursor, int tamanio) {
+        PaginaCursor.validarTamanio(tamanio);
+        log.info("Buscando todas las empresas por cursor. Tamaño: {}", tamanio);
+        return PaginaCursor.de(empresaRepositoryPort.findAll(cursor, tamanio),
+                empresa -> CursorEmpresa.of(empresa.getRazonSocial(), empresa.getId()));
+    }
+
     private String generadorCodigosRandom(final int max) {
         return UUID.randomUUID().toString().replaceAll("-", "").substring(0, max).toUpperCase();
     }
@@ -0,0 +1,41 @@
+package com.sooft.challenge.application.service;
+
+import com.sooft.challenge.domain.model.Empresa;
+import com.sooft.challenge.domain.model.Transferencia;
+import com.sooft.challenge.domain.port.in.ExportarEmpresasUseCase;
+import com.sooft.challenge.domain.port.in.ExportarTransferenciasUseCase;
+import com.sooft.challenge.domain.port.out.EmpresaRepositoryPort;
+import com.sooft.challenge.domain.port.out.TransferenciaRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Consumer;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportacionService implements ExportarEmpresasUseCase, ExportarTransferenciasUseCase {
+
+    private final EmpresaRepositoryPort empresaRepositoryPort;
+    private final TransferenciaRepositoryPort transferenciaRepositoryPort;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportarEmpresas(Consumer<Empresa> consumidor) {
+        log.info("Iniciando exportación de empresas");
+        long exportadas = empresaRepositoryPort.recorrerTodas(consumidor);
+        log.info("Exportación de empresas finalizada. Filas: {}", exportadas);
+        return exportadas;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportarTransferencias(Consumer<Transferencia> consumidor) {
+        log.info("Iniciando exportación de transferencias");
+        long exportadas = transferenciaRepositoryPort.recorrerTodas(consumidor);
+        log.info("Exportación de transferencias finalizada. Filas: {}", exportadas);
+        return exportadas;
+    }
+}
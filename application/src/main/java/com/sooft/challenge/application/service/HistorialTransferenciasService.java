@@ -0,0 +1,42 @@
+package com.sooft.challenge.application.service;
+
+import com.sooft.challenge.domain.exception.EmpresaNotFoundException;
+import com.sooft.challenge.domain.model.CursorTransferencia;
+import com.sooft.challenge.domain.model.PaginaCursor;
+import com.sooft.challenge.domain.model.Transferencia;
+import com.sooft.challenge.domain.port.in.ConsultarTransferenciasEmpresaUseCase;
+import com.sooft.challenge.domain.port.out.EmpresaRepositoryPort;
+import com.sooft.challenge.domain.port.out.TransferenciaRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HistorialTransferenciasService implements ConsultarTransferenciasEmpresaUseCase {
+
+    private final EmpresaRepositoryPort empresaRepositoryPort;
+    private final TransferenciaRepositoryPort transferenciaRepositoryPort;
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursor<Transferencia> findTransferenciasDeEmpresa(String codigo, LocalDate desde, LocalDate hasta,
+                                                                   CursorTransferencia cursor, int tamanio) {
+        PaginaCursor.validarTamanio(tamanio);
+        if (desde != null && hasta != null && desde.isAfter(hasta)) {
+            throw new IllegalArgumentException("La fecha desde no puede ser posterior a la fecha hasta.");
+        }
+        log.info("Buscando transferencias de la empresa {} entre {} y {}. Tamaño: {}", codigo, desde, hasta, tamanio);
+        var empresa = empresaRepositoryPort.findByCodigo(codigo)
+                .orElseThrow(() -> {
+                    log.warn("No se encontró ninguna empresa con el código: {}", codigo);
+                    return new EmpresaNotFoundException(codigo);
+                });
+        return PaginaCursor.de(transferenciaRepositoryPort.findByEmpresa(empresa.getId(), desde, hasta, cursor, tamanio),
+                transferencia -> CursorTransferencia.of(transferencia.getFecha(), transferencia.getId()));
+    }
+}
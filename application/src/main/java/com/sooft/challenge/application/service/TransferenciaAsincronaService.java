@@ -0,0 +1,218 @@
+package com.sooft.challenge.application.service;
+
+import com.sooft.challenge.domain.exception.ColaTransferenciasLlenaException;
+import com.sooft.challenge.domain.exception.EmpresaNotFoundException;
+import com.sooft.challenge.domain.exception.FondosInsuficientesException;
+import com.sooft.challenge.domain.exception.MontoNegativoException;
+import com.sooft.challenge.domain.exception.TicketTransferenciaNotFoundException;
+import com.sooft.challenge.domain.exception.TransferenciaException;
+import com.sooft.challenge.domain.model.EstadoTicketTransferencia;
+import com.sooft.challenge.domain.model.SolicitudTransferencia;
+import com.sooft.challenge.domain.model.TicketTransferencia;
+import com.sooft.challenge.domain.model.Transferencia;
+import com.sooft.challenge.domain.port.in.EncolarTransferenciaUseCase;
+import com.sooft.challenge.domain.port.in.RealizarTransferenciaUseCase;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@Slf4j
+public class TransferenciaAsincronaService implements EncolarTransferenciaUseCase {
+
+    private final RealizarTransferenciaUseCase realizarTransferenciaUseCase;
+    private final Clock clock;
+    private final int capacidadCola;
+    private final int ticketsMaximos;
+    private final int ticketsFinalizadosMaximos;
+    private final Duration retencionTickets;
+    private final Duration esperaDetencion;
+    private final ThreadPoolExecutor ejecutor;
+    private final Map<String, TicketTransferencia> tickets = new ConcurrentHashMap<>();
+    private final Queue<String> finalizados = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger ticketsActivos = new AtomicInteger();
+    private final AtomicInteger ticketsFinalizados = new AtomicInteger();
+
+    public TransferenciaAsincronaService(RealizarTransferenciaUseCase realizarTransferenciaUseCase,
+                                         Clock clock,
+                                         @Value("${transferencias.async.workers:4}") int workers,
+                                         @Value("${transferencias.async.capacidad-cola:1000}") int capacidadCola,
+                                         @Value("${transferencias.async.tickets-maximos:10000}") int ticketsMaximos,
+                                         @Value("${transferencias.async.tickets-finalizados-maximos:10000}") int ticketsFinalizadosMaximos,
+                                         @Value("${transferencias.async.retencion-tickets:PT1H}") Duration retencionTickets,
+                                         @Value("${transferencias.async.espera-detencion:PT30S}") Duration esperaDetencion) {
+        if (ticketsMaximos < 1 || ticketsFinalizadosMaximos < 1) {
+            throw new IllegalArgumentException("Los máximos de tickets de transferencia deben ser positivos");
+        }
+        this.realizarTransferenciaUseCase = realizarTransferenciaUseCase;
+        this.clock = clock;
+        this.capacidadCola = capacidadCola;
+        this.ticketsMaximos = ticketsMaximos;
+        this.ticketsFinalizadosMaximos = ticketsFinalizadosMaximos;
+        this.retencionTickets = retencionTickets;
+        this.esperaDetencion = esperaDetencion;
+        var numeroHilo = new AtomicInteger();
+        this.ejecutor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola),
+                tarea -> new Thread(tarea, "transferencias-async-" + numeroHilo.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public TicketTransferencia encolarTransferencia(SolicitudTransferencia solicitud) {
+        if (!reservarTicket()) {
+            log.warn("Se alcanzó el máximo de {} tickets de transferencia en curso. Se rechaza la solicitud.", ticketsMaximos);
+            throw new ColaTransferenciasLlenaException(ticketsMaximos);
+        }
+
+        var ahora = LocalDateTime.now(clock);
+        var ticket = TicketTransferencia.builder()
+                .id(UUID.randomUUID().toString())
+                .estado(EstadoTicketTransferencia.PENDIENTE)
+                .fechaCreacion(ahora)
+                .fechaActualizacion(ahora)
+                .build();
+        tickets.put(ticket.getId(), ticket);
+
+        try {
+            ejecutor.execute(new TareaTransferencia(ticket.getId(), solicitud));
+        } catch (RejectedExecutionException e) {
+            tickets.remove(ticket.getId());
+            ticketsActivos.decrementAndGet();
+            log.warn("Cola de transferencias asincrónicas llena ({} pendientes). Se rechaza la solicitud.", ejecutor.getQueue().size());
+            throw new ColaTransferenciasLlenaException(capacidadCola);
+        }
+
+        log.info("Transferencia encolada con ticket {} desde cuenta {} hacia cuenta {}",
+                ticket.getId(), solicitud.getCuentaDebito(), solicitud.getCuentaCredito());
+        return ticket;
+    }
+
+    @Override
+    public TicketTransferencia consultarTicket(String ticketId) {
+        var ticket = tickets.get(ticketId);
+        if (ticket == null) {
+            log.warn("No se encontró el ticket de transferencia {}", ticketId);
+            throw new TicketTransferenciaNotFoundException(ticketId);
+        }
+        return ticket;
+    }
+
+    public int pendientes() {
+        return ejecutor.getQueue().size();
+    }
+
+    @Scheduled(fixedDelayString = "${transferencias.async.depuracion-intervalo:PT1M}",
+            initialDelayString = "${transferencias.async.depuracion-intervalo:PT1M}")
+    public int depurarTickets() {
+        var limite = LocalDateTime.now(clock).minus(retencionTickets);
+        int depurados = 0;
+        for (var ticketId = finalizados.peek(); ticketId != null; ticketId = finalizados.peek()) {
+            var ticket = tickets.get(ticketId);
+            if (ticket != null && !ticket.getFechaActualizacion().isBefore(limite)) {
+                break;
+            }
+            if (finalizados.remove(ticketId)) {
+                ticketsFinalizados.decrementAndGet();
+                if (tickets.remove(ticketId) != null) {
+                    depurados++;
+                }
+            }
+        }
+        if (depurados > 0) {
+            log.debug("Depuración de tickets de transferencia: {} depurados, {} finalizados retenidos", depurados, ticketsFinalizados.get());
+        }
+        return depurados;
+    }
+
+    @PreDestroy
+    public void detener() throws InterruptedException {
+        ejecutor.shutdown();
+        if (!ejecutor.awaitTermination(esperaDetencion.toNanos(), TimeUnit.NANOSECONDS)) {
+            var sinProcesar = ejecutor.shutdownNow();
+            log.warn("Se detiene el procesamiento asincrónico con {} transferencias sin procesar", sinProcesar.size());
+            for (Runnable tarea : sinProcesar) {
+                if (tarea instanceof TareaTransferencia transferencia) {
+                    actualizar(transferencia.ticketId, EstadoTicketTransferencia.FALLIDA, null,
+                            "El servicio se detuvo antes de procesar la transferencia. Puede reintentarla.");
+                }
+            }
+        }
+    }
+
+    private void procesar(String ticketId, SolicitudTransferencia solicitud) {
+        actualizar(ticketId, EstadoTicketTransferencia.EN_PROCESO, null, null);
+        try {
+            var transferencia = realizarTransferenciaUseCase.realizarTransferencia(solicitud.getCuentaDebito(),
+                    solicitud.getIdEmpresaCredito(), solicitud.getCuentaCredito(), solicitud.getImporte());
+            actualizar(ticketId, EstadoTicketTransferencia.EXITOSA, transferencia, null);
+        } catch (EmpresaNotFoundException | FondosInsuficientesException | TransferenciaException
+                 | MontoNegativoException | IllegalArgumentException e) {
+            log.warn("Transferencia del ticket {} rechazada: {}", ticketId, e.getMessage());
+            actualizar(ticketId, EstadoTicketTransferencia.RECHAZADA, null, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Error inesperado procesando el ticket de transferencia {}", ticketId, e);
+            actualizar(ticketId, EstadoTicketTransferencia.FALLIDA, null, "Ocurrió un error interno inesperado.");
+        }
+    }
+
+    private void actualizar(String ticketId, EstadoTicketTransferencia estado, Transferencia transferencia, String mensaje) {
+        var actualizado = tickets.computeIfPresent(ticketId, (id, ticket) -> ticket.toBuilder()
+                .estado(estado)
+                .transferencia(transferencia)
+                .mensaje(mensaje)
+                .fechaActualizacion(LocalDateTime.now(clock))
+                .build());
+        if (actualizado != null && estado.isFinalizado()) {
+            ticketsActivos.decrementAndGet();
+            retenerFinalizado(ticketId);
+        }
+    }
+
+    private void retenerFinalizado(String ticketId) {
+        finalizados.add(ticketId);
+        if (ticketsFinalizados.incrementAndGet() > ticketsFinalizadosMaximos) {
+            var masAntiguo = finalizados.poll();
+            if (masAntiguo != null) {
+                ticketsFinalizados.decrementAndGet();
+                tickets.remove(masAntiguo);
+            }
+        }
+    }
+
+    private boolean reservarTicket() {
+        return ticketsActivos.getAndUpdate(activos -> activos < ticketsMaximos ? activos + 1 : activos) < ticketsMaximos;
+    }
+
+    private final class TareaTransferencia implements Runnable {
+
+        private final String ticketId;
+        private final SolicitudTransferencia solicitud;
+
+        private TareaTransferencia(String ticketId, SolicitudTransferencia solicitud) {
+            this.ticketId = ticketId;
+            this.solicitud = solicitud;
+        }
+
+        @Override
+        public void run() {
+            procesar(ticketId, solicitud);
+        }
+    }
+}
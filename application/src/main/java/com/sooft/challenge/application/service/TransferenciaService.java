@@ -1,32 +1,129 @@
 package com.sooft.challenge.application.service;
 
+import com.sooft.challenge.application.lock.CuentaLockManager;
 import com.sooft.challenge.domain.exception.EmpresaNotFoundException;
+import com.sooft.challenge.domain.exception.FondosInsuficientesException;
+import com.sooft.challenge.domain.exception.MontoNegativoException;
 import com.sooft.challenge.domain.exception.TransferenciaException;
+import com.sooft.challenge.domain.model.Monto;
 import com.sooft.challenge.domain.model.NumeroCuenta;
+import com.sooft.challenge.domain.model.ResultadoTransferencia;
+import com.sooft.challenge.domain.model.SolicitudTransferencia;
 import com.sooft.challenge.domain.model.Transferencia;
+import com.sooft.challenge.domain.model.TransferenciaRealizada;
 import com.sooft.challenge.domain.port.in.RealizarTransferenciaUseCase;
 import com.sooft.challenge.domain.port.out.EmpresaRepositoryPort;
+import com.sooft.challenge.domain.port.out.OutboxPort;
 import com.sooft.challenge.domain.port.out.TransferenciaRepositoryPort;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class TransferenciaService implements RealizarTransferenciaUseCase {
 
     private final EmpresaRepositoryPort empresaRepositoryPort;
     private final TransferenciaRepositoryPort transferenciaRepositoryPort;
+    private final CuentaLockManager cuentaLockManager;
+    private final OutboxPort outboxPort;
+    private final TransactionTemplate transactionTemplate;
+
+    public TransferenciaService(EmpresaRepositoryPort empresaRepositoryPort,
+                                TransferenciaRepositoryPort transferenciaRepositoryPort,
+                                CuentaLockManager cuentaLockManager,
+                                OutboxPort outboxPort,
+                                PlatformTransactionManager transactionManager) {
+        this.empresaRepositoryPort = empresaRepositoryPort;
+        this.transferenciaRepositoryPort = transferenciaRepositoryPort;
+        this.cuentaLockManager = cuentaLockManager;
+        this.outboxPort = outboxPort;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     @Override
-    @Transactional
-    public Transferencia realizarTransferencia(String cuentaDebito, String idEmpresaCredito, String cuentaCredito, BigDecimal importe) {
+    public Transferencia realizarTransferencia(String cuentaDebito, String idEmpresaCredito, String cuentaCredito, Monto importe) {
+        try (var bloqueo = cuentaLockManager.bloquear(cuentasABloquear(Arrays.asList(cuentaDebito, cuentaCredito)))) {
+            return transactionTemplate.execute(status -> ejecutarTransferencia(cuentaDebito, idEmpresaCredito, cuentaCredito, importe));
+        }
+    }
+
+    @Override
+    public Transferencia realizarTransferencia(SolicitudTransferencia solicitud, Consumer<Transferencia> alConfirmar) {
+        try (var bloqueo = cuentaLockManager.bloquear(
+                cuentasABloquear(Arrays.asList(solicitud.getCuentaDebito(), solicitud.getCuentaCredito())))) {
+            return transactionTemplate.execute(status -> {
+                var transferencia = ejecutarTransferencia(solicitud.getCuentaDebito(), solicitud.getIdEmpresaCredito(),
+                        solicitud.getCuentaCredito(), solicitud.getImporte());
+                alConfirmar.accept(transferencia);
+                return transferencia;
+            });
+        }
+    }
+
+    @Override
+    public List<ResultadoTransferencia> realizarTransferencias(List<SolicitudTransferencia> solicitudes) {
+        return realizarTransferencias(solicitudes, Collections.nCopies(solicitudes.size(), transferencia -> { }));
+    }
+
+    public List<ResultadoTransferencia> realizarTransferencias(List<SolicitudTransferencia> solicitudes,
+                                                               List<Consumer<Transferencia>> confirmaciones) {
+        log.info("Iniciando lote de {} transferencias", solicitudes.size());
+        List<String> cuentas = new ArrayList<>(solicitudes.size() * 2);
+        solicitudes.forEach(solicitud -> {
+            cuentas.add(solicitud.getCuentaDebito());
+            cuentas.add(solicitud.getCuentaCredito());
+        });
+
+        try (var bloqueo = cuentaLockManager.bloquear(cuentasABloquear(cuentas))) {
+            var resultados = transactionTemplate.execute(status -> ejecutarLote(solicitudes, confirmaciones));
+            long rechazadas = resultados.stream().filter(resultado -> !resultado.isExitosa()).count();
+            log.info("Lote finalizado. Exitosas: {}, Rechazadas: {}", solicitudes.size() - rechazadas, rechazadas);
+            return resultados;
+        }
+    }
+
+    private List<ResultadoTransferencia> ejecutarLote(List<SolicitudTransferencia> solicitudes,
+                                                      List<Consumer<Transferencia>> confirmaciones) {
+        List<ResultadoTransferencia> resultados = new ArrayList<>(solicitudes.size());
+        for (int indice = 0; indice < solicitudes.size(); indice++) {
+            var solicitud = solicitudes.get(indice);
+            try {
+                var transferencia = ejecutarTransferencia(solicitud.getCuentaDebito(), solicitud.getIdEmpresaCredito(),
+                        solicitud.getCuentaCredito(), solicitud.getImporte());
+                confirmaciones.get(indice).accept(transferencia);
+                resultados.add(ResultadoTransferencia.exitosa(indice, transferencia));
+            } catch (EmpresaNotFoundException | FondosInsuficientesException | TransferenciaException
+                     | MontoNegativoException | IllegalArgumentException e) {
+                log.warn("Transferencia {} del lote rechazada: {}", indice, e.getMessage());
+                resultados.add(ResultadoTransferencia.rechazada(indice, e));
+            }
+        }
+        return resultados;
+    }
+
+    private Set<NumeroCuenta> cuentasABloquear(List<String> cuentas) {
+        Set<NumeroCuenta> numerosCuenta = new LinkedHashSet<>();
+        for (String cuenta : cuentas) {
+            if (StringUtils.hasText(cuenta)) {
+                numerosCuenta.add(NumeroCuenta.of(cuenta));
+            }
+        }
+        return numerosCuenta;
+    }
+
+    private Transferencia ejecutarTransferencia(String cuentaDebito, String idEmpresaCredito, String cuentaCredito, Monto importe) {
         log.info("Iniciando transferencia de {} desde cuenta {} hacia cuenta {} (Empresa Crédito: {})",
                 importe, cuentaDebito, cuentaCredito, idEmpresaCredito);
 
@@ -57,20 +154,24 @@ public class TransferenciaService implements RealizarTransferenciaUseCase {
             throw new TransferenciaException("La cuenta de crédito " + cuentaCredito + " no pertenece a la empresa '" + empresaCredito.getRazonSocial() + "'.");
         }
 
-        log.info("Realizando débito de {} a la empresa '{}'. Saldo anterior: {}", importe, empresaDebito.getRazonSocial(), empresaDebito.getSaldo());
-        empresaDebito.debitar(importe);
-        log.info("Saldo actualizado empresa débito: {}", empresaDebito.getSaldo());
+        if (importe == null || !importe.esPositivo()) {
+            log.warn("Validación fallida: El importe {} no es positivo", importe);
+            throw new MontoNegativoException("El monto a debitar debe ser positivo.");
+        }
 
-        log.info("Realizando crédito de {} a la empresa '{}'. Saldo anterior: {}", importe, empresaCredito.getRazonSocial(), empresaCredito.getSaldo());
-        empresaCredito.acreditar(importe);
-        log.info("Saldo actualizado empresa crédito: {}", empresaCredito.getSaldo());
+        log.info("Realizando débito de {} a la empresa '{}'", importe, empresaDebito.getRazonSocial());
+        if (!empresaRepositoryPort.debitarSiHayFondos(empresaDebito.getNumeroCuenta(), importe)) {
+            log.warn("Fondos insuficientes en la cuenta de débito {} para un importe de {}", cuentaDebito, importe);
+            throw new FondosInsuficientesException(empresaDebito.getNumeroCuenta().getValor());
+        }
 
-        empresaRepositoryPort.save(empresaDebito);
-        empresaRepositoryPort.save(empresaCredito);
+        log.info("Realizando crédito de {} a la empresa '{}'", importe, empresaCredito.getRazonSocial());
+        if (!empresaRepositoryPort.acreditar(empresaCredito.getCodigo(), importe)) {
+            throw new IllegalStateException("No se pudo acreditar el importe a la empresa con código " + empresaCredito.getCodigo());
+        }
         log.debug("Saldos de las empresas actualizados en la base de datos.");
 
         var transferenciaRecord = Transferencia.builder()
-                .id(ThreadLocalRandom.current().nextLong(Long.MAX_VALUE))
                 .cuentaCredito(cuentaCredito)
                 .cuentaDebito(cuentaDebito)
                 .idEmpresa(empresaDebito.getId())
@@ -79,6 +180,7 @@ public class TransferenciaService implements RealizarTransferenciaUseCase {
                 .build();
 
         var transferenciaGuardada = transferenciaRepositoryPort.save(transferenciaRecord);
+        outboxPort.registrar(TransferenciaRealizada.de(transferenciaGuardada, empresaCredito.getCodigo()));
         log.info("Transferencia completada y registrada con ID: {}", transferenciaGuardada.getId());
 
         return transferenciaGuardada;
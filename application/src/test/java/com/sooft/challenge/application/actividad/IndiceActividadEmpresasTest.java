@@ -0,0 +1,189 @@
+package com.sooft.challenge.application.actividad;
+
+import com.sooft.challenge.domain.model.ActividadEmpresa;
+import com.sooft.challenge.domain.model.CursorEmpresa;
+import com.sooft.challenge.domain.model.Empresa;
+import com.sooft.challenge.domain.model.Transferencia;
+import com.sooft.challenge.domain.port.out.EmpresaRepositoryPort;
+import com.sooft.challenge.domain.port.out.TransferenciaRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IndiceActividadEmpresasTest {
+
+    @Mock
+    private EmpresaRepositoryPort empresaRepositoryPort;
+
+    @Mock
+    private TransferenciaRepositoryPort transferenciaRepositoryPort;
+
+    private RelojAjustable clock;
+
+    private IndiceActividadEmpresas indice;
+
+    private LocalDate hoy;
+
+    @BeforeEach
+    void setUp() {
+        clock = new RelojAjustable(Instant.parse("2024-05-20T10:00:00Z"));
+        hoy = LocalDate.now(clock);
+        indice = new IndiceActividadEmpresas(empresaRepositoryPort, transferenciaRepositoryPort, clock);
+        lenient().when(empresaRepositoryPort.findAllById(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> Empresa.builder().id(id).razonSocial("Empresa " + id).build()).toList();
+        });
+    }
+
+    @Test
+    @DisplayName("Debe reconstruir el índice desde la base y ordenar por razón social")
+    void reconstruir_ordenaPorRazonSocial() {
+        when(transferenciaRepositoryPort.contarActividadDesde(hoy.minusDays(31))).thenReturn(List.of(
+                actividad("B", hoy.minusDays(2), 3),
+                actividad("A", hoy.minusDays(40), 1),
+                actividad("A", hoy.minusDays(5), 1),
+                actividad("C", hoy.minusDays(31), 7)));
+
+        indice.reconstruir();
+        var pagina = indice.findEmpresasConTransferenciasRecientes(PageRequest.of(0, 10));
+
+        assertEquals(List.of("A", "B"), pagina.getContent().stream().map(Empresa::getId).toList());
+        assertEquals(2, pagina.getTotalElements());
+        assertEquals(3, indice.transferenciasEnElUltimoMes("B"));
+        assertEquals(0, indice.transferenciasEnElUltimoMes("C"));
+    }
+
+    @Test
+    @DisplayName("Debe incorporar transferencias nuevas sin volver a consultar la base")
+    void registrar_incorporaEmpresaNueva() {
+        when(transferenciaRepositoryPort.contarActividadDesde(hoy.minusDays(31))).thenReturn(List.of());
+        when(empresaRepositoryPort.findById("Z")).thenReturn(Optional.of(Empresa.builder().id("Z").razonSocial("Empresa Z").build()));
+        indice.reconstruir();
+
+        indice.registrar(transferencia("Z", hoy));
+        indice.registrar(transferencia("Z", hoy));
+
+        assertEquals(2, indice.transferenciasEnElUltimoMes("Z"));
+        assertEquals(1, indice.findEmpresasConTransferenciasRecientes(PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Debe descartar empresas cuya actividad quedó fuera de la ventana")
+    void findEmpresas_descartaActividadVencida() {
+        when(transferenciaRepositoryPort.contarActividadDesde(hoy.minusDays(31))).thenReturn(List.of(
+                actividad("A", hoy.minusDays(20), 1),
+                actividad("B", hoy, 1)));
+        indice.reconstruir();
+
+        clock.avanzarDias(15);
+
+        var pagina = indice.findEmpresasConTransferenciasRecientes(PageRequest.of(0, 10));
+        assertEquals(List.of("B"), pagina.getContent().stream().map(Empresa::getId).toList());
+        assertEquals(0, indice.transferenciasEnElUltimoMes("A"));
+    }
+
+    @Test
+    @DisplayName("Debe volver a incorporar con su razón social una empresa cuya actividad fue descartada")
+    void registrar_reincorporaEmpresaDescartada() {
+        when(transferenciaRepositoryPort.contarActividadDesde(hoy.minusDays(31))).thenReturn(List.of(
+                actividad("A", hoy.minusDays(20), 1)));
+        when(empresaRepositoryPort.findById("A")).thenReturn(Optional.of(Empresa.builder().id("A").razonSocial("Empresa A").build()));
+        indice.reconstruir();
+        indice.registrar(transferencia("A", hoy));
+        verify(empresaRepositoryPort, never()).findById("A");
+
+        clock.avanzarDias(40);
+        assertEquals(0, indice.findEmpresasConTransferenciasRecientes(PageRequest.of(0, 10)).getTotalElements());
+        indice.registrar(transferencia("A", LocalDate.now(clock)));
+
+        var pagina = indice.findEmpresasConTransferenciasRecientes(null, 10);
+        assertEquals(List.of("A"), pagina.getContenido().getContent().stream().map(Empresa::getId).toList());
+        assertEquals(1, indice.transferenciasEnElUltimoMes("A"));
+    }
+
+    @Test
+    @DisplayName("Debe paginar por cursor sobre el índice en memoria")
+    void findEmpresasPorCursor_recorreTodasLasPaginas() {
+        when(transferenciaRepositoryPort.contarActividadDesde(hoy.minusDays(31))).thenReturn(List.of(
+                actividad("A", hoy, 1),
+                actividad("B", hoy, 1),
+                actividad("C", hoy, 1)));
+        indice.reconstruir();
+
+        var primera = indice.findEmpresasConTransferenciasRecientes(null, 2);
+        assertEquals(List.of("A", "B"), primera.getContenido().getContent().stream().map(Empresa::getId).toList());
+        assertTrue(primera.getContenido().hasNext());
+
+        var segunda = indice.findEmpresasConTransferenciasRecientes(CursorEmpresa.decodificar(primera.getSiguienteCursor()), 2);
+        assertEquals(List.of("C"), segunda.getContenido().getContent().stream().map(Empresa::getId).toList());
+        assertFalse(segunda.getContenido().hasNext());
+        assertNull(segunda.getSiguienteCursor());
+    }
+
+    private ActividadEmpresa actividad(String idEmpresa, LocalDate fecha, long cantidad) {
+        return ActividadEmpresa.builder()
+                .idEmpresa(idEmpresa)
+                .razonSocial("Empresa " + idEmpresa)
+                .fecha(fecha)
+                .cantidad(cantidad)
+                .build();
+    }
+
+    private Transferencia transferencia(String idEmpresa, LocalDate fecha) {
+        return Transferencia.builder()
+                .idEmpresa(idEmpresa)
+                .fecha(fecha)
+                .build();
+    }
+
+    private static final class RelojAjustable extends Clock {
+
+        private Instant instante;
+
+        private RelojAjustable(Instant instante) {
+            this.instante = instante;
+        }
+
+        private void avanzarDias(long dias) {
+            instante = instante.plusSeconds(dias * 86_400);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instante;
+        }
+    }
+}
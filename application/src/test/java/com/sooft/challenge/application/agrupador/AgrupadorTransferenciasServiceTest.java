@@ -0,0 +1,201 @@
+package com.sooft.challenge.application.agrupador;
+
+import com.sooft.challenge.application.service.TransferenciaService;
+import com.sooft.challenge.domain.exception.FondosInsuficientesException;
+import com.sooft.challenge.domain.exception.ResultadoTransferenciaDesconocidoException;
+import com.sooft.challenge.domain.model.Monto;
+import com.sooft.challenge.domain.model.ResultadoTransferencia;
+import com.sooft.challenge.domain.model.SolicitudTransferencia;
+import com.sooft.challenge.domain.model.Transferencia;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AgrupadorTransferenciasServiceTest {
+
+    @Mock
+    private TransferenciaService transferenciaService;
+
+    private AgrupadorTransferenciasService agrupador;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        agrupador.detener();
+    }
+
+    @Test
+    @DisplayName("Debe ejecutar transferencias concurrentes en una misma transacción y devolver a cada llamador su resultado")
+    void realizarTransferencia_agrupaConcurrentes() {
+        agrupador = new AgrupadorTransferenciasService(transferenciaService, Duration.ofMillis(200), 4, 1, Duration.ofSeconds(5));
+        when(transferenciaService.realizarTransferencias(anyList(), anyList())).thenAnswer(invocation -> {
+            List<SolicitudTransferencia> solicitudes = invocation.getArgument(0);
+            List<ResultadoTransferencia> resultados = new ArrayList<>();
+            for (int indice = 0; indice < solicitudes.size(); indice++) {
+                var solicitud = solicitudes.get(indice);
+                if (Monto.of("1000").esMenorQue(solicitud.getImporte())) {
+                    resultados.add(ResultadoTransferencia.rechazada(indice, new FondosInsuficientesException(solicitud.getCuentaDebito())));
+                } else {
+                    resultados.add(ResultadoTransferencia.exitosa(indice, Transferencia.builder()
+                            .cuentaDebito(solicitud.getCuentaDebito())
+                            .importe(solicitud.getImporte())
+                            .build()));
+                }
+            }
+            return resultados;
+        });
+        agrupador.iniciar();
+
+        var ejecutor = Executors.newFixedThreadPool(4);
+        List<CompletableFuture<Transferencia>> llamadas = new ArrayList<>();
+        for (int indice = 0; indice < 4; indice++) {
+            var importe = indice == 2 ? Monto.of("5000") : Monto.of("10.00");
+            var cuenta = "cuenta-" + indice;
+            llamadas.add(CompletableFuture.supplyAsync(() -> agrupador.realizarTransferencia(cuenta, "EMP-B", "2-222222-22", importe), ejecutor));
+        }
+
+        assertEquals("cuenta-0", llamadas.get(0).join().getCuentaDebito());
+        assertEquals("cuenta-3", llamadas.get(3).join().getCuentaDebito());
+        var error = assertThrows(CompletionException.class, () -> llamadas.get(2).join());
+        assertInstanceOf(FondosInsuficientesException.class, error.getCause());
+        assertEquals(1, agrupador.lotesEjecutados());
+        assertEquals(4, agrupador.transferenciasAgrupadas());
+        assertTrue(agrupador.tiempoEsperaTotalNanos() > 0);
+        ejecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Debe reintentar individualmente si falla la transacción agrupada")
+    void realizarTransferencia_falloDelLoteReintentaIndividualmente() {
+        agrupador = new AgrupadorTransferenciasService(transferenciaService, Duration.ofMillis(1), 64, 1, Duration.ofSeconds(5));
+        var transferencia = Transferencia.builder().importe(Monto.of("1.00")).build();
+        when(transferenciaService.realizarTransferencias(anyList(), anyList())).thenThrow(new IllegalStateException("rollback"));
+        when(transferenciaService.realizarTransferencia(any(SolicitudTransferencia.class), any())).thenReturn(transferencia);
+        agrupador.iniciar();
+
+        var resultado = agrupador.realizarTransferencia("1-111111-11", "EMP-B", "2-222222-22", Monto.of("1.00"));
+
+        assertEquals(transferencia, resultado);
+        verify(transferenciaService, times(1)).realizarTransferencia(any(SolicitudTransferencia.class), any());
+    }
+
+    @Test
+    @DisplayName("Debe ejecutar la confirmación de cada transferencia dentro de la transacción agrupada")
+    void realizarTransferencia_ejecutaLaConfirmacionEnElLote() {
+        agrupador = new AgrupadorTransferenciasService(transferenciaService, Duration.ofMillis(1), 64, 1, Duration.ofSeconds(5));
+        var transferencia = Transferencia.builder().importe(Monto.of("1.00")).build();
+        when(transferenciaService.realizarTransferencias(anyList(), anyList())).thenAnswer(invocation -> {
+            List<Consumer<Transferencia>> confirmaciones = invocation.getArgument(1);
+            confirmaciones.get(0).accept(transferencia);
+            return List.of(ResultadoTransferencia.exitosa(0, transferencia));
+        });
+        agrupador.iniciar();
+        List<Transferencia> confirmadas = new ArrayList<>();
+
+        var resultado = agrupador.realizarTransferencia(SolicitudTransferencia.builder()
+                .cuentaDebito("1-111111-11")
+                .idEmpresaCredito("EMP-B")
+                .cuentaCredito("2-222222-22")
+                .importe(Monto.of("1.00"))
+                .build(), confirmadas::add);
+
+        assertEquals(transferencia, resultado);
+        assertEquals(List.of(transferencia), confirmadas);
+    }
+
+    @Test
+    @DisplayName("Debe fallar las transferencias encoladas al detenerse y rechazar las nuevas")
+    void detener_fallaLasEncoladasYRechazaNuevas() throws InterruptedException {
+        agrupador = new AgrupadorTransferenciasService(transferenciaService, Duration.ofMillis(1), 64, 1, Duration.ofSeconds(5));
+        var llamada = CompletableFuture.supplyAsync(() -> agrupador.realizarTransferencia("1-111111-11", "EMP-B", "2-222222-22", Monto.of("1.00")));
+        while (agrupador.pendientes() == 0) {
+            Thread.onSpinWait();
+        }
+
+        agrupador.detener();
+
+        var error = assertThrows(CompletionException.class, llamada::join);
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertThrows(IllegalStateException.class,
+                () -> agrupador.realizarTransferencia("1-111111-11", "EMP-B", "2-222222-22", Monto.of("1.00")));
+        verify(transferenciaService, never()).realizarTransferencias(anyList(), anyList());
+    }
+
+    @Test
+    @DisplayName("Debe esperar el resultado del lote aunque supere la espera máxima una vez que la transferencia salió de la cola")
+    void realizarTransferencia_esperaElLoteEnCurso() {
+        agrupador = new AgrupadorTransferenciasService(transferenciaService, Duration.ofMillis(1), 64, 1, Duration.ofMillis(50));
+        var transferencia = Transferencia.builder().importe(Monto.of("1.00")).build();
+        when(transferenciaService.realizarTransferencias(anyList(), anyList())).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return List.of(ResultadoTransferencia.exitosa(0, transferencia));
+        });
+        agrupador.iniciar();
+
+        assertEquals(transferencia, agrupador.realizarTransferencia("1-111111-11", "EMP-B", "2-222222-22", Monto.of("1.00")));
+    }
+
+    @Test
+    @DisplayName("Debe informar un resultado desconocido si se interrumpe la espera de una transferencia en proceso")
+    void realizarTransferencia_interrumpidaEnProcesoInformaResultadoDesconocido() throws InterruptedException {
+        agrupador = new AgrupadorTransferenciasService(transferenciaService, Duration.ofMillis(1), 64, 1, Duration.ofSeconds(5));
+        var enProceso = new CountDownLatch(1);
+        var liberar = new CountDownLatch(1);
+        when(transferenciaService.realizarTransferencias(anyList(), anyList())).thenAnswer(invocation -> {
+            enProceso.countDown();
+            liberar.await();
+            return List.of(ResultadoTransferencia.exitosa(0, Transferencia.builder().build()));
+        });
+        agrupador.iniciar();
+        var error = new AtomicReference<Throwable>();
+        var llamador = new Thread(() -> {
+            try {
+                agrupador.realizarTransferencia("1-111111-11", "EMP-B", "2-222222-22", Monto.of("1.00"));
+            } catch (RuntimeException e) {
+                error.set(e);
+            }
+        });
+        llamador.start();
+        enProceso.await();
+
+        llamador.interrupt();
+        llamador.join();
+        liberar.countDown();
+
+        assertInstanceOf(ResultadoTransferenciaDesconocidoException.class, error.get());
+    }
+
+    @Test
+    @DisplayName("Debe dejar de esperar y descartar la transferencia al superar la espera máxima")
+    void realizarTransferencia_superaLaEsperaMaxima() {
+        agrupador = new AgrupadorTransferenciasService(transferenciaService, Duration.ofMillis(1), 64, 1, Duration.ofMillis(50));
+
+        assertThrows(IllegalStateException.class,
+                () -> agrupador.realizarTransferencia("1-111111-11", "EMP-B", "2-222222-22", Monto.of("1.00")));
+        assertEquals(0, agrupador.pendientes());
+    }
+}
@@ -0,0 +1,174 @@
+package com.sooft.challenge.application.idempotency;
+
+import com.sooft.challenge.application.service.EmpresaService;
+import com.sooft.challenge.domain.exception.CuitDuplicadoException;
+import com.sooft.challenge.domain.exception.IdempotencyKeyEnCursoException;
+import com.sooft.challenge.domain.exception.IdempotencyKeyReutilizadaException;
+import com.sooft.challenge.domain.exception.IdempotentRequestException;
+import com.sooft.challenge.domain.model.Empresa;
+import com.sooft.challenge.domain.model.IdempotencyRecord;
+import com.sooft.challenge.domain.port.out.IdempotencyKeyPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AdhesionIdempotenteServiceTest {
+
+    private static final String CLAVE = "clave-1";
+    private static final String CLAVE_ADHESION = AdhesionIdempotenteService.AMBITO + CLAVE;
+    private static final Function<Empresa, byte[]> SERIALIZER = empresa -> ("{\"id\":\"" + empresa.getId() + "\"}").getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private EmpresaService empresaService;
+
+    private ClavesEnMemoria claves;
+    private AdhesionIdempotenteService servicio;
+
+    @BeforeEach
+    void setUp() {
+        claves = new ClavesEnMemoria();
+        servicio = new AdhesionIdempotenteService(empresaService, new CoordinadorIdempotencia(claves, Duration.ofMillis(300)));
+    }
+
+    @Test
+    @DisplayName("La petición concurrente con la misma clave espera a la primera y repite su respuesta")
+    void peticionConcurrente_repiteLaRespuestaDeLaPrimera() throws Exception {
+        var empresa = Empresa.builder().id("id-1").build();
+        var enCurso = new CountDownLatch(1);
+        var liberar = new CountDownLatch(1);
+        when(empresaService.adherirEmpresa(any(), eq(CLAVE_ADHESION), any())).thenAnswer(invocation -> {
+            enCurso.countDown();
+            assertTrue(liberar.await(5, TimeUnit.SECONDS));
+            claves.save(IdempotencyRecord.builder()
+                    .idempotencyKey(CLAVE_ADHESION)
+                    .responseBody(SERIALIZER.apply(empresa))
+                    .responseStatus(201)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            return empresa;
+        });
+
+        var primera = CompletableFuture.supplyAsync(() -> servicio.adherirEmpresa(Empresa.builder().build(), CLAVE, SERIALIZER));
+        assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+        var segunda = CompletableFuture.supplyAsync(() -> servicio.adherirEmpresa(Empresa.builder().build(), CLAVE, SERIALIZER));
+        liberar.countDown();
+
+        assertSame(empresa, primera.get(5, TimeUnit.SECONDS));
+        var error = assertThrows(ExecutionException.class, () -> segunda.get(5, TimeUnit.SECONDS));
+        var repetida = assertInstanceOf(IdempotentRequestException.class, error.getCause());
+        assertEquals("{\"id\":\"id-1\"}", new String(repetida.getResponseBody(), StandardCharsets.UTF_8));
+        assertEquals(201, repetida.getResponseStatus());
+        verify(empresaService, times(1)).adherirEmpresa(any(), eq(CLAVE_ADHESION), any());
+    }
+
+    @Test
+    @DisplayName("Si la adhesión falla se libera la reserva y el reintento vuelve a ejecutarla")
+    void adhesionFallida_liberaLaReserva() {
+        when(empresaService.adherirEmpresa(any(), eq(CLAVE_ADHESION), any())).thenThrow(new CuitDuplicadoException("30111111111"));
+
+        assertThrows(CuitDuplicadoException.class, () -> servicio.adherirEmpresa(Empresa.builder().build(), CLAVE, SERIALIZER));
+        assertThrows(CuitDuplicadoException.class, () -> servicio.adherirEmpresa(Empresa.builder().build(), CLAVE, SERIALIZER));
+
+        assertTrue(claves.registros.isEmpty());
+        verify(empresaService, times(2)).adherirEmpresa(any(), eq(CLAVE_ADHESION), any());
+    }
+
+    @Test
+    @DisplayName("Si otra instancia tiene la clave reservada se responde en curso al agotar la espera")
+    void reservaDeOtraInstancia_respondeEnCurso() {
+        claves.reservar(CLAVE_ADHESION);
+
+        assertThrows(IdempotencyKeyEnCursoException.class,
+                () -> servicio.adherirEmpresa(Empresa.builder().build(), CLAVE, SERIALIZER));
+        verify(empresaService, times(0)).adherirEmpresa(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Una clave usada por una transferencia no repite su respuesta en la adhesión")
+    void claveDeTransferencia_noSeRepiteEnLaAdhesion() {
+        var empresa = Empresa.builder().id("id-1").build();
+        claves.save(IdempotencyRecord.builder()
+                .idempotencyKey(TransferenciaIdempotenteService.AMBITO + CLAVE)
+                .requestHash(new byte[]{1, 2, 3})
+                .responseBody("{\"id\":1}".getBytes(StandardCharsets.UTF_8))
+                .responseStatus(201)
+                .createdAt(LocalDateTime.now())
+                .build());
+        when(empresaService.adherirEmpresa(any(), eq(CLAVE_ADHESION), any())).thenReturn(empresa);
+
+        assertSame(empresa, servicio.adherirEmpresa(Empresa.builder().build(), CLAVE, SERIALIZER));
+    }
+
+    @Test
+    @DisplayName("Un registro con huella de solicitud bajo la clave de adhesión se rechaza sin adherir")
+    void registroConHuella_seRechaza() {
+        claves.save(IdempotencyRecord.builder()
+                .idempotencyKey(CLAVE_ADHESION)
+                .requestHash(new byte[]{1, 2, 3})
+                .responseBody("{\"id\":1}".getBytes(StandardCharsets.UTF_8))
+                .responseStatus(201)
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        assertThrows(IdempotencyKeyReutilizadaException.class,
+                () -> servicio.adherirEmpresa(Empresa.builder().build(), CLAVE, SERIALIZER));
+        verify(empresaService, times(0)).adherirEmpresa(any(), any(), any());
+    }
+
+    private static class ClavesEnMemoria implements IdempotencyKeyPort {
+
+        private final Map<String, Optional<IdempotencyRecord>> registros = new ConcurrentHashMap<>();
+
+        @Override
+        public Optional<IdempotencyRecord> findById(String idempotencyKey) {
+            return registros.getOrDefault(idempotencyKey, Optional.empty());
+        }
+
+        @Override
+        public void save(IdempotencyRecord idempotencyRecord) {
+            registros.put(idempotencyRecord.getIdempotencyKey(), Optional.of(idempotencyRecord));
+        }
+
+        @Override
+        public boolean reservar(String idempotencyKey) {
+            return registros.putIfAbsent(idempotencyKey, Optional.empty()) == null;
+        }
+
+        @Override
+        public void liberar(String idempotencyKey) {
+            registros.remove(idempotencyKey, Optional.empty());
+        }
+
+        @Override
+        public int purgarExpiradas(int lote) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.sooft.challenge.application.idempotency;
+
+import com.sooft.challenge.domain.port.out.IdempotencyKeyPort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PurgaIdempotencyKeysServiceTest {
+
+    @Mock
+    private IdempotencyKeyPort idempotencyKeyPort;
+
+    @Test
+    @DisplayName("Debe purgar lote a lote hasta encontrar un lote incompleto")
+    void purgar_recorreLotesHastaVaciar() {
+        when(idempotencyKeyPort.purgarExpiradas(10)).thenReturn(10, 10, 3);
+
+        var purga = new PurgaIdempotencyKeysService(idempotencyKeyPort, 10, 100);
+
+        assertEquals(23, purga.purgar());
+        verify(idempotencyKeyPort, times(3)).purgarExpiradas(10);
+    }
+
+    @Test
+    @DisplayName("Debe cortar la purga al alcanzar la cantidad máxima de lotes por ejecución")
+    void purgar_respetaLotesMaximos() {
+        when(idempotencyKeyPort.purgarExpiradas(10)).thenReturn(10);
+
+        var purga = new PurgaIdempotencyKeysService(idempotencyKeyPort, 10, 2);
+
+        assertEquals(20, purga.purgar());
+        verify(idempotencyKeyPort, times(2)).purgarExpiradas(10);
+    }
+}
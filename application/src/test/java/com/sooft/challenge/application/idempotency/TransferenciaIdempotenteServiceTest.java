@@ -0,0 +1,160 @@
+package com.sooft.challenge.application.idempotency;
+
+import com.sooft.challenge.domain.exception.IdempotencyKeyReutilizadaException;
+import com.sooft.challenge.domain.exception.IdempotentRequestException;
+import com.sooft.challenge.domain.exception.ResultadoTransferenciaDesconocidoException;
+import com.sooft.challenge.domain.model.IdempotencyRecord;
+import com.sooft.challenge.domain.model.Monto;
+import com.sooft.challenge.domain.model.SolicitudTransferencia;
+import com.sooft.challenge.domain.model.Transferencia;
+import com.sooft.challenge.domain.port.in.RealizarTransferenciaUseCase;
+import com.sooft.challenge.domain.port.out.IdempotencyKeyPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferenciaIdempotenteServiceTest {
+
+    private static final String CLAVE = "clave-1";
+    private static final String CLAVE_TRANSFERENCIA = TransferenciaIdempotenteService.AMBITO + CLAVE;
+    private static final byte[] CUERPO = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+    private static final Function<Transferencia, byte[]> SERIALIZER = transferencia -> CUERPO;
+
+    @Mock
+    private RealizarTransferenciaUseCase realizarTransferenciaUseCase;
+
+    @Mock
+    private IdempotencyKeyPort idempotencyKeyPort;
+
+    private TransferenciaIdempotenteService servicio;
+
+    @BeforeEach
+    void setUp() {
+        var clock = Clock.fixed(Instant.parse("2024-05-20T12:00:00Z"), ZoneOffset.UTC);
+        servicio = new TransferenciaIdempotenteService(realizarTransferenciaUseCase, idempotencyKeyPort,
+                new CoordinadorIdempotencia(idempotencyKeyPort, Duration.ofMillis(100)), clock);
+    }
+
+    @Test
+    @DisplayName("La primera petición realiza la transferencia y guarda la huella junto a la respuesta")
+    void primeraPeticion_realizaLaTransferenciaYGuardaLaHuella() {
+        var transferencia = Transferencia.builder().build();
+        when(idempotencyKeyPort.findById(CLAVE_TRANSFERENCIA)).thenReturn(Optional.empty());
+        when(idempotencyKeyPort.reservar(CLAVE_TRANSFERENCIA)).thenReturn(true);
+        confirmarCon(transferencia);
+
+        assertSame(transferencia, servicio.realizarTransferencia(solicitud("10.00"), CLAVE, SERIALIZER));
+
+        var guardado = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyKeyPort).save(guardado.capture());
+        assertArrayEquals(solicitud("10.00").huella(), guardado.getValue().getRequestHash());
+        assertArrayEquals(CUERPO, guardado.getValue().getResponseBody());
+        assertEquals(CLAVE_TRANSFERENCIA, guardado.getValue().getIdempotencyKey());
+        assertEquals(201, guardado.getValue().getResponseStatus());
+    }
+
+    @Test
+    @DisplayName("El registro se guarda dentro de la confirmación del caso de uso y su fallo se propaga liberando la reserva")
+    void guardadoFallido_sePropagaDesdeLaConfirmacion() {
+        when(idempotencyKeyPort.findById(CLAVE_TRANSFERENCIA)).thenReturn(Optional.empty());
+        when(idempotencyKeyPort.reservar(CLAVE_TRANSFERENCIA)).thenReturn(true);
+        confirmarCon(Transferencia.builder().build());
+        doThrow(new IllegalStateException("base caída")).when(idempotencyKeyPort).save(any());
+
+        assertThrows(IllegalStateException.class, () -> servicio.realizarTransferencia(solicitud("10.00"), CLAVE, SERIALIZER));
+
+        var orden = inOrder(realizarTransferenciaUseCase, idempotencyKeyPort);
+        orden.verify(realizarTransferenciaUseCase).realizarTransferencia(any(SolicitudTransferencia.class), any());
+        orden.verify(idempotencyKeyPort).save(any());
+        orden.verify(idempotencyKeyPort).liberar(CLAVE_TRANSFERENCIA);
+    }
+
+    @Test
+    @DisplayName("Si el resultado de la transferencia es desconocido se mantiene la reserva de la clave")
+    void resultadoDesconocido_mantieneLaReserva() {
+        when(idempotencyKeyPort.findById(CLAVE_TRANSFERENCIA)).thenReturn(Optional.empty());
+        when(idempotencyKeyPort.reservar(CLAVE_TRANSFERENCIA)).thenReturn(true);
+        when(realizarTransferenciaUseCase.realizarTransferencia(any(SolicitudTransferencia.class), any()))
+                .thenThrow(new ResultadoTransferenciaDesconocidoException(new InterruptedException()));
+
+        assertThrows(ResultadoTransferenciaDesconocidoException.class,
+                () -> servicio.realizarTransferencia(solicitud("10.00"), CLAVE, SERIALIZER));
+
+        verify(idempotencyKeyPort, never()).liberar(any());
+    }
+
+    @Test
+    @DisplayName("Un reintento con el mismo cuerpo repite la respuesta sin volver a transferir")
+    void reintentoConMismoCuerpo_repiteLaRespuesta() {
+        when(idempotencyKeyPort.findById(CLAVE_TRANSFERENCIA)).thenReturn(Optional.of(registro(solicitud("10.00").huella())));
+
+        var repetida = assertThrows(IdempotentRequestException.class,
+                () -> servicio.realizarTransferencia(solicitud("10.00"), CLAVE, SERIALIZER));
+
+        assertArrayEquals(CUERPO, repetida.getResponseBody());
+        verify(idempotencyKeyPort, never()).reservar(any());
+        verify(realizarTransferenciaUseCase, never()).realizarTransferencia(any(SolicitudTransferencia.class), any());
+    }
+
+    @Test
+    @DisplayName("Reutilizar la clave con otro cuerpo se rechaza sin transferir")
+    void reintentoConOtroCuerpo_seRechaza() {
+        when(idempotencyKeyPort.findById(CLAVE_TRANSFERENCIA)).thenReturn(Optional.of(registro(solicitud("10.00").huella())));
+
+        assertThrows(IdempotencyKeyReutilizadaException.class,
+                () -> servicio.realizarTransferencia(solicitud("10.01"), CLAVE, SERIALIZER));
+        verify(realizarTransferenciaUseCase, never()).realizarTransferencia(any(SolicitudTransferencia.class), any());
+    }
+
+    private void confirmarCon(Transferencia transferencia) {
+        when(realizarTransferenciaUseCase.realizarTransferencia(any(SolicitudTransferencia.class), any())).thenAnswer(invocacion -> {
+            invocacion.<Consumer<Transferencia>>getArgument(1).accept(transferencia);
+            return transferencia;
+        });
+    }
+
+    private SolicitudTransferencia solicitud(String importe) {
+        return SolicitudTransferencia.builder()
+                .cuentaDebito("111")
+                .idEmpresaCredito("EMP-B")
+                .cuentaCredito("222")
+                .importe(Monto.of(importe))
+                .build();
+    }
+
+    private IdempotencyRecord registro(byte[] huella) {
+        return IdempotencyRecord.builder()
+                .idempotencyKey(CLAVE_TRANSFERENCIA)
+                .requestHash(huella)
+                .responseBody(CUERPO)
+                .responseStatus(201)
+                .createdAt(LocalDateTime.of(2024, 5, 20, 11, 0))
+                .build();
+    }
+}
@@ -0,0 +1,401 @@
+package com.sooft.challenge.application.ledger;
+
+import com.sooft.challenge.domain.exception.FondosInsuficientesException;
+import com.sooft.challenge.domain.exception.JournalInconsistenteException;
+import com.sooft.challenge.domain.exception.TransferenciaException;
+import com.sooft.challenge.domain.exception.TransferenciaIdempotenteNoSoportadaException;
+import com.sooft.challenge.domain.model.AsientoLedger;
+import com.sooft.challenge.domain.model.Empresa;
+import com.sooft.challenge.domain.model.Monto;
+import com.sooft.challenge.domain.model.NumeroCuenta;
+import com.sooft.challenge.domain.model.ResultadoTransferencia;
+import com.sooft.challenge.domain.model.SolicitudTransferencia;
+import com.sooft.challenge.domain.port.out.EmpresaRepositoryPort;
+import com.sooft.challenge.domain.port.out.LedgerCheckpointPort;
+import com.sooft.challenge.domain.port.out.LedgerJournalPort;
+import com.sooft.challenge.domain.port.out.OutboxPort;
+import com.sooft.challenge.domain.port.out.TransferenciaRepositoryPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LedgerTransferenciaServiceTest {
+
+    private static final String CUENTA_ORIGEN = "1-111111-11";
+    private static final String CUENTA_DESTINO = "2-222222-22";
+    private static final String CODIGO_DESTINO = "EMP-B";
+    private static final LocalDate HOY = LocalDate.of(2024, 5, 20);
+
+    @Mock
+    private EmpresaRepositoryPort empresaRepositoryPort;
+
+    @Mock
+    private TransferenciaRepositoryPort transferenciaRepositoryPort;
+
+    @Mock
+    private OutboxPort outboxPort;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private JournalEnMemoria journal;
+    private CheckpointEnMemoria checkpoints;
+    private LedgerTransferenciaService ledger;
+
+    @BeforeEach
+    void setUp() {
+        journal = new JournalEnMemoria();
+        checkpoints = new CheckpointEnMemoria();
+
+        var origen = Empresa.builder().id("id-a").codigo("EMP-A").razonSocial("Empresa A")
+                .numeroCuenta(NumeroCuenta.of(CUENTA_ORIGEN)).saldo(Monto.of("100.00")).build();
+        var destino = Empresa.builder().id("id-b").codigo(CODIGO_DESTINO).razonSocial("Empresa B")
+                .numeroCuenta(NumeroCuenta.of(CUENTA_DESTINO)).saldo(Monto.of("50.00")).build();
+
+        when(empresaRepositoryPort.findByNumeroCuenta(NumeroCuenta.of(CUENTA_ORIGEN))).thenReturn(Optional.of(origen));
+        when(empresaRepositoryPort.findByNumeroCuenta(NumeroCuenta.of(CUENTA_DESTINO))).thenReturn(Optional.of(destino));
+        when(empresaRepositoryPort.findSaldoByNumeroCuenta(NumeroCuenta.of(CUENTA_ORIGEN))).thenReturn(Optional.of(origen.getSaldo()));
+        when(empresaRepositoryPort.findSaldoByNumeroCuenta(NumeroCuenta.of(CUENTA_DESTINO))).thenReturn(Optional.of(destino.getSaldo()));
+        when(empresaRepositoryPort.findByCodigo(CODIGO_DESTINO)).thenReturn(Optional.of(destino));
+        when(empresaRepositoryPort.debitarSiHayFondos(any(), any())).thenReturn(true);
+        when(empresaRepositoryPort.acreditar(any(), any())).thenReturn(true);
+        when(transferenciaRepositoryPort.save(any())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (ledger != null) {
+            ledger.detener();
+        }
+    }
+
+    private void iniciarLedger() {
+        ledger = new LedgerTransferenciaService(empresaRepositoryPort, transferenciaRepositoryPort, journal, checkpoints,
+                outboxPort, transactionManager, Clock.fixed(HOY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC), 4, 64, 2, Duration.ofMillis(10));
+        ledger.iniciar();
+    }
+
+    @Test
+    @DisplayName("Debe confirmar la transferencia tras escribir el journal y proyectarla luego en la base")
+    void realizarTransferencia_confirmaYProyecta() {
+        iniciarLedger();
+
+        var transferencia = ledger.realizarTransferencia(CUENTA_ORIGEN, CODIGO_DESTINO, CUENTA_DESTINO, Monto.of("40.00"));
+
+        assertNull(transferencia.getId());
+        assertEquals("id-a", transferencia.getIdEmpresa());
+        assertEquals(HOY, transferencia.getFecha());
+        assertEquals(1, journal.asientos(particionDe(CUENTA_ORIGEN)).size());
+
+        verify(transferenciaRepositoryPort, timeout(2000)).save(any());
+        verify(empresaRepositoryPort, timeout(2000)).debitarSiHayFondos(NumeroCuenta.of(CUENTA_ORIGEN), Monto.of("40.00"));
+        verify(empresaRepositoryPort, timeout(2000)).acreditar(CODIGO_DESTINO, Monto.of("40.00"));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar el débito sin fondos en memoria sin escribir el journal")
+    void realizarTransferencia_sinFondos() {
+        iniciarLedger();
+
+        assertThrows(FondosInsuficientesException.class,
+                () -> ledger.realizarTransferencia(CUENTA_ORIGEN, CODIGO_DESTINO, CUENTA_DESTINO, Monto.of("100.01")));
+
+        assertTrue(journal.asientos(particionDe(CUENTA_ORIGEN)).isEmpty());
+        verify(empresaRepositoryPort, never()).debitarSiHayFondos(any(), any());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar las transferencias entre cuentas de la misma empresa")
+    void realizarTransferencia_mismaEmpresa() {
+        iniciarLedger();
+
+        assertThrows(TransferenciaException.class,
+                () -> ledger.realizarTransferencia(CUENTA_DESTINO, CODIGO_DESTINO, CUENTA_DESTINO, Monto.of("1.00")));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar las transferencias con confirmación transaccional porque el journal no comparte la transacción")
+    void realizarTransferencia_conConfirmacionNoSoportada() {
+        iniciarLedger();
+        var solicitud = SolicitudTransferencia.builder()
+                .cuentaDebito(CUENTA_ORIGEN)
+                .idEmpresaCredito(CODIGO_DESTINO)
+                .cuentaCredito(CUENTA_DESTINO)
+                .importe(Monto.of("1.00"))
+                .build();
+
+        assertThrows(TransferenciaIdempotenteNoSoportadaException.class,
+                () -> ledger.realizarTransferencia(solicitud, transferencia -> { }));
+        assertTrue(journal.asientos(particionDe(CUENTA_ORIGEN)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe aplicar los débitos de un lote en orden y rechazar los que exceden el saldo")
+    void realizarTransferencias_loteConSaldoAgotado() {
+        iniciarLedger();
+        var solicitud = SolicitudTransferencia.builder()
+                .cuentaDebito(CUENTA_ORIGEN)
+                .idEmpresaCredito(CODIGO_DESTINO)
+                .cuentaCredito(CUENTA_DESTINO)
+                .importe(Monto.of("40.00"))
+                .build();
+
+        List<ResultadoTransferencia> resultados = ledger.realizarTransferencias(List.of(solicitud, solicitud, solicitud));
+
+        assertTrue(resultados.get(0).isExitosa());
+        assertTrue(resultados.get(1).isExitosa());
+        assertFalse(resultados.get(2).isExitosa());
+        assertInstanceOf(FondosInsuficientesException.class, resultados.get(2).getError());
+        verify(transferenciaRepositoryPort, timeout(2000).times(2)).save(any());
+    }
+
+    @Test
+    @DisplayName("Debe revertir el débito en memoria si falla la escritura del journal")
+    void realizarTransferencia_fallaJournal() {
+        iniciarLedger();
+        journal.fallarProximaEscritura();
+
+        assertThrows(IllegalStateException.class,
+                () -> ledger.realizarTransferencia(CUENTA_ORIGEN, CODIGO_DESTINO, CUENTA_DESTINO, Monto.of("100.00")));
+
+        var transferencia = ledger.realizarTransferencia(CUENTA_ORIGEN, CODIGO_DESTINO, CUENTA_DESTINO, Monto.of("100.00"));
+
+        assertEquals(Monto.of("100.00"), transferencia.getImporte());
+        assertEquals(1, journal.asientos(particionDe(CUENTA_ORIGEN)).get(0).getSecuencia());
+    }
+
+    @Test
+    @DisplayName("Debe detener la partición si no se puede revertir una escritura fallida del journal")
+    void realizarTransferencia_journalInconsistente() {
+        iniciarLedger();
+        journal.corromperProximaEscritura();
+
+        assertThrows(JournalInconsistenteException.class,
+                () -> ledger.realizarTransferencia(CUENTA_ORIGEN, CODIGO_DESTINO, CUENTA_DESTINO, Monto.of("10.00")));
+        assertThrows(JournalInconsistenteException.class,
+                () -> ledger.realizarTransferencia(CUENTA_ORIGEN, CODIGO_DESTINO, CUENTA_DESTINO, Monto.of("10.00")));
+
+        assertTrue(journal.asientos(particionDe(CUENTA_ORIGEN)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe apartar el asiento que no se puede proyectar y seguir proyectando los siguientes")
+    void proyeccion_aparteAsientoConError() throws InterruptedException {
+        when(empresaRepositoryPort.debitarSiHayFondos(NumeroCuenta.of(CUENTA_ORIGEN), Monto.of("13.00"))).thenReturn(false);
+        iniciarLedger();
+
+        ledger.realizarTransferencia(CUENTA_ORIGEN, CODIGO_DESTINO, CUENTA_DESTINO, Monto.of("13.00"));
+        ledger.realizarTransferencia(CUENTA_ORIGEN, CODIGO_DESTINO, CUENTA_DESTINO, Monto.of("20.00"));
+
+        int particion = particionDe(CUENTA_ORIGEN);
+        long limite = System.nanoTime() + 2_000_000_000L;
+        while (journal.descartadoHasta(particion) < 0 && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+
+        verify(transferenciaRepositoryPort).save(any());
+        assertEquals(1, ledger.asientosApartados().size());
+        assertEquals(1, ledger.asientosApartados().get(0).getSecuencia());
+        assertEquals(2, checkpoints.ultimaSecuenciaProyectada(particion));
+        assertEquals(0, journal.descartadoHasta(particion));
+    }
+
+    @Test
+    @DisplayName("Debe descartar del journal los asientos ya proyectados")
+    void proyeccion_descartaJournalProyectado() {
+        int particion = particionDe(CUENTA_ORIGEN);
+        journal.agregar(particion, List.of(asiento(particion, 1), asiento(particion, 2)));
+
+        iniciarLedger();
+
+        assertEquals(2, checkpoints.ultimaSecuenciaProyectada(particion));
+        assertEquals(2, journal.descartadoHasta(particion));
+    }
+
+    @Test
+    @DisplayName("Debe reproyectar al iniciar los asientos del journal posteriores al checkpoint")
+    void iniciar_reproyectaJournal() {
+        int particion = particionDe(CUENTA_ORIGEN);
+        journal.agregar(particion, List.of(asiento(particion, 1), asiento(particion, 2), asiento(particion, 3)));
+        checkpoints.registrarProyeccion(particion, 1);
+
+        iniciarLedger();
+
+        verify(transferenciaRepositoryPort, times(2)).save(any());
+        assertEquals(3, checkpoints.ultimaSecuenciaProyectada(particion));
+
+        ledger.realizarTransferencia(CUENTA_ORIGEN, CODIGO_DESTINO, CUENTA_DESTINO, Monto.of("1.00"));
+        assertEquals(4, journal.asientos(particion).get(3).getSecuencia());
+    }
+
+    @Test
+    @DisplayName("Debe reproyectar los asientos de todas las particiones en el orden global de confirmación")
+    void iniciar_reproyectaEnOrdenDeConfirmacion() {
+        var acreditado = new AtomicBoolean();
+        when(empresaRepositoryPort.acreditar(any(), any())).thenAnswer(inv -> {
+            acreditado.set(true);
+            return true;
+        });
+        when(empresaRepositoryPort.debitarSiHayFondos(NumeroCuenta.of(CUENTA_ORIGEN), Monto.of("10.00")))
+                .thenAnswer(inv -> acreditado.get());
+        var credito = AsientoLedger.builder()
+                .particion(1)
+                .secuencia(1)
+                .orden(1)
+                .idEmpresaDebito("id-b")
+                .cuentaDebito(CUENTA_DESTINO)
+                .codigoEmpresaCredito("EMP-A")
+                .cuentaCredito(CUENTA_ORIGEN)
+                .importe(Monto.of("10.00"))
+                .fecha(HOY)
+                .build();
+        journal.agregar(0, List.of(asiento(0, 1, 2)));
+        journal.agregar(1, List.of(credito));
+
+        iniciarLedger();
+
+        var orden = inOrder(empresaRepositoryPort);
+        orden.verify(empresaRepositoryPort).acreditar("EMP-A", Monto.of("10.00"));
+        orden.verify(empresaRepositoryPort).debitarSiHayFondos(NumeroCuenta.of(CUENTA_ORIGEN), Monto.of("10.00"));
+        assertEquals(1, checkpoints.ultimaSecuenciaProyectada(0));
+        assertEquals(1, checkpoints.ultimaSecuenciaProyectada(1));
+    }
+
+    private int particionDe(String cuenta) {
+        return Math.floorMod(cuenta.hashCode(), 4);
+    }
+
+    private AsientoLedger asiento(int particion, long secuencia) {
+        return asiento(particion, secuencia, secuencia);
+    }
+
+    private AsientoLedger asiento(int particion, long secuencia, long orden) {
+        return AsientoLedger.builder()
+                .particion(particion)
+                .secuencia(secuencia)
+                .orden(orden)
+                .idEmpresaDebito("id-a")
+                .cuentaDebito(CUENTA_ORIGEN)
+                .codigoEmpresaCredito(CODIGO_DESTINO)
+                .cuentaCredito(CUENTA_DESTINO)
+                .importe(Monto.of("10.00"))
+                .fecha(HOY)
+                .build();
+    }
+
+    private static class JournalEnMemoria implements LedgerJournalPort {
+
+        private final Map<Integer, List<AsientoLedger>> particiones = new ConcurrentHashMap<>();
+        private final Map<Integer, Long> descartes = new ConcurrentHashMap<>();
+        private volatile boolean fallar;
+        private volatile boolean corromper;
+
+        void fallarProximaEscritura() {
+            fallar = true;
+        }
+
+        void corromperProximaEscritura() {
+            corromper = true;
+        }
+
+        List<AsientoLedger> asientos(int particion) {
+            return particiones.getOrDefault(particion, List.of());
+        }
+
+        long descartadoHasta(int particion) {
+            return descartes.getOrDefault(particion, -1L);
+        }
+
+        @Override
+        public void agregar(int particion, List<AsientoLedger> asientos) {
+            if (fallar) {
+                fallar = false;
+                throw new IllegalStateException("disco lleno");
+            }
+            if (corromper) {
+                corromper = false;
+                throw new JournalInconsistenteException(particion, new IOException("disco lleno"));
+            }
+            particiones.computeIfAbsent(particion, p -> new CopyOnWriteArrayList<>()).addAll(asientos);
+        }
+
+        @Override
+        public List<AsientoLedger> leerDesde(int particion, long secuenciaExclusiva) {
+            List<AsientoLedger> resultado = new ArrayList<>();
+            for (AsientoLedger asiento : asientos(particion)) {
+                if (asiento.getSecuencia() > secuenciaExclusiva) {
+                    resultado.add(asiento);
+                }
+            }
+            return resultado;
+        }
+
+        @Override
+        public long ultimaSecuencia(int particion) {
+            var asientos = asientos(particion);
+            return asientos.isEmpty() ? 0 : asientos.get(asientos.size() - 1).getSecuencia();
+        }
+
+        @Override
+        public long ultimoOrden(int particion) {
+            var asientos = asientos(particion);
+            return asientos.isEmpty() ? 0 : asientos.get(asientos.size() - 1).getOrden();
+        }
+
+        @Override
+        public void descartarHasta(int particion, long secuencia) {
+            descartes.put(particion, secuencia);
+        }
+    }
+
+    private static class CheckpointEnMemoria implements LedgerCheckpointPort {
+
+        private final Map<Integer, Long> secuencias = new ConcurrentHashMap<>();
+
+        @Override
+        public long ultimaSecuenciaProyectada(int particion) {
+            return secuencias.getOrDefault(particion, 0L);
+        }
+
+        @Override
+        public void registrarProyeccion(int particion, long secuencia) {
+            secuencias.put(particion, secuencia);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.sooft.challenge.application.lock;
+
+import com.sooft.challenge.application.service.TransferenciaService;
+import com.sooft.challenge.domain.exception.CuentaBloqueadaException;
+import com.sooft.challenge.domain.exception.FondosInsuficientesException;
+import com.sooft.challenge.domain.model.Empresa;
+import com.sooft.challenge.domain.model.Monto;
+import com.sooft.challenge.domain.model.NumeroCuenta;
+import com.sooft.challenge.domain.model.Transferencia;
+import com.sooft.challenge.domain.port.out.EmpresaRepositoryPort;
+import com.sooft.challenge.domain.port.out.OutboxPort;
+import com.sooft.challenge.domain.port.out.TransferenciaRepositoryPort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CuentaLockManagerTest {
+
+    private static final int HILOS = 64;
+    private static final int TRANSFERENCIAS_POR_HILO = 500;
+    private static final Duration ESPERA = Duration.ofSeconds(5);
+
+    @Test
+    @DisplayName("Debe redondear la cantidad de stripes a la siguiente potencia de dos")
+    void constructor_redondeaAPotenciaDeDos() {
+        assertEquals(1, new CuentaLockManager(1, ESPERA).cantidadStripes());
+        assertEquals(16, new CuentaLockManager(16, ESPERA).cantidadStripes());
+        assertEquals(32, new CuentaLockManager(17, ESPERA).cantidadStripes());
+    }
+
+    @Test
+    @DisplayName("Debe bloquear una única vez el stripe compartido por varias cuentas y liberarlo al cerrar")
+    void bloquear_cuentasEnElMismoStripe_adquiereUnaSolaVez() {
+        var lockManager = new CuentaLockManager(1, ESPERA);
+
+        try (var bloqueo = lockManager.bloquear(List.of(NumeroCuenta.of("A"), NumeroCuenta.of("B")))) {
+            assertEquals(1, lockManager.adquisicionesTotales());
+        }
+
+        assertEquals(0, lockManager.contencionesTotales());
+        assertEquals(0, lockManager.longitudColaTotal());
+    }
+
+    @Test
+    @DisplayName("Debe registrar tiempo de espera y contención cuando otro hilo tiene el stripe")
+    void bloquear_conContencion_registraMetricas() throws Exception {
+        var lockManager = new CuentaLockManager(4, ESPERA);
+        var cuenta = List.of(NumeroCuenta.of("CUENTA-CONTENIDA"));
+        var adquirido = new CountDownLatch(1);
+        var liberar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            executor.submit(() -> {
+                try (var bloqueo = lockManager.bloquear(cuenta)) {
+                    adquirido.countDown();
+                    liberar.await();
+                }
+                return null;
+            });
+            adquirido.await();
+
+            var esperando = new Thread(() -> lockManager.bloquear(cuenta).close());
+            esperando.start();
+            while (lockManager.longitudColaMaxima() == 0) {
+                Thread.onSpinWait();
+            }
+            assertEquals(1, lockManager.longitudColaTotal());
+            liberar.countDown();
+            esperando.join();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, lockManager.contencionesTotales());
+        assertTrue(lockManager.tiempoEsperaTotalNanos() > 0);
+        int indice = lockManager.indiceStripe(cuenta.get(0));
+        assertEquals(2, lockManager.estadistica(indice).getAdquisiciones());
+    }
+
+    @Test
+    @DisplayName("Debe abandonar la espera al vencer el plazo y liberar los stripes ya adquiridos")
+    void bloquear_superaLaEspera_liberaLosStripesAdquiridos() throws Exception {
+        var lockManager = new CuentaLockManager(64, Duration.ofMillis(50));
+        var libre = NumeroCuenta.of("CUENTA-LIBRE");
+        var ocupada = NumeroCuenta.of("CUENTA-OCUPADA");
+        while (lockManager.indiceStripe(libre) >= lockManager.indiceStripe(ocupada)) {
+            libre = NumeroCuenta.of(libre.getValor() + "X");
+        }
+        var cuentas = List.of(libre, ocupada);
+        var adquirido = new CountDownLatch(1);
+        var liberar = new CountDownLatch(1);
+        var ocupante = new Thread(() -> {
+            try (var bloqueo = lockManager.bloquear(List.of(ocupada))) {
+                adquirido.countDown();
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        ocupante.start();
+        adquirido.await();
+
+        assertThrows(CuentaBloqueadaException.class, () -> lockManager.bloquear(cuentas));
+        liberar.countDown();
+        ocupante.join();
+
+        try (var bloqueo = lockManager.bloquear(cuentas)) {
+            assertEquals(1, lockManager.contencionesTotales());
+        }
+    }
+
+    @Test
+    @DisplayName("No debe perder saldo con 64 hilos transfiriendo entre las mismas cuentas")
+    void realizarTransferencia_con64Hilos_noPierdeSaldo() throws Exception {
+        List<String> cuentas = List.of("CUENTA-A", "CUENTA-B", "CUENTA-C", "CUENTA-D");
+        Monto saldoInicial = Monto.of("5000");
+        Map<String, Monto> saldos = new ConcurrentHashMap<>();
+        Map<String, AtomicLong> movimientosNetos = new ConcurrentHashMap<>();
+        cuentas.forEach(cuenta -> {
+            saldos.put(cuenta, saldoInicial);
+            movimientosNetos.put(cuenta, new AtomicLong());
+        });
+
+        var empresaRepositoryPort = mock(EmpresaRepositoryPort.class);
+        var transferenciaRepositoryPort = mock(TransferenciaRepositoryPort.class);
+        when(empresaRepositoryPort.findByNumeroCuenta(any(NumeroCuenta.class)))
+                .thenAnswer(inv -> Optional.of(empresa(((NumeroCuenta) inv.getArgument(0)).getValor())));
+        when(empresaRepositoryPort.findByCodigo(anyString()))
+                .thenAnswer(inv -> Optional.of(empresa(inv.getArgument(0))));
+        when(empresaRepositoryPort.debitarSiHayFondos(any(NumeroCuenta.class), any(Monto.class))).thenAnswer(inv -> {
+            String cuenta = ((NumeroCuenta) inv.getArgument(0)).getValor();
+            Monto importe = inv.getArgument(1);
+            Monto saldoLeido = saldos.get(cuenta);
+            Thread.yield();
+            if (saldoLeido.esMenorQue(importe)) {
+                return false;
+            }
+            saldos.put(cuenta, saldoLeido.restar(importe));
+            return true;
+        });
+        when(empresaRepositoryPort.acreditar(anyString(), any(Monto.class))).thenAnswer(inv -> {
+            String cuenta = inv.getArgument(0);
+            Monto saldoLeido = saldos.get(cuenta);
+            Thread.yield();
+            saldos.put(cuenta, saldoLeido.sumar(inv.getArgument(1)));
+            return true;
+        });
+        when(transferenciaRepositoryPort.save(any(Transferencia.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        var lockManager = new CuentaLockManager(64, ESPERA);
+        var transferenciaService = new TransferenciaService(empresaRepositoryPort, transferenciaRepositoryPort, lockManager,
+                mock(OutboxPort.class), mock(PlatformTransactionManager.class));
+        var inicio = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        List<Future<?>> tareas = new ArrayList<>();
+
+        for (int hilo = 0; hilo < HILOS; hilo++) {
+            tareas.add(executor.submit(() -> {
+                inicio.await();
+                var random = ThreadLocalRandom.current();
+                for (int i = 0; i < TRANSFERENCIAS_POR_HILO; i++) {
+                    String debito = cuentas.get(random.nextInt(cuentas.size()));
+                    String credito = cuentas.get(random.nextInt(cuentas.size()));
+                    if (debito.equals(credito)) {
+                        continue;
+                    }
+                    long importe = 1 + random.nextInt(50);
+                    try {
+                        transferenciaService.realizarTransferencia(debito, credito, credito, Monto.deCentavos(importe * 100));
+                        movimientosNetos.get(debito).addAndGet(-importe);
+                        movimientosNetos.get(credito).addAndGet(importe);
+                    } catch (FondosInsuficientesException ignored) {
+                    }
+                }
+                return null;
+            }));
+        }
+        inicio.countDown();
+        for (Future<?> tarea : tareas) {
+            tarea.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        Monto total = Monto.CERO;
+        for (String cuenta : cuentas) {
+            Monto esperado = saldoInicial.sumar(Monto.deCentavos(movimientosNetos.get(cuenta).get() * 100));
+            assertEquals(esperado, saldos.get(cuenta), "Saldo inconsistente en " + cuenta);
+            assertFalse(saldos.get(cuenta).esMenorQue(Monto.CERO));
+            total = total.sumar(saldos.get(cuenta));
+        }
+        assertEquals(Monto.deCentavos(saldoInicial.getCentavos() * cuentas.size()), total);
+        assertEquals(0, lockManager.longitudColaTotal());
+    }
+
+    private static Empresa empresa(String cuenta) {
+        return Empresa.builder()
+                .id(cuenta)
+                .codigo(cuenta)
+                .razonSocial("Empresa " + cuenta)
+                .numeroCuenta(NumeroCuenta.of(cuenta))
+                .build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.sooft.challenge.application.outbox;
+
+import com.sooft.challenge.domain.model.EventoOutbox;
+import com.sooft.challenge.domain.port.out.OutboxPort;
+import com.sooft.challenge.domain.port.out.PublicadorEventosPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RelayOutboxServiceTest {
+
+    @Mock
+    private OutboxPort outboxPort;
+
+    @Mock
+    private PublicadorEventosPort publicadorEventosPort;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<List<EventoOutbox>> publicados;
+
+    private RelayOutboxService relayOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        relayOutboxService = new RelayOutboxService(outboxPort, publicadorEventosPort, transactionManager, 2, 3);
+    }
+
+    @Test
+    @DisplayName("Debe publicar y eliminar lotes hasta que la outbox quede vacía")
+    void drenar_publicaLotesHastaVaciar() {
+        var primerLote = eventos(1, 2);
+        var segundoLote = eventos(3);
+        when(outboxPort.bloquearPendientes(2)).thenReturn(primerLote).thenReturn(segundoLote);
+
+        assertEquals(3, relayOutboxService.drenar());
+
+        InOrder orden = inOrder(publicadorEventosPort, outboxPort);
+        orden.verify(publicadorEventosPort).publicar(primerLote);
+        orden.verify(outboxPort).eliminar(List.of(1L, 2L));
+        orden.verify(publicadorEventosPort).publicar(segundoLote);
+        orden.verify(outboxPort).eliminar(List.of(3L));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Debe cortar en la cantidad máxima de lotes por ejecución")
+    void drenar_respetaLotesMaximos() {
+        when(outboxPort.bloquearPendientes(2)).thenReturn(eventos(1, 2)).thenReturn(eventos(3, 4)).thenReturn(eventos(5, 6));
+
+        assertEquals(6, relayOutboxService.drenar());
+
+        verify(outboxPort, times(3)).bloquearPendientes(2);
+        verify(publicadorEventosPort, times(3)).publicar(publicados.capture());
+        assertEquals(List.of(5L, 6L), publicados.getValue().stream().map(EventoOutbox::getId).toList());
+    }
+
+    @Test
+    @DisplayName("No debe eliminar los eventos si la publicación falla")
+    void drenar_noEliminaSiFallaLaPublicacion() {
+        var lote = eventos(1);
+        when(outboxPort.bloquearPendientes(2)).thenReturn(lote);
+        doThrow(new IllegalStateException("broker caído")).when(publicadorEventosPort).publicar(lote);
+
+        assertThrows(IllegalStateException.class, () -> relayOutboxService.drenar());
+
+        verify(outboxPort, never()).eliminar(any());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    @DisplayName("No debe publicar nada si la outbox está vacía")
+    void drenar_outboxVacia() {
+        when(outboxPort.bloquearPendientes(2)).thenReturn(List.of());
+
+        assertEquals(0, relayOutboxService.drenar());
+
+        verify(publicadorEventosPort, never()).publicar(any());
+    }
+
+    private List<EventoOutbox> eventos(long... ids) {
+        return LongStream.of(ids)
+                .mapToObj(id -> new EventoOutbox(id, "TransferenciaRealizada", "1234567890", "{}", LocalDateTime.of(2024, 5, 20, 10, 0)))
+                .toList();
+    }
+}
@@ -0,0 +1,38 @@
+package com.sooft.challenge.application.saldo;
+
+import com.sooft.challenge.domain.port.out.EmpresaRepositoryPort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CompactacionSaldosServiceTest {
+
+    @Mock
+    private EmpresaRepositoryPort empresaRepositoryPort;
+
+    @Test
+    @DisplayName("Debe consolidar lote a lote hasta encontrar un lote incompleto")
+    void compactar_recorreLotesHastaVaciar() {
+        when(empresaRepositoryPort.compactarSaldos(10)).thenReturn(10, 3);
+
+        assertEquals(13, new CompactacionSaldosService(empresaRepositoryPort, 10, 50).compactar());
+        verify(empresaRepositoryPort, times(2)).compactarSaldos(10);
+    }
+
+    @Test
+    @DisplayName("Debe cortar la compactación al alcanzar la cantidad máxima de lotes por ejecución")
+    void compactar_respetaLotesMaximos() {
+        when(empresaRepositoryPort.compactarSaldos(10)).thenReturn(10);
+
+        assertEquals(20, new CompactacionSaldosService(empresaRepositoryPort, 10, 2).compactar());
+        verify(empresaRepositoryPort, times(2)).compactarSaldos(10);
+    }
+}
@@ -2,10 +2,13 @@ package com.sooft.challenge.application.service;
 
 import com.sooft.challenge.domain.exception.CuitDuplicadoException;
 import com.sooft.challenge.domain.exception.FechaAdhesionException;
+import com.sooft.challenge.domain.exception.IdempotencyKeyReutilizadaException;
 import com.sooft.challenge.domain.exception.IdempotentRequestException;
 import com.sooft.challenge.domain.model.IdempotencyRecord;
 import com.sooft.challenge.domain.model.Cuit;
+import com.sooft.challenge.domain.model.CursorEmpresa;
 import com.sooft.challenge.domain.model.Empresa;
+import com.sooft.challenge.domain.model.Monto;
 import com.sooft.challenge.domain.port.out.EmpresaRepositoryPort;
 import com.sooft.challenge.domain.port.out.IdempotencyKeyPort;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,20 +20,25 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
-import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
@@ -53,10 +61,9 @@ class EmpresaServiceTest {
 
     private final Cuit CUIT_VALIDO = Cuit.of("30112233445");
     private final String RAZON_SOCIAL = "Empresa de Prueba S.A.";
-    private final BigDecimal SALDO_INICIAL = new BigDecimal("10000.00");
+    private final Monto SALDO_INICIAL = Monto.of("10000.00");
     private final String IDEMPOTENCY_KEY = "test-key-123";
-    private final Function<Empresa, String> MOCK_SERIALIZER = empresa -> "{\"id\":\"" + empresa.getId() + "\"}";
-
+    private final Function<Empresa, byte[]> MOCK_SERIALIZER = empresa -> ("{\"id\":\"" + empresa.getId() + "\"}").getBytes(StandardCharsets.UTF_8);
 
     @BeforeEach
     void setUp() {
@@ -134,7 +141,7 @@ class EmpresaServiceTest {
 
         var existingRecord = IdempotencyRecord.builder()
                 .idempotencyKey(IDEMPOTENCY_KEY)
-                .responseBody("{\"message\":\"ya procesado\"}")
+                .responseBody("{\"message\":\"ya procesado\"}".getBytes(StandardCharsets.UTF_8))
                 .responseStatus(201)
                 .createdAt(LocalDateTime.now(clock).minusMinutes(5))
                 .build();
@@ -148,11 +155,28 @@ class EmpresaServiceTest {
         });
 
         assertEquals(201, exception.getResponseStatus());
-        assertEquals("{\"message\":\"ya procesado\"}", exception.getResponseBody());
+        assertEquals("{\"message\":\"ya procesado\"}", new String(exception.getResponseBody(), StandardCharsets.UTF_8));
 
         verify(empresaRepositoryPort, never()).save(any());
     }
 
+    @Test
+    @DisplayName("Debe rechazar una clave de idempotencia registrada por otra operación")
+    void adherirEmpresa_rechazaClaveDeOtraOperacion() {
+        var registroTransferencia = IdempotencyRecord.builder()
+                .idempotencyKey(IDEMPOTENCY_KEY)
+                .requestHash(new byte[]{1, 2, 3})
+                .responseBody("{\"id\":1}".getBytes(StandardCharsets.UTF_8))
+                .responseStatus(201)
+                .createdAt(LocalDateTime.now(clock).minusMinutes(5))
+                .build();
+        when(idempotencyKeyPort.findById(IDEMPOTENCY_KEY)).thenReturn(Optional.of(registroTransferencia));
+
+        assertThrows(IdempotencyKeyReutilizadaException.class,
+                () -> empresaService.adherirEmpresa(Empresa.builder().cuit(CUIT_VALIDO).build(), IDEMPOTENCY_KEY, MOCK_SERIALIZER));
+
+        verify(empresaRepositoryPort, never()).save(any());
+    }
 
     @Test
     @DisplayName("getEmpresasAdheridasUltimoMes debe llamar al repositorio correctamente")
@@ -180,4 +204,46 @@ class EmpresaServiceTest {
         assertNotNull(resultado);
         verify(empresaRepositoryPort).findEmpresasConTransferenciasEnElUltimoMes(pageable);
     }
-}
+
+    @Test
+    @DisplayName("findAll por cursor debe devolver el cursor de la última empresa cuando hay más resultados")
+    void findAllPorCursor_devuelveSiguienteCursor() {
+        var primera = Empresa.builder().id("id-1").razonSocial("Alfa").build();
+        var segunda = Empresa.builder().id("id-2").razonSocial("Beta").build();
+        var cursor = CursorEmpresa.of("Aaa", "id-0");
+        when(empresaRepositoryPort.findAll(cursor, 2))
+                .thenReturn(new SliceImpl<>(List.of(primera, segunda), PageRequest.ofSize(2), true));
+
+        var resultado = empresaService.findAll(cursor, 2);
+
+        assertEquals(2, resultado.getContenido().getNumberOfElements());
+        assertEquals(CursorEmpresa.of("Beta", "id-2"), CursorEmpresa.decodificar(resultado.getSiguienteCursor()));
+    }
+
+    @Test
+    @DisplayName("La búsqueda por códigos debe consultar una sola vez sin duplicados y rechazar más de 1000 códigos")
+    void findAllByCodigo_deduplicaYLimitaLaCantidad() {
+        var empresa = Empresa.builder().codigo("ABC").build();
+        when(empresaRepositoryPort.findAllByCodigoIn(Set.of("ABC", "XYZ"))).thenReturn(List.of(empresa));
+
+        assertEquals(List.of(empresa), empresaService.findAllByCodigo(List.of("ABC", "XYZ", "ABC")));
+
+        var demasiados = IntStream.rangeClosed(0, 1000).mapToObj(String::valueOf).toList();
+        assertThrows(IllegalArgumentException.class, () -> empresaService.findAllByCodigo(demasiados));
+        verify(empresaRepositoryPort, times(1)).findAllByCodigoIn(any());
+    }
+
+    @Test
+    @DisplayName("Las consultas por cursor no deben devolver cursor en la última página ni aceptar tamaños fuera de rango")
+    void consultasPorCursor_ultimaPaginaYTamanioInvalido() {
+        var empresa = Empresa.builder().id("id-1").razonSocial("Alfa").fechaAdhesion(LocalDate.now(clock)).build();
+        when(empresaRepositoryPort.findEmpresasAdheridasEnElUltimoMes(null, 10))
+                .thenReturn(new SliceImpl<>(List.of(empresa), PageRequest.ofSize(10), false));
+
+        var resultado = empresaService.findEmpresasAdheridasRecientemente(null, 10);
+
+        assertNull(resultado.getSiguienteCursor());
+        assertThrows(IllegalArgumentException.class, () -> empresaService.findEmpresasConTransferenciasRecientes(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> empresaService.findAll(null, 501));
+    }
+}
\ No newline at end of file
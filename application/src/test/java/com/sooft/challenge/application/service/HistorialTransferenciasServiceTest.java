@@ -0,0 +1,92 @@
+package com.sooft.challenge.application.service;
+
+import com.sooft.challenge.domain.exception.EmpresaNotFoundException;
+import com.sooft.challenge.domain.model.CursorTransferencia;
+import com.sooft.challenge.domain.model.Empresa;
+import com.sooft.challenge.domain.model.Transferencia;
+import com.sooft.challenge.domain.port.out.EmpresaRepositoryPort;
+import com.sooft.challenge.domain.port.out.TransferenciaRepositoryPort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HistorialTransferenciasServiceTest {
+
+    private static final LocalDate DESDE = LocalDate.of(2024, 5, 1);
+    private static final LocalDate HASTA = LocalDate.of(2024, 5, 31);
+
+    @Mock
+    private EmpresaRepositoryPort empresaRepositoryPort;
+
+    @Mock
+    private TransferenciaRepositoryPort transferenciaRepositoryPort;
+
+    @InjectMocks
+    private HistorialTransferenciasService historialTransferenciasService;
+
+    @Test
+    @DisplayName("Debe buscar por el id interno de la empresa y armar el cursor con la última transferencia")
+    void findTransferenciasDeEmpresa_devuelveCursorDeLaUltimaFila() {
+        var empresa = Empresa.builder().id("id-interno").codigo("ABC123").build();
+        var primera = Transferencia.builder().id(9L).fecha(LocalDate.of(2024, 5, 20)).build();
+        var segunda = Transferencia.builder().id(7L).fecha(LocalDate.of(2024, 5, 18)).build();
+        when(empresaRepositoryPort.findByCodigo("ABC123")).thenReturn(Optional.of(empresa));
+        when(transferenciaRepositoryPort.findByEmpresa("id-interno", DESDE, HASTA, null, 2))
+                .thenReturn(new SliceImpl<>(List.of(primera, segunda), PageRequest.ofSize(2), true));
+
+        var pagina = historialTransferenciasService.findTransferenciasDeEmpresa("ABC123", DESDE, HASTA, null, 2);
+
+        assertEquals(2, pagina.getContenido().getNumberOfElements());
+        assertEquals(CursorTransferencia.of(LocalDate.of(2024, 5, 18), 7L),
+                CursorTransferencia.decodificar(pagina.getSiguienteCursor()));
+    }
+
+    @Test
+    @DisplayName("No debe devolver cursor cuando no hay más transferencias")
+    void findTransferenciasDeEmpresa_sinSiguientePagina_noDevuelveCursor() {
+        var empresa = Empresa.builder().id("id-interno").codigo("ABC123").build();
+        when(empresaRepositoryPort.findByCodigo("ABC123")).thenReturn(Optional.of(empresa));
+        when(transferenciaRepositoryPort.findByEmpresa("id-interno", null, null, null, 20))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.ofSize(20), false));
+
+        var pagina = historialTransferenciasService.findTransferenciasDeEmpresa("ABC123", null, null, null, 20);
+
+        assertNull(pagina.getSiguienteCursor());
+    }
+
+    @Test
+    @DisplayName("Debe lanzar EmpresaNotFoundException si la empresa no existe")
+    void findTransferenciasDeEmpresa_empresaInexistente_lanzaExcepcion() {
+        when(empresaRepositoryPort.findByCodigo("NOEXISTE")).thenReturn(Optional.empty());
+
+        assertThrows(EmpresaNotFoundException.class,
+                () -> historialTransferenciasService.findTransferenciasDeEmpresa("NOEXISTE", DESDE, HASTA, null, 20));
+        verifyNoInteractions(transferenciaRepositoryPort);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un rango de fechas invertido o un tamaño fuera de rango")
+    void findTransferenciasDeEmpresa_parametrosInvalidos_lanzaIllegalArgument() {
+        assertThrows(IllegalArgumentException.class,
+                () -> historialTransferenciasService.findTransferenciasDeEmpresa("ABC123", HASTA, DESDE, null, 20));
+        assertThrows(IllegalArgumentException.class,
+                () -> historialTransferenciasService.findTransferenciasDeEmpresa("ABC123", DESDE, HASTA, null, 0));
+        verifyNoInteractions(empresaRepositoryPort, transferenciaRepositoryPort);
+    }
+}
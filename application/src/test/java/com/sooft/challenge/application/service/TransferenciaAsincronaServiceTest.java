@@ -0,0 +1,179 @@
+package com.sooft.challenge.application.service;
+
+import com.sooft.challenge.domain.exception.ColaTransferenciasLlenaException;
+import com.sooft.challenge.domain.exception.FondosInsuficientesException;
+import com.sooft.challenge.domain.exception.TicketTransferenciaNotFoundException;
+import com.sooft.challenge.domain.model.EstadoTicketTransferencia;
+import com.sooft.challenge.domain.model.Monto;
+import com.sooft.challenge.domain.model.SolicitudTransferencia;
+import com.sooft.challenge.domain.model.TicketTransferencia;
+import com.sooft.challenge.domain.model.Transferencia;
+import com.sooft.challenge.domain.port.in.RealizarTransferenciaUseCase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferenciaAsincronaServiceTest {
+
+    @Mock
+    private RealizarTransferenciaUseCase realizarTransferenciaUseCase;
+
+    private static final Duration ESPERA_DETENCION = Duration.ofSeconds(5);
+
+    private TransferenciaAsincronaService service;
+
+    private final SolicitudTransferencia solicitud = SolicitudTransferencia.builder()
+            .cuentaDebito("1-111111-11")
+            .idEmpresaCredito("EMP-B")
+            .cuentaCredito("2-222222-22")
+            .importe(Monto.of("100.00"))
+            .build();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        service.detener();
+    }
+
+    @Test
+    @DisplayName("Debe ejecutar la transferencia encolada y marcar el ticket como EXITOSA")
+    void encolarTransferencia_exitosa() throws InterruptedException {
+        service = new TransferenciaAsincronaService(realizarTransferenciaUseCase, Clock.systemUTC(), 2, 10, 100, 100, Duration.ofHours(1), ESPERA_DETENCION);
+        var transferencia = Transferencia.builder().id(1L).importe(solicitud.getImporte()).build();
+        when(realizarTransferenciaUseCase.realizarTransferencia(any(), any(), any(), any())).thenReturn(transferencia);
+
+        var ticket = service.encolarTransferencia(solicitud);
+
+        var finalizado = esperarFinalizacion(ticket.getId());
+        assertEquals(EstadoTicketTransferencia.EXITOSA, finalizado.getEstado());
+        assertEquals(transferencia, finalizado.getTransferencia());
+    }
+
+    @Test
+    @DisplayName("Debe marcar el ticket como RECHAZADA ante un error de negocio")
+    void encolarTransferencia_rechazada() throws InterruptedException {
+        service = new TransferenciaAsincronaService(realizarTransferenciaUseCase, Clock.systemUTC(), 2, 10, 100, 100, Duration.ofHours(1), ESPERA_DETENCION);
+        when(realizarTransferenciaUseCase.realizarTransferencia(any(), any(), any(), any()))
+                .thenThrow(new FondosInsuficientesException("1-111111-11"));
+
+        var ticket = service.encolarTransferencia(solicitud);
+
+        var finalizado = esperarFinalizacion(ticket.getId());
+        assertEquals(EstadoTicketTransferencia.RECHAZADA, finalizado.getEstado());
+        assertEquals("Fondos insuficientes en la cuenta 1-111111-11", finalizado.getMensaje());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar la solicitud cuando la cola está llena")
+    void encolarTransferencia_colaLlena() throws InterruptedException {
+        service = new TransferenciaAsincronaService(realizarTransferenciaUseCase, Clock.systemUTC(), 1, 1, 100, 100, Duration.ofHours(1), ESPERA_DETENCION);
+        var enProceso = new CountDownLatch(1);
+        var liberar = new CountDownLatch(1);
+        when(realizarTransferenciaUseCase.realizarTransferencia(any(), any(), any(), any())).thenAnswer(invocation -> {
+            enProceso.countDown();
+            liberar.await();
+            return null;
+        });
+
+        service.encolarTransferencia(solicitud);
+        assertTrue(enProceso.await(5, TimeUnit.SECONDS));
+        service.encolarTransferencia(solicitud);
+
+        assertThrows(ColaTransferenciasLlenaException.class, () -> service.encolarTransferencia(solicitud));
+        liberar.countDown();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar la solicitud al alcanzar el máximo de tickets en curso sin contar los finalizados")
+    void encolarTransferencia_maximoDeTicketsEnCurso() throws InterruptedException {
+        service = new TransferenciaAsincronaService(realizarTransferenciaUseCase, Clock.systemUTC(), 1, 10, 1, 100,
+                Duration.ofHours(1), ESPERA_DETENCION);
+        var liberar = new CountDownLatch(1);
+        var transferencia = Transferencia.builder().id(1L).importe(solicitud.getImporte()).build();
+        when(realizarTransferenciaUseCase.realizarTransferencia(any(), any(), any(), any())).thenAnswer(invocation -> {
+            liberar.await();
+            return transferencia;
+        });
+
+        var ticket = service.encolarTransferencia(solicitud);
+        assertThrows(ColaTransferenciasLlenaException.class, () -> service.encolarTransferencia(solicitud));
+        liberar.countDown();
+
+        assertEquals(EstadoTicketTransferencia.EXITOSA, esperarFinalizacion(ticket.getId()).getEstado());
+        var siguiente = service.encolarTransferencia(solicitud);
+        assertEquals(EstadoTicketTransferencia.EXITOSA, esperarFinalizacion(siguiente.getId()).getEstado());
+        assertEquals(ticket.getId(), service.consultarTicket(ticket.getId()).getId());
+    }
+
+    @Test
+    @DisplayName("Debe descartar el ticket finalizado más antiguo al superar el máximo de finalizados y depurar los vencidos")
+    void encolarTransferencia_descartaFinalizadosMasAntiguos() throws InterruptedException {
+        service = new TransferenciaAsincronaService(realizarTransferenciaUseCase, Clock.systemUTC(), 1, 10, 10, 1,
+                Duration.ZERO, ESPERA_DETENCION);
+        var transferencia = Transferencia.builder().id(1L).importe(solicitud.getImporte()).build();
+        when(realizarTransferenciaUseCase.realizarTransferencia(any(), any(), any(), any())).thenReturn(transferencia);
+
+        var primero = service.encolarTransferencia(solicitud);
+        assertEquals(EstadoTicketTransferencia.EXITOSA, esperarFinalizacion(primero.getId()).getEstado());
+        var segundo = service.encolarTransferencia(solicitud);
+        assertEquals(EstadoTicketTransferencia.EXITOSA, esperarFinalizacion(segundo.getId()).getEstado());
+
+        assertThrows(TicketTransferenciaNotFoundException.class, () -> service.consultarTicket(primero.getId()));
+        Thread.sleep(5);
+        assertEquals(1, service.depurarTickets());
+        assertThrows(TicketTransferenciaNotFoundException.class, () -> service.consultarTicket(segundo.getId()));
+    }
+
+    @Test
+    @DisplayName("Debe marcar como FALLIDA las transferencias aceptadas que no llegaron a procesarse al detenerse")
+    void detener_marcaFallidasLasNoProcesadas() throws InterruptedException {
+        service = new TransferenciaAsincronaService(realizarTransferenciaUseCase, Clock.systemUTC(), 1, 10, 100, 100,
+                Duration.ofHours(1), Duration.ofMillis(50));
+        var enProceso = new CountDownLatch(1);
+        when(realizarTransferenciaUseCase.realizarTransferencia(any(), any(), any(), any())).thenAnswer(invocation -> {
+            enProceso.countDown();
+            new CountDownLatch(1).await();
+            return null;
+        });
+        service.encolarTransferencia(solicitud);
+        assertTrue(enProceso.await(5, TimeUnit.SECONDS));
+        var encolado = service.encolarTransferencia(solicitud);
+
+        service.detener();
+
+        var ticket = service.consultarTicket(encolado.getId());
+        assertEquals(EstadoTicketTransferencia.FALLIDA, ticket.getEstado());
+    }
+
+    @Test
+    @DisplayName("Debe lanzar excepción al consultar un ticket inexistente")
+    void consultarTicket_inexistente() {
+        service = new TransferenciaAsincronaService(realizarTransferenciaUseCase, Clock.systemUTC(), 1, 1, 100, 100, Duration.ofHours(1), ESPERA_DETENCION);
+
+        assertThrows(TicketTransferenciaNotFoundException.class, () -> service.consultarTicket("desconocido"));
+    }
+
+    private TicketTransferencia esperarFinalizacion(String ticketId) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        var ticket = service.consultarTicket(ticketId);
+        while (!ticket.getEstado().isFinalizado() && System.nanoTime() < limite) {
+            Thread.sleep(10);
+            ticket = service.consultarTicket(ticketId);
+        }
+        return ticket;
+    }
+}
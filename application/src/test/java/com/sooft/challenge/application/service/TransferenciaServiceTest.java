@@ -1,27 +1,42 @@
 package com.sooft.challenge.application.service;
 
+import com.sooft.challenge.application.lock.CuentaLockManager;
 import com.sooft.challenge.domain.exception.EmpresaNotFoundException;
 import com.sooft.challenge.domain.exception.FondosInsuficientesException;
+import com.sooft.challenge.domain.exception.MontoNegativoException;
 import com.sooft.challenge.domain.exception.TransferenciaException;
 import com.sooft.challenge.domain.model.Empresa;
+import com.sooft.challenge.domain.model.Monto;
 import com.sooft.challenge.domain.model.NumeroCuenta;
+import com.sooft.challenge.domain.model.ResultadoTransferencia;
+import com.sooft.challenge.domain.model.SolicitudTransferencia;
 import com.sooft.challenge.domain.model.Transferencia;
 import com.sooft.challenge.domain.port.out.EmpresaRepositoryPort;
+import com.sooft.challenge.domain.port.out.OutboxPort;
 import com.sooft.challenge.domain.port.out.TransferenciaRepositoryPort;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
-import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.times;
@@ -36,13 +51,22 @@ class TransferenciaServiceTest {
     @Mock
     private TransferenciaRepositoryPort transferenciaRepositoryPort;
 
+    @Mock
+    private OutboxPort outboxPort;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private CuentaLockManager cuentaLockManager = new CuentaLockManager(16, Duration.ofSeconds(5));
+
     @InjectMocks
     private TransferenciaService transferenciaService;
 
     private final String CUENTA_ORIGEN_STR = "1-111111-11";
     private final String CUENTA_DESTINO_STR = "2-222222-22";
     private final String CODIGO_EMPRESA_DESTINO = "EMP-B";
-    private final BigDecimal MONTO = new BigDecimal("200.00");
+    private final Monto MONTO = Monto.of("200.00");
 
     @Test
     @DisplayName("Debe realizar una transferencia exitosa y actualizar saldos")
@@ -51,29 +75,66 @@ class TransferenciaServiceTest {
         Empresa empresaOrigen = Empresa.builder()
                 .id(UUID.randomUUID().toString())
                 .numeroCuenta(NumeroCuenta.of(CUENTA_ORIGEN_STR))
-                .saldo(new BigDecimal("1000.00"))
+                .saldo(Monto.of("1000.00"))
                 .build();
 
         Empresa empresaDestino = Empresa.builder()
                 .id(UUID.randomUUID().toString())
                 .codigo(CODIGO_EMPRESA_DESTINO)
                 .numeroCuenta(NumeroCuenta.of(CUENTA_DESTINO_STR))
-                .saldo(new BigDecimal("500.00"))
+                .saldo(Monto.of("500.00"))
                 .razonSocial("Empresa Destino")
                 .build();
 
         when(empresaRepositoryPort.findByNumeroCuenta(NumeroCuenta.of(CUENTA_ORIGEN_STR))).thenReturn(Optional.of(empresaOrigen));
         when(empresaRepositoryPort.findByCodigo(CODIGO_EMPRESA_DESTINO)).thenReturn(Optional.of(empresaDestino));
+        when(empresaRepositoryPort.debitarSiHayFondos(NumeroCuenta.of(CUENTA_ORIGEN_STR), MONTO)).thenReturn(true);
+        when(empresaRepositoryPort.acreditar(CODIGO_EMPRESA_DESTINO, MONTO)).thenReturn(true);
         when(transferenciaRepositoryPort.save(any(Transferencia.class))).thenAnswer(inv -> inv.getArgument(0));
 
         transferenciaService.realizarTransferencia(CUENTA_ORIGEN_STR, CODIGO_EMPRESA_DESTINO, CUENTA_DESTINO_STR, MONTO);
 
-        assertEquals(0, empresaOrigen.getSaldo().compareTo(new BigDecimal("800.00")));
-        assertEquals(0, empresaDestino.getSaldo().compareTo(new BigDecimal("700.00")));
-
-        verify(empresaRepositoryPort, times(1)).save(empresaOrigen);
-        verify(empresaRepositoryPort, times(1)).save(empresaDestino);
+        verify(empresaRepositoryPort, times(1)).debitarSiHayFondos(NumeroCuenta.of(CUENTA_ORIGEN_STR), MONTO);
+        verify(empresaRepositoryPort, times(1)).acreditar(CODIGO_EMPRESA_DESTINO, MONTO);
+        verify(empresaRepositoryPort, never()).save(any(Empresa.class));
         verify(transferenciaRepositoryPort, times(1)).save(any(Transferencia.class));
+        verify(outboxPort, times(1)).registrar(argThat(evento -> evento.getCodigoEmpresaCredito().equals(CODIGO_EMPRESA_DESTINO)
+                && evento.getCuentaDebito().equals(CUENTA_ORIGEN_STR) && evento.getImporte().equals(MONTO)));
+    }
+
+    @Test
+    @DisplayName("Debe ejecutar la confirmación con la transferencia guardada y no ejecutarla si la transferencia falla")
+    void realizarTransferencia_ejecutaLaConfirmacion() {
+        Empresa empresaDestino = Empresa.builder()
+                .id(UUID.randomUUID().toString())
+                .codigo(CODIGO_EMPRESA_DESTINO)
+                .numeroCuenta(NumeroCuenta.of(CUENTA_DESTINO_STR))
+                .saldo(Monto.of("500.00"))
+                .build();
+        when(empresaRepositoryPort.findByNumeroCuenta(NumeroCuenta.of(CUENTA_ORIGEN_STR))).thenReturn(Optional.of(Empresa.builder()
+                .id(UUID.randomUUID().toString())
+                .numeroCuenta(NumeroCuenta.of(CUENTA_ORIGEN_STR))
+                .build()));
+        when(empresaRepositoryPort.findByCodigo(CODIGO_EMPRESA_DESTINO)).thenReturn(Optional.of(empresaDestino));
+        when(empresaRepositoryPort.debitarSiHayFondos(NumeroCuenta.of(CUENTA_ORIGEN_STR), MONTO)).thenReturn(true, false);
+        when(empresaRepositoryPort.acreditar(CODIGO_EMPRESA_DESTINO, MONTO)).thenReturn(true);
+        when(transferenciaRepositoryPort.save(any(Transferencia.class))).thenAnswer(inv -> inv.getArgument(0));
+        var solicitud = SolicitudTransferencia.builder()
+                .cuentaDebito(CUENTA_ORIGEN_STR)
+                .idEmpresaCredito(CODIGO_EMPRESA_DESTINO)
+                .cuentaCredito(CUENTA_DESTINO_STR)
+                .importe(MONTO)
+                .build();
+        List<Transferencia> confirmadas = new ArrayList<>();
+
+        var transferencia = transferenciaService.realizarTransferencia(solicitud, confirmadas::add);
+        assertThrows(FondosInsuficientesException.class, () -> transferenciaService.realizarTransferencia(solicitud, confirmadas::add));
+
+        assertEquals(List.of(transferencia), confirmadas);
+        var orden = inOrder(cuentaLockManager, transactionManager);
+        orden.verify(cuentaLockManager).bloquear(any());
+        orden.verify(transactionManager).getTransaction(any());
+        orden.verify(transactionManager).commit(any());
     }
 
     @Test
@@ -83,7 +144,7 @@ class TransferenciaServiceTest {
         Empresa empresaOrigen = Empresa.builder()
                 .id(UUID.randomUUID().toString())
                 .numeroCuenta(NumeroCuenta.of(CUENTA_ORIGEN_STR))
-                .saldo(new BigDecimal("100.00"))
+                .saldo(Monto.of("100.00"))
                 .build();
 
         Empresa empresaDestino = Empresa.builder()
@@ -95,15 +156,41 @@ class TransferenciaServiceTest {
 
         when(empresaRepositoryPort.findByNumeroCuenta(NumeroCuenta.of(CUENTA_ORIGEN_STR))).thenReturn(Optional.of(empresaOrigen));
         when(empresaRepositoryPort.findByCodigo(CODIGO_EMPRESA_DESTINO)).thenReturn(Optional.of(empresaDestino));
+        when(empresaRepositoryPort.debitarSiHayFondos(NumeroCuenta.of(CUENTA_ORIGEN_STR), MONTO)).thenReturn(false);
 
         assertThrows(FondosInsuficientesException.class, () -> {
             transferenciaService.realizarTransferencia(CUENTA_ORIGEN_STR, CODIGO_EMPRESA_DESTINO, CUENTA_DESTINO_STR, MONTO);
         });
 
+        verify(empresaRepositoryPort, never()).acreditar(any(), any());
         verify(empresaRepositoryPort, never()).save(any(Empresa.class));
         verify(transferenciaRepositoryPort, never()).save(any(Transferencia.class));
     }
 
+    @Test
+    @DisplayName("Debe lanzar MontoNegativoException si el importe no es positivo sin modificar saldos")
+    void realizarTransferencia_importeNoPositivo() {
+        Empresa empresaOrigen = Empresa.builder()
+                .id(UUID.randomUUID().toString())
+                .numeroCuenta(NumeroCuenta.of(CUENTA_ORIGEN_STR))
+                .build();
+
+        Empresa empresaDestino = Empresa.builder()
+                .id(UUID.randomUUID().toString())
+                .codigo(CODIGO_EMPRESA_DESTINO)
+                .numeroCuenta(NumeroCuenta.of(CUENTA_DESTINO_STR))
+                .build();
+
+        when(empresaRepositoryPort.findByNumeroCuenta(NumeroCuenta.of(CUENTA_ORIGEN_STR))).thenReturn(Optional.of(empresaOrigen));
+        when(empresaRepositoryPort.findByCodigo(CODIGO_EMPRESA_DESTINO)).thenReturn(Optional.of(empresaDestino));
+
+        assertThrows(MontoNegativoException.class, () -> {
+            transferenciaService.realizarTransferencia(CUENTA_ORIGEN_STR, CODIGO_EMPRESA_DESTINO, CUENTA_DESTINO_STR, Monto.CERO);
+        });
+
+        verify(empresaRepositoryPort, never()).debitarSiHayFondos(any(), any());
+    }
+
     @Test
     @DisplayName("Debe lanzar EmpresaNotFoundException si la cuenta de origen no existe")
     void realizarTransferencia_cuentaOrigenNoEncontrada() {
@@ -166,4 +253,55 @@ class TransferenciaServiceTest {
             transferenciaService.realizarTransferencia(CUENTA_ORIGEN_STR, CODIGO_EMPRESA_DESTINO, CUENTA_DESTINO_STR, MONTO);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Debe procesar un lote informando el resultado de cada transferencia sin abortar el resto")
+    void realizarTransferencias_loteConRechazoParcial() {
+        Empresa empresaOrigen = Empresa.builder()
+                .id(UUID.randomUUID().toString())
+                .numeroCuenta(NumeroCuenta.of(CUENTA_ORIGEN_STR))
+                .saldo(Monto.of("300.00"))
+                .build();
+
+        Empresa empresaDestino = Empresa.builder()
+                .id(UUID.randomUUID().toString())
+                .codigo(CODIGO_EMPRESA_DESTINO)
+                .numeroCuenta(NumeroCuenta.of(CUENTA_DESTINO_STR))
+                .saldo(Monto.of("500.00"))
+                .razonSocial("Empresa Destino")
+                .build();
+
+        when(empresaRepositoryPort.findByNumeroCuenta(NumeroCuenta.of(CUENTA_ORIGEN_STR))).thenReturn(Optional.of(empresaOrigen));
+        when(empresaRepositoryPort.findByNumeroCuenta(NumeroCuenta.of("9-999999-99"))).thenReturn(Optional.empty());
+        when(empresaRepositoryPort.findByCodigo(CODIGO_EMPRESA_DESTINO)).thenReturn(Optional.of(empresaDestino));
+        when(empresaRepositoryPort.debitarSiHayFondos(NumeroCuenta.of(CUENTA_ORIGEN_STR), MONTO)).thenReturn(true, false);
+        when(empresaRepositoryPort.acreditar(CODIGO_EMPRESA_DESTINO, MONTO)).thenReturn(true);
+        when(transferenciaRepositoryPort.save(any(Transferencia.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        var solicitud = SolicitudTransferencia.builder()
+                .cuentaDebito(CUENTA_ORIGEN_STR)
+                .idEmpresaCredito(CODIGO_EMPRESA_DESTINO)
+                .cuentaCredito(CUENTA_DESTINO_STR)
+                .importe(MONTO)
+                .build();
+        var solicitudCuentaInexistente = SolicitudTransferencia.builder()
+                .cuentaDebito("9-999999-99")
+                .idEmpresaCredito(CODIGO_EMPRESA_DESTINO)
+                .cuentaCredito(CUENTA_DESTINO_STR)
+                .importe(MONTO)
+                .build();
+
+        List<ResultadoTransferencia> resultados = transferenciaService.realizarTransferencias(
+                List.of(solicitud, solicitudCuentaInexistente, solicitud));
+
+        assertEquals(3, resultados.size());
+        assertTrue(resultados.get(0).isExitosa());
+        assertInstanceOf(EmpresaNotFoundException.class, resultados.get(1).getError());
+        assertFalse(resultados.get(2).isExitosa());
+        assertInstanceOf(FondosInsuficientesException.class, resultados.get(2).getError());
+        assertEquals(2, resultados.get(2).getIndice());
+
+        verify(empresaRepositoryPort, times(1)).acreditar(CODIGO_EMPRESA_DESTINO, MONTO);
+        verify(transferenciaRepositoryPort, times(1)).save(any(Transferencia.class));
+    }
+}
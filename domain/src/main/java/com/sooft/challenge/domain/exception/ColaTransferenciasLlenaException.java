@@ -0,0 +1,7 @@
+package com.sooft.challenge.domain.exception;
+
+public class ColaTransferenciasLlenaException extends RuntimeException {
+    public ColaTransferenciasLlenaException(int capacidad) {
+        super("La cola de transferencias asincrónicas está llena (capacidad " + capacidad + "). Reintente más tarde.");
+    }
+}
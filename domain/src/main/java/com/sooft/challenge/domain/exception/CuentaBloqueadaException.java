@@ -0,0 +1,7 @@
+package com.sooft.challenge.domain.exception;
+
+public class CuentaBloqueadaException extends RuntimeException {
+    public CuentaBloqueadaException() {
+        super("Las cuentas de la transferencia están siendo usadas por otras operaciones. Reintente más tarde.");
+    }
+}
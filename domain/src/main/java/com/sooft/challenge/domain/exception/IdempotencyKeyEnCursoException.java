@@ -0,0 +1,7 @@
+package com.sooft.challenge.domain.exception;
+
+public class IdempotencyKeyEnCursoException extends RuntimeException {
+    public IdempotencyKeyEnCursoException(String idempotencyKey) {
+        super("La solicitud con Idempotency-Key " + idempotencyKey + " todavía se está procesando. Reintente más tarde.");
+    }
+}
@@ -0,0 +1,7 @@
+package com.sooft.challenge.domain.exception;
+
+public class IdempotencyKeyReutilizadaException extends RuntimeException {
+    public IdempotencyKeyReutilizadaException(String idempotencyKey) {
+        super("La Idempotency-Key " + idempotencyKey + " ya fue utilizada con una solicitud distinta.");
+    }
+}
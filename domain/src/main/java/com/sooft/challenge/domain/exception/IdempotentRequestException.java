@@ -5,11 +5,11 @@ import lombok.Getter;
 @Getter
 public class IdempotentRequestException extends RuntimeException {
 
-    private final String responseBody;
+    private final byte[] responseBody;
     private final int responseStatus;
 
-    public IdempotentRequestException(String responseBody, int responseStatus) {
-        super("La solicitud ya fue procesada anteriormente.");
+    public IdempotentRequestException(byte[] responseBody, int responseStatus) {
+        super("La solicitud ya fue procesada anteriormente.", null, false, false);
         this.responseBody = responseBody;
         this.responseStatus = responseStatus;
     }
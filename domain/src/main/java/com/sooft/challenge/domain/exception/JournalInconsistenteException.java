@@ -0,0 +1,7 @@
+package com.sooft.challenge.domain.exception;
+
+public class JournalInconsistenteException extends RuntimeException {
+    public JournalInconsistenteException(int particion, Throwable causa) {
+        super("El journal de la partición " + particion + " quedó con una escritura parcial que no se pudo revertir.", causa);
+    }
+}
@@ -0,0 +1,8 @@
+package com.sooft.challenge.domain.exception;
+
+public class ResultadoTransferenciaDesconocidoException extends RuntimeException {
+    public ResultadoTransferenciaDesconocidoException(Throwable causa) {
+        super("No se pudo confirmar el resultado de la transferencia y puede haberse realizado. "
+                + "Reintente con la misma Idempotency-Key o consulte el historial antes de repetirla.", causa);
+    }
+}
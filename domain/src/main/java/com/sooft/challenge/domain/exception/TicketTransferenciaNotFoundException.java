@@ -0,0 +1,7 @@
+package com.sooft.challenge.domain.exception;
+
+public class TicketTransferenciaNotFoundException extends RuntimeException {
+    public TicketTransferenciaNotFoundException(String ticketId) {
+        super("No existe el ticket de transferencia " + ticketId + ".");
+    }
+}
@@ -0,0 +1,7 @@
+package com.sooft.challenge.domain.exception;
+
+public class TransferenciaIdempotenteNoSoportadaException extends RuntimeException {
+    public TransferenciaIdempotenteNoSoportadaException() {
+        super("Las transferencias con Idempotency-Key no están disponibles con el ledger activo. Envíe la transferencia sin la clave.");
+    }
+}
@@ -0,0 +1,16 @@
+package com.sooft.challenge.domain.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+@Value
+@Builder
+public class ActividadEmpresa {
+
+    String idEmpresa;
+    String razonSocial;
+    LocalDate fecha;
+    long cantidad;
+}
@@ -0,0 +1,23 @@
+package com.sooft.challenge.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+@Value
+@Builder
+@AllArgsConstructor
+public class AsientoLedger {
+
+    int particion;
+    long secuencia;
+    long orden;
+    String idEmpresaDebito;
+    String cuentaDebito;
+    String codigoEmpresaCredito;
+    String cuentaCredito;
+    Monto importe;
+    LocalDate fecha;
+}
@@ -0,0 +1,49 @@
+package com.sooft.challenge.domain.model;
+
+import lombok.Value;
+import org.springframework.util.Assert;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Value
+public class CursorEmpresa implements CursorPagina, Serializable {
+
+    private static final char SEPARADOR = '|';
+
+    String clave;
+    String id;
+
+    private CursorEmpresa(String clave, String id) {
+        this.clave = clave;
+        this.id = id;
+    }
+
+    public static CursorEmpresa of(String clave, String id) {
+        Assert.notNull(clave, "La clave del cursor no puede ser nula.");
+        Assert.hasText(id, "El id del cursor no puede estar vacío.");
+        return new CursorEmpresa(clave, id);
+    }
+
+    public static CursorEmpresa decodificar(String token) {
+        Assert.hasText(token, "El cursor no puede estar vacío.");
+        String valor;
+        try {
+            valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("El cursor " + token + " no es válido.");
+        }
+        int separador = valor.lastIndexOf(SEPARADOR);
+        if (separador < 0) {
+            throw new IllegalArgumentException("El cursor " + token + " no es válido.");
+        }
+        return of(valor.substring(0, separador), valor.substring(separador + 1));
+    }
+
+    @Override
+    public String codificar() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((clave + SEPARADOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
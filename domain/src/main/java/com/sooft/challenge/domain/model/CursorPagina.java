@@ -0,0 +1,6 @@
+package com.sooft.challenge.domain.model;
+
+public interface CursorPagina {
+
+    String codificar();
+}
@@ -0,0 +1,50 @@
+package com.sooft.challenge.domain.model;
+
+import lombok.Value;
+import org.springframework.util.Assert;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Value
+public class CursorTransferencia implements CursorPagina, Serializable {
+
+    private static final char SEPARADOR = '|';
+
+    LocalDate fecha;
+    long id;
+
+    private CursorTransferencia(LocalDate fecha, long id) {
+        this.fecha = fecha;
+        this.id = id;
+    }
+
+    public static CursorTransferencia of(LocalDate fecha, Long id) {
+        Assert.notNull(fecha, "La fecha del cursor no puede ser nula.");
+        Assert.notNull(id, "El id del cursor no puede ser nulo.");
+        return new CursorTransferencia(fecha, id);
+    }
+
+    public static CursorTransferencia decodificar(String token) {
+        Assert.hasText(token, "El cursor no puede estar vacío.");
+        try {
+            var valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = valor.indexOf(SEPARADOR);
+            if (separador < 0) {
+                throw new IllegalArgumentException("El cursor " + token + " no es válido.");
+            }
+            return of(LocalDate.parse(valor.substring(0, separador)), Long.parseLong(valor.substring(separador + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("El cursor " + token + " no es válido.");
+        }
+    }
+
+    @Override
+    public String codificar() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((fecha.toString() + SEPARADOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -7,7 +7,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Data
@@ -21,29 +20,29 @@ public class Empresa {
     private Cuit cuit;
     private String razonSocial;
     private LocalDate fechaAdhesion;
-    private BigDecimal saldo;
+    private Monto saldo;
     private NumeroCuenta numeroCuenta;
 
 
-    public void debitar(BigDecimal monto) {
+    public void debitar(Monto monto) {
 
-        if (monto == null || monto.compareTo(BigDecimal.ZERO) <= 0) {
+        if (monto == null || !monto.esPositivo()) {
             throw new MontoNegativoException("El monto a debitar debe ser positivo.");
         }
 
-        if (this.saldo == null || this.saldo.compareTo(monto) < 0) {
+        if (this.saldo == null || this.saldo.esMenorQue(monto)) {
             throw new FondosInsuficientesException(this.numeroCuenta.getValor());
         }
-        this.saldo = this.saldo.subtract(monto);
+        this.saldo = this.saldo.restar(monto);
     }
 
-    public void acreditar(BigDecimal monto) {
-        if (monto == null || monto.compareTo(BigDecimal.ZERO) <= 0) {
+    public void acreditar(Monto monto) {
+        if (monto == null || !monto.esPositivo()) {
             throw new MontoNegativoException("El monto a acreditar debe ser positivo.");
         }
         if (this.saldo == null) {
-            this.saldo = BigDecimal.ZERO;
+            this.saldo = Monto.CERO;
         }
-        this.saldo = this.saldo.add(monto);
+        this.saldo = this.saldo.sumar(monto);
     }
 }
@@ -0,0 +1,13 @@
+package com.sooft.challenge.domain.model;
+
+public enum EstadoTicketTransferencia {
+    PENDIENTE,
+    EN_PROCESO,
+    EXITOSA,
+    RECHAZADA,
+    FALLIDA;
+
+    public boolean isFinalizado() {
+        return this == EXITOSA || this == RECHAZADA || this == FALLIDA;
+    }
+}
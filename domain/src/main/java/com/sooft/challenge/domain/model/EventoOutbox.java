@@ -0,0 +1,15 @@
+package com.sooft.challenge.domain.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class EventoOutbox {
+
+    long id;
+    String tipo;
+    String clave;
+    String payload;
+    LocalDateTime creadoEn;
+}
@@ -11,7 +11,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class IdempotencyRecord {
     private final String idempotencyKey;
-    private final String responseBody;
+    private final byte[] requestHash;
+    private final byte[] responseBody;
     private final int responseStatus;
     private final LocalDateTime createdAt;
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.sooft.challenge.domain.model;
+
+import lombok.Value;
+import org.springframework.util.Assert;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+@Value
+public class Monto implements Serializable, Comparable<Monto> {
+
+    public static final Monto CERO = new Monto(0);
+
+    private static final int ESCALA = 2;
+    private static final long CENTAVOS_POR_UNIDAD = 100;
+
+    long centavos;
+
+    private Monto(long centavos) {
+        this.centavos = centavos;
+    }
+
+    public static Monto deCentavos(long centavos) {
+        return centavos == 0 ? CERO : new Monto(centavos);
+    }
+
+    public static Monto of(BigDecimal valor) {
+        Assert.notNull(valor, "El monto no puede ser nulo");
+        try {
+            return deCentavos(valor.setScale(ESCALA, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("El monto " + valor.toPlainString() + " debe tener como máximo 2 decimales y estar dentro del rango permitido.");
+        }
+    }
+
+    public static Monto of(String valor) {
+        Assert.hasText(valor, "El monto no puede ser vacío");
+        return of(new BigDecimal(valor));
+    }
+
+    public Monto sumar(Monto otro) {
+        return deCentavos(Math.addExact(centavos, otro.centavos));
+    }
+
+    public Monto restar(Monto otro) {
+        return deCentavos(Math.subtractExact(centavos, otro.centavos));
+    }
+
+    public Monto minimo(Monto otro) {
+        return centavos <= otro.centavos ? this : otro;
+    }
+
+    public boolean esPositivo() {
+        return centavos > 0;
+    }
+
+    public boolean esCero() {
+        return centavos == 0;
+    }
+
+    public boolean esMenorQue(Monto otro) {
+        return centavos < otro.centavos;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(centavos, ESCALA);
+    }
+
+    @Override
+    public int compareTo(Monto otro) {
+        return Long.compare(centavos, otro.centavos);
+    }
+
+    @Override
+    public String toString() {
+        long unidades = centavos / CENTAVOS_POR_UNIDAD;
+        long resto = Math.abs(centavos % CENTAVOS_POR_UNIDAD);
+        var signo = centavos < 0 && unidades == 0 ? "-" : "";
+        return signo + unidades + (resto < 10 ? ".0" : ".") + resto;
+    }
+}
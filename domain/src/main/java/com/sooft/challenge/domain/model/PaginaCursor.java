@@ -0,0 +1,29 @@
+package com.sooft.challenge.domain.model;
+
+import lombok.Value;
+import org.springframework.data.domain.Slice;
+
+import java.util.function.Function;
+
+@Value
+public class PaginaCursor<T> {
+
+    public static final int TAMANIO_MAXIMO = 500;
+
+    Slice<T> contenido;
+    String siguienteCursor;
+
+    public static void validarTamanio(int tamanio) {
+        if (tamanio < 1 || tamanio > TAMANIO_MAXIMO) {
+            throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + TAMANIO_MAXIMO + ".");
+        }
+    }
+
+    public static <T> PaginaCursor<T> de(Slice<T> contenido, Function<T, ? extends CursorPagina> cursor) {
+        if (!contenido.hasNext() || contenido.isEmpty()) {
+            return new PaginaCursor<>(contenido, null);
+        }
+        var ultimo = contenido.getContent().get(contenido.getNumberOfElements() - 1);
+        return new PaginaCursor<>(contenido, cursor.apply(ultimo).codificar());
+    }
+}
@@ -0,0 +1,25 @@
+package com.sooft.challenge.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ResultadoTransferencia {
+
+    private final int indice;
+    private final Transferencia transferencia;
+    private final RuntimeException error;
+
+    public static ResultadoTransferencia exitosa(int indice, Transferencia transferencia) {
+        return new ResultadoTransferencia(indice, transferencia, null);
+    }
+
+    public static ResultadoTransferencia rechazada(int indice, RuntimeException error) {
+        return new ResultadoTransferencia(indice, null, error);
+    }
+
+    public boolean isExitosa() {
+        return error == null;
+    }
+}
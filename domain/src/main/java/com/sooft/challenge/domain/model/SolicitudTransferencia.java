@@ -0,0 +1,43 @@
+package com.sooft.challenge.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+@Value
+@Builder
+@AllArgsConstructor
+public class SolicitudTransferencia {
+
+    private static final byte SEPARADOR = 0x1F;
+
+    String cuentaDebito;
+    String idEmpresaCredito;
+    String cuentaCredito;
+    Monto importe;
+
+    public byte[] huella() {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            actualizar(digest, cuentaDebito);
+            actualizar(digest, idEmpresaCredito);
+            actualizar(digest, cuentaCredito);
+            digest.update(ByteBuffer.allocate(Long.BYTES).putLong(importe.getCentavos()).array());
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void actualizar(MessageDigest digest, String valor) {
+        if (valor != null) {
+            digest.update(valor.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update(SEPARADOR);
+    }
+}
@@ -0,0 +1,20 @@
+package com.sooft.challenge.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+@Builder(toBuilder = true)
+@AllArgsConstructor
+public class TicketTransferencia {
+
+    String id;
+    EstadoTicketTransferencia estado;
+    Transferencia transferencia;
+    String mensaje;
+    LocalDateTime fechaCreacion;
+    LocalDateTime fechaActualizacion;
+}
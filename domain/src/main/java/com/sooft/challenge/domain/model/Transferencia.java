@@ -5,7 +5,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Data
@@ -15,7 +14,7 @@ import java.time.LocalDate;
 public class Transferencia {
 
     private Long id;
-    private BigDecimal importe;
+    private Monto importe;
     private String idEmpresa;
     private String cuentaDebito;
     private String cuentaCredito;
@@ -0,0 +1,33 @@
+package com.sooft.challenge.domain.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+@Value
+@Builder
+public class TransferenciaRealizada {
+
+    public static final String TIPO = "TransferenciaRealizada";
+
+    Long idTransferencia;
+    String idEmpresaDebito;
+    String cuentaDebito;
+    String codigoEmpresaCredito;
+    String cuentaCredito;
+    Monto importe;
+    LocalDate fecha;
+
+    public static TransferenciaRealizada de(Transferencia transferencia, String codigoEmpresaCredito) {
+        return TransferenciaRealizada.builder()
+                .idTransferencia(transferencia.getId())
+                .idEmpresaDebito(transferencia.getIdEmpresa())
+                .cuentaDebito(transferencia.getCuentaDebito())
+                .codigoEmpresaCredito(codigoEmpresaCredito)
+                .cuentaCredito(transferencia.getCuentaCredito())
+                .importe(transferencia.getImporte())
+                .fecha(transferencia.getFecha())
+                .build();
+    }
+}
@@ -6,5 +6,5 @@ import java.util.function.Function;
 
 public interface AdherirEmpresaUseCase {
 
-    Empresa adherirEmpresa(Empresa empresa, String idempotencyKey, Function<Empresa, String> responseSerializer);
+    Empresa adherirEmpresa(Empresa empresa, String idempotencyKey, Function<Empresa, byte[]> responseSerializer);
 }
@@ -0,0 +1,13 @@
+package com.sooft.challenge.domain.port.in;
+
+import com.sooft.challenge.domain.model.Empresa;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BuscarEmpresasPorCodigoUseCase {
+
+    int MAXIMO_CODIGOS = 1000;
+
+    List<Empresa> findAllByCodigo(Collection<String> codigos);
+}
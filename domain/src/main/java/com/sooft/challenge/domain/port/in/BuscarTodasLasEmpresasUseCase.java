@@ -1,9 +1,13 @@
 package com.sooft.challenge.domain.port.in;
 
+import com.sooft.challenge.domain.model.CursorEmpresa;
 import com.sooft.challenge.domain.model.Empresa;
+import com.sooft.challenge.domain.model.PaginaCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 public interface BuscarTodasLasEmpresasUseCase {
     Page<Empresa> findAll(Pageable pageable);
+
+    PaginaCursor<Empresa> findAll(CursorEmpresa cursor, int tamanio);
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.sooft.challenge.domain.port.in;
+
+import com.sooft.challenge.domain.model.CursorTransferencia;
+import com.sooft.challenge.domain.model.PaginaCursor;
+import com.sooft.challenge.domain.model.Transferencia;
+
+import java.time.LocalDate;
+
+public interface ConsultarTransferenciasEmpresaUseCase {
+
+    PaginaCursor<Transferencia> findTransferenciasDeEmpresa(String codigo, LocalDate desde, LocalDate hasta,
+                                                            CursorTransferencia cursor, int tamanio);
+}
@@ -1,10 +1,14 @@
 package com.sooft.challenge.domain.port.in;
 
+import com.sooft.challenge.domain.model.CursorEmpresa;
 import com.sooft.challenge.domain.model.Empresa;
+import com.sooft.challenge.domain.model.PaginaCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 public interface EmpresasConTransferenciasRecientesUseCase {
 
     Page<Empresa> findEmpresasConTransferenciasRecientes(Pageable pageable);
+
+    PaginaCursor<Empresa> findEmpresasConTransferenciasRecientes(CursorEmpresa cursor, int tamanio);
 }
@@ -0,0 +1,11 @@
+package com.sooft.challenge.domain.port.in;
+
+import com.sooft.challenge.domain.model.SolicitudTransferencia;
+import com.sooft.challenge.domain.model.TicketTransferencia;
+
+public interface EncolarTransferenciaUseCase {
+
+    TicketTransferencia encolarTransferencia(SolicitudTransferencia solicitud);
+
+    TicketTransferencia consultarTicket(String ticketId);
+}
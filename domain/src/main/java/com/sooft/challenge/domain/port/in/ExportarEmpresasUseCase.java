@@ -0,0 +1,10 @@
+package com.sooft.challenge.domain.port.in;
+
+import com.sooft.challenge.domain.model.Empresa;
+
+import java.util.function.Consumer;
+
+public interface ExportarEmpresasUseCase {
+
+    long exportarEmpresas(Consumer<Empresa> consumidor);
+}
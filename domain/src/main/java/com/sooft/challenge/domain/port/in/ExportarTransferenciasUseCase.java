@@ -0,0 +1,10 @@
+package com.sooft.challenge.domain.port.in;
+
+import com.sooft.challenge.domain.model.Transferencia;
+
+import java.util.function.Consumer;
+
+public interface ExportarTransferenciasUseCase {
+
+    long exportarTransferencias(Consumer<Transferencia> consumidor);
+}
@@ -0,0 +1,10 @@
+package com.sooft.challenge.domain.port.in;
+
+import com.sooft.challenge.domain.model.SolicitudTransferencia;
+import com.sooft.challenge.domain.model.Transferencia;
+
+import java.util.function.Function;
+
+public interface RealizarTransferenciaIdempotenteUseCase {
+    Transferencia realizarTransferencia(SolicitudTransferencia solicitud, String idempotencyKey, Function<Transferencia, byte[]> responseSerializer);
+}
@@ -1,10 +1,18 @@
 package com.sooft.challenge.domain.port.in;
 
+import com.sooft.challenge.domain.model.Monto;
+import com.sooft.challenge.domain.model.ResultadoTransferencia;
+import com.sooft.challenge.domain.model.SolicitudTransferencia;
 import com.sooft.challenge.domain.model.Transferencia;
 
-import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface RealizarTransferenciaUseCase {
 
-    Transferencia realizarTransferencia(String cuentaDebito, String idEmpresaCredito, String cuentaCredito, BigDecimal importe);
+    Transferencia realizarTransferencia(String cuentaDebito, String idEmpresaCredito, String cuentaCredito, Monto importe);
+
+    Transferencia realizarTransferencia(SolicitudTransferencia solicitud, Consumer<Transferencia> alConfirmar);
+
+    List<ResultadoTransferencia> realizarTransferencias(List<SolicitudTransferencia> solicitudes);
 }
@@ -1,12 +1,18 @@
 package com.sooft.challenge.domain.port.out;
 
 import com.sooft.challenge.domain.model.Cuit;
+import com.sooft.challenge.domain.model.CursorEmpresa;
 import com.sooft.challenge.domain.model.Empresa;
+import com.sooft.challenge.domain.model.Monto;
 import com.sooft.challenge.domain.model.NumeroCuenta;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface EmpresaRepositoryPort {
 
@@ -14,13 +20,37 @@ public interface EmpresaRepositoryPort {
 
     Optional<Empresa> findByCodigo(String codigo);
 
+    Optional<Empresa> findById(String id);
+
+    List<Empresa> findAllById(Collection<String> ids);
+
+    List<Empresa> findAllByCodigoIn(Collection<String> codigos);
+
     Page<Empresa> findEmpresasAdheridasEnElUltimoMes(Pageable pageable);
 
     Page<Empresa> findEmpresasConTransferenciasEnElUltimoMes(Pageable pageable);
 
+    Slice<Empresa> findEmpresasAdheridasEnElUltimoMes(CursorEmpresa cursor, int tamanio);
+
+    Slice<Empresa> findEmpresasConTransferenciasEnElUltimoMes(CursorEmpresa cursor, int tamanio);
+
     Optional<Empresa> findByCuit(Cuit cuit);
 
     Optional<Empresa> findByNumeroCuenta(NumeroCuenta numeroCuenta);
 
+    Optional<Monto> findSaldoByNumeroCuenta(NumeroCuenta numeroCuenta);
+
     Page<Empresa> findAll(Pageable pageable);
+
+    Slice<Empresa> findAll(CursorEmpresa cursor, int tamanio);
+
+    long recorrerTodas(Consumer<Empresa> consumidor);
+
+    boolean debitarSiHayFondos(NumeroCuenta numeroCuenta, Monto importe);
+
+    boolean acreditar(String codigo, Monto importe);
+
+    int compactarSaldos(int lote);
+
+    boolean fragmentarSaldo(String codigo, int slots);
 }
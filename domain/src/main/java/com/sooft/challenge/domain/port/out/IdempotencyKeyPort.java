@@ -6,4 +6,7 @@ import java.util.Optional;
 public interface IdempotencyKeyPort {
     Optional<IdempotencyRecord> findById(String idempotencyKey);
     void save(IdempotencyRecord idempotencyRecord);
-}
\ No newline at end of file
+    boolean reservar(String idempotencyKey);
+    void liberar(String idempotencyKey);
+    int purgarExpiradas(int lote);
+}
@@ -0,0 +1,8 @@
+package com.sooft.challenge.domain.port.out;
+
+public interface LedgerCheckpointPort {
+
+    long ultimaSecuenciaProyectada(int particion);
+
+    void registrarProyeccion(int particion, long secuencia);
+}
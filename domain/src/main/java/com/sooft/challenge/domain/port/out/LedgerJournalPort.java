@@ -0,0 +1,18 @@
+package com.sooft.challenge.domain.port.out;
+
+import com.sooft.challenge.domain.model.AsientoLedger;
+
+import java.util.List;
+
+public interface LedgerJournalPort {
+
+    void agregar(int particion, List<AsientoLedger> asientos);
+
+    List<AsientoLedger> leerDesde(int particion, long secuenciaExclusiva);
+
+    long ultimaSecuencia(int particion);
+
+    long ultimoOrden(int particion);
+
+    void descartarHasta(int particion, long secuencia);
+}
@@ -0,0 +1,16 @@
+package com.sooft.challenge.domain.port.out;
+
+import com.sooft.challenge.domain.model.EventoOutbox;
+import com.sooft.challenge.domain.model.TransferenciaRealizada;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxPort {
+
+    void registrar(TransferenciaRealizada evento);
+
+    List<EventoOutbox> bloquearPendientes(int lote);
+
+    void eliminar(Collection<Long> ids);
+}
@@ -0,0 +1,10 @@
+package com.sooft.challenge.domain.port.out;
+
+import com.sooft.challenge.domain.model.EventoOutbox;
+
+import java.util.List;
+
+public interface PublicadorEventosPort {
+
+    void publicar(List<EventoOutbox> eventos);
+}
@@ -1,9 +1,22 @@
 package com.sooft.challenge.domain.port.out;
 
+import com.sooft.challenge.domain.model.ActividadEmpresa;
+import com.sooft.challenge.domain.model.CursorTransferencia;
 import com.sooft.challenge.domain.model.Transferencia;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface TransferenciaRepositoryPort {
 
     Transferencia save(Transferencia transferencia);
 
+    List<ActividadEmpresa> contarActividadDesde(LocalDate fechaDesde);
+
+    long recorrerTodas(Consumer<Transferencia> consumidor);
+
+    Slice<Transferencia> findByEmpresa(String idEmpresa, LocalDate desde, LocalDate hasta, CursorTransferencia cursor, int tamanio);
+
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.sooft.challenge.domain.benchmark;
+
+import com.sooft.challenge.domain.model.Empresa;
+import com.sooft.challenge.domain.model.Monto;
+import com.sooft.challenge.domain.model.NumeroCuenta;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransferenciaDominioBenchmark {
+
+    private SaldoBigDecimal origenBigDecimal;
+    private SaldoBigDecimal destinoBigDecimal;
+    private BigDecimal importeBigDecimal;
+
+    private Empresa origen;
+    private Empresa destino;
+    private Monto importe;
+
+    @Setup
+    public void setUp() {
+        origenBigDecimal = new SaldoBigDecimal(new BigDecimal("1000000.00"));
+        destinoBigDecimal = new SaldoBigDecimal(new BigDecimal("1000000.00"));
+        importeBigDecimal = new BigDecimal("123.45");
+
+        origen = Empresa.builder().numeroCuenta(NumeroCuenta.of("1-111111-11")).saldo(Monto.of("1000000.00")).build();
+        destino = Empresa.builder().numeroCuenta(NumeroCuenta.of("2-222222-22")).saldo(Monto.of("1000000.00")).build();
+        importe = Monto.of("123.45");
+    }
+
+    @Benchmark
+    public void transferenciaBigDecimal(Blackhole blackhole) {
+        origenBigDecimal.debitar(importeBigDecimal);
+        destinoBigDecimal.acreditar(importeBigDecimal);
+        destinoBigDecimal.debitar(importeBigDecimal);
+        origenBigDecimal.acreditar(importeBigDecimal);
+        blackhole.consume(origenBigDecimal.saldo);
+    }
+
+    @Benchmark
+    public void transferenciaMonto(Blackhole blackhole) {
+        origen.debitar(importe);
+        destino.acreditar(importe);
+        destino.debitar(importe);
+        origen.acreditar(importe);
+        blackhole.consume(origen.getSaldo());
+    }
+
+    @Benchmark
+    public String formatoSaldoBigDecimal() {
+        return origenBigDecimal.saldo.add(importeBigDecimal).toString();
+    }
+
+    @Benchmark
+    public String formatoSaldoMonto() {
+        return origen.getSaldo().sumar(importe).toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TransferenciaDominioBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    private static final class SaldoBigDecimal {
+
+        private BigDecimal saldo;
+
+        private SaldoBigDecimal(BigDecimal saldo) {
+            this.saldo = saldo;
+        }
+
+        private void debitar(BigDecimal monto) {
+            if (monto == null || monto.compareTo(BigDecimal.ZERO) <= 0) {
+                throw new IllegalArgumentException("El monto a debitar debe ser positivo.");
+            }
+            if (saldo.compareTo(monto) < 0) {
+                throw new IllegalStateException("Fondos insuficientes");
+            }
+            saldo = saldo.subtract(monto);
+        }
+
+        private void acreditar(BigDecimal monto) {
+            if (monto == null || monto.compareTo(BigDecimal.ZERO) <= 0) {
+                throw new IllegalArgumentException("El monto a acreditar debe ser positivo.");
+            }
+            saldo = saldo.add(monto);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.sooft.challenge.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Pruebas Unitarias para el Value Object CursorEmpresa")
+class CursorEmpresaTest {
+
+    @Test
+    @DisplayName("Debe codificar y decodificar el cursor sin perder la clave aunque contenga separadores")
+    void codificar_decodificar_preservaClaveEId() {
+        var cursor = CursorEmpresa.of("Pérez | Hijos S.A.", "0b3c6c1e-8f1a-4a55-9f0c-0a1b2c3d4e5f");
+
+        var decodificado = CursorEmpresa.decodificar(cursor.codificar());
+
+        assertEquals(cursor, decodificado);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar cursores vacíos o manipulados")
+    void decodificar_rechazaCursoresInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> CursorEmpresa.decodificar(""));
+        assertThrows(IllegalArgumentException.class, () -> CursorEmpresa.decodificar("%%%"));
+        assertThrows(IllegalArgumentException.class, () -> CursorEmpresa.decodificar("c2luc2VwYXJhZG9y"));
+    }
+}
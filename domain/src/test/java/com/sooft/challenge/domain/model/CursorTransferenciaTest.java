@@ -0,0 +1,30 @@
+package com.sooft.challenge.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Pruebas Unitarias para el Value Object CursorTransferencia")
+class CursorTransferenciaTest {
+
+    @Test
+    @DisplayName("Debe codificar y decodificar el cursor preservando fecha e id")
+    void codificar_decodificar_preservaFechaEId() {
+        var cursor = CursorTransferencia.of(LocalDate.of(2024, 5, 20), 1_000_123L);
+
+        assertEquals(cursor, CursorTransferencia.decodificar(cursor.codificar()));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar cursores vacíos o manipulados")
+    void decodificar_rechazaCursoresInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> CursorTransferencia.decodificar(""));
+        assertThrows(IllegalArgumentException.class, () -> CursorTransferencia.decodificar("%%%"));
+        assertThrows(IllegalArgumentException.class, () -> CursorTransferencia.decodificar("c2luc2VwYXJhZG9y"));
+        assertThrows(IllegalArgumentException.class, () -> CursorTransferencia.decodificar(CursorEmpresa.of("2024-05-20", "abc").codificar()));
+    }
+}
@@ -6,7 +6,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -29,7 +28,7 @@ class EmpresaTest {
                 .razonSocial("Empresa de Prueba S.A.")
                 .cuit(Cuit.of("30-12345678-9"))
                 .fechaAdhesion(LocalDate.now())
-                .saldo(new BigDecimal("1000.00"))
+                .saldo(Monto.of("1000.00"))
                 .numeroCuenta(NumeroCuenta.of(NUMERO_CUENTA_PRUEBA))
                 .build();
     }
@@ -37,14 +36,14 @@ class EmpresaTest {
     @Test
     @DisplayName("Debitar un monto válido con fondos suficientes debe reducir el saldo")
     void debitar_conFondosSuficientes_debeReducirElSaldo() {
-        empresa.debitar(new BigDecimal("300.00"));
-        assertEquals(0, empresa.getSaldo().compareTo(new BigDecimal("700.00")));
+        empresa.debitar(Monto.of("300.00"));
+        assertEquals(0, empresa.getSaldo().compareTo(Monto.of("700.00")));
     }
 
     @Test
     @DisplayName("Debitar un monto mayor al saldo debe lanzar FondosInsuficientesException")
     void debitar_conFondosInsuficientes_debeLanzarFondosInsuficientesException() {
-        BigDecimal montoADebitar = new BigDecimal("1500.00");
+        Monto montoADebitar = Monto.of("1500.00");
         String mensajeEsperado = "Fondos insuficientes en la cuenta ".concat(empresa.getNumeroCuenta().getValor());
 
         FondosInsuficientesException exception = assertThrows(FondosInsuficientesException.class, () -> {
@@ -58,22 +57,22 @@ class EmpresaTest {
     @DisplayName("Debitar un monto negativo debe lanzar MontoNegativoException")
     void debitar_conMontoNegativo_debeLanzarMontoNegativoException() {
         assertThrows(MontoNegativoException.class, () -> {
-            empresa.debitar(new BigDecimal("-100.00"));
+            empresa.debitar(Monto.of("-100.00"));
         });
     }
 
     @Test
     @DisplayName("Acreditar un monto positivo debe incrementar el saldo")
     void acreditar_conMontoPositivo_debeIncrementarElSaldo() {
-        empresa.acreditar(new BigDecimal("500.00"));
-        assertEquals(0, empresa.getSaldo().compareTo(new BigDecimal("1500.00")));
+        empresa.acreditar(Monto.of("500.00"));
+        assertEquals(0, empresa.getSaldo().compareTo(Monto.of("1500.00")));
     }
 
     @Test
     @DisplayName("Acreditar un monto negativo debe lanzar MontoNegativoException")
     void acreditar_conMontoNegativo_debeLanzarMontoNegativoException() {
         assertThrows(MontoNegativoException.class, () -> {
-            empresa.acreditar(new BigDecimal("-200.00"));
+            empresa.acreditar(Monto.of("-200.00"));
         });
     }
 
@@ -97,7 +96,7 @@ class EmpresaTest {
         Empresa empresaSinDatos = new Empresa();
         assertNotNull(empresaSinDatos);
 
-        Empresa empresaConDatos = new Empresa("1","ID-002",Cuit.of("30-98765432-1"),"Llena S.A.", LocalDate.now(), BigDecimal.TEN, NumeroCuenta.of("987654321"));
+        Empresa empresaConDatos = new Empresa("1","ID-002",Cuit.of("30-98765432-1"),"Llena S.A.", LocalDate.now(), Monto.of("10"), NumeroCuenta.of("987654321"));
 
         assertEquals("1", empresaConDatos.getId());
         assertEquals("Llena S.A.", empresaConDatos.getRazonSocial());
@@ -112,7 +111,7 @@ class EmpresaTest {
                 .razonSocial("Empresa de Prueba S.A.")
                 .cuit(Cuit.of("30-12345678-9"))
                 .fechaAdhesion(empresa.getFechaAdhesion())
-                .saldo(new BigDecimal("1000.00"))
+                .saldo(Monto.of("1000.00"))
                 .numeroCuenta(NumeroCuenta.of(NUMERO_CUENTA_PRUEBA))
                 .build();
 
@@ -122,7 +121,7 @@ class EmpresaTest {
                 .razonSocial("Otra Empresa S.A.")
                 .cuit(Cuit.of("30-00000000-0"))
                 .fechaAdhesion(LocalDate.now())
-                .saldo(new BigDecimal("2000.00"))
+                .saldo(Monto.of("2000.00"))
                 .numeroCuenta(NumeroCuenta.of("999999999"))
                 .build();
 
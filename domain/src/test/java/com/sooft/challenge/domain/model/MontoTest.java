@@ -0,0 +1,50 @@
+package com.sooft.challenge.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Pruebas Unitarias para el Value Object Monto")
+class MontoTest {
+
+    @Test
+    @DisplayName("Debe convertir un BigDecimal a centavos y volver sin pérdida")
+    void of_conviertePreservandoElValor() {
+        var monto = Monto.of(new BigDecimal("1234.5"));
+
+        assertEquals(123450, monto.getCentavos());
+        assertEquals(new BigDecimal("1234.50"), monto.toBigDecimal());
+        assertEquals("1234.50", monto.toString());
+        assertEquals("-0.05", Monto.deCentavos(-5).toString());
+        assertEquals(Monto.of("1234.50"), monto);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar montos con más de dos decimales o fuera de rango")
+    void of_rechazaMontosNoRepresentables() {
+        assertThrows(IllegalArgumentException.class, () -> Monto.of(new BigDecimal("10.001")));
+        assertThrows(IllegalArgumentException.class, () -> Monto.of(new BigDecimal("1E+20")));
+        assertThrows(IllegalArgumentException.class, () -> Monto.of((BigDecimal) null));
+    }
+
+    @Test
+    @DisplayName("Debe sumar, restar y comparar en centavos detectando desbordes")
+    void aritmetica_conControlDeDesborde() {
+        var diez = Monto.of("10.00");
+        var tres = Monto.of("3.25");
+
+        assertEquals(Monto.of("13.25"), diez.sumar(tres));
+        assertEquals(Monto.of("-3.25"), Monto.CERO.restar(tres));
+        assertTrue(tres.esMenorQue(diez));
+        assertFalse(Monto.CERO.esPositivo());
+        assertEquals(tres, diez.minimo(tres));
+        assertThrows(ArithmeticException.class, () -> Monto.deCentavos(Long.MAX_VALUE).sumar(Monto.deCentavos(1)));
+        assertThrows(ArithmeticException.class, () -> Monto.deCentavos(Long.MIN_VALUE).restar(Monto.deCentavos(1)));
+    }
+}
@@ -0,0 +1,36 @@
+package com.sooft.challenge.infrastructure.adapter.in.actuator;
+
+import com.sooft.challenge.application.lock.CuentaLockManager;
+import com.sooft.challenge.application.lock.EstadisticaStripe;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+@Component
+@Endpoint(id = "cuentalocks")
+@RequiredArgsConstructor
+public class CuentaLockEndpoint {
+
+    private static final int STRIPES_INFORMADOS = 20;
+
+    private final CuentaLockManager cuentaLockManager;
+
+    @ReadOperation
+    public List<EstadisticaStripe> stripesConMayorEspera() {
+        return cuentaLockManager.estadisticas().stream()
+                .filter(estadistica -> estadistica.getContenciones() > 0 || estadistica.getLongitudCola() > 0)
+                .sorted(Comparator.comparingLong(EstadisticaStripe::getTiempoEsperaNanos).reversed())
+                .limit(STRIPES_INFORMADOS)
+                .toList();
+    }
+
+    @ReadOperation
+    public EstadisticaStripe stripe(@Selector int indice) {
+        return cuentaLockManager.estadistica(indice);
+    }
+}
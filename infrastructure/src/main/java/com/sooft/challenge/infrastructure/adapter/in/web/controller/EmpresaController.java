@@ -5,16 +5,30 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.function.Function;
 
 import com.sooft.challenge.domain.model.Cuit;
+import com.sooft.challenge.domain.model.CursorEmpresa;
+import com.sooft.challenge.domain.model.CursorTransferencia;
 import com.sooft.challenge.domain.model.Empresa;
+import com.sooft.challenge.domain.model.Monto;
+import com.sooft.challenge.domain.model.PaginaCursor;
+import com.sooft.challenge.domain.model.Transferencia;
 
 import com.sooft.challenge.domain.port.in.AdherirEmpresaUseCase;
 import com.sooft.challenge.domain.port.in.BuscarEmpresaPorIdUseCase;
+import com.sooft.challenge.domain.port.in.BuscarEmpresasPorCodigoUseCase;
+import com.sooft.challenge.domain.port.in.ConsultarTransferenciasEmpresaUseCase;
 import com.sooft.challenge.domain.port.in.EmpresasAdheridasUltimoMesUseCase;
 import com.sooft.challenge.domain.port.in.EmpresasConTransferenciasRecientesUseCase;
+import com.sooft.challenge.domain.port.in.ExportarEmpresasUseCase;
 import com.sooft.challenge.domain.port.in.BuscarTodasLasEmpresasUseCase;
+import com.sooft.challenge.infrastructure.adapter.in.web.dto.BuscarEmpresasRequest;
+import com.sooft.challenge.infrastructure.adapter.in.web.dto.BuscarEmpresasResponse;
 import com.sooft.challenge.infrastructure.adapter.in.web.dto.CrearEmpresaRequest;
 import com.sooft.challenge.infrastructure.adapter.in.web.dto.EmpresaResponseDTO;
 import com.sooft.challenge.infrastructure.adapter.in.web.dto.ErrorResponse;
+import com.sooft.challenge.infrastructure.adapter.in.web.dto.PaginaCursorResponse;
+import com.sooft.challenge.infrastructure.adapter.in.web.export.EscritorExportacion;
+import com.sooft.challenge.infrastructure.adapter.in.web.export.FormatoExportacion;
+import com.sooft.challenge.infrastructure.adapter.in.web.idempotency.Idempotente;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -28,6 +42,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -37,6 +52,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 
 
 @RestController
@@ -45,14 +67,20 @@ import org.springframework.web.bind.annotation.RequestHeader;
 @Tag(name = "Empresas Controller", description = "Crear y obtener información de empresas")
 public class EmpresaController {
 
+    private static final List<String> COLUMNAS_EXPORTACION = List.of("id", "razonSocial", "cuit", "fechaAdhesion", "saldo", "numeroCuenta");
+
     private final AdherirEmpresaUseCase adherirEmpresaUseCase;
     private final EmpresasAdheridasUltimoMesUseCase empresasAdheridasUltimoMesUseCase;
     private final EmpresasConTransferenciasRecientesUseCase empresasConTransferenciasRecientesUseCase;
     private final BuscarEmpresaPorIdUseCase buscarEmpresaPorIdUseCase;
+    private final BuscarEmpresasPorCodigoUseCase buscarEmpresasPorCodigoUseCase;
     private final BuscarTodasLasEmpresasUseCase buscarTodasLasEmpresasUseCase;
+    private final ExportarEmpresasUseCase exportarEmpresasUseCase;
+    private final ConsultarTransferenciasEmpresaUseCase consultarTransferenciasEmpresaUseCase;
     private final ObjectMapper objectMapper;
 
     @PostMapping
+    @Idempotente
     @Operation(summary = "Crear una nueva empresa",
             description = "Crea una nueva empresa. Este endpoint es idempotente. " +
                     "Para reintentos seguros, incluya una cabecera 'Idempotency-Key' con un valor único (ej. un UUID).")
@@ -70,6 +98,7 @@ public class EmpresaController {
             @ApiResponse(responseCode = "409", description = """
                 Conflicto. Posibles errores:
                 - Ya existe una empresa registrada con el CUIT.
+                - Otra petición con la misma Idempotency-Key sigue en curso (reintentar).
                 """,
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             ),
@@ -87,13 +116,13 @@ public class EmpresaController {
                 .cuit(Cuit.of(request.getCuit()))
                 .razonSocial(request.getRazonSocial())
                 .fechaAdhesion(request.getFechaAdhesion())
-                .saldo(request.getSaldo())
+                .saldo(Monto.of(request.getSaldo()))
                 .build();
 
-        Function<Empresa, String> responseSerializer = domainEmpresa -> {
+        Function<Empresa, byte[]> responseSerializer = domainEmpresa -> {
             try {
                 EmpresaResponseDTO dto = this.convertirDTO(domainEmpresa);
-                return objectMapper.writeValueAsString(dto);
+                return objectMapper.writeValueAsBytes(dto);
             } catch (JsonProcessingException e) {
                 throw new RuntimeException("Error interno al serializar la respuesta para idempotencia", e);
             }
@@ -121,6 +150,26 @@ public class EmpresaController {
         return ResponseEntity.ok(respuesta);
     }
 
+    @GetMapping("/reportes/adheridas-ultimo-mes/cursor")
+    @Operation(summary = "Obtener empresas adheridas en el último mes por cursor",
+            description = "Recorre las empresas por fecha de adhesión descendente sin calcular el total. Enviar el siguienteCursor recibido para obtener la próxima página.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Obtiene una página y el cursor para pedir la siguiente."),
+            @ApiResponse(responseCode = "400", description = "El cursor es inválido o el tamaño está fuera de rango.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "5XX", description = """
+                Errores del servidor. Posibles errores:
+                - Problemas con el servidor.
+                """,
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )})
+    public ResponseEntity<PaginaCursorResponse<EmpresaResponseDTO>> getEmpresasAdheridasUltimoMesPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio
+    ) {
+        return ResponseEntity.ok(convertirPagina(empresasAdheridasUltimoMesUseCase.findEmpresasAdheridasRecientemente(decodificarCursor(cursor), tamanio)));
+    }
+
     @GetMapping("/reportes/transferencias-ultimo-mes")
     @Operation(summary = "Reporte de empresas con transferencias en el último mes")
     @ApiResponses(value = {
@@ -131,13 +180,57 @@ public class EmpresaController {
                 """,
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             )})
-    public ResponseEntity<Page<EmpresaResponseDTO>> getEmpresasConTransferenciasUltimoMes(@ParameterObject @PageableDefault(sort = "empresa.razonSocial",
+    public ResponseEntity<Page<EmpresaResponseDTO>> getEmpresasConTransferenciasUltimoMes(@ParameterObject @PageableDefault(sort = "razonSocial",
             direction = Sort.Direction.DESC) Pageable pageable) {
         Page<Empresa> empresaPage = empresasConTransferenciasRecientesUseCase.findEmpresasConTransferenciasRecientes(pageable);
         Page<EmpresaResponseDTO> respuesta = empresaPage.map(this::convertirDTO);
         return ResponseEntity.ok(respuesta);
     }
 
+    @GetMapping("/reportes/transferencias-ultimo-mes/cursor")
+    @Operation(summary = "Reporte de empresas con transferencias en el último mes por cursor",
+            description = "Recorre las empresas por razón social sin calcular el total. Enviar el siguienteCursor recibido para obtener la próxima página.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Obtiene una página y el cursor para pedir la siguiente."),
+            @ApiResponse(responseCode = "400", description = "El cursor es inválido o el tamaño está fuera de rango.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "5XX", description = """
+                Errores del servidor. Posibles errores:
+                - Problemas con el servidor.
+                """,
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )})
+    public ResponseEntity<PaginaCursorResponse<EmpresaResponseDTO>> getEmpresasConTransferenciasUltimoMesPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio
+    ) {
+        return ResponseEntity.ok(convertirPagina(empresasConTransferenciasRecientesUseCase.findEmpresasConTransferenciasRecientes(decodificarCursor(cursor), tamanio)));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Exportar todas las empresas",
+            description = "Transmite todas las empresas en formato NDJSON (una empresa por línea) o CSV sin paginar ni contar la tabla.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Se transmiten las empresas en el formato solicitado."),
+            @ApiResponse(responseCode = "400", description = "El formato solicitado no es ndjson ni csv.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "5XX", description = """
+                Errores del servidor. Posibles errores:
+                - Problemas con el servidor.
+                """,
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )})
+    public ResponseEntity<StreamingResponseBody> exportarEmpresas(@RequestParam(defaultValue = "ndjson") String formato) {
+        var formatoExportacion = FormatoExportacion.desde(formato);
+        return formatoExportacion.respuesta("empresas", salida -> {
+            EscritorExportacion<EmpresaResponseDTO> escritor = EscritorExportacion.crear(formatoExportacion, salida, objectMapper,
+                    COLUMNAS_EXPORTACION, dto -> Arrays.asList(dto.getId(), dto.getRazonSocial(), dto.getCuit(),
+                            dto.getFechaAdhesion(), dto.getSaldo(), dto.getNumeroCuenta()));
+            exportarEmpresasUseCase.exportarEmpresas(empresa -> escritor.accept(convertirDTO(empresa)));
+            escritor.terminar();
+        });
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar empresa por su id")
     @ApiResponses(value = {
@@ -159,6 +252,73 @@ public class EmpresaController {
         return ResponseEntity.ok(convertirDTO(empresa));
     }
 
+    @GetMapping("/{codigo}/transferencias")
+    @Operation(summary = "Historial de transferencias de una empresa",
+            description = "Recorre las transferencias de la empresa por fecha descendente, opcionalmente filtradas por rango de fechas. " +
+                    "Enviar el siguienteCursor recibido para obtener la próxima página.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Obtiene una página de transferencias y el cursor para pedir la siguiente."),
+            @ApiResponse(responseCode = "400", description = """
+                Solicitud inválida. Posibles errores:
+                - El cursor es inválido o el tamaño está fuera de rango.
+                - La fecha desde es posterior a la fecha hasta.
+                """,
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = """
+                Recurso no encontrado. Posibles errores:
+                - No existe empresa con id: {codigo}.
+                """,
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "5XX", description = """
+                Errores del servidor. Posibles errores:
+                - Problemas con el servidor.
+                """,
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )})
+    public ResponseEntity<PaginaCursorResponse<Transferencia>> getTransferenciasDeEmpresa(
+            @PathVariable String codigo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio
+    ) {
+        var cursorTransferencia = cursor == null || cursor.isBlank() ? null : CursorTransferencia.decodificar(cursor);
+        PaginaCursor<Transferencia> pagina = consultarTransferenciasEmpresaUseCase.findTransferenciasDeEmpresa(codigo, desde, hasta,
+                cursorTransferencia, tamanio);
+        var contenido = pagina.getContenido();
+        return ResponseEntity.ok(new PaginaCursorResponse<>(contenido.getContent(), contenido.getNumberOfElements(),
+                contenido.hasNext(), pagina.getSiguienteCursor()));
+    }
+
+    @PostMapping("/buscar")
+    @Operation(summary = "Buscar varias empresas por sus ids",
+            description = "Obtiene hasta 1000 empresas en una sola consulta. Los ids inexistentes se informan en noEncontradas.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Se obtienen las empresas encontradas y los ids que no existen."),
+            @ApiResponse(responseCode = "400", description = """
+                Solicitud inválida. Posibles errores:
+                - La lista de ids está vacía o supera los 1000 elementos.
+                - Alguno de los ids está vacío.
+                """,
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "5XX", description = """
+                Errores del servidor. Posibles errores:
+                - Problemas con el servidor.
+                """,
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )})
+    public ResponseEntity<BuscarEmpresasResponse> buscarEmpresas(@Valid @RequestBody BuscarEmpresasRequest request) {
+        List<EmpresaResponseDTO> empresas = buscarEmpresasPorCodigoUseCase.findAllByCodigo(request.codigos()).stream()
+                .map(this::convertirDTO)
+                .toList();
+        var encontradas = new HashSet<String>(empresas.size() * 2);
+        empresas.forEach(empresa -> encontradas.add(empresa.getId()));
+        List<String> noEncontradas = request.codigos().stream()
+                .filter(codigo -> !encontradas.contains(codigo))
+                .distinct()
+                .toList();
+        return ResponseEntity.ok(new BuscarEmpresasResponse(empresas, noEncontradas));
+    }
 
     @GetMapping
     @Operation(summary = "Obtener una lista de todas las empresas")
@@ -178,13 +338,47 @@ public class EmpresaController {
         return ResponseEntity.ok(respuesta);
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Obtener todas las empresas por cursor",
+            description = "Recorre las empresas por razón social sin calcular el total. Enviar el siguienteCursor recibido para obtener la próxima página.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Obtiene una página y el cursor para pedir la siguiente."),
+            @ApiResponse(responseCode = "400", description = "El cursor es inválido o el tamaño está fuera de rango.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "5XX", description = """
+                Errores del servidor. Posibles errores:
+                - Problemas con el servidor.
+                """,
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )})
+    public ResponseEntity<PaginaCursorResponse<EmpresaResponseDTO>> getAllEmpresasPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio
+    ) {
+        return ResponseEntity.ok(convertirPagina(buscarTodasLasEmpresasUseCase.findAll(decodificarCursor(cursor), tamanio)));
+    }
+
+    private CursorEmpresa decodificarCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : CursorEmpresa.decodificar(cursor);
+    }
+
+    private PaginaCursorResponse<EmpresaResponseDTO> convertirPagina(PaginaCursor<Empresa> pagina) {
+        var contenido = pagina.getContenido();
+        return new PaginaCursorResponse<>(
+                contenido.map(this::convertirDTO).getContent(),
+                contenido.getNumberOfElements(),
+                contenido.hasNext(),
+                pagina.getSiguienteCursor()
+        );
+    }
+
     private EmpresaResponseDTO convertirDTO(Empresa empresa) {
         return new EmpresaResponseDTO(
                 empresa.getCodigo(),
                 empresa.getRazonSocial(),
                 empresa.getCuit().getValor(),
                 empresa.getFechaAdhesion(),
-                empresa.getSaldo(),
+                empresa.getSaldo() == null ? null : empresa.getSaldo().toBigDecimal(),
                 empresa.getNumeroCuenta().getValor()
         );
     }
@@ -1,9 +1,24 @@
 package com.sooft.challenge.infrastructure.adapter.in.web.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sooft.challenge.domain.model.Monto;
+import com.sooft.challenge.domain.model.ResultadoTransferencia;
+import com.sooft.challenge.domain.model.SolicitudTransferencia;
+import com.sooft.challenge.domain.model.TicketTransferencia;
 import com.sooft.challenge.domain.model.Transferencia;
+import com.sooft.challenge.domain.port.in.EncolarTransferenciaUseCase;
+import com.sooft.challenge.domain.port.in.ExportarTransferenciasUseCase;
+import com.sooft.challenge.domain.port.in.RealizarTransferenciaIdempotenteUseCase;
 import com.sooft.challenge.domain.port.in.RealizarTransferenciaUseCase;
 import com.sooft.challenge.infrastructure.adapter.in.web.dto.ErrorResponse;
 import com.sooft.challenge.infrastructure.adapter.in.web.dto.RealizarTransferenciaRequest;
+import com.sooft.challenge.infrastructure.adapter.in.web.dto.RealizarTransferenciasLoteRequest;
+import com.sooft.challenge.infrastructure.adapter.in.web.dto.ResultadoLoteTransferenciasResponse;
+import com.sooft.challenge.infrastructure.adapter.in.web.dto.ResultadoTransferenciaResponse;
+import com.sooft.challenge.infrastructure.adapter.in.web.dto.TicketTransferenciaResponse;
+import com.sooft.challenge.infrastructure.adapter.in.web.export.EscritorExportacion;
+import com.sooft.challenge.infrastructure.adapter.in.web.export.FormatoExportacion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,10 +29,20 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/transferencias")
@@ -25,7 +50,15 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Transferencias Controller", description = "Crear transferencias entre empresas")
 public class TransferenciaController {
 
+    private static final String ESTADO_EXITOSA = "EXITOSA";
+    private static final String ESTADO_RECHAZADA = "RECHAZADA";
+    private static final List<String> COLUMNAS_EXPORTACION = List.of("id", "idEmpresa", "cuentaDebito", "cuentaCredito", "importe", "fecha");
+
     private final RealizarTransferenciaUseCase realizarTransferenciaUseCase;
+    private final EncolarTransferenciaUseCase encolarTransferenciaUseCase;
+    private final RealizarTransferenciaIdempotenteUseCase realizarTransferenciaIdempotenteUseCase;
+    private final ExportarTransferenciasUseCase exportarTransferenciasUseCase;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @Operation(summary = "Crear una nueva transferencia")
@@ -45,19 +78,151 @@ public class TransferenciaController {
                 """,
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             ),
+            @ApiResponse(responseCode = "409", description = "Otra petición con la misma Idempotency-Key todavía se está procesando. Reintentar luego del tiempo indicado en Retry-After.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "422", description = "La Idempotency-Key ya fue utilizada con una solicitud distinta.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "5XX", description = """
                 Errores del servidor. Posibles errores:
                 - Problemas con el servidor.
+                - 501 si se envía Idempotency-Key con el ledger activo.
+                - 503 con Retry-After si no se pudo confirmar el resultado de la transferencia; reintentar con la misma Idempotency-Key.
+                - 503 con Retry-After si las cuentas siguen ocupadas por otras transferencias al vencer la espera del bloqueo.
                 """,
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             )})
-    public ResponseEntity<Transferencia> realizarTransferencia(@Valid @RequestBody RealizarTransferenciaRequest request) {
-        Transferencia transferenciaRealizada = realizarTransferenciaUseCase.realizarTransferencia(
-                request.cuentaDebito(),
-                request.idEmpresa(),
-                request.cuentaCredito(),
-                request.importe()
-        );
-    return ResponseEntity.status(HttpStatus.CREATED).body(transferenciaRealizada);
+    public ResponseEntity<Transferencia> realizarTransferencia(@Valid @RequestBody RealizarTransferenciaRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            Transferencia transferenciaRealizada = realizarTransferenciaUseCase.realizarTransferencia(
+                    request.cuentaDebito(),
+                    request.idEmpresa(),
+                    request.cuentaCredito(),
+                    Monto.of(request.importe())
+            );
+            return ResponseEntity.status(HttpStatus.CREATED).body(transferenciaRealizada);
+        }
+
+        Function<Transferencia, byte[]> responseSerializer = transferencia -> {
+            try {
+                return objectMapper.writeValueAsBytes(transferencia);
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Error interno al serializar la respuesta para idempotencia", e);
+            }
+        };
+
+        Transferencia transferenciaRealizada = realizarTransferenciaIdempotenteUseCase.realizarTransferencia(
+                SolicitudTransferencia.builder()
+                        .cuentaDebito(request.cuentaDebito())
+                        .idEmpresaCredito(request.idEmpresa())
+                        .cuentaCredito(request.cuentaCredito())
+                        .importe(Monto.of(request.importe()))
+                        .build(),
+                idempotencyKey,
+                responseSerializer);
+        return ResponseEntity.status(HttpStatus.CREATED).body(transferenciaRealizada);
+    }
+
+    @PostMapping(params = "async=true")
+    @Operation(summary = "Encolar una transferencia para su ejecución asincrónica",
+            description = "Valida la solicitud, la encola y devuelve un ticket para consultar su estado en GET /transferencias/{ticket}.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Transferencia aceptada. Se devuelve el ticket en estado PENDIENTE."),
+            @ApiResponse(responseCode = "400", description = "Solicitud inválida.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "La cola de transferencias está llena. Reintentar luego del tiempo indicado en Retry-After.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )})
+    public ResponseEntity<TicketTransferenciaResponse> encolarTransferencia(@Valid @RequestBody RealizarTransferenciaRequest request) {
+        TicketTransferencia ticket = encolarTransferenciaUseCase.encolarTransferencia(SolicitudTransferencia.builder()
+                .cuentaDebito(request.cuentaDebito())
+                .idEmpresaCredito(request.idEmpresa())
+                .cuentaCredito(request.cuentaCredito())
+                .importe(Monto.of(request.importe()))
+                .build());
+        return ResponseEntity.accepted()
+                .location(URI.create("/transferencias/" + ticket.getId()))
+                .body(convertirTicket(ticket));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Exportar todas las transferencias",
+            description = "Transmite todas las transferencias en formato NDJSON (una transferencia por línea) o CSV sin paginar ni contar la tabla.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Se transmiten las transferencias en el formato solicitado."),
+            @ApiResponse(responseCode = "400", description = "El formato solicitado no es ndjson ni csv.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )})
+    public ResponseEntity<StreamingResponseBody> exportarTransferencias(@RequestParam(defaultValue = "ndjson") String formato) {
+        var formatoExportacion = FormatoExportacion.desde(formato);
+        return formatoExportacion.respuesta("transferencias", salida -> {
+            EscritorExportacion<Transferencia> escritor = EscritorExportacion.crear(formatoExportacion, salida, objectMapper,
+                    COLUMNAS_EXPORTACION, transferencia -> Arrays.asList(transferencia.getId(), transferencia.getIdEmpresa(),
+                            transferencia.getCuentaDebito(), transferencia.getCuentaCredito(),
+                            transferencia.getImporte() == null ? null : transferencia.getImporte().toBigDecimal(),
+                            transferencia.getFecha()));
+            exportarTransferenciasUseCase.exportarTransferencias(escritor);
+            escritor.terminar();
+        });
+    }
+
+    @GetMapping("/{ticket}")
+    @Operation(summary = "Consultar el estado de una transferencia asincrónica")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estado del ticket: PENDIENTE, EN_PROCESO, EXITOSA, RECHAZADA o FALLIDA."),
+            @ApiResponse(responseCode = "404", description = "No existe el ticket o ya fue depurado.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )})
+    public ResponseEntity<TicketTransferenciaResponse> consultarTicket(@PathVariable String ticket) {
+        return ResponseEntity.ok(convertirTicket(encolarTransferenciaUseCase.consultarTicket(ticket)));
+    }
+
+    @PostMapping("/lote")
+    @Operation(summary = "Realizar un lote de transferencias",
+            description = "Ejecuta todas las transferencias del lote en una única transacción. " +
+                    "Las transferencias rechazadas por reglas de negocio no afectan al resto y se informan individualmente.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote procesado. Cada transferencia informa su estado (EXITOSA o RECHAZADA)."),
+            @ApiResponse(responseCode = "400", description = """
+                Solicitud inválida. Posibles errores:
+                - El lote está vacío o supera las 500 transferencias.
+                - Alguna transferencia del lote tiene datos inválidos.
+                """,
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "5XX", description = """
+                Errores del servidor. Posibles errores:
+                - Problemas con el servidor.
+                """,
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )})
+    public ResponseEntity<ResultadoLoteTransferenciasResponse> realizarTransferencias(@Valid @RequestBody RealizarTransferenciasLoteRequest request) {
+        List<SolicitudTransferencia> solicitudes = request.transferencias().stream()
+                .map(transferencia -> SolicitudTransferencia.builder()
+                        .cuentaDebito(transferencia.cuentaDebito())
+                        .idEmpresaCredito(transferencia.idEmpresa())
+                        .cuentaCredito(transferencia.cuentaCredito())
+                        .importe(Monto.of(transferencia.importe()))
+                        .build())
+                .toList();
+
+        List<ResultadoTransferenciaResponse> resultados = realizarTransferenciaUseCase.realizarTransferencias(solicitudes).stream()
+                .map(this::convertirResultado)
+                .toList();
+        int exitosas = (int) resultados.stream().filter(resultado -> ESTADO_EXITOSA.equals(resultado.getEstado())).count();
+
+        return ResponseEntity.ok(new ResultadoLoteTransferenciasResponse(
+                resultados.size(), exitosas, resultados.size() - exitosas, resultados));
+    }
+
+    private ResultadoTransferenciaResponse convertirResultado(ResultadoTransferencia resultado) {
+        if (resultado.isExitosa()) {
+            return new ResultadoTransferenciaResponse(resultado.getIndice(), ESTADO_EXITOSA, resultado.getTransferencia(), null);
+        }
+        return new ResultadoTransferenciaResponse(resultado.getIndice(), ESTADO_RECHAZADA, null, resultado.getError().getMessage());
+    }
+
+    private TicketTransferenciaResponse convertirTicket(TicketTransferencia ticket) {
+        return new TicketTransferenciaResponse(ticket.getId(), ticket.getEstado().name(), ticket.getTransferencia(),
+                ticket.getMensaje(), ticket.getFechaCreacion(), ticket.getFechaActualizacion());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+package com.sooft.challenge.infrastructure.adapter.in.web.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BuscarEmpresasRequest(
+
+        @NotEmpty(message = "Debe indicar al menos un código de empresa.")
+        @Size(max = 1000, message = "No se pueden buscar más de 1000 empresas por consulta.")
+        List<@NotBlank(message = "Los códigos de empresa no pueden estar vacíos.") String> codigos
+) {}
@@ -0,0 +1,17 @@
+package com.sooft.challenge.infrastructure.adapter.in.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuscarEmpresasResponse {
+
+    private List<EmpresaResponseDTO> empresas;
+
+    private List<String> noEncontradas;
+}
@@ -2,6 +2,7 @@ package com.sooft.challenge.infrastructure.adapter.in.web.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -30,5 +31,6 @@ public class CrearEmpresaRequest {
 
     @NotNull(message = "El saldo no puede ser nulo")
     @DecimalMin(value = "0.0", inclusive = false, message = "El saldo debe ser mayor que cero")
+    @Digits(integer = 16, fraction = 2, message = "El saldo admite como máximo 16 enteros y 2 decimales")
     private BigDecimal saldo;
 }
\ No newline at end of file
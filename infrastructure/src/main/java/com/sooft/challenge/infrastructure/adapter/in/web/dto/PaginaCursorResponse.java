@@ -0,0 +1,21 @@
+package com.sooft.challenge.infrastructure.adapter.in.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaCursorResponse<T> {
+
+    private List<T> contenido;
+
+    private int tamanio;
+
+    private boolean haySiguiente;
+
+    private String siguienteCursor;
+}
@@ -1,6 +1,7 @@
 package com.sooft.challenge.infrastructure.adapter.in.web.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -21,5 +22,6 @@ public record RealizarTransferenciaRequest(
 
         @NotNull(message = "El importe no puede ser nulo.")
         @Positive(message = "El importe debe ser mayor que cero.")
+        @Digits(integer = 16, fraction = 2, message = "El importe admite como máximo 16 enteros y 2 decimales.")
         BigDecimal importe
 ) {}
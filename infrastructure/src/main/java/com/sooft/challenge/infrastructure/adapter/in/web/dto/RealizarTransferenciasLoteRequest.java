@@ -0,0 +1,14 @@
+package com.sooft.challenge.infrastructure.adapter.in.web.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record RealizarTransferenciasLoteRequest(
+
+        @NotEmpty(message = "El lote debe contener al menos una transferencia.")
+        @Size(max = 500, message = "El lote no puede contener más de 500 transferencias.")
+        List<@Valid RealizarTransferenciaRequest> transferencias
+) {}
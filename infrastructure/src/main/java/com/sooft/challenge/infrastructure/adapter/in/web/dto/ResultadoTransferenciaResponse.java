@@ -0,0 +1,20 @@
+package com.sooft.challenge.infrastructure.adapter.in.web.dto;
+
+import com.sooft.challenge.domain.model.Transferencia;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoTransferenciaResponse {
+
+    private int indice;
+
+    private String estado;
+
+    private Transferencia transferencia;
+
+    private String mensaje;
+}
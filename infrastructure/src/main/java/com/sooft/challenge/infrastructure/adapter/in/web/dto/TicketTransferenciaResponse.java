@@ -0,0 +1,26 @@
+package com.sooft.challenge.infrastructure.adapter.in.web.dto;
+
+import com.sooft.challenge.domain.model.Transferencia;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketTransferenciaResponse {
+
+    private String ticket;
+
+    private String estado;
+
+    private Transferencia transferencia;
+
+    private String mensaje;
+
+    private LocalDateTime fechaCreacion;
+
+    private LocalDateTime fechaActualizacion;
+}
@@ -0,0 +1,110 @@
+package com.sooft.challenge.infrastructure.adapter.in.web.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public abstract class EscritorExportacion<T> implements Consumer<T> {
+
+    public static <T> EscritorExportacion<T> crear(FormatoExportacion formato, OutputStream salida, ObjectMapper objectMapper,
+                                                   List<String> encabezados, Function<T, List<?>> columnas) throws IOException {
+        return formato == FormatoExportacion.CSV
+                ? new Csv<>(salida, encabezados, columnas)
+                : new Ndjson<>(salida, objectMapper);
+    }
+
+    @Override
+    public void accept(T fila) {
+        try {
+            escribir(fila);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    protected abstract void escribir(T fila) throws IOException;
+
+    public abstract void terminar() throws IOException;
+
+    private static final class Ndjson<T> extends EscritorExportacion<T> {
+
+        private final JsonGenerator generador;
+        private final ObjectWriter writer;
+
+        private Ndjson(OutputStream salida, ObjectMapper objectMapper) throws IOException {
+            this.generador = objectMapper.getFactory().createGenerator(salida)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .setRootValueSeparator(null);
+            this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        @Override
+        protected void escribir(T fila) throws IOException {
+            writer.writeValue(generador, fila);
+            generador.writeRaw('\n');
+        }
+
+        @Override
+        public void terminar() throws IOException {
+            generador.close();
+        }
+    }
+
+    private static final class Csv<T> extends EscritorExportacion<T> {
+
+        private final Writer writer;
+        private final Function<T, List<?>> columnas;
+
+        private Csv(OutputStream salida, List<String> encabezados, Function<T, List<?>> columnas) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+            this.columnas = columnas;
+            escribirLinea(encabezados);
+        }
+
+        @Override
+        protected void escribir(T fila) throws IOException {
+            escribirLinea(columnas.apply(fila));
+        }
+
+        @Override
+        public void terminar() throws IOException {
+            writer.flush();
+        }
+
+        private void escribirLinea(List<?> valores) throws IOException {
+            for (int i = 0; i < valores.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                escribirValor(valores.get(i));
+            }
+            writer.write('\n');
+        }
+
+        private void escribirValor(Object valor) throws IOException {
+            if (valor == null) {
+                return;
+            }
+            var texto = valor.toString();
+            if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+                writer.write(texto);
+                return;
+            }
+            writer.write('"');
+            writer.write(texto.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package com.sooft.challenge.infrastructure.adapter.in.web.handler;
 
+import com.sooft.challenge.domain.exception.ColaTransferenciasLlenaException;
+import com.sooft.challenge.domain.exception.CuentaBloqueadaException;
+import com.sooft.challenge.domain.exception.IdempotencyKeyEnCursoException;
+import com.sooft.challenge.domain.exception.IdempotencyKeyReutilizadaException;
 import com.sooft.challenge.domain.exception.IdempotentRequestException;
+import com.sooft.challenge.domain.exception.TicketTransferenciaNotFoundException;
 import com.sooft.challenge.domain.exception.CuitDuplicadoException;
 import com.sooft.challenge.domain.exception.MontoNegativoException;
+import com.sooft.challenge.domain.exception.ResultadoTransferenciaDesconocidoException;
 import com.sooft.challenge.domain.exception.TransferenciaException;
+import com.sooft.challenge.domain.exception.TransferenciaIdempotenteNoSoportadaException;
 import com.sooft.challenge.domain.exception.FondosInsuficientesException;
 import com.sooft.challenge.domain.exception.FechaAdhesionException;
 import com.sooft.challenge.domain.exception.EmpresaNotFoundException;
@@ -47,12 +54,36 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(IdempotentRequestException.class)
-    public ResponseEntity<String> handleIdempotentRequestException(IdempotentRequestException ex) {
+    public ResponseEntity<byte[]> handleIdempotentRequestException(IdempotentRequestException ex) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         return new ResponseEntity<>(ex.getResponseBody(), headers, HttpStatus.valueOf(ex.getResponseStatus()));
     }
 
+    @ExceptionHandler(IdempotencyKeyEnCursoException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyEnCursoException(IdempotencyKeyEnCursoException ex, HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                HttpStatus.CONFLICT.getReasonPhrase(),
+                ex.getMessage(),
+                request.getRequestURI());
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return new ResponseEntity<>(errorResponse, headers, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReutilizadaException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyReutilizadaException(IdempotencyKeyReutilizadaException ex, HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                HttpStatus.UNPROCESSABLE_ENTITY.getReasonPhrase(),
+                ex.getMessage(),
+                request.getRequestURI());
+        return new ResponseEntity<>(errorResponse, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
     @ExceptionHandler(CuitDuplicadoException.class)
     public ResponseEntity<ErrorResponse> handleCuitDuplicadoException(CuitDuplicadoException ex, HttpServletRequest request) {
         ErrorResponse errorResponse = new ErrorResponse(
@@ -119,6 +150,67 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(TicketTransferenciaNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleTicketTransferenciaNotFoundException(TicketTransferenciaNotFoundException ex, HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.NOT_FOUND.value(),
+                HttpStatus.NOT_FOUND.getReasonPhrase(),
+                ex.getMessage(),
+                request.getRequestURI());
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(ColaTransferenciasLlenaException.class)
+    public ResponseEntity<ErrorResponse> handleColaTransferenciasLlenaException(ColaTransferenciasLlenaException ex, HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
+                ex.getMessage(),
+                request.getRequestURI());
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return new ResponseEntity<>(errorResponse, headers, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @ExceptionHandler(TransferenciaIdempotenteNoSoportadaException.class)
+    public ResponseEntity<ErrorResponse> handleTransferenciaIdempotenteNoSoportadaException(TransferenciaIdempotenteNoSoportadaException ex, HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.NOT_IMPLEMENTED.value(),
+                HttpStatus.NOT_IMPLEMENTED.getReasonPhrase(),
+                ex.getMessage(),
+                request.getRequestURI());
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    @ExceptionHandler(CuentaBloqueadaException.class)
+    public ResponseEntity<ErrorResponse> handleCuentaBloqueadaException(CuentaBloqueadaException ex, HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                ex.getMessage(),
+                request.getRequestURI());
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return new ResponseEntity<>(errorResponse, headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(ResultadoTransferenciaDesconocidoException.class)
+    public ResponseEntity<ErrorResponse> handleResultadoTransferenciaDesconocidoException(ResultadoTransferenciaDesconocidoException ex, HttpServletRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                ex.getMessage(),
+                request.getRequestURI());
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return new ResponseEntity<>(errorResponse, headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex, HttpServletRequest request) {
         String errorMessage = ex.getBindingResult().getAllErrors().get(0).getDefaultMessage();
@@ -0,0 +1,46 @@
+package com.sooft.challenge.infrastructure.adapter.in.web.idempotency;
+
+import com.sooft.challenge.domain.port.out.IdempotencyKeyPort;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyReplayInterceptor implements HandlerInterceptor {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final IdempotencyKeyPort idempotencyKeyPort;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!(handler instanceof HandlerMethod metodo) || !metodo.hasMethodAnnotation(Idempotente.class)) {
+            return true;
+        }
+        var idempotencyKey = request.getHeader(IDEMPOTENCY_KEY);
+        if (!StringUtils.hasText(idempotencyKey)) {
+            return true;
+        }
+        var registro = idempotencyKeyPort.findById(idempotencyKey);
+        if (registro.isEmpty() || registro.get().getRequestHash() != null) {
+            return true;
+        }
+        log.info("[IDEMPOTENCY-KEY:{}] Petición duplicada respondida antes de procesar el cuerpo.", idempotencyKey);
+        var cuerpo = registro.get().getResponseBody();
+        response.setStatus(registro.get().getResponseStatus());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(cuerpo.length);
+        response.getOutputStream().write(cuerpo);
+        return false;
+    }
+}
@@ -0,0 +1,32 @@
+package com.sooft.challenge.infrastructure.adapter.in.web.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.sooft.challenge.domain.model.Monto;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+@JsonComponent
+public class MontoJsonComponent {
+
+    public static class Serializer extends JsonSerializer<Monto> {
+
+        @Override
+        public void serialize(Monto monto, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeNumber(monto.toString());
+        }
+    }
+
+    public static class Deserializer extends JsonDeserializer<Monto> {
+
+        @Override
+        public Monto deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return Monto.of(parser.getDecimalValue());
+        }
+    }
+}
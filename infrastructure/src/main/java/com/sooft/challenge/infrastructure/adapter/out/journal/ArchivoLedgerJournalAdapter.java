@@ -0,0 +1,329 @@
+package com.sooft.challenge.infrastructure.adapter.out.journal;
+
+import com.sooft.challenge.domain.exception.JournalInconsistenteException;
+import com.sooft.challenge.domain.model.AsientoLedger;
+import com.sooft.challenge.domain.model.Monto;
+import com.sooft.challenge.domain.port.out.LedgerJournalPort;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+@Component
+@ConditionalOnProperty(name = "ledger.enabled", havingValue = "true")
+@Slf4j
+public class ArchivoLedgerJournalAdapter implements LedgerJournalPort {
+
+    private static final String SEPARADOR = "|";
+    private static final int CAMPOS = 9;
+    private static final int CAMPOS_SIN_ORDEN = 8;
+    private static final int BLOQUE_LECTURA = 4096;
+
+    private final Path directorio;
+    private final long segmentoMaximo;
+    private final Map<Integer, FileChannel> canales = new ConcurrentHashMap<>();
+    private final Map<Integer, NavigableMap<Long, Path>> segmentos = new ConcurrentHashMap<>();
+
+    public ArchivoLedgerJournalAdapter(@Value("${ledger.directorio:./data/ledger}") String directorio,
+                                       @Value("${ledger.segmento-maximo:64MB}") DataSize segmentoMaximo) {
+        if (segmentoMaximo.toBytes() < 1) {
+            throw new IllegalArgumentException("El tamaño máximo de un segmento del journal debe ser positivo");
+        }
+        this.directorio = Path.of(directorio);
+        this.segmentoMaximo = segmentoMaximo.toBytes();
+        try {
+            Files.createDirectories(this.directorio);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo crear el directorio del journal " + directorio, e);
+        }
+    }
+
+    @Override
+    public void agregar(int particion, List<AsientoLedger> asientos) {
+        var contenido = new StringBuilder(asientos.size() * 96);
+        for (AsientoLedger asiento : asientos) {
+            contenido.append(asiento.getParticion()).append(SEPARADOR)
+                    .append(asiento.getSecuencia()).append(SEPARADOR)
+                    .append(asiento.getIdEmpresaDebito()).append(SEPARADOR)
+                    .append(asiento.getCuentaDebito()).append(SEPARADOR)
+                    .append(asiento.getCodigoEmpresaCredito()).append(SEPARADOR)
+                    .append(asiento.getCuentaCredito()).append(SEPARADOR)
+                    .append(asiento.getImporte().toString()).append(SEPARADOR)
+                    .append(asiento.getFecha()).append(SEPARADOR)
+                    .append(asiento.getOrden()).append('\n');
+        }
+        var buffer = ByteBuffer.wrap(contenido.toString().getBytes(StandardCharsets.UTF_8));
+        var canal = canal(particion);
+        synchronized (canal) {
+            long posicion = posicion(canal, particion);
+            if (posicion >= segmentoMaximo && rotar(particion, canal)) {
+                agregar(particion, asientos);
+                return;
+            }
+            try {
+                while (buffer.hasRemaining()) {
+                    canal.write(buffer);
+                }
+                canal.force(false);
+            } catch (IOException e) {
+                revertir(canal, posicion, particion, e);
+                throw new UncheckedIOException("No se pudo escribir el journal de la partición " + particion, e);
+            }
+        }
+    }
+
+    @Override
+    public List<AsientoLedger> leerDesde(int particion, long secuenciaExclusiva) {
+        List<AsientoLedger> asientos = new ArrayList<>();
+        for (Path segmento : segmentos(particion).tailMap(secuenciaExclusiva, false).values()) {
+            leer(segmento, secuenciaExclusiva, asientos);
+        }
+        leer(archivo(particion), secuenciaExclusiva, asientos);
+        return asientos;
+    }
+
+    @Override
+    public long ultimaSecuencia(int particion) {
+        var ultimo = ultimoAsiento(particion);
+        return ultimo == null ? 0 : ultimo.getSecuencia();
+    }
+
+    @Override
+    public long ultimoOrden(int particion) {
+        var ultimo = ultimoAsiento(particion);
+        return ultimo == null ? 0 : ultimo.getOrden();
+    }
+
+    @Override
+    public void descartarHasta(int particion, long secuencia) {
+        var descartables = segmentos(particion).headMap(secuencia, true);
+        for (var segmento : descartables.entrySet()) {
+            try {
+                Files.deleteIfExists(segmento.getValue());
+                descartables.remove(segmento.getKey());
+                log.info("Descartado el segmento {} del journal, ya proyectado", segmento.getValue().getFileName());
+            } catch (IOException e) {
+                log.warn("No se pudo descartar el segmento {} del journal", segmento.getValue(), e);
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        canales.forEach((particion, canal) -> {
+            try {
+                canal.close();
+            } catch (IOException e) {
+                log.warn("No se pudo cerrar el journal de la partición {}", particion, e);
+            }
+        });
+        canales.clear();
+    }
+
+    private FileChannel canal(int particion) {
+        return canales.computeIfAbsent(particion, indice -> {
+            try {
+                descartarLineaIncompleta(archivo(indice));
+                return FileChannel.open(archivo(indice), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo abrir el journal de la partición " + indice, e);
+            }
+        });
+    }
+
+    private boolean rotar(int particion, FileChannel canal) {
+        var ultimo = ultimoAsiento(archivo(particion));
+        if (ultimo == null) {
+            return false;
+        }
+        try {
+            canal.close();
+            canales.remove(particion, canal);
+            var segmento = directorio.resolve("particion-" + particion + "-" + ultimo.getSecuencia() + ".journal");
+            Files.move(archivo(particion), segmento, StandardCopyOption.ATOMIC_MOVE);
+            segmentos(particion).put(ultimo.getSecuencia(), segmento);
+            log.info("Journal de la partición {} rotado en {}", particion, segmento.getFileName());
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo rotar el journal de la partición " + particion, e);
+        }
+    }
+
+    private long posicion(FileChannel canal, int particion) {
+        try {
+            return canal.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el tamaño del journal de la partición " + particion, e);
+        }
+    }
+
+    private void revertir(FileChannel canal, long posicion, int particion, IOException error) {
+        try {
+            canal.truncate(posicion);
+            canal.force(false);
+        } catch (IOException e) {
+            error.addSuppressed(e);
+            throw new JournalInconsistenteException(particion, error);
+        }
+    }
+
+    private void descartarLineaIncompleta(Path archivo) throws IOException {
+        if (!Files.exists(archivo)) {
+            return;
+        }
+        try (var canal = FileChannel.open(archivo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long longitud = canal.size();
+            long longitudValida = finDeUltimaLinea(canal, longitud);
+            if (longitudValida < longitud) {
+                log.warn("Se truncan {} bytes incompletos al final de {}", longitud - longitudValida, archivo);
+                canal.truncate(longitudValida);
+                canal.force(true);
+            }
+        }
+    }
+
+    private AsientoLedger ultimoAsiento(int particion) {
+        var ultimo = ultimoAsiento(archivo(particion));
+        if (ultimo != null) {
+            return ultimo;
+        }
+        var ultimoSegmento = segmentos(particion).lastEntry();
+        return ultimoSegmento == null ? null : ultimoAsiento(ultimoSegmento.getValue());
+    }
+
+    private AsientoLedger ultimoAsiento(Path archivo) {
+        if (!Files.exists(archivo)) {
+            return null;
+        }
+        try (var canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long fin = finDeUltimaLinea(canal, canal.size());
+            if (fin == 0) {
+                return null;
+            }
+            long inicio = finDeUltimaLinea(canal, fin - 1);
+            var linea = ByteBuffer.allocate((int) (fin - 1 - inicio));
+            leerCompleto(canal, linea, inicio);
+            var asiento = parsear(new String(linea.array(), StandardCharsets.UTF_8));
+            if (asiento != null) {
+                return asiento;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el final del journal " + archivo, e);
+        }
+        List<AsientoLedger> asientos = new ArrayList<>();
+        leer(archivo, 0, asientos);
+        return asientos.isEmpty() ? null : asientos.get(asientos.size() - 1);
+    }
+
+    private long finDeUltimaLinea(FileChannel canal, long hasta) throws IOException {
+        var bloque = ByteBuffer.allocate(BLOQUE_LECTURA);
+        long posicion = hasta;
+        while (posicion > 0) {
+            int tamanio = (int) Math.min(BLOQUE_LECTURA, posicion);
+            posicion -= tamanio;
+            bloque.clear().limit(tamanio);
+            leerCompleto(canal, bloque, posicion);
+            for (int indice = tamanio - 1; indice >= 0; indice--) {
+                if (bloque.get(indice) == '\n') {
+                    return posicion + indice + 1;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private void leerCompleto(FileChannel canal, ByteBuffer buffer, long desde) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (canal.read(buffer, desde + buffer.position()) < 0) {
+                throw new IOException("Fin de archivo inesperado en el journal");
+            }
+        }
+    }
+
+    private void leer(Path archivo, long secuenciaExclusiva, List<AsientoLedger> asientos) {
+        if (!Files.exists(archivo)) {
+            return;
+        }
+        try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                var asiento = parsear(linea);
+                if (asiento == null) {
+                    log.warn("Se descarta una línea incompleta del journal {}: '{}'", archivo.getFileName(), linea);
+                    break;
+                }
+                if (asiento.getSecuencia() > secuenciaExclusiva) {
+                    asientos.add(asiento);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el journal " + archivo, e);
+        }
+    }
+
+    private NavigableMap<Long, Path> segmentos(int particion) {
+        return segmentos.computeIfAbsent(particion, indice -> {
+            var patron = Pattern.compile("particion-" + indice + "-(\\d+)\\.journal");
+            NavigableMap<Long, Path> encontrados = new ConcurrentSkipListMap<>();
+            try (var archivos = Files.list(directorio)) {
+                archivos.forEach(archivo -> {
+                    var coincidencia = patron.matcher(archivo.getFileName().toString());
+                    if (coincidencia.matches()) {
+                        encontrados.put(Long.parseLong(coincidencia.group(1)), archivo);
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudieron listar los segmentos del journal de la partición " + indice, e);
+            }
+            return encontrados;
+        });
+    }
+
+    private Path archivo(int particion) {
+        return directorio.resolve("particion-" + particion + ".journal");
+    }
+
+    private AsientoLedger parsear(String linea) {
+        var campos = linea.split("\\|", -1);
+        if (campos.length != CAMPOS && campos.length != CAMPOS_SIN_ORDEN) {
+            return null;
+        }
+        try {
+            return AsientoLedger.builder()
+                    .particion(Integer.parseInt(campos[0]))
+                    .secuencia(Long.parseLong(campos[1]))
+                    .idEmpresaDebito(campos[2])
+                    .cuentaDebito(campos[3])
+                    .codigoEmpresaCredito(campos[4])
+                    .cuentaCredito(campos[5])
+                    .importe(Monto.of(campos[6]))
+                    .fecha(LocalDate.parse(campos[7]))
+                    .orden(campos.length == CAMPOS ? Long.parseLong(campos[8]) : 0)
+                    .build();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -1,72 +1,327 @@
 package com.sooft.challenge.infrastructure.adapter.out.persistence.adapter;
 
+import com.sooft.challenge.domain.exception.EmpresaNotFoundException;
 import com.sooft.challenge.domain.model.Cuit;
+import com.sooft.challenge.domain.model.CursorEmpresa;
 import com.sooft.challenge.domain.model.Empresa;
+import com.sooft.challenge.domain.model.Monto;
 import com.sooft.challenge.domain.model.NumeroCuenta;
 import com.sooft.challenge.domain.port.out.EmpresaRepositoryPort;
 import com.sooft.challenge.infrastructure.adapter.out.persistence.entity.EmpresaEntity;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.entity.EmpresaSaldoEntity;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.entity.MovimientoEntity;
 import com.sooft.challenge.infrastructure.adapter.out.persistence.mapper.EmpresaMapper;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.projection.SaldoEmpresaProjection;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.projection.SaldoSlotProjection;
 import com.sooft.challenge.infrastructure.adapter.out.persistence.repository.EmpresaJpaRepository;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.repository.EmpresaSaldoJpaRepository;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.repository.MovimientoJpaRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.Clock;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 public class EmpresaPersistenceAdapter implements EmpresaRepositoryPort {
 
+    private static final int LOTE_EXPORTACION = 500;
+
     private final EmpresaJpaRepository empresaJpaRepository;
+    private final MovimientoJpaRepository movimientoJpaRepository;
+    private final EmpresaSaldoJpaRepository empresaSaldoJpaRepository;
     private final EmpresaMapper empresaMapper;
     private final Clock clock;
+    private final EntityManager entityManager;
 
 
     @Override
     public Empresa save(Empresa empresa) {
         EmpresaEntity empresaEntity = empresaMapper.toEntity(empresa);
         EmpresaEntity savedEntity = empresaJpaRepository.save(empresaEntity);
-        return empresaMapper.toDomain(savedEntity);
+        if (!empresaSaldoJpaRepository.existsById(new EmpresaSaldoEntity.Clave(savedEntity.getId(), 0))) {
+            empresaSaldoJpaRepository.save(new EmpresaSaldoEntity(savedEntity.getId(), 0, savedEntity.getSaldo().toBigDecimal()));
+        }
+        return conSaldo(savedEntity);
     }
 
     @Override
     public Optional<Empresa> findByCuit(Cuit cuit) {
         return empresaJpaRepository.findByCuit(cuit)
-                .map(empresaMapper::toDomain);
+                .map(this::conSaldo);
     }
 
     @Override
     public Optional<Empresa> findByNumeroCuenta(NumeroCuenta numeroCuenta) {
             return empresaJpaRepository.findByNumeroCuenta(numeroCuenta)
-                    .map(empresaMapper::toDomain);
+                    .map(this::conSaldo);
+    }
+
+    @Override
+    public Optional<Monto> findSaldoByNumeroCuenta(NumeroCuenta numeroCuenta) {
+        return movimientoJpaRepository.saldoActual(numeroCuenta.getValor()).map(Monto::of);
     }
 
     @Override
     public Page<Empresa> findEmpresasAdheridasEnElUltimoMes(Pageable pageable) {
         var fechaDesde = LocalDate.now(clock).minusMonths(1);
         Page<EmpresaEntity> entityPage = empresaJpaRepository.findEmpresasAdheridasDesde(fechaDesde, pageable);
-        return entityPage.map(empresaMapper::toDomain);
+        return entityPage.map(conSaldos(entityPage.getContent()));
     }
 
     @Override
     public Page<Empresa> findEmpresasConTransferenciasEnElUltimoMes(Pageable pageable) {
         var fechaDesde = LocalDate.now(clock).minusMonths(1);
-        Page<EmpresaEntity> entityPage = empresaJpaRepository.findEmpresasConTransferenciasDesde(fechaDesde, pageable);
-        return entityPage.map(empresaMapper::toDomain);
+        Page<EmpresaEntity> entityPage = empresaJpaRepository.findEmpresasConTransferenciasDesde(fechaDesde, sinPrefijoEmpresa(pageable));
+        return entityPage.map(conSaldos(entityPage.getContent()));
+    }
+
+    @Override
+    public Slice<Empresa> findEmpresasAdheridasEnElUltimoMes(CursorEmpresa cursor, int tamanio) {
+        var fechaDesde = LocalDate.now(clock).minusMonths(1);
+        var pagina = PageRequest.ofSize(tamanio);
+        Slice<EmpresaEntity> entitySlice = cursor == null
+                ? empresaJpaRepository.findPrimerasAdheridasDesde(fechaDesde, pagina)
+                : empresaJpaRepository.findSiguientesAdheridasDesde(fechaDesde, fechaDelCursor(cursor), cursor.getId(), pagina);
+        return entitySlice.map(conSaldos(entitySlice.getContent()));
+    }
+
+    @Override
+    public Slice<Empresa> findEmpresasConTransferenciasEnElUltimoMes(CursorEmpresa cursor, int tamanio) {
+        var fechaDesde = LocalDate.now(clock).minusMonths(1);
+        var pagina = PageRequest.ofSize(tamanio);
+        Slice<EmpresaEntity> entitySlice = cursor == null
+                ? empresaJpaRepository.findPrimerasConTransferenciasDesde(fechaDesde, pagina)
+                : empresaJpaRepository.findSiguientesConTransferenciasDesde(fechaDesde, cursor.getClave(), cursor.getId(), pagina);
+        return entitySlice.map(conSaldos(entitySlice.getContent()));
     }
 
     @Override
     public Optional<Empresa> findByCodigo(String codigo) {
        return empresaJpaRepository.findByCodigo(codigo)
-                .map(empresaMapper::toDomain);
+                .map(this::conSaldo);
+    }
+
+    @Override
+    public Optional<Empresa> findById(String id) {
+        return empresaJpaRepository.findById(id)
+                .map(this::conSaldo);
+    }
+
+    @Override
+    public List<Empresa> findAllById(Collection<String> ids) {
+        var entidades = empresaJpaRepository.findAllById(ids);
+        return entidades.stream()
+                .map(conSaldos(entidades))
+                .toList();
+    }
+
+    @Override
+    public long recorrerTodas(Consumer<Empresa> consumidor) {
+        long filas = 0;
+        List<EmpresaEntity> lote = new ArrayList<>(LOTE_EXPORTACION);
+        try (var empresas = empresaJpaRepository.streamAll()) {
+            var iterador = empresas.iterator();
+            while (iterador.hasNext()) {
+                lote.add(iterador.next());
+                if (lote.size() == LOTE_EXPORTACION) {
+                    filas += entregar(lote, consumidor);
+                }
+            }
+            filas += entregar(lote, consumidor);
+        }
+        return filas;
+    }
+
+    @Override
+    public List<Empresa> findAllByCodigoIn(Collection<String> codigos) {
+        var entidades = empresaJpaRepository.findAllByCodigoIn(codigos);
+        return entidades.stream()
+                .map(conSaldos(entidades))
+                .toList();
     }
 
     @Override
     public Page<Empresa> findAll(Pageable pageable) {
-        return empresaJpaRepository.findAll(pageable)
-                .map(empresaMapper::toDomain);
+        Page<EmpresaEntity> entityPage = empresaJpaRepository.findAll(pageable);
+        return entityPage.map(conSaldos(entityPage.getContent()));
+    }
+
+    @Override
+    public Slice<Empresa> findAll(CursorEmpresa cursor, int tamanio) {
+        var pagina = PageRequest.ofSize(tamanio);
+        Slice<EmpresaEntity> entitySlice = cursor == null
+                ? empresaJpaRepository.findPrimerasPorRazonSocial(pagina)
+                : empresaJpaRepository.findSiguientesPorRazonSocial(cursor.getClave(), cursor.getId(), pagina);
+        return entitySlice.map(conSaldos(entitySlice.getContent()));
+    }
+
+    @Override
+    public boolean debitarSiHayFondos(NumeroCuenta numeroCuenta, Monto importe) {
+        var empresaId = empresaJpaRepository.findIdByNumeroCuenta(numeroCuenta);
+        if (empresaId.isEmpty()) {
+            return false;
+        }
+        var slots = bloquearSaldo(empresaId.get());
+        var pendientes = movimientoJpaRepository.findByEmpresaIdAndCompactadoFalse(empresaId.get());
+        var saldo = sumar(total(slots), pendientes);
+        if (saldo.compareTo(importe.toBigDecimal()) < 0) {
+            return false;
+        }
+        var debito = new MovimientoEntity(empresaId.get(), importe.toBigDecimal().negate(), LocalDate.now(clock));
+        debito.setCompactado(true);
+        movimientoJpaRepository.save(debito);
+        consolidar(empresaId.get(), slots, pendientes, importe.toBigDecimal());
+        return true;
+    }
+
+    @Override
+    public boolean acreditar(String codigo, Monto importe) {
+        var cuenta = empresaJpaRepository.findCuentaByCodigo(codigo);
+        if (cuenta.isEmpty()) {
+            return false;
+        }
+        var credito = new MovimientoEntity(cuenta.get().getId(), importe.toBigDecimal(), LocalDate.now(clock));
+        if (cuenta.get().getSlotsSaldo() > 1) {
+            var slot = ThreadLocalRandom.current().nextInt(cuenta.get().getSlotsSaldo());
+            empresaSaldoJpaRepository.acreditarEnSlot(cuenta.get().getId(), slot, importe.toBigDecimal());
+            credito.setCompactado(true);
+        }
+        movimientoJpaRepository.save(credito);
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public int compactarSaldos(int lote) {
+        var empresaIds = movimientoJpaRepository.findEmpresasConMovimientosPendientes(PageRequest.ofSize(lote));
+        for (String empresaId : empresaIds) {
+            var slots = bloquearSaldo(empresaId);
+            var pendientes = movimientoJpaRepository.findByEmpresaIdAndCompactadoFalse(empresaId);
+            consolidar(empresaId, slots, pendientes, BigDecimal.ZERO);
+        }
+        return empresaIds.size();
+    }
+
+    @Override
+    @Transactional
+    public boolean fragmentarSaldo(String codigo, int slots) {
+        if (slots < 2) {
+            throw new IllegalArgumentException("Un saldo fragmentado requiere al menos 2 slots.");
+        }
+        var cuenta = empresaJpaRepository.findCuentaByCodigo(codigo)
+                .orElseThrow(() -> new EmpresaNotFoundException(codigo));
+        if (cuenta.getSlotsSaldo() > 0) {
+            return false;
+        }
+        var existentes = bloquearSaldo(cuenta.getId());
+        for (int slot = existentes.size(); slot < slots; slot++) {
+            empresaSaldoJpaRepository.crearSlot(cuenta.getId(), slot);
+        }
+        return empresaJpaRepository.marcarSaldoFragmentado(cuenta.getId(), slots) > 0;
+    }
+
+    private List<SaldoSlotProjection> bloquearSaldo(String empresaId) {
+        var slots = empresaSaldoJpaRepository.bloquear(empresaId);
+        if (!slots.isEmpty()) {
+            return slots;
+        }
+        empresaSaldoJpaRepository.crearSiFalta(empresaId);
+        return empresaSaldoJpaRepository.bloquear(empresaId);
+    }
+
+    private BigDecimal total(List<SaldoSlotProjection> slots) {
+        return slots.stream()
+                .map(SaldoSlotProjection::getSaldo)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private BigDecimal sumar(BigDecimal saldoConsolidado, List<MovimientoEntity> pendientes) {
+        return pendientes.stream()
+                .map(MovimientoEntity::getImporte)
+                .reduce(saldoConsolidado, BigDecimal::add);
+    }
+
+    private void consolidar(String empresaId, List<SaldoSlotProjection> slots, List<MovimientoEntity> pendientes, BigDecimal aDebitar) {
+        if (!pendientes.isEmpty()) {
+            movimientoJpaRepository.marcarCompactados(pendientes.stream().map(MovimientoEntity::getId).toList());
+        }
+        var restante = aDebitar;
+        for (int i = 0; i < slots.size(); i++) {
+            var actual = slots.get(i).getSaldo();
+            var saldo = i == 0 ? sumar(actual, pendientes) : actual;
+            var debito = saldo.max(BigDecimal.ZERO).min(restante);
+            saldo = saldo.subtract(debito);
+            restante = restante.subtract(debito);
+            if (saldo.compareTo(actual) != 0) {
+                empresaSaldoJpaRepository.actualizar(empresaId, slots.get(i).getSlot(), saldo);
+            }
+        }
+    }
+
+    private Empresa conSaldo(EmpresaEntity entity) {
+        return conSaldos(List.of(entity)).apply(entity);
+    }
+
+    private Function<EmpresaEntity, Empresa> conSaldos(Collection<EmpresaEntity> entidades) {
+        if (entidades.isEmpty()) {
+            return empresaMapper::toDomain;
+        }
+        Map<String, BigDecimal> saldos = movimientoJpaRepository.saldosDe(entidades.stream().map(EmpresaEntity::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(SaldoEmpresaProjection::getIdEmpresa, SaldoEmpresaProjection::getSaldo));
+        return entity -> {
+            var empresa = empresaMapper.toDomain(entity);
+            var saldo = saldos.get(entity.getId());
+            if (saldo != null) {
+                empresa.setSaldo(Monto.of(saldo));
+            }
+            return empresa;
+        };
+    }
+
+    private long entregar(List<EmpresaEntity> lote, Consumer<Empresa> consumidor) {
+        var empresas = lote.stream().map(conSaldos(lote)).toList();
+        empresas.forEach(consumidor);
+        lote.clear();
+        entityManager.clear();
+        return empresas.size();
+    }
+
+    private LocalDate fechaDelCursor(CursorEmpresa cursor) {
+        try {
+            return LocalDate.parse(cursor.getClave());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("El cursor no corresponde a un listado por fecha de adhesión.");
+        }
+    }
+
+    private Pageable sinPrefijoEmpresa(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return pageable;
+        }
+        var orden = Sort.by(pageable.getSort().stream()
+                .map(order -> order.withProperty(order.getProperty().replaceFirst("^empresa\\.", "")))
+                .toList());
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), orden);
     }
 }
\ No newline at end of file
@@ -4,21 +4,40 @@ import com.sooft.challenge.domain.model.IdempotencyRecord;
 import com.sooft.challenge.domain.port.out.IdempotencyKeyPort;
 import com.sooft.challenge.infrastructure.adapter.out.persistence.mapper.IdempotencyKeyMapper;
 import com.sooft.challenge.infrastructure.adapter.out.persistence.repository.IdempotencyKeyJpaRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Component
-@RequiredArgsConstructor
 public class IdempotencyKeyPersistenceAdapter implements IdempotencyKeyPort {
 
     private final IdempotencyKeyJpaRepository repository;
     private final IdempotencyKeyMapper mapper;
+    private final Clock clock;
+    private final Duration ttl;
+    private final Duration expiracionReserva;
+
+    public IdempotencyKeyPersistenceAdapter(IdempotencyKeyJpaRepository repository,
+                                            IdempotencyKeyMapper mapper,
+                                            Clock clock,
+                                            @Value("${idempotency.ttl:PT24H}") Duration ttl,
+                                            @Value("${idempotency.reserva.expiracion:PT30S}") Duration expiracionReserva) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.clock = clock;
+        this.ttl = ttl;
+        this.expiracionReserva = expiracionReserva;
+    }
 
     @Override
     public Optional<IdempotencyRecord> findById(String idempotencyKey) {
-        return repository.findById(idempotencyKey)
+        return repository.findCompletada(idempotencyKey, LocalDateTime.now(clock).minus(ttl))
                 .map(mapper::toDomain);
     }
 
@@ -26,4 +45,25 @@ public class IdempotencyKeyPersistenceAdapter implements IdempotencyKeyPort {
     public void save(IdempotencyRecord idempotencyRecord) {
         repository.save(mapper.toEntity(idempotencyRecord));
     }
+
+    @Override
+    public boolean reservar(String idempotencyKey) {
+        var ahora = LocalDateTime.now(clock);
+        try {
+            return repository.insertarReserva(idempotencyKey, ahora) > 0;
+        } catch (DataIntegrityViolationException e) {
+            return repository.tomarReservaVencida(idempotencyKey, ahora, ahora.minus(ttl), ahora.minus(expiracionReserva)) > 0;
+        }
+    }
+
+    @Override
+    public void liberar(String idempotencyKey) {
+        repository.eliminarReserva(idempotencyKey);
+    }
+
+    @Override
+    @Transactional
+    public int purgarExpiradas(int lote) {
+        return repository.deleteCreadasHasta(LocalDateTime.now(clock).minus(ttl), lote);
+    }
 }
@@ -0,0 +1,26 @@
+package com.sooft.challenge.infrastructure.adapter.out.persistence.adapter;
+
+import com.sooft.challenge.domain.port.out.LedgerCheckpointPort;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.entity.LedgerCheckpointEntity;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.repository.LedgerCheckpointJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class LedgerCheckpointPersistenceAdapter implements LedgerCheckpointPort {
+
+    private final LedgerCheckpointJpaRepository repository;
+
+    @Override
+    public long ultimaSecuenciaProyectada(int particion) {
+        return repository.findById(particion)
+                .map(LedgerCheckpointEntity::getSecuencia)
+                .orElse(0L);
+    }
+
+    @Override
+    public void registrarProyeccion(int particion, long secuencia) {
+        repository.save(new LedgerCheckpointEntity(particion, secuencia));
+    }
+}
@@ -0,0 +1,57 @@
+package com.sooft.challenge.infrastructure.adapter.out.persistence.adapter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sooft.challenge.domain.model.EventoOutbox;
+import com.sooft.challenge.domain.model.TransferenciaRealizada;
+import com.sooft.challenge.domain.port.out.OutboxPort;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.entity.OutboxEventoEntity;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.repository.OutboxEventoJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxPersistenceAdapter implements OutboxPort {
+
+    private final OutboxEventoJpaRepository outboxEventoJpaRepository;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    @Override
+    public void registrar(TransferenciaRealizada evento) {
+        var payload = new LinkedHashMap<String, Object>();
+        payload.put("idTransferencia", evento.getIdTransferencia());
+        payload.put("idEmpresaDebito", evento.getIdEmpresaDebito());
+        payload.put("cuentaDebito", evento.getCuentaDebito());
+        payload.put("codigoEmpresaCredito", evento.getCodigoEmpresaCredito());
+        payload.put("cuentaCredito", evento.getCuentaCredito());
+        payload.put("importe", evento.getImporte().toBigDecimal());
+        payload.put("fecha", evento.getFecha().toString());
+        try {
+            outboxEventoJpaRepository.save(new OutboxEventoEntity(TransferenciaRealizada.TIPO, evento.getCuentaDebito(),
+                    objectMapper.writeValueAsString(payload), LocalDateTime.now(clock)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento de la transferencia " + evento.getIdTransferencia(), e);
+        }
+    }
+
+    @Override
+    public List<EventoOutbox> bloquearPendientes(int lote) {
+        return outboxEventoJpaRepository.bloquearPrimeros(PageRequest.ofSize(lote)).stream()
+                .map(entity -> new EventoOutbox(entity.getId(), entity.getTipo(), entity.getClave(), entity.getPayload(), entity.getCreadoEn()))
+                .toList();
+    }
+
+    @Override
+    public void eliminar(Collection<Long> ids) {
+        outboxEventoJpaRepository.deleteAllByIdInBatch(ids);
+    }
+}
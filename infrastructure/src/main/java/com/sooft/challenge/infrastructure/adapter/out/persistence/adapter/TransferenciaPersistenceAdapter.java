@@ -1,19 +1,38 @@
 package com.sooft.challenge.infrastructure.adapter.out.persistence.adapter;
 
+import com.sooft.challenge.domain.model.ActividadEmpresa;
+import com.sooft.challenge.domain.model.CursorTransferencia;
 import com.sooft.challenge.domain.model.Transferencia;
 import com.sooft.challenge.domain.port.out.TransferenciaRepositoryPort;
 import com.sooft.challenge.infrastructure.adapter.out.persistence.entity.TransferenciaEntity;
 import com.sooft.challenge.infrastructure.adapter.out.persistence.mapper.TransferenciaMapper;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.projection.TransferenciaHistorialProjection;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.repository.EmpresaJpaRepository;
 import com.sooft.challenge.infrastructure.adapter.out.persistence.repository.TransferenciaJpaRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
 @Component
 @RequiredArgsConstructor
 public class TransferenciaPersistenceAdapter implements TransferenciaRepositoryPort {
 
+    private static final int LOTE_EXPORTACION = 500;
+    private static final LocalDate FECHA_MINIMA = LocalDate.of(1900, 1, 1);
+    private static final LocalDate FECHA_MAXIMA = LocalDate.of(9999, 12, 31);
+
     private final TransferenciaJpaRepository transferenciaJpaRepository;
     private final TransferenciaMapper transferenciaMapper;
+    private final EmpresaJpaRepository empresaJpaRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
 
     @Override
     public Transferencia save(Transferencia transferencia) {
@@ -21,7 +40,55 @@ public class TransferenciaPersistenceAdapter implements TransferenciaRepositoryP
         TransferenciaEntity transferenciaEntity = transferenciaMapper.toEntity(transferencia);
 
         TransferenciaEntity savedEntity = transferenciaJpaRepository.save(transferenciaEntity);
+        empresaJpaRepository.registrarUltimaTransferencia(transferencia.getIdEmpresa(), transferencia.getFecha());
+
+        Transferencia guardada = transferenciaMapper.toDomain(savedEntity);
+        eventPublisher.publishEvent(guardada);
+        return guardada;
+    }
 
-        return transferenciaMapper.toDomain(savedEntity);
+    @Override
+    public List<ActividadEmpresa> contarActividadDesde(LocalDate fechaDesde) {
+        return transferenciaJpaRepository.contarActividadDesde(fechaDesde).stream()
+                .map(fila -> ActividadEmpresa.builder()
+                        .idEmpresa(fila.getIdEmpresa())
+                        .razonSocial(fila.getRazonSocial())
+                        .fecha(fila.getFecha())
+                        .cantidad(fila.getCantidad())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public long recorrerTodas(Consumer<Transferencia> consumidor) {
+        long filas = 0;
+        try (var transferencias = transferenciaJpaRepository.streamAll()) {
+            var iterador = transferencias.iterator();
+            while (iterador.hasNext()) {
+                consumidor.accept(transferenciaMapper.toDomain(iterador.next()));
+                if (++filas % LOTE_EXPORTACION == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return filas;
+    }
+
+    @Override
+    public Slice<Transferencia> findByEmpresa(String idEmpresa, LocalDate desde, LocalDate hasta, CursorTransferencia cursor, int tamanio) {
+        var fechaDesde = desde == null ? FECHA_MINIMA : desde;
+        var fechaHasta = hasta == null ? FECHA_MAXIMA : hasta;
+        var pagina = PageRequest.ofSize(tamanio);
+        Slice<TransferenciaHistorialProjection> filas = cursor == null
+                ? transferenciaJpaRepository.findPrimerasDeEmpresa(idEmpresa, fechaDesde, fechaHasta, pagina)
+                : transferenciaJpaRepository.findSiguientesDeEmpresa(idEmpresa, fechaDesde, fechaHasta, cursor.getFecha(), cursor.getId(), pagina);
+        return filas.map(fila -> Transferencia.builder()
+                .id(fila.getId())
+                .importe(fila.getImporte())
+                .idEmpresa(idEmpresa)
+                .cuentaDebito(fila.getCuentaDebito())
+                .cuentaCredito(fila.getCuentaCredito())
+                .fecha(fila.getFecha())
+                .build());
     }
-}
\ No newline at end of file
+}
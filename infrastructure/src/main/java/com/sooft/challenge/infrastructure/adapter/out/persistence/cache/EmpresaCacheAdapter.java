@@ -0,0 +1,207 @@
+package com.sooft.challenge.infrastructure.adapter.out.persistence.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sooft.challenge.domain.model.Cuit;
+import com.sooft.challenge.domain.model.CursorEmpresa;
+import com.sooft.challenge.domain.model.Empresa;
+import com.sooft.challenge.domain.model.Monto;
+import com.sooft.challenge.domain.model.NumeroCuenta;
+import com.sooft.challenge.domain.port.out.EmpresaRepositoryPort;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.adapter.EmpresaPersistenceAdapter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@Component
+@Primary
+@ConditionalOnProperty(name = "empresas.cache.enabled", havingValue = "true")
+public class EmpresaCacheAdapter implements EmpresaRepositoryPort {
+
+    private final EmpresaRepositoryPort delegado;
+    private final Cache<String, Empresa> porCodigo;
+    private final Cache<NumeroCuenta, Empresa> porNumeroCuenta;
+    private final Cache<Cuit, Empresa> porCuit;
+
+    public EmpresaCacheAdapter(EmpresaPersistenceAdapter delegado,
+                               @Value("${empresas.cache.tamanio-maximo:10000}") long tamanioMaximo,
+                               @Value("${empresas.cache.expiracion:PT10M}") Duration expiracion) {
+        this.delegado = delegado;
+        this.porCodigo = nuevaCache(tamanioMaximo, expiracion);
+        this.porNumeroCuenta = nuevaCache(tamanioMaximo, expiracion);
+        this.porCuit = nuevaCache(tamanioMaximo, expiracion);
+    }
+
+    public Map<String, Cache<?, Empresa>> caches() {
+        return Map.of(
+                "empresas.codigo", porCodigo,
+                "empresas.numero-cuenta", porNumeroCuenta,
+                "empresas.cuit", porCuit);
+    }
+
+    public void vaciar() {
+        porCodigo.invalidateAll();
+        porNumeroCuenta.invalidateAll();
+        porCuit.invalidateAll();
+    }
+
+    @Override
+    public Optional<Empresa> findByCodigo(String codigo) {
+        return copia(porCodigo.get(codigo, clave -> recordar(delegado.findByCodigo(clave), porCodigo)));
+    }
+
+    @Override
+    public Optional<Empresa> findByNumeroCuenta(NumeroCuenta numeroCuenta) {
+        return copia(porNumeroCuenta.get(numeroCuenta, clave -> recordar(delegado.findByNumeroCuenta(clave), porNumeroCuenta)));
+    }
+
+    @Override
+    public Optional<Empresa> findByCuit(Cuit cuit) {
+        return copia(porCuit.get(cuit, clave -> recordar(delegado.findByCuit(clave), porCuit)));
+    }
+
+    @Override
+    public Empresa save(Empresa empresa) {
+        var guardada = delegado.save(empresa);
+        olvidar(guardada);
+        return guardada;
+    }
+
+    @Override
+    public Optional<Monto> findSaldoByNumeroCuenta(NumeroCuenta numeroCuenta) {
+        return delegado.findSaldoByNumeroCuenta(numeroCuenta);
+    }
+
+    @Override
+    public Optional<Empresa> findById(String id) {
+        return delegado.findById(id);
+    }
+
+    @Override
+    public List<Empresa> findAllById(Collection<String> ids) {
+        return delegado.findAllById(ids);
+    }
+
+    @Override
+    public List<Empresa> findAllByCodigoIn(Collection<String> codigos) {
+        return delegado.findAllByCodigoIn(codigos);
+    }
+
+    @Override
+    public long recorrerTodas(Consumer<Empresa> consumidor) {
+        return delegado.recorrerTodas(consumidor);
+    }
+
+    @Override
+    public Page<Empresa> findEmpresasAdheridasEnElUltimoMes(Pageable pageable) {
+        return delegado.findEmpresasAdheridasEnElUltimoMes(pageable);
+    }
+
+    @Override
+    public Page<Empresa> findEmpresasConTransferenciasEnElUltimoMes(Pageable pageable) {
+        return delegado.findEmpresasConTransferenciasEnElUltimoMes(pageable);
+    }
+
+    @Override
+    public Slice<Empresa> findEmpresasAdheridasEnElUltimoMes(CursorEmpresa cursor, int tamanio) {
+        return delegado.findEmpresasAdheridasEnElUltimoMes(cursor, tamanio);
+    }
+
+    @Override
+    public Slice<Empresa> findEmpresasConTransferenciasEnElUltimoMes(CursorEmpresa cursor, int tamanio) {
+        return delegado.findEmpresasConTransferenciasEnElUltimoMes(cursor, tamanio);
+    }
+
+    @Override
+    public Page<Empresa> findAll(Pageable pageable) {
+        return delegado.findAll(pageable);
+    }
+
+    @Override
+    public Slice<Empresa> findAll(CursorEmpresa cursor, int tamanio) {
+        return delegado.findAll(cursor, tamanio);
+    }
+
+    @Override
+    public boolean debitarSiHayFondos(NumeroCuenta numeroCuenta, Monto importe) {
+        return delegado.debitarSiHayFondos(numeroCuenta, importe);
+    }
+
+    @Override
+    public boolean acreditar(String codigo, Monto importe) {
+        return delegado.acreditar(codigo, importe);
+    }
+
+    @Override
+    public int compactarSaldos(int lote) {
+        return delegado.compactarSaldos(lote);
+    }
+
+    @Override
+    public boolean fragmentarSaldo(String codigo, int slots) {
+        return delegado.fragmentarSaldo(codigo, slots);
+    }
+
+    private Empresa recordar(Optional<Empresa> encontrada, Cache<?, Empresa> cargando) {
+        if (encontrada.isEmpty()) {
+            return null;
+        }
+        var empresa = identidad(encontrada.get());
+        if (cargando != porCodigo && empresa.getCodigo() != null) {
+            porCodigo.put(empresa.getCodigo(), empresa);
+        }
+        if (cargando != porNumeroCuenta && empresa.getNumeroCuenta() != null) {
+            porNumeroCuenta.put(empresa.getNumeroCuenta(), empresa);
+        }
+        if (cargando != porCuit && empresa.getCuit() != null) {
+            porCuit.put(empresa.getCuit(), empresa);
+        }
+        return empresa;
+    }
+
+    private void olvidar(Empresa empresa) {
+        if (empresa.getCodigo() != null) {
+            porCodigo.invalidate(empresa.getCodigo());
+        }
+        if (empresa.getNumeroCuenta() != null) {
+            porNumeroCuenta.invalidate(empresa.getNumeroCuenta());
+        }
+        if (empresa.getCuit() != null) {
+            porCuit.invalidate(empresa.getCuit());
+        }
+    }
+
+    private static Optional<Empresa> copia(Empresa empresa) {
+        return Optional.ofNullable(empresa).map(EmpresaCacheAdapter::identidad);
+    }
+
+    private static Empresa identidad(Empresa empresa) {
+        return Empresa.builder()
+                .id(empresa.getId())
+                .codigo(empresa.getCodigo())
+                .cuit(empresa.getCuit())
+                .razonSocial(empresa.getRazonSocial())
+                .fechaAdhesion(empresa.getFechaAdhesion())
+                .numeroCuenta(empresa.getNumeroCuenta())
+                .build();
+    }
+
+    private static <K> Cache<K, Empresa> nuevaCache(long tamanioMaximo, Duration expiracion) {
+        return Caffeine.newBuilder()
+                .maximumSize(tamanioMaximo)
+                .expireAfterWrite(expiracion)
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.sooft.challenge.infrastructure.adapter.out.persistence.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class FiltroBloom {
+
+    private final int bits;
+    private final int funciones;
+    private final Clock clock;
+    private final Duration rotacion;
+    private volatile Generacion actual;
+    private volatile Generacion anterior;
+
+    public FiltroBloom(long capacidad, double falsosPositivos, Duration rotacion, Clock clock) {
+        if (capacidad < 1 || falsosPositivos <= 0 || falsosPositivos >= 1) {
+            throw new IllegalArgumentException("La capacidad debe ser positiva y la tasa de falsos positivos estar entre 0 y 1.");
+        }
+        long optimos = (long) Math.ceil(-capacidad * Math.log(falsosPositivos) / (Math.log(2) * Math.log(2)));
+        this.bits = (int) Math.min(Math.max(optimos, 64), Integer.MAX_VALUE - 63);
+        this.funciones = Math.max(1, (int) Math.round((double) bits / capacidad * Math.log(2)));
+        this.clock = clock;
+        this.rotacion = rotacion;
+        this.actual = new Generacion(bits, clock.instant());
+        this.anterior = new Generacion(bits, clock.instant());
+    }
+
+    public void agregar(String clave) {
+        long hash = hash(clave);
+        var generacion = vigente();
+        for (int i = 0; i < funciones; i++) {
+            generacion.marcar(posicion(hash, i));
+        }
+    }
+
+    public boolean puedeContener(String clave) {
+        long hash = hash(clave);
+        var vigente = vigente();
+        var previa = anterior;
+        boolean enVigente = true;
+        boolean enPrevia = true;
+        for (int i = 0; i < funciones && (enVigente || enPrevia); i++) {
+            int posicion = posicion(hash, i);
+            enVigente &= vigente.marcado(posicion);
+            enPrevia &= previa.marcado(posicion);
+        }
+        return enVigente || enPrevia;
+    }
+
+    private Generacion vigente() {
+        var generacion = actual;
+        var ahora = clock.instant();
+        if (!ahora.isBefore(generacion.inicio.plus(rotacion))) {
+            synchronized (this) {
+                if (actual == generacion) {
+                    anterior = generacion;
+                    actual = new Generacion(bits, ahora);
+                }
+                generacion = actual;
+            }
+        }
+        return generacion;
+    }
+
+    private int posicion(long hash, int indice) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return Math.floorMod(h1 + indice * h2, bits);
+    }
+
+    private static long hash(String clave) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : clave.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static final class Generacion {
+
+        private final AtomicLongArray palabras;
+        private final Instant inicio;
+
+        private Generacion(int bits, Instant inicio) {
+            this.palabras = new AtomicLongArray((bits + 63) / 64);
+            this.inicio = inicio;
+        }
+
+        private void marcar(int posicion) {
+            long mascara = 1L << posicion;
+            int palabra = posicion >>> 6;
+            long valor;
+            do {
+                valor = palabras.get(palabra);
+                if ((valor & mascara) != 0) {
+                    return;
+                }
+            } while (!palabras.compareAndSet(palabra, valor, valor | mascara));
+        }
+
+        private boolean marcado(int posicion) {
+            return (palabras.get(posicion >>> 6) & (1L << posicion)) != 0;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.sooft.challenge.infrastructure.adapter.out.persistence.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sooft.challenge.domain.model.IdempotencyRecord;
+import com.sooft.challenge.domain.port.out.IdempotencyKeyPort;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.adapter.IdempotencyKeyPersistenceAdapter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@Primary
+@ConditionalOnProperty(name = "idempotency.cache.enabled", havingValue = "true")
+public class IdempotencyKeyCacheAdapter implements IdempotencyKeyPort {
+
+    private final IdempotencyKeyPort delegado;
+    private final Clock clock;
+    private final Duration ttl;
+    private final Cache<String, IdempotencyRecord> respuestas;
+    private final FiltroBloom vistas;
+    private final LongAdder descartadasPorFiltro = new LongAdder();
+
+    public IdempotencyKeyCacheAdapter(IdempotencyKeyPersistenceAdapter delegado,
+                                      Clock clock,
+                                      @Value("${idempotency.ttl:PT24H}") Duration ttl,
+                                      @Value("${idempotency.cache.tamanio-maximo:10000}") long tamanioMaximo,
+                                      @Value("${idempotency.cache.bloom.capacidad:1000000}") long capacidadFiltro,
+                                      @Value("${idempotency.cache.bloom.falsos-positivos:0.01}") double falsosPositivos) {
+        this.delegado = delegado;
+        this.clock = clock;
+        this.ttl = ttl;
+        this.respuestas = Caffeine.newBuilder()
+                .maximumSize(tamanioMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.vistas = new FiltroBloom(capacidadFiltro, falsosPositivos, ttl, clock);
+    }
+
+    public Cache<String, IdempotencyRecord> respuestas() {
+        return respuestas;
+    }
+
+    public long descartadasPorFiltro() {
+        return descartadasPorFiltro.sum();
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> findById(String idempotencyKey) {
+        var enMemoria = respuestas.getIfPresent(idempotencyKey);
+        if (enMemoria != null && vigente(enMemoria)) {
+            return Optional.of(enMemoria);
+        }
+        if (!vistas.puedeContener(idempotencyKey)) {
+            descartadasPorFiltro.increment();
+            return Optional.empty();
+        }
+        var encontrada = delegado.findById(idempotencyKey);
+        encontrada.ifPresent(registro -> respuestas.put(idempotencyKey, registro));
+        return encontrada;
+    }
+
+    @Override
+    public void save(IdempotencyRecord idempotencyRecord) {
+        delegado.save(idempotencyRecord);
+        vistas.agregar(idempotencyRecord.getIdempotencyKey());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    respuestas.put(idempotencyRecord.getIdempotencyKey(), idempotencyRecord);
+                }
+            });
+        } else {
+            respuestas.put(idempotencyRecord.getIdempotencyKey(), idempotencyRecord);
+        }
+    }
+
+    @Override
+    public boolean reservar(String idempotencyKey) {
+        var reservada = delegado.reservar(idempotencyKey);
+        if (!reservada) {
+            vistas.agregar(idempotencyKey);
+        }
+        return reservada;
+    }
+
+    @Override
+    public void liberar(String idempotencyKey) {
+        delegado.liberar(idempotencyKey);
+    }
+
+    @Override
+    public int purgarExpiradas(int lote) {
+        return delegado.purgarExpiradas(lote);
+    }
+
+    private boolean vigente(IdempotencyRecord registro) {
+        return registro.getCreatedAt().isAfter(LocalDateTime.now(clock).minus(ttl));
+    }
+}
@@ -0,0 +1,68 @@
+package com.sooft.challenge.infrastructure.adapter.out.persistence.converter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+public final class CuerpoRespuestaCodec {
+
+    public static final byte SIN_COMPRIMIR = 0;
+    public static final byte DEFLATE = 1;
+
+    private CuerpoRespuestaCodec() {
+    }
+
+    public static byte[] comprimir(byte[] cuerpo) {
+        if (cuerpo == null) {
+            return null;
+        }
+        if (cuerpo.length == 0) {
+            return cuerpo;
+        }
+        var salida = new ByteArrayOutputStream(cuerpo.length / 2 + 16);
+        salida.write(DEFLATE);
+        var deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try (var comprimido = new DeflaterOutputStream(salida, deflater)) {
+            comprimido.write(cuerpo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        if (salida.size() > cuerpo.length) {
+            var crudo = new byte[cuerpo.length + 1];
+            crudo[0] = SIN_COMPRIMIR;
+            System.arraycopy(cuerpo, 0, crudo, 1, cuerpo.length);
+            return crudo;
+        }
+        return salida.toByteArray();
+    }
+
+    public static byte[] descomprimir(byte[] almacenado) {
+        if (almacenado == null || almacenado.length == 0) {
+            return almacenado;
+        }
+        return switch (almacenado[0]) {
+            case SIN_COMPRIMIR -> Arrays.copyOfRange(almacenado, 1, almacenado.length);
+            case DEFLATE -> {
+                var inflater = new Inflater(true);
+                try (InputStream entrada = new InflaterInputStream(
+                        new ByteArrayInputStream(almacenado, 1, almacenado.length - 1), inflater)) {
+                    yield entrada.readAllBytes();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    inflater.end();
+                }
+            }
+            default -> throw new IllegalStateException("Formato de cuerpo de respuesta desconocido: " + almacenado[0]);
+        };
+    }
+}
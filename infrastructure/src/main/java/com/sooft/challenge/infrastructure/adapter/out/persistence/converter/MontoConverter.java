@@ -0,0 +1,21 @@
+package com.sooft.challenge.infrastructure.adapter.out.persistence.converter;
+
+import com.sooft.challenge.domain.model.Monto;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+@Converter(autoApply = true)
+public class MontoConverter implements AttributeConverter<Monto, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Monto monto) {
+        return monto == null ? null : monto.toBigDecimal();
+    }
+
+    @Override
+    public Monto convertToEntityAttribute(BigDecimal dbData) {
+        return dbData == null ? null : Monto.of(dbData);
+    }
+}
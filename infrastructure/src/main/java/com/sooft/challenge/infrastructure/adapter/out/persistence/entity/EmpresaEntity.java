@@ -1,6 +1,7 @@
 package com.sooft.challenge.infrastructure.adapter.out.persistence.entity;
 
 import com.sooft.challenge.domain.model.Cuit;
+import com.sooft.challenge.domain.model.Monto;
 import com.sooft.challenge.domain.model.NumeroCuenta;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -14,7 +15,6 @@ import jakarta.persistence.FetchType;
 import lombok.Data;
 import org.hibernate.annotations.UuidGenerator;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -40,12 +40,18 @@ public class EmpresaEntity {
     @Column(name = "fecha_adhesion", nullable = false)
     private LocalDate fechaAdhesion;
 
-    @Column(name = "saldo", nullable = false)
-    private BigDecimal saldo;
+    @Column(name = "saldo", nullable = false, updatable = false)
+    private Monto saldo;
 
     @Column(unique = true, nullable = false)
     private NumeroCuenta numeroCuenta;
 
+    @Column(name = "ultima_transferencia", insertable = false, updatable = false)
+    private LocalDate ultimaTransferencia;
+
+    @Column(name = "slots_saldo", insertable = false, updatable = false)
+    private int slotsSaldo;
+
     @OneToMany(mappedBy = "empresa", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<TransferenciaEntity> transferencias;
 }
\ No newline at end of file
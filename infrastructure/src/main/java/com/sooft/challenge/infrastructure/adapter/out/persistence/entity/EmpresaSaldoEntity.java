@@ -0,0 +1,41 @@
+package com.sooft.challenge.infrastructure.adapter.out.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+@Data
+@Entity
+@Table(name = "empresa_saldos")
+@IdClass(EmpresaSaldoEntity.Clave.class)
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmpresaSaldoEntity {
+
+    @Id
+    @Column(name = "empresa_id")
+    private String empresaId;
+
+    @Id
+    private int slot;
+
+    @Column(nullable = false)
+    private BigDecimal saldo;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Clave implements Serializable {
+
+        private String empresaId;
+        private int slot;
+    }
+}
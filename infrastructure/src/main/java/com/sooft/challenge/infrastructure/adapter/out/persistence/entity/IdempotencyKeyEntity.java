@@ -3,6 +3,7 @@ package com.sooft.challenge.infrastructure.adapter.out.persistence.entity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -19,12 +20,18 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class IdempotencyKeyEntity {
 
+    public static final int EN_CURSO = 0;
+
     @Id
     @Column(name = "idempotency_key")
     private String idempotencyKey;
 
-    @Column(name = "response_body", columnDefinition = "TEXT", nullable = false)
-    private String responseBody;
+    @Column(name = "request_hash", length = 32)
+    private byte[] requestHash;
+
+    @Lob
+    @Column(name = "response_body", nullable = false)
+    private byte[] responseBody;
 
     @Column(name = "response_status", nullable = false)
     private int responseStatus;
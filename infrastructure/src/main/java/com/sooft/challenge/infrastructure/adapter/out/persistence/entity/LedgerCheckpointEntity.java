@@ -0,0 +1,25 @@
+package com.sooft.challenge.infrastructure.adapter.out.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "ledger_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerCheckpointEntity {
+
+    @Id
+    @Column(name = "particion")
+    private Integer particion;
+
+    @Column(name = "secuencia", nullable = false)
+    private long secuencia;
+
+}
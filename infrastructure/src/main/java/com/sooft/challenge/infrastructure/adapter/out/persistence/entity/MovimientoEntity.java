@@ -0,0 +1,44 @@
+package com.sooft.challenge.infrastructure.adapter.out.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Entity
+@Table(name = "movimientos")
+@NoArgsConstructor
+public class MovimientoEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movimientos_seq")
+    @SequenceGenerator(name = "movimientos_seq", sequenceName = "movimientos_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "empresa_id", nullable = false, updatable = false)
+    private String empresaId;
+
+    @Column(nullable = false, updatable = false)
+    private BigDecimal importe;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDate fecha;
+
+    @Column(nullable = false)
+    private boolean compactado;
+
+    public MovimientoEntity(String empresaId, BigDecimal importe, LocalDate fecha) {
+        this.empresaId = empresaId;
+        this.importe = importe;
+        this.fecha = fecha;
+    }
+}
@@ -0,0 +1,44 @@
+package com.sooft.challenge.infrastructure.adapter.out.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "outbox_eventos")
+@NoArgsConstructor
+public class OutboxEventoEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_eventos_seq")
+    @SequenceGenerator(name = "outbox_eventos_seq", sequenceName = "outbox_eventos_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 100, updatable = false)
+    private String tipo;
+
+    @Column(nullable = false, updatable = false)
+    private String clave;
+
+    @Column(nullable = false, length = 4000, updatable = false)
+    private String payload;
+
+    @Column(name = "creado_en", nullable = false, updatable = false)
+    private LocalDateTime creadoEn;
+
+    public OutboxEventoEntity(String tipo, String clave, String payload, LocalDateTime creadoEn) {
+        this.tipo = tipo;
+        this.clave = clave;
+        this.payload = payload;
+        this.creadoEn = creadoEn;
+    }
+}
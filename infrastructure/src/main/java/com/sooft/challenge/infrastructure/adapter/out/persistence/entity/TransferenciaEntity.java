@@ -1,5 +1,6 @@
 package com.sooft.challenge.infrastructure.adapter.out.persistence.entity;
 
+import com.sooft.challenge.domain.model.Monto;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
@@ -9,9 +10,9 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.SequenceGenerator;
 import lombok.Data;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Data
@@ -20,11 +21,12 @@ import java.time.LocalDate;
 public class TransferenciaEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transferencias_seq")
+    @SequenceGenerator(name = "transferencias_seq", sequenceName = "transferencias_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "importe", nullable = false)
-    private BigDecimal importe;
+    private Monto importe;
 
     @Column(name = "cuenta_debito", nullable = false)
     private String cuentaDebito;
@@ -2,6 +2,7 @@ package com.sooft.challenge.infrastructure.adapter.out.persistence.mapper;
 
 import com.sooft.challenge.domain.model.Cuit;
 import com.sooft.challenge.domain.model.Empresa;
+import com.sooft.challenge.domain.model.Monto;
 import com.sooft.challenge.domain.model.NumeroCuenta;
 import com.sooft.challenge.infrastructure.adapter.in.web.dto.CrearEmpresaRequest;
 import com.sooft.challenge.infrastructure.adapter.in.web.dto.EmpresaResponseDTO;
@@ -9,6 +10,8 @@ import com.sooft.challenge.infrastructure.adapter.out.persistence.entity.Empresa
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.math.BigDecimal;
+
 @Mapper(componentModel = "spring", uses = {Cuit.class, NumeroCuenta.class})
 public interface EmpresaMapper {
 
@@ -19,6 +22,8 @@ public interface EmpresaMapper {
 
     @Mapping(source = "id", target = "id")
     @Mapping(target = "transferencias", ignore = true)
+    @Mapping(target = "ultimaTransferencia", ignore = true)
+    @Mapping(target = "slotsSaldo", ignore = true)
     EmpresaEntity toEntity(Empresa empresa);
 
     Empresa toDomain(EmpresaEntity empresaEntity);
@@ -28,4 +33,12 @@ public interface EmpresaMapper {
     @Mapping(source = "numeroCuenta.valor", target = "numeroCuenta")
     EmpresaResponseDTO toResponseDto(Empresa empresa);
 
+    default Monto toMonto(BigDecimal valor) {
+        return valor == null ? null : Monto.of(valor);
+    }
+
+    default BigDecimal toBigDecimal(Monto monto) {
+        return monto == null ? null : monto.toBigDecimal();
+    }
+
 }
\ No newline at end of file
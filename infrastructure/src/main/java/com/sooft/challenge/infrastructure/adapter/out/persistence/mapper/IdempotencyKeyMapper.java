@@ -1,11 +1,28 @@
 package com.sooft.challenge.infrastructure.adapter.out.persistence.mapper;
 
 import com.sooft.challenge.domain.model.IdempotencyRecord;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.converter.CuerpoRespuestaCodec;
 import com.sooft.challenge.infrastructure.adapter.out.persistence.entity.IdempotencyKeyEntity;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 @Mapper(componentModel = "spring")
 public interface IdempotencyKeyMapper {
+
+    @Mapping(target = "responseBody", source = "responseBody", qualifiedByName = "descomprimir")
     IdempotencyRecord toDomain(IdempotencyKeyEntity entity);
+
+    @Mapping(target = "responseBody", source = "responseBody", qualifiedByName = "comprimir")
     IdempotencyKeyEntity toEntity(IdempotencyRecord domain);
-}
\ No newline at end of file
+
+    @Named("comprimir")
+    default byte[] comprimir(byte[] cuerpo) {
+        return CuerpoRespuestaCodec.comprimir(cuerpo);
+    }
+
+    @Named("descomprimir")
+    default byte[] descomprimir(byte[] almacenado) {
+        return CuerpoRespuestaCodec.descomprimir(almacenado);
+    }
+}
@@ -0,0 +1,14 @@
+package com.sooft.challenge.infrastructure.adapter.out.persistence.projection;
+
+import java.time.LocalDate;
+
+public interface ActividadEmpresaProjection {
+
+    String getIdEmpresa();
+
+    String getRazonSocial();
+
+    LocalDate getFecha();
+
+    Long getCantidad();
+}
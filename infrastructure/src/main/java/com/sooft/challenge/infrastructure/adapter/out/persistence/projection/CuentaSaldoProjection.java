@@ -0,0 +1,8 @@
+package com.sooft.challenge.infrastructure.adapter.out.persistence.projection;
+
+public interface CuentaSaldoProjection {
+
+    String getId();
+
+    Integer getSlotsSaldo();
+}
@@ -0,0 +1,10 @@
+package com.sooft.challenge.infrastructure.adapter.out.persistence.projection;
+
+import java.math.BigDecimal;
+
+public interface SaldoSlotProjection {
+
+    Integer getSlot();
+
+    BigDecimal getSaldo();
+}
@@ -0,0 +1,18 @@
+package com.sooft.challenge.infrastructure.adapter.out.persistence.projection;
+
+import com.sooft.challenge.domain.model.Monto;
+
+import java.time.LocalDate;
+
+public interface TransferenciaHistorialProjection {
+
+    Long getId();
+
+    Monto getImporte();
+
+    String getCuentaDebito();
+
+    String getCuentaCredito();
+
+    LocalDate getFecha();
+}
@@ -3,15 +3,24 @@ package com.sooft.challenge.infrastructure.adapter.out.persistence.repository;
 import com.sooft.challenge.domain.model.Cuit;
 import com.sooft.challenge.domain.model.NumeroCuenta;
 import com.sooft.challenge.infrastructure.adapter.out.persistence.entity.EmpresaEntity;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.projection.CuentaSaldoProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EmpresaJpaRepository extends JpaRepository<EmpresaEntity, String> {
@@ -20,11 +29,63 @@ public interface EmpresaJpaRepository extends JpaRepository<EmpresaEntity, Strin
 
     Optional<EmpresaEntity> findByCodigo(String codigo);
 
+    List<EmpresaEntity> findAllByCodigoIn(Collection<String> codigos);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM EmpresaEntity e ORDER BY e.id")
+    Stream<EmpresaEntity> streamAll();
+
     @Query("SELECT e FROM EmpresaEntity e WHERE e.fechaAdhesion >= :fechaDesde ORDER BY e.fechaAdhesion DESC")
     Page<EmpresaEntity> findEmpresasAdheridasDesde(@Param("fechaDesde") LocalDate fechaDesde, Pageable pageable);
 
-    @Query("SELECT DISTINCT t.empresa FROM TransferenciaEntity t WHERE t.fecha >= :fechaDesde ORDER BY t.empresa.razonSocial ASC")
+    @Query("SELECT e FROM EmpresaEntity e WHERE e.ultimaTransferencia >= :fechaDesde ORDER BY e.razonSocial ASC")
     Page<EmpresaEntity> findEmpresasConTransferenciasDesde(@Param("fechaDesde") LocalDate fechaDesde, Pageable pageable);
 
+    @Query("SELECT e FROM EmpresaEntity e ORDER BY e.razonSocial ASC, e.id ASC")
+    Slice<EmpresaEntity> findPrimerasPorRazonSocial(Pageable pageable);
+
+    @Query("SELECT e FROM EmpresaEntity e WHERE e.razonSocial > :razonSocial OR (e.razonSocial = :razonSocial AND e.id > :id) " +
+            "ORDER BY e.razonSocial ASC, e.id ASC")
+    Slice<EmpresaEntity> findSiguientesPorRazonSocial(@Param("razonSocial") String razonSocial, @Param("id") String id, Pageable pageable);
+
+    @Query("SELECT e FROM EmpresaEntity e WHERE e.fechaAdhesion >= :fechaDesde ORDER BY e.fechaAdhesion DESC, e.id DESC")
+    Slice<EmpresaEntity> findPrimerasAdheridasDesde(@Param("fechaDesde") LocalDate fechaDesde, Pageable pageable);
+
+    @Query("SELECT e FROM EmpresaEntity e WHERE e.fechaAdhesion >= :fechaDesde " +
+            "AND (e.fechaAdhesion < :fechaAdhesion OR (e.fechaAdhesion = :fechaAdhesion AND e.id < :id)) " +
+            "ORDER BY e.fechaAdhesion DESC, e.id DESC")
+    Slice<EmpresaEntity> findSiguientesAdheridasDesde(@Param("fechaDesde") LocalDate fechaDesde, @Param("fechaAdhesion") LocalDate fechaAdhesion,
+                                                      @Param("id") String id, Pageable pageable);
+
+    @Query("SELECT e FROM EmpresaEntity e WHERE e.ultimaTransferencia >= :fechaDesde " +
+            "ORDER BY e.razonSocial ASC, e.id ASC")
+    Slice<EmpresaEntity> findPrimerasConTransferenciasDesde(@Param("fechaDesde") LocalDate fechaDesde, Pageable pageable);
+
+    @Query("SELECT e FROM EmpresaEntity e WHERE e.ultimaTransferencia >= :fechaDesde " +
+            "AND (e.razonSocial > :razonSocial OR (e.razonSocial = :razonSocial AND e.id > :id)) " +
+            "ORDER BY e.razonSocial ASC, e.id ASC")
+    Slice<EmpresaEntity> findSiguientesConTransferenciasDesde(@Param("fechaDesde") LocalDate fechaDesde, @Param("razonSocial") String razonSocial,
+                                                              @Param("id") String id, Pageable pageable);
+
     Optional<EmpresaEntity> findByNumeroCuenta(NumeroCuenta numeroCuenta);
+
+    @Query("SELECT e.id FROM EmpresaEntity e WHERE e.numeroCuenta = :numeroCuenta")
+    Optional<String> findIdByNumeroCuenta(@Param("numeroCuenta") NumeroCuenta numeroCuenta);
+
+    @Query("SELECT e.id AS id, e.slotsSaldo AS slotsSaldo FROM EmpresaEntity e WHERE e.codigo = :codigo")
+    Optional<CuentaSaldoProjection> findCuentaByCodigo(@Param("codigo") String codigo);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "empresas"))
+    @Query(value = "UPDATE empresas SET slots_saldo = :slots WHERE id = :empresaId AND slots_saldo = 0", nativeQuery = true)
+    int marcarSaldoFragmentado(@Param("empresaId") String empresaId, @Param("slots") int slots);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "empresas"))
+    @Query(value = "UPDATE empresas SET ultima_transferencia = :fecha WHERE id = :empresaId " +
+            "AND (ultima_transferencia IS NULL OR ultima_transferencia < :fecha)", nativeQuery = true)
+    int registrarUltimaTransferencia(@Param("empresaId") String empresaId, @Param("fecha") LocalDate fecha);
 }
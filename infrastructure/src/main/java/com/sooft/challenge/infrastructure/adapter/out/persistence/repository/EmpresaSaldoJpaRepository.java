@@ -0,0 +1,44 @@
+package com.sooft.challenge.infrastructure.adapter.out.persistence.repository;
+
+import com.sooft.challenge.infrastructure.adapter.out.persistence.entity.EmpresaSaldoEntity;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.projection.SaldoSlotProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface EmpresaSaldoJpaRepository extends JpaRepository<EmpresaSaldoEntity, EmpresaSaldoEntity.Clave> {
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "empresa_saldos"))
+    @Query(value = "INSERT INTO empresa_saldos (empresa_id, slot, saldo) SELECT e.id, 0, e.saldo FROM empresas e " +
+            "WHERE e.id = :empresaId AND NOT EXISTS (SELECT 1 FROM empresa_saldos s WHERE s.empresa_id = e.id)", nativeQuery = true)
+    int crearSiFalta(@Param("empresaId") String empresaId);
+
+    @Query(value = "SELECT s.slot AS \"slot\", s.saldo AS \"saldo\" FROM empresa_saldos s " +
+            "WHERE s.empresa_id = :empresaId ORDER BY s.slot FOR UPDATE", nativeQuery = true)
+    List<SaldoSlotProjection> bloquear(@Param("empresaId") String empresaId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "empresa_saldos"))
+    @Query(value = "UPDATE empresa_saldos SET saldo = :saldo WHERE empresa_id = :empresaId AND slot = :slot", nativeQuery = true)
+    int actualizar(@Param("empresaId") String empresaId, @Param("slot") int slot, @Param("saldo") BigDecimal saldo);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "empresa_saldos"))
+    @Query(value = "UPDATE empresa_saldos SET saldo = saldo + :importe WHERE empresa_id = :empresaId AND slot = :slot", nativeQuery = true)
+    int acreditarEnSlot(@Param("empresaId") String empresaId, @Param("slot") int slot, @Param("importe") BigDecimal importe);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "empresa_saldos"))
+    @Query(value = "INSERT INTO empresa_saldos (empresa_id, slot, saldo) VALUES (:empresaId, :slot, 0)", nativeQuery = true)
+    int crearSlot(@Param("empresaId") String empresaId, @Param("slot") int slot);
+}
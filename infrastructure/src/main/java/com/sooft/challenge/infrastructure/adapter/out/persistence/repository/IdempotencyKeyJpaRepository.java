@@ -2,8 +2,47 @@ package com.sooft.challenge.infrastructure.adapter.out.persistence.repository;
 
 import com.sooft.challenge.infrastructure.adapter.out.persistence.entity.IdempotencyKeyEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
 
 @Repository
 public interface IdempotencyKeyJpaRepository extends JpaRepository<IdempotencyKeyEntity, String> {
-}
\ No newline at end of file
+
+    @Query("SELECT k FROM IdempotencyKeyEntity k WHERE k.idempotencyKey = :idempotencyKey " +
+            "AND k.responseStatus <> " + IdempotencyKeyEntity.EN_CURSO + " AND k.createdAt > :limite")
+    Optional<IdempotencyKeyEntity> findCompletada(@Param("idempotencyKey") String idempotencyKey, @Param("limite") LocalDateTime limite);
+
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, response_body, response_status, created_at) " +
+            "VALUES (:idempotencyKey, X'', " + IdempotencyKeyEntity.EN_CURSO + ", :ahora)", nativeQuery = true)
+    int insertarReserva(@Param("idempotencyKey") String idempotencyKey, @Param("ahora") LocalDateTime ahora);
+
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = "UPDATE idempotency_keys SET request_hash = NULL, response_body = X'', response_status = " + IdempotencyKeyEntity.EN_CURSO + ", created_at = :ahora " +
+            "WHERE idempotency_key = :idempotencyKey AND (created_at <= :limiteVigencia " +
+            "OR (response_status = " + IdempotencyKeyEntity.EN_CURSO + " AND created_at <= :limiteReserva))", nativeQuery = true)
+    int tomarReservaVencida(@Param("idempotencyKey") String idempotencyKey,
+                            @Param("ahora") LocalDateTime ahora,
+                            @Param("limiteVigencia") LocalDateTime limiteVigencia,
+                            @Param("limiteReserva") LocalDateTime limiteReserva);
+
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = "DELETE FROM idempotency_keys WHERE idempotency_key = :idempotencyKey AND response_status = " + IdempotencyKeyEntity.EN_CURSO,
+            nativeQuery = true)
+    int eliminarReserva(@Param("idempotencyKey") String idempotencyKey);
+
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE idempotency_key IN " +
+            "(SELECT idempotency_key FROM idempotency_keys WHERE created_at <= :limite ORDER BY created_at LIMIT :lote)", nativeQuery = true)
+    int deleteCreadasHasta(@Param("limite") LocalDateTime limite, @Param("lote") int lote);
+}
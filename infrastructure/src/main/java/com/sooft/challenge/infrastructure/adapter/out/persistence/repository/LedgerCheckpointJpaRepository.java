@@ -0,0 +1,9 @@
+package com.sooft.challenge.infrastructure.adapter.out.persistence.repository;
+
+import com.sooft.challenge.infrastructure.adapter.out.persistence.entity.LedgerCheckpointEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LedgerCheckpointJpaRepository extends JpaRepository<LedgerCheckpointEntity, Integer> {
+}
@@ -0,0 +1,46 @@
+package com.sooft.challenge.infrastructure.adapter.out.persistence.repository;
+
+import com.sooft.challenge.infrastructure.adapter.out.persistence.entity.MovimientoEntity;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.projection.SaldoEmpresaProjection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MovimientoJpaRepository extends JpaRepository<MovimientoEntity, Long> {
+
+    @Query(value = "SELECT COALESCE((SELECT SUM(s.saldo) FROM empresa_saldos s WHERE s.empresa_id = e.id), e.saldo) + (SELECT COALESCE(SUM(m.importe), 0) FROM movimientos m " +
+            "WHERE m.empresa_id = e.id AND m.compactado = FALSE) " +
+            "FROM empresas e " +
+            "WHERE e.numero_cuenta = :numeroCuenta", nativeQuery = true)
+    Optional<BigDecimal> saldoActual(@Param("numeroCuenta") String numeroCuenta);
+
+    @Query(value = "SELECT e.id AS \"idEmpresa\", COALESCE((SELECT SUM(s.saldo) FROM empresa_saldos s WHERE s.empresa_id = e.id), e.saldo) + (SELECT COALESCE(SUM(m.importe), 0) FROM movimientos m " +
+            "WHERE m.empresa_id = e.id AND m.compactado = FALSE) AS \"saldo\" " +
+            "FROM empresas e " +
+            "WHERE e.id IN (:empresaIds)", nativeQuery = true)
+    List<SaldoEmpresaProjection> saldosDe(@Param("empresaIds") Collection<String> empresaIds);
+
+    @Query(value = "SELECT e.saldo + (SELECT COALESCE(SUM(m.importe), 0) FROM movimientos m " +
+            "WHERE m.empresa_id = e.id AND m.fecha <= :fecha) " +
+            "FROM empresas e WHERE e.numero_cuenta = :numeroCuenta", nativeQuery = true)
+    Optional<BigDecimal> saldoAl(@Param("numeroCuenta") String numeroCuenta, @Param("fecha") LocalDate fecha);
+
+    List<MovimientoEntity> findByEmpresaIdAndCompactadoFalse(String empresaId);
+
+    @Query("SELECT DISTINCT m.empresaId FROM MovimientoEntity m WHERE m.compactado = false ORDER BY m.empresaId")
+    List<String> findEmpresasConMovimientosPendientes(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE MovimientoEntity m SET m.compactado = true WHERE m.id IN :ids")
+    int marcarCompactados(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,19 @@
+package com.sooft.challenge.infrastructure.adapter.out.persistence.repository;
+
+import com.sooft.challenge.infrastructure.adapter.out.persistence.entity.OutboxEventoEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventoJpaRepository extends JpaRepository<OutboxEventoEntity, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM OutboxEventoEntity o ORDER BY o.id")
+    List<OutboxEventoEntity> bloquearPrimeros(Pageable pageable);
+}
@@ -1,9 +1,48 @@
 package com.sooft.challenge.infrastructure.adapter.out.persistence.repository;
 
 import com.sooft.challenge.infrastructure.adapter.out.persistence.entity.TransferenciaEntity;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.projection.ActividadEmpresaProjection;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.projection.TransferenciaHistorialProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface TransferenciaJpaRepository extends JpaRepository<TransferenciaEntity, Long> {
+
+    @Query("SELECT t.empresa.id AS idEmpresa, t.empresa.razonSocial AS razonSocial, t.fecha AS fecha, COUNT(t) AS cantidad " +
+            "FROM TransferenciaEntity t WHERE t.fecha >= :fechaDesde " +
+            "GROUP BY t.empresa.id, t.empresa.razonSocial, t.fecha")
+    List<ActividadEmpresaProjection> contarActividadDesde(@Param("fechaDesde") LocalDate fechaDesde);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM TransferenciaEntity t ORDER BY t.id")
+    Stream<TransferenciaEntity> streamAll();
+
+    @Query("SELECT t.id AS id, t.importe AS importe, t.cuentaDebito AS cuentaDebito, t.cuentaCredito AS cuentaCredito, t.fecha AS fecha " +
+            "FROM TransferenciaEntity t WHERE t.empresa.id = :idEmpresa AND t.fecha BETWEEN :desde AND :hasta " +
+            "ORDER BY t.fecha DESC, t.id DESC")
+    Slice<TransferenciaHistorialProjection> findPrimerasDeEmpresa(@Param("idEmpresa") String idEmpresa, @Param("desde") LocalDate desde,
+                                                                  @Param("hasta") LocalDate hasta, Pageable pageable);
+
+    @Query("SELECT t.id AS id, t.importe AS importe, t.cuentaDebito AS cuentaDebito, t.cuentaCredito AS cuentaCredito, t.fecha AS fecha " +
+            "FROM TransferenciaEntity t WHERE t.empresa.id = :idEmpresa AND t.fecha BETWEEN :desde AND :hasta " +
+            "AND (t.fecha < :fecha OR (t.fecha = :fecha AND t.id < :id)) " +
+            "ORDER BY t.fecha DESC, t.id DESC")
+    Slice<TransferenciaHistorialProjection> findSiguientesDeEmpresa(@Param("idEmpresa") String idEmpresa, @Param("desde") LocalDate desde,
+                                                                    @Param("hasta") LocalDate hasta, @Param("fecha") LocalDate fecha,
+                                                                    @Param("id") Long id, Pageable pageable);
 }
@@ -0,0 +1,71 @@
+package com.sooft.challenge.infrastructure.adapter.out.publisher;
+
+import com.sooft.challenge.domain.model.EventoOutbox;
+import com.sooft.challenge.domain.port.out.PublicadorEventosPort;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "outbox.publicador.tipo", havingValue = "archivo", matchIfMissing = true)
+public class ArchivoPublicadorEventosAdapter implements PublicadorEventosPort {
+
+    private final Path archivo;
+    private FileChannel canal;
+
+    public ArchivoPublicadorEventosAdapter(@Value("${outbox.publicador.archivo:./data/outbox/eventos.ndjson}") String archivo) {
+        this.archivo = Path.of(archivo);
+    }
+
+    @Override
+    public synchronized void publicar(List<EventoOutbox> eventos) {
+        var contenido = new StringBuilder(eventos.size() * 256);
+        for (EventoOutbox evento : eventos) {
+            contenido.append("{\"id\":").append(evento.getId())
+                    .append(",\"tipo\":\"").append(evento.getTipo())
+                    .append("\",\"clave\":\"").append(evento.getClave())
+                    .append("\",\"creadoEn\":\"").append(evento.getCreadoEn())
+                    .append("\",\"payload\":").append(evento.getPayload())
+                    .append("}\n");
+        }
+        var buffer = ByteBuffer.wrap(contenido.toString().getBytes(StandardCharsets.UTF_8));
+        try {
+            var destino = canal();
+            while (buffer.hasRemaining()) {
+                destino.write(buffer);
+            }
+            destino.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudieron publicar " + eventos.size() + " eventos en " + archivo, e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void cerrar() throws IOException {
+        if (canal != null) {
+            canal.close();
+        }
+    }
+
+    private FileChannel canal() throws IOException {
+        if (canal == null) {
+            var directorio = archivo.toAbsolutePath().getParent();
+            if (directorio != null) {
+                Files.createDirectories(directorio);
+            }
+            canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return canal;
+    }
+}
@@ -0,0 +1,75 @@
+package com.sooft.challenge.infrastructure.config;
+
+import com.sooft.challenge.application.agrupador.AgrupadorTransferenciasService;
+import com.sooft.challenge.application.lock.CuentaLockManager;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.cache.EmpresaCacheAdapter;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.cache.IdempotencyKeyCacheAdapter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    public MeterBinder cuentaLockMetrics(CuentaLockManager cuentaLockManager) {
+        return registry -> {
+            FunctionCounter.builder("transferencias.lock.adquisiciones", cuentaLockManager, CuentaLockManager::adquisicionesTotales)
+                    .description("Cantidad de stripes adquiridos por transferencias")
+                    .register(registry);
+            FunctionTimer.builder("transferencias.lock.espera", cuentaLockManager,
+                            CuentaLockManager::contencionesTotales,
+                            CuentaLockManager::tiempoEsperaTotalNanos,
+                            TimeUnit.NANOSECONDS)
+                    .description("Tiempo de espera de las adquisiciones que encontraron el stripe ocupado")
+                    .register(registry);
+            Gauge.builder("transferencias.lock.cola", cuentaLockManager, CuentaLockManager::longitudColaTotal)
+                    .description("Hilos esperando algún stripe")
+                    .register(registry);
+            Gauge.builder("transferencias.lock.cola.maxima", cuentaLockManager, CuentaLockManager::longitudColaMaxima)
+                    .description("Mayor cantidad de hilos esperando un mismo stripe")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder agrupadorTransferenciasMetrics(ObjectProvider<AgrupadorTransferenciasService> agrupador) {
+        return registry -> agrupador.ifAvailable(servicio -> {
+            FunctionTimer.builder("transferencias.group-commit.espera", servicio,
+                            AgrupadorTransferenciasService::transferenciasAgrupadas,
+                            AgrupadorTransferenciasService::tiempoEsperaTotalNanos,
+                            TimeUnit.NANOSECONDS)
+                    .description("Tiempo que cada transferencia espera en cola hasta ejecutarse en un lote")
+                    .register(registry);
+            FunctionCounter.builder("transferencias.group-commit.lotes", servicio, AgrupadorTransferenciasService::lotesEjecutados)
+                    .description("Cantidad de transacciones agrupadas ejecutadas")
+                    .register(registry);
+            Gauge.builder("transferencias.group-commit.cola", servicio, AgrupadorTransferenciasService::pendientes)
+                    .description("Transferencias esperando ser agrupadas")
+                    .register(registry);
+        });
+    }
+
+    @Bean
+    public MeterBinder empresaCacheMetrics(ObjectProvider<EmpresaCacheAdapter> empresaCache) {
+        return registry -> empresaCache.ifAvailable(cache -> cache.caches()
+                .forEach((nombre, caffeine) -> CaffeineCacheMetrics.monitor(registry, caffeine, nombre)));
+    }
+
+    @Bean
+    public MeterBinder idempotencyCacheMetrics(ObjectProvider<IdempotencyKeyCacheAdapter> idempotencyCache) {
+        return registry -> idempotencyCache.ifAvailable(cache -> {
+            CaffeineCacheMetrics.monitor(registry, cache.respuestas(), "idempotency.respuestas");
+            FunctionCounter.builder("idempotency.bloom.descartes", cache, IdempotencyKeyCacheAdapter::descartadasPorFiltro)
+                    .description("Búsquedas de claves de idempotencia resueltas por el filtro de Bloom sin consultar la base")
+                    .register(registry);
+        });
+    }
+}
@@ -0,0 +1,35 @@
+package com.sooft.challenge.infrastructure.config;
+
+import com.sooft.challenge.domain.exception.EmpresaNotFoundException;
+import com.sooft.challenge.domain.port.out.EmpresaRepositoryPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+@Configuration
+@Slf4j
+public class SaldoFragmentadoConfig {
+
+    @Bean
+    public ApplicationRunner fragmentarSaldosDesignados(EmpresaRepositoryPort empresaRepositoryPort,
+                                                        @Value("${empresas.saldo-fragmentado.codigos:}") List<String> codigos,
+                                                        @Value("${empresas.saldo-fragmentado.slots:8}") int slots) {
+        return args -> codigos.stream()
+                .filter(StringUtils::hasText)
+                .map(String::trim)
+                .forEach(codigo -> {
+                    try {
+                        if (empresaRepositoryPort.fragmentarSaldo(codigo, slots)) {
+                            log.info("Saldo de la empresa {} fragmentado en {} slots", codigo, slots);
+                        }
+                    } catch (EmpresaNotFoundException e) {
+                        log.warn("No se pudo fragmentar el saldo de la empresa {}: {}", codigo, e.getMessage());
+                    }
+                });
+    }
+}
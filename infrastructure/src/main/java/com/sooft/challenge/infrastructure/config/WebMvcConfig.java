@@ -0,0 +1,19 @@
+package com.sooft.challenge.infrastructure.config;
+
+import com.sooft.challenge.infrastructure.adapter.in.web.idempotency.IdempotencyReplayInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final IdempotencyReplayInterceptor idempotencyReplayInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(idempotencyReplayInterceptor);
+    }
+}
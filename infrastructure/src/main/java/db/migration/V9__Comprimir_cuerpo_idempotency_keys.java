@@ -0,0 +1,50 @@
+package db.migration;
+
+import com.sooft.challenge.infrastructure.adapter.out.persistence.converter.CuerpoRespuestaCodec;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class V9__Comprimir_cuerpo_idempotency_keys extends BaseJavaMigration {
+
+    private static final int LOTE = 500;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        var conexion = context.getConnection();
+        try (Statement ddl = conexion.createStatement()) {
+            ddl.execute("ALTER TABLE idempotency_keys ADD COLUMN response_body_comprimido BLOB");
+        }
+
+        try (var lectura = conexion.createStatement();
+             var escritura = conexion.prepareStatement(
+                     "UPDATE idempotency_keys SET response_body_comprimido = ? WHERE idempotency_key = ?")) {
+            lectura.setFetchSize(LOTE);
+            try (var filas = lectura.executeQuery("SELECT idempotency_key, response_body FROM idempotency_keys")) {
+                int pendientes = 0;
+                while (filas.next()) {
+                    var cuerpo = filas.getString("response_body");
+                    escritura.setBytes(1, CuerpoRespuestaCodec.comprimir(cuerpo.getBytes(StandardCharsets.UTF_8)));
+                    escritura.setString(2, filas.getString("idempotency_key"));
+                    escritura.addBatch();
+                    if (++pendientes == LOTE) {
+                        escritura.executeBatch();
+                        pendientes = 0;
+                    }
+                }
+                if (pendientes > 0) {
+                    escritura.executeBatch();
+                }
+            }
+        }
+
+        try (Statement ddl = conexion.createStatement()) {
+            ddl.execute("ALTER TABLE idempotency_keys DROP COLUMN response_body");
+            ddl.execute("ALTER TABLE idempotency_keys RENAME COLUMN response_body_comprimido TO response_body");
+            ddl.execute("ALTER TABLE idempotency_keys ALTER COLUMN response_body SET NOT NULL");
+        }
+    }
+}
@@ -0,0 +1 @@
+CREATE INDEX idx_transferencias_empresa_fecha_id ON transferencias (empresa_id, fecha, id);
@@ -0,0 +1,31 @@
+CREATE SEQUENCE movimientos_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE movimientos (
+    id BIGINT NOT NULL,
+    empresa_id VARCHAR(255) NOT NULL,
+    importe DECIMAL(19, 2) NOT NULL,
+    fecha DATE NOT NULL,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE movimientos ADD CONSTRAINT FK_movimiento_empresa
+FOREIGN KEY (empresa_id) REFERENCES empresas(id);
+
+CREATE INDEX idx_movimientos_empresa_fecha ON movimientos (empresa_id, fecha);
+
+CREATE TABLE empresa_saldo_snapshots (
+    empresa_id VARCHAR(255) NOT NULL,
+    fecha DATE NOT NULL,
+    saldo DECIMAL(19, 2) NOT NULL,
+    PRIMARY KEY (empresa_id, fecha)
+);
+
+ALTER TABLE empresa_saldo_snapshots ADD CONSTRAINT FK_saldo_snapshot_empresa
+FOREIGN KEY (empresa_id) REFERENCES empresas(id);
+
+UPDATE empresas SET saldo = (SELECT COALESCE(SUM(s.saldo), 0) FROM empresa_saldo_slots s WHERE s.empresa_id = empresas.id)
+WHERE slots_saldo > 0;
+
+DROP TABLE empresa_saldo_slots;
+
+ALTER TABLE empresas DROP COLUMN slots_saldo;
@@ -0,0 +1,10 @@
+CREATE SEQUENCE outbox_eventos_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE outbox_eventos (
+    id BIGINT NOT NULL,
+    tipo VARCHAR(100) NOT NULL,
+    clave VARCHAR(255) NOT NULL,
+    payload VARCHAR(4000) NOT NULL,
+    creado_en TIMESTAMP NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,20 @@
+CREATE TABLE empresa_saldos (
+    empresa_id VARCHAR(255) NOT NULL,
+    saldo DECIMAL(19, 2) NOT NULL,
+    PRIMARY KEY (empresa_id)
+);
+
+ALTER TABLE empresa_saldos ADD CONSTRAINT FK_empresa_saldo_empresa
+FOREIGN KEY (empresa_id) REFERENCES empresas(id);
+
+INSERT INTO empresa_saldos (empresa_id, saldo)
+SELECT e.id, e.saldo + (SELECT COALESCE(SUM(m.importe), 0) FROM movimientos m WHERE m.empresa_id = e.id)
+FROM empresas e;
+
+ALTER TABLE movimientos ADD COLUMN compactado BOOLEAN DEFAULT TRUE NOT NULL;
+
+ALTER TABLE movimientos ALTER COLUMN compactado SET DEFAULT FALSE;
+
+CREATE INDEX idx_movimientos_empresa_compactado ON movimientos (empresa_id, compactado);
+
+DROP TABLE empresa_saldo_snapshots;
@@ -0,0 +1,10 @@
+ALTER TABLE empresas ADD COLUMN slots_saldo INT DEFAULT 0 NOT NULL;
+
+ALTER TABLE empresa_saldos ADD COLUMN slot INT DEFAULT 0 NOT NULL;
+
+ALTER TABLE empresa_saldos DROP CONSTRAINT FK_empresa_saldo_empresa;
+ALTER TABLE empresa_saldos DROP PRIMARY KEY;
+ALTER TABLE empresa_saldos ADD PRIMARY KEY (empresa_id, slot);
+
+ALTER TABLE empresa_saldos ADD CONSTRAINT FK_empresa_saldo_empresa
+FOREIGN KEY (empresa_id) REFERENCES empresas(id);
@@ -0,0 +1,5 @@
+CREATE TABLE ledger_checkpoints (
+    particion INT NOT NULL,
+    secuencia BIGINT NOT NULL,
+    PRIMARY KEY (particion)
+);
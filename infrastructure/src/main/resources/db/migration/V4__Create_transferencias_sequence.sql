@@ -0,0 +1,3 @@
+CREATE SEQUENCE transferencias_seq START WITH 1 INCREMENT BY 50;
+
+ALTER SEQUENCE transferencias_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 51 FROM transferencias);
@@ -0,0 +1,11 @@
+ALTER TABLE empresas ADD COLUMN slots_saldo INT DEFAULT 0 NOT NULL;
+
+CREATE TABLE empresa_saldo_slots (
+    empresa_id VARCHAR(255) NOT NULL,
+    slot INT NOT NULL,
+    saldo DECIMAL(19, 2) NOT NULL,
+    PRIMARY KEY (empresa_id, slot)
+);
+
+ALTER TABLE empresa_saldo_slots ADD CONSTRAINT FK_saldo_slot_empresa
+FOREIGN KEY (empresa_id) REFERENCES empresas(id);
@@ -0,0 +1,2 @@
+CREATE INDEX idx_empresas_razon_social_id ON empresas (razon_social, id);
+CREATE INDEX idx_empresas_fecha_adhesion_id ON empresas (fecha_adhesion, id);
@@ -0,0 +1,5 @@
+ALTER TABLE empresas ADD COLUMN ultima_transferencia DATE;
+
+UPDATE empresas SET ultima_transferencia = (SELECT MAX(t.fecha) FROM transferencias t WHERE t.empresa_id = empresas.id);
+
+CREATE INDEX idx_empresas_ultima_transferencia ON empresas (ultima_transferencia);
@@ -2,11 +2,14 @@ package com.sooft.challenge.infrastructure.adapter.in.web.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sooft.challenge.domain.model.Cuit;
+import com.sooft.challenge.domain.model.Monto;
 import com.sooft.challenge.domain.model.NumeroCuenta;
 import com.sooft.challenge.infrastructure.adapter.in.web.dto.CrearEmpresaRequest;
 import com.sooft.challenge.infrastructure.config.TestClockConfiguration;
 import com.sooft.challenge.infrastructure.adapter.out.persistence.entity.EmpresaEntity;
 import com.sooft.challenge.infrastructure.adapter.out.persistence.repository.EmpresaJpaRepository;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.repository.EmpresaSaldoJpaRepository;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.repository.MovimientoJpaRepository;
 import com.sooft.challenge.infrastructure.adapter.out.persistence.repository.IdempotencyKeyJpaRepository;
 import com.sooft.challenge.infrastructure.adapter.out.persistence.repository.TransferenciaJpaRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -53,9 +56,15 @@ class EmpresaControllerIntegrationTest {
     @Autowired
     private TransferenciaJpaRepository transferenciaRepository;
 
+    @Autowired
+    private MovimientoJpaRepository movimientoRepository;
+
     @Autowired
     private IdempotencyKeyJpaRepository idempotencyKeyRepository;
 
+    @Autowired
+    private EmpresaSaldoJpaRepository empresaSaldoRepository;
+
     @Autowired
     private Clock clock;
 
@@ -64,7 +73,9 @@ class EmpresaControllerIntegrationTest {
     @BeforeEach
     void setUp() {
         transferenciaRepository.deleteAll();
+        movimientoRepository.deleteAll();
         idempotencyKeyRepository.deleteAll();
+        empresaSaldoRepository.deleteAll();
         empresaRepository.deleteAll();
 
 
@@ -74,7 +85,7 @@ class EmpresaControllerIntegrationTest {
         empresaExistente.setRazonSocial("Empresa Ya Existente");
         empresaExistente.setCuit(Cuit.of("30111111111"));
         empresaExistente.setNumeroCuenta(NumeroCuenta.of("12345-1"));
-        empresaExistente.setSaldo(new BigDecimal("1000.00"));
+        empresaExistente.setSaldo(Monto.of("1000.00"));
         empresaExistente.setFechaAdhesion(LocalDate.now(clock).minusMonths(2));
         empresaRepository.save(empresaExistente);
     }
@@ -201,7 +212,7 @@ class EmpresaControllerIntegrationTest {
         empresaReciente.setRazonSocial("Empresa Reciente");
         empresaReciente.setCuit(Cuit.of("30333333333"));
         empresaReciente.setNumeroCuenta(NumeroCuenta.of("54321-9"));
-        empresaReciente.setSaldo(new BigDecimal("200.00"));
+        empresaReciente.setSaldo(Monto.of("200.00"));
         empresaReciente.setFechaAdhesion(LocalDate.now(clock).minusDays(15));
         empresaRepository.save(empresaReciente);
 
@@ -2,13 +2,23 @@ package com.sooft.challenge.infrastructure.adapter.in.web.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sooft.challenge.domain.model.Cuit;
+import com.sooft.challenge.domain.model.CursorTransferencia;
 import com.sooft.challenge.domain.model.Empresa;
+import com.sooft.challenge.domain.model.IdempotencyRecord;
+import com.sooft.challenge.domain.model.Monto;
 import com.sooft.challenge.domain.model.NumeroCuenta;
+import com.sooft.challenge.domain.model.PaginaCursor;
+import com.sooft.challenge.domain.model.Transferencia;
 import com.sooft.challenge.domain.port.in.AdherirEmpresaUseCase;
 import com.sooft.challenge.domain.port.in.BuscarEmpresaPorIdUseCase;
+import com.sooft.challenge.domain.port.in.BuscarEmpresasPorCodigoUseCase;
+import com.sooft.challenge.domain.port.in.ConsultarTransferenciasEmpresaUseCase;
 import com.sooft.challenge.domain.port.in.EmpresasAdheridasUltimoMesUseCase;
 import com.sooft.challenge.domain.port.in.EmpresasConTransferenciasRecientesUseCase;
+import com.sooft.challenge.domain.port.in.ExportarEmpresasUseCase;
 import com.sooft.challenge.domain.port.in.BuscarTodasLasEmpresasUseCase;
+import com.sooft.challenge.domain.port.out.IdempotencyKeyPort;
+import com.sooft.challenge.infrastructure.adapter.in.web.dto.BuscarEmpresasRequest;
 import com.sooft.challenge.infrastructure.adapter.in.web.dto.CrearEmpresaRequest;
 import com.sooft.challenge.infrastructure.adapter.out.persistence.mapper.EmpresaMapperImpl;
 import org.junit.jupiter.api.DisplayName;
@@ -21,25 +31,35 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(EmpresaController.class)
@@ -56,7 +76,11 @@ class EmpresaControllerTest {
     @MockBean private EmpresasAdheridasUltimoMesUseCase empresasAdheridasUltimoMesUseCase;
     @MockBean private EmpresasConTransferenciasRecientesUseCase empresasConTransferenciasRecientesUseCase;
     @MockBean private BuscarEmpresaPorIdUseCase buscarEmpresaPorIdUseCase;
+    @MockBean private BuscarEmpresasPorCodigoUseCase buscarEmpresasPorCodigoUseCase;
     @MockBean private BuscarTodasLasEmpresasUseCase buscarTodasLasEmpresasUseCase;
+    @MockBean private ExportarEmpresasUseCase exportarEmpresasUseCase;
+    @MockBean private ConsultarTransferenciasEmpresaUseCase consultarTransferenciasEmpresaUseCase;
+    @MockBean private IdempotencyKeyPort idempotencyKeyPort;
 
     @Test
     @DisplayName("Debe crear una empresa y devolver 201 Created")
@@ -67,7 +91,7 @@ class EmpresaControllerTest {
                 .codigo("XYZ789")
                 .razonSocial(request.getRazonSocial())
                 .cuit(Cuit.of(request.getCuit()))
-                .saldo(request.getSaldo())
+                .saldo(Monto.of(request.getSaldo()))
                 .numeroCuenta(NumeroCuenta.of("123456789012345"))
                 .build();
 
@@ -83,6 +107,26 @@ class EmpresaControllerTest {
                 .andExpect(jsonPath("$.razonSocial", is("Empresa Test")));
     }
 
+    @Test
+    @DisplayName("Debe repetir la respuesta guardada sin procesar el cuerpo si la Idempotency-Key ya fue usada")
+    void postEmpresaConClaveUsada_repiteRespuestaSinInvocarElCasoDeUso() throws Exception {
+        when(idempotencyKeyPort.findById("clave-usada")).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .idempotencyKey("clave-usada")
+                .responseBody("{\"id\":\"XYZ789\"}".getBytes(StandardCharsets.UTF_8))
+                .responseStatus(201)
+                .createdAt(LocalDateTime.now())
+                .build()));
+
+        mockMvc.perform(post("/empresas")
+                        .header("Idempotency-Key", "clave-usada")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is("XYZ789")));
+
+        verifyNoInteractions(adherirEmpresaUseCase);
+    }
+
     @Test
     @DisplayName("Debe devolver 400 Bad Request si el CUIT es nulo")
     void postEmpresaConCuitNull_retorna400() throws Exception {
@@ -113,6 +157,75 @@ class EmpresaControllerTest {
                 .andExpect(jsonPath("$.razonSocial", is("Mi Empresa")));
     }
 
+    @Test
+    @DisplayName("Debe devolver las empresas encontradas e informar los ids inexistentes")
+    void buscarEmpresasPorCodigo_retornaEncontradasYNoEncontradas() throws Exception {
+        Empresa empresa = Empresa.builder()
+                .codigo("ABC123")
+                .razonSocial("Mi Empresa")
+                .cuit(Cuit.of("30-11111111-1"))
+                .numeroCuenta(NumeroCuenta.of("11111-1"))
+                .build();
+        var codigos = List.of("ABC123", "NOEXISTE");
+        when(buscarEmpresasPorCodigoUseCase.findAllByCodigo(codigos)).thenReturn(List.of(empresa));
+
+        mockMvc.perform(post("/empresas/buscar")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BuscarEmpresasRequest(codigos))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.empresas", hasSize(1)))
+                .andExpect(jsonPath("$.empresas[0].id", is("ABC123")))
+                .andExpect(jsonPath("$.noEncontradas[0]", is("NOEXISTE")));
+    }
+
+    @Test
+    @DisplayName("Debe devolver 400 cuando la búsqueda por ids no trae ningún id")
+    void buscarEmpresasSinCodigos_retorna400() throws Exception {
+        mockMvc.perform(post("/empresas/buscar")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BuscarEmpresasRequest(List.of()))))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(buscarEmpresasPorCodigoUseCase);
+    }
+
+    @Test
+    @DisplayName("Debe exportar las empresas en CSV escapando los valores con comas")
+    void exportarEmpresasEnCsv_transmiteUnaFilaPorEmpresa() throws Exception {
+        Empresa empresa = Empresa.builder()
+                .codigo("ABC123")
+                .razonSocial("Mi Empresa, S.A.")
+                .cuit(Cuit.of("30-11111111-1"))
+                .fechaAdhesion(LocalDate.of(2024, 5, 1))
+                .saldo(Monto.of("10.50"))
+                .numeroCuenta(NumeroCuenta.of("11111-1"))
+                .build();
+        doAnswer(invocation -> {
+            Consumer<Empresa> consumidor = invocation.getArgument(0);
+            consumidor.accept(empresa);
+            return 1L;
+        }).when(exportarEmpresasUseCase).exportarEmpresas(any());
+
+        var resultado = mockMvc.perform(get("/empresas/export").param("formato", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(content().string("id,razonSocial,cuit,fechaAdhesion,saldo,numeroCuenta\n" +
+                        "ABC123,\"Mi Empresa, S.A.\",30-11111111-1,2024-05-01,10.50,11111-1\n"));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un formato de exportación desconocido")
+    void exportarEmpresasConFormatoDesconocido_retorna400() throws Exception {
+        mockMvc.perform(get("/empresas/export").param("formato", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(exportarEmpresasUseCase);
+    }
+
     @Test
     @DisplayName("Debe devolver una respuesta paginada para adheridas-ultimo-mes")
     void getEmpresasAdheridasUltimoMesPaginada_retornaRespuestaPaginada() throws Exception {
@@ -158,4 +271,45 @@ class EmpresaControllerTest {
                 .andExpect(jsonPath("$.totalElements", is(11)))
                 .andExpect(jsonPath("$.number", is(1)));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Debe devolver el historial de transferencias de la empresa con el cursor de la siguiente página")
+    void getTransferenciasDeEmpresa_retornaPaginaConCursor() throws Exception {
+        var desde = LocalDate.of(2024, 5, 1);
+        var hasta = LocalDate.of(2024, 5, 31);
+        var cursor = CursorTransferencia.of(LocalDate.of(2024, 5, 20), 40L);
+        var transferencia = Transferencia.builder()
+                .id(35L)
+                .importe(Monto.of("150.25"))
+                .idEmpresa("id-empresa")
+                .cuentaDebito("11111-1")
+                .cuentaCredito("22222-2")
+                .fecha(LocalDate.of(2024, 5, 18))
+                .build();
+        var pagina = PaginaCursor.de(new SliceImpl<>(List.of(transferencia), PageRequest.ofSize(1), true),
+                t -> CursorTransferencia.of(t.getFecha(), t.getId()));
+
+        when(consultarTransferenciasEmpresaUseCase.findTransferenciasDeEmpresa("ABC123", desde, hasta, cursor, 1)).thenReturn(pagina);
+
+        mockMvc.perform(get("/empresas/ABC123/transferencias")
+                        .param("desde", "2024-05-01")
+                        .param("hasta", "2024-05-31")
+                        .param("cursor", cursor.codificar())
+                        .param("tamanio", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contenido", hasSize(1)))
+                .andExpect(jsonPath("$.contenido[0].id", is(35)))
+                .andExpect(jsonPath("$.contenido[0].fecha", is("2024-05-18")))
+                .andExpect(jsonPath("$.haySiguiente", is(true)))
+                .andExpect(jsonPath("$.siguienteCursor", is(CursorTransferencia.of(LocalDate.of(2024, 5, 18), 35L).codificar())));
+    }
+
+    @Test
+    @DisplayName("Debe devolver 400 cuando el cursor del historial de transferencias es inválido")
+    void getTransferenciasDeEmpresaConCursorInvalido_retorna400() throws Exception {
+        mockMvc.perform(get("/empresas/ABC123/transferencias").param("cursor", "no-es-un-cursor"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(consultarTransferenciasEmpresaUseCase);
+    }
+}
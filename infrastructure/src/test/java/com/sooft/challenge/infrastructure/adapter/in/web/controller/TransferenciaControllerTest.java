@@ -1,8 +1,23 @@
 package com.sooft.challenge.infrastructure.adapter.in.web.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sooft.challenge.domain.exception.ColaTransferenciasLlenaException;
+import com.sooft.challenge.domain.exception.FondosInsuficientesException;
+import com.sooft.challenge.domain.exception.IdempotencyKeyReutilizadaException;
+import com.sooft.challenge.domain.exception.ResultadoTransferenciaDesconocidoException;
+import com.sooft.challenge.domain.exception.TicketTransferenciaNotFoundException;
+import com.sooft.challenge.domain.model.EstadoTicketTransferencia;
+import com.sooft.challenge.domain.model.Monto;
+import com.sooft.challenge.domain.model.ResultadoTransferencia;
+import com.sooft.challenge.domain.model.TicketTransferencia;
+import com.sooft.challenge.domain.model.Transferencia;
+import com.sooft.challenge.domain.port.in.EncolarTransferenciaUseCase;
+import com.sooft.challenge.domain.port.in.ExportarTransferenciasUseCase;
+import com.sooft.challenge.domain.port.in.RealizarTransferenciaIdempotenteUseCase;
 import com.sooft.challenge.domain.port.in.RealizarTransferenciaUseCase;
+import com.sooft.challenge.domain.port.out.IdempotencyKeyPort;
 import com.sooft.challenge.infrastructure.adapter.in.web.dto.RealizarTransferenciaRequest;
+import com.sooft.challenge.infrastructure.adapter.in.web.dto.RealizarTransferenciasLoteRequest;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,11 +27,28 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TransferenciaController.class)
@@ -31,6 +63,18 @@ class TransferenciaControllerTest {
     @MockBean
     private RealizarTransferenciaUseCase realizarTransferenciaUseCase;
 
+    @MockBean
+    private EncolarTransferenciaUseCase encolarTransferenciaUseCase;
+
+    @MockBean
+    private RealizarTransferenciaIdempotenteUseCase realizarTransferenciaIdempotenteUseCase;
+
+    @MockBean
+    private ExportarTransferenciasUseCase exportarTransferenciasUseCase;
+
+    @MockBean
+    private IdempotencyKeyPort idempotencyKeyPort;
+
     @Test
     @DisplayName("Debe procesar una transferencia válida y devolver 201 Created")
     void postConUnaTransferenciaValida_retorna201() throws Exception {
@@ -46,7 +90,7 @@ class TransferenciaControllerTest {
                 request.cuentaDebito(),
                 request.idEmpresa(),
                 request.cuentaCredito(),
-                request.importe()
+                Monto.of(request.importe())
         )).thenReturn(null);
 
         mockMvc.perform(post("/transferencias")
@@ -58,8 +102,76 @@ class TransferenciaControllerTest {
                 request.cuentaDebito(),
                 request.idEmpresa(),
                 request.cuentaCredito(),
-                request.importe()
+                Monto.of(request.importe())
+        );
+    }
+
+    @Test
+    @DisplayName("Debe devolver 503 con Retry-After cuando no se conoce el resultado de la transferencia")
+    void postTransferenciaConResultadoDesconocido_retorna503() throws Exception {
+        RealizarTransferenciaRequest request = new RealizarTransferenciaRequest(
+                "11111-1",
+                "EMP-B",
+                "22222-2",
+                new BigDecimal("150.50")
+        );
+        when(realizarTransferenciaIdempotenteUseCase.realizarTransferencia(any(), eq("clave-1"), any()))
+                .thenThrow(new ResultadoTransferenciaDesconocidoException(new InterruptedException()));
+
+        mockMvc.perform(post("/transferencias")
+                        .header("Idempotency-Key", "clave-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    @DisplayName("Debe devolver 422 cuando la Idempotency-Key se reutiliza con otra transferencia")
+    void postTransferenciaConClaveReutilizada_retorna422() throws Exception {
+        RealizarTransferenciaRequest request = new RealizarTransferenciaRequest(
+                "11111-1",
+                "EMP-B",
+                "22222-2",
+                new BigDecimal("150.50")
         );
+        when(realizarTransferenciaIdempotenteUseCase.realizarTransferencia(any(), eq("clave-1"), any()))
+                .thenThrow(new IdempotencyKeyReutilizadaException("clave-1"));
+
+        mockMvc.perform(post("/transferencias")
+                        .header("Idempotency-Key", "clave-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnprocessableEntity());
+
+        verify(realizarTransferenciaUseCase, never()).realizarTransferencia(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Debe exportar las transferencias en NDJSON, una por línea")
+    void exportarTransferencias_transmiteUnaTransferenciaPorLinea() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Transferencia> consumidor = invocation.getArgument(0);
+            consumidor.accept(Transferencia.builder().id(1L).idEmpresa("EMP-A").cuentaDebito("111").cuentaCredito("222")
+                    .importe(Monto.of("10.00")).fecha(LocalDate.of(2024, 5, 20)).build());
+            consumidor.accept(Transferencia.builder().id(2L).idEmpresa("EMP-B").cuentaDebito("333").cuentaCredito("444")
+                    .importe(Monto.of("5.00")).fecha(LocalDate.of(2024, 5, 21)).build());
+            return 2L;
+        }).when(exportarTransferenciasUseCase).exportarTransferencias(any());
+
+        var resultado = mockMvc.perform(get("/transferencias/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var cuerpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString();
+
+        var lineas = cuerpo.split("\n");
+        assertEquals(2, lineas.length);
+        assertEquals(1L, objectMapper.readTree(lineas[0]).get("id").asLong());
+        assertEquals("EMP-B", objectMapper.readTree(lineas[1]).get("idEmpresa").asText());
     }
 
     @Test
@@ -95,4 +207,115 @@ class TransferenciaControllerTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Debe procesar un lote y devolver el estado de cada transferencia")
+    void postLoteDeTransferencias_retornaResultadoPorTransferencia() throws Exception {
+
+        RealizarTransferenciaRequest transferencia = new RealizarTransferenciaRequest(
+                "11111-1",
+                "EMP-B",
+                "22222-2",
+                new BigDecimal("150.50")
+        );
+        RealizarTransferenciasLoteRequest request = new RealizarTransferenciasLoteRequest(List.of(transferencia, transferencia));
+
+        when(realizarTransferenciaUseCase.realizarTransferencias(anyList())).thenReturn(List.of(
+                ResultadoTransferencia.exitosa(0, Transferencia.builder().id(1L).importe(Monto.of(transferencia.importe())).build()),
+                ResultadoTransferencia.rechazada(1, new FondosInsuficientesException("22222-2"))
+        ));
+
+        mockMvc.perform(post("/transferencias/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(2)))
+                .andExpect(jsonPath("$.exitosas", is(1)))
+                .andExpect(jsonPath("$.rechazadas", is(1)))
+                .andExpect(jsonPath("$.resultados[0].estado", is("EXITOSA")))
+                .andExpect(jsonPath("$.resultados[0].transferencia.importe", is(150.5)))
+                .andExpect(jsonPath("$.resultados[1].estado", is("RECHAZADA")))
+                .andExpect(jsonPath("$.resultados[1].mensaje", is("Fondos insuficientes en la cuenta 22222-2")));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un lote vacío y devolver 400 Bad Request")
+    void postLoteVacio_retorna400() throws Exception {
+
+        RealizarTransferenciasLoteRequest request = new RealizarTransferenciasLoteRequest(Collections.emptyList());
+
+        mockMvc.perform(post("/transferencias/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Debe encolar una transferencia asincrónica y devolver 202 Accepted con el ticket")
+    void postTransferenciaAsincrona_retorna202() throws Exception {
+
+        RealizarTransferenciaRequest request = new RealizarTransferenciaRequest(
+                "11111-1",
+                "EMP-B",
+                "22222-2",
+                new BigDecimal("150.50")
+        );
+
+        when(encolarTransferenciaUseCase.encolarTransferencia(any())).thenReturn(TicketTransferencia.builder()
+                .id("ticket-1")
+                .estado(EstadoTicketTransferencia.PENDIENTE)
+                .build());
+
+        mockMvc.perform(post("/transferencias")
+                        .param("async", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/transferencias/ticket-1"))
+                .andExpect(jsonPath("$.ticket", is("ticket-1")))
+                .andExpect(jsonPath("$.estado", is("PENDIENTE")));
+
+        verify(realizarTransferenciaUseCase, never()).realizarTransferencia(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Debe devolver 429 Too Many Requests cuando la cola asincrónica está llena")
+    void postTransferenciaAsincronaConColaLlena_retorna429() throws Exception {
+
+        RealizarTransferenciaRequest request = new RealizarTransferenciaRequest(
+                "11111-1",
+                "EMP-B",
+                "22222-2",
+                new BigDecimal("150.50")
+        );
+
+        when(encolarTransferenciaUseCase.encolarTransferencia(any())).thenThrow(new ColaTransferenciasLlenaException(10));
+
+        mockMvc.perform(post("/transferencias")
+                        .param("async", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    @DisplayName("Debe informar el estado de un ticket y devolver 404 si no existe")
+    void getTicket_retornaEstado() throws Exception {
+
+        when(encolarTransferenciaUseCase.consultarTicket("ticket-1")).thenReturn(TicketTransferencia.builder()
+                .id("ticket-1")
+                .estado(EstadoTicketTransferencia.RECHAZADA)
+                .mensaje("Fondos insuficientes en la cuenta 11111-1")
+                .build());
+        when(encolarTransferenciaUseCase.consultarTicket("desconocido")).thenThrow(new TicketTransferenciaNotFoundException("desconocido"));
+
+        mockMvc.perform(get("/transferencias/ticket-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.estado", is("RECHAZADA")))
+                .andExpect(jsonPath("$.mensaje", is("Fondos insuficientes en la cuenta 11111-1")));
+
+        mockMvc.perform(get("/transferencias/desconocido"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -2,10 +2,15 @@ package com.sooft.challenge.infrastructure.adapter.in.web.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sooft.challenge.domain.model.Cuit;
+import com.sooft.challenge.domain.model.Monto;
 import com.sooft.challenge.domain.model.NumeroCuenta;
 import com.sooft.challenge.infrastructure.adapter.in.web.dto.RealizarTransferenciaRequest;
+import com.sooft.challenge.infrastructure.adapter.in.web.dto.RealizarTransferenciasLoteRequest;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.cache.EmpresaCacheAdapter;
 import com.sooft.challenge.infrastructure.adapter.out.persistence.entity.EmpresaEntity;
 import com.sooft.challenge.infrastructure.adapter.out.persistence.repository.EmpresaJpaRepository;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.repository.EmpresaSaldoJpaRepository;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.repository.MovimientoJpaRepository;
 import com.sooft.challenge.infrastructure.adapter.out.persistence.repository.TransferenciaJpaRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,6 +23,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.is;
@@ -42,13 +48,25 @@ class TransferenciaIntegrationTest {
     @Autowired
     private TransferenciaJpaRepository transferenciaRepository;
 
+    @Autowired
+    private MovimientoJpaRepository movimientoRepository;
+
+    @Autowired
+    private EmpresaSaldoJpaRepository empresaSaldoRepository;
+
+    @Autowired
+    private EmpresaCacheAdapter empresaCache;
+
     private static final String CUENTA_ORIGEN = "11111-1";
     private static final String CUENTA_DESTINO = "22222-2";
 
     @BeforeEach
     void setUp() {
         transferenciaRepository.deleteAll();
+        movimientoRepository.deleteAll();
+        empresaSaldoRepository.deleteAll();
         empresaRepository.deleteAll();
+        empresaCache.vaciar();
 
         EmpresaEntity empresaOrigen = new EmpresaEntity();
         empresaOrigen.setId(String.valueOf(UUID.randomUUID()));
@@ -56,7 +74,7 @@ class TransferenciaIntegrationTest {
         empresaOrigen.setRazonSocial("Empresa Origen");
         empresaOrigen.setCuit(Cuit.of("30111111111"));
         empresaOrigen.setNumeroCuenta(NumeroCuenta.of(CUENTA_ORIGEN));
-        empresaOrigen.setSaldo(new BigDecimal("1000.00"));
+        empresaOrigen.setSaldo(Monto.of("1000.00"));
         empresaOrigen.setFechaAdhesion(LocalDate.now());
 
         EmpresaEntity empresaDestino = new EmpresaEntity();
@@ -65,7 +83,7 @@ class TransferenciaIntegrationTest {
         empresaDestino.setRazonSocial("Empresa Destino");
         empresaDestino.setCuit(Cuit.of("30222222222"));
         empresaDestino.setNumeroCuenta(NumeroCuenta.of(CUENTA_DESTINO));
-        empresaDestino.setSaldo(new BigDecimal("500.00"));
+        empresaDestino.setSaldo(Monto.of("500.00"));
         empresaDestino.setFechaAdhesion(LocalDate.now());
 
         empresaRepository.save(empresaOrigen);
@@ -88,11 +106,8 @@ class TransferenciaIntegrationTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isCreated());
 
-        EmpresaEntity origenActualizada = empresaRepository.findByNumeroCuenta(NumeroCuenta.of(CUENTA_ORIGEN)).get();
-        EmpresaEntity destinoActualizada = empresaRepository.findByNumeroCuenta(NumeroCuenta.of(CUENTA_DESTINO)).get();
-
-        assertEquals(0, new BigDecimal("749.50").compareTo(origenActualizada.getSaldo()));
-        assertEquals(0, new BigDecimal("750.50").compareTo(destinoActualizada.getSaldo()));
+        assertEquals(Monto.of("749.50"), saldo(CUENTA_ORIGEN));
+        assertEquals(Monto.of("750.50"), saldo(CUENTA_DESTINO));
         assertEquals(1, transferenciaRepository.count());
     }
 
@@ -113,11 +128,45 @@ class TransferenciaIntegrationTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message", is("Fondos insuficientes en la cuenta " + CUENTA_ORIGEN)));
 
-        EmpresaEntity origenSinCambios = empresaRepository.findByNumeroCuenta(NumeroCuenta.of(CUENTA_ORIGEN)).get();
-        EmpresaEntity destinoSinCambios = empresaRepository.findByNumeroCuenta(NumeroCuenta.of(CUENTA_DESTINO)).get();
-
-        assertEquals(0, new BigDecimal("1000.00").compareTo(origenSinCambios.getSaldo()));
-        assertEquals(0, new BigDecimal("500.00").compareTo(destinoSinCambios.getSaldo()));
+        assertEquals(Monto.of("1000.00"), saldo(CUENTA_ORIGEN));
+        assertEquals(Monto.of("500.00"), saldo(CUENTA_DESTINO));
         assertEquals(0, transferenciaRepository.count());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Debe procesar un lote en una transacción persistiendo solo las transferencias exitosas")
+    void debeProcesarLoteConRechazosParciales() throws Exception {
+
+        RealizarTransferenciaRequest transferencia = new RealizarTransferenciaRequest(
+                CUENTA_DESTINO,
+                "EMP-B",
+                CUENTA_ORIGEN,
+                new BigDecimal("400.00")
+        );
+        RealizarTransferenciaRequest cuentaInexistente = new RealizarTransferenciaRequest(
+                CUENTA_DESTINO,
+                "EMP-B",
+                "99999-9",
+                new BigDecimal("10.00")
+        );
+        RealizarTransferenciasLoteRequest request = new RealizarTransferenciasLoteRequest(
+                List.of(transferencia, cuentaInexistente, transferencia, transferencia));
+
+        mockMvc.perform(post("/transferencias/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.exitosas", is(2)))
+                .andExpect(jsonPath("$.rechazadas", is(2)))
+                .andExpect(jsonPath("$.resultados[1].estado", is("RECHAZADA")))
+                .andExpect(jsonPath("$.resultados[3].mensaje", is("Fondos insuficientes en la cuenta " + CUENTA_ORIGEN)));
+
+        assertEquals(Monto.of("200.00"), saldo(CUENTA_ORIGEN));
+        assertEquals(Monto.of("1300.00"), saldo(CUENTA_DESTINO));
+        assertEquals(2, transferenciaRepository.count());
+    }
+
+    private Monto saldo(String numeroCuenta) {
+        return Monto.of(movimientoRepository.saldoActual(numeroCuenta).orElseThrow());
+    }
+}
@@ -0,0 +1,123 @@
+package com.sooft.challenge.infrastructure.adapter.out.journal;
+
+import com.sooft.challenge.domain.model.AsientoLedger;
+import com.sooft.challenge.domain.model.Monto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArchivoLedgerJournalAdapterTest {
+
+    @TempDir
+    Path directorio;
+
+    private ArchivoLedgerJournalAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new ArchivoLedgerJournalAdapter(directorio.toString(), DataSize.ofMegabytes(64));
+    }
+
+    @AfterEach
+    void tearDown() {
+        adapter.cerrar();
+    }
+
+    @Test
+    @DisplayName("Debe leer los asientos escritos posteriores a la secuencia indicada")
+    void agregarYLeerDesde() {
+        adapter.agregar(0, List.of(asiento(1), asiento(2)));
+        adapter.agregar(0, List.of(asiento(3)));
+
+        List<AsientoLedger> asientos = adapter.leerDesde(0, 1);
+
+        assertEquals(2, asientos.size());
+        assertEquals(asiento(2), asientos.get(0));
+        assertEquals(asiento(3), asientos.get(1));
+        assertEquals(3, adapter.ultimaSecuencia(0));
+        assertEquals(30, adapter.ultimoOrden(0));
+        assertTrue(adapter.leerDesde(1, 0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe descartar una escritura incompleta al final del journal")
+    void descartaLineaIncompleta() throws IOException {
+        adapter.agregar(0, List.of(asiento(1)));
+        adapter.cerrar();
+        Files.writeString(directorio.resolve("particion-0.journal"), "0|2|id-a|1-111",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        adapter = new ArchivoLedgerJournalAdapter(directorio.toString(), DataSize.ofMegabytes(64));
+        assertEquals(1, adapter.ultimaSecuencia(0));
+
+        adapter.agregar(0, List.of(asiento(2)));
+
+        assertEquals(List.of(asiento(1), asiento(2)), adapter.leerDesde(0, 0));
+    }
+
+    @Test
+    @DisplayName("Debe leer las líneas escritas antes de registrar el orden de confirmación")
+    void leeLineasSinOrden() throws IOException {
+        Files.writeString(directorio.resolve("particion-0.journal"),
+                "0|1|id-a|1-111111-11|EMP-B|2-222222-22|10.50|2024-05-20\n", StandardCharsets.UTF_8);
+
+        var asientos = adapter.leerDesde(0, 0);
+
+        assertEquals(1, asientos.size());
+        assertEquals(0, asientos.get(0).getOrden());
+        assertEquals(1, asientos.get(0).getSecuencia());
+    }
+
+    @Test
+    @DisplayName("Debe rotar el journal en segmentos y descartar los ya proyectados")
+    void rotaYDescartaSegmentos() {
+        adapter.cerrar();
+        adapter = new ArchivoLedgerJournalAdapter(directorio.toString(), DataSize.ofBytes(1));
+        adapter.agregar(0, List.of(asiento(1)));
+        adapter.agregar(0, List.of(asiento(2)));
+        adapter.agregar(0, List.of(asiento(3)));
+
+        assertTrue(Files.exists(directorio.resolve("particion-0-1.journal")));
+        assertTrue(Files.exists(directorio.resolve("particion-0-2.journal")));
+        assertEquals(List.of(asiento(2), asiento(3)), adapter.leerDesde(0, 1));
+
+        adapter.descartarHasta(0, 2);
+
+        assertFalse(Files.exists(directorio.resolve("particion-0-1.journal")));
+        assertFalse(Files.exists(directorio.resolve("particion-0-2.journal")));
+        adapter.cerrar();
+        adapter = new ArchivoLedgerJournalAdapter(directorio.toString(), DataSize.ofBytes(1));
+        assertEquals(List.of(asiento(3)), adapter.leerDesde(0, 0));
+        assertEquals(3, adapter.ultimaSecuencia(0));
+        assertEquals(30, adapter.ultimoOrden(0));
+    }
+
+    private AsientoLedger asiento(long secuencia) {
+        return AsientoLedger.builder()
+                .particion(0)
+                .secuencia(secuencia)
+                .orden(secuencia * 10)
+                .idEmpresaDebito("id-a")
+                .cuentaDebito("1-111111-11")
+                .codigoEmpresaCredito("EMP-B")
+                .cuentaCredito("2-222222-22")
+                .importe(Monto.of("10.50"))
+                .fecha(LocalDate.of(2024, 5, 20))
+                .build();
+    }
+}
@@ -1,19 +1,30 @@
 package com.sooft.challenge.infrastructure.adapter.out.persistence.adapter;
 
 import com.sooft.challenge.domain.model.Cuit;
+import com.sooft.challenge.domain.model.CursorEmpresa;
 import com.sooft.challenge.domain.model.Empresa;
+import com.sooft.challenge.domain.model.Monto;
 import com.sooft.challenge.domain.model.NumeroCuenta;
 import com.sooft.challenge.infrastructure.adapter.out.persistence.entity.EmpresaEntity;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.entity.EmpresaSaldoEntity;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.entity.MovimientoEntity;
 import com.sooft.challenge.infrastructure.adapter.out.persistence.mapper.EmpresaMapperImpl;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.repository.EmpresaJpaRepository;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.repository.EmpresaSaldoJpaRepository;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.repository.MovimientoJpaRepository;
 import com.sooft.challenge.infrastructure.config.TestClockConfiguration;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -28,6 +39,15 @@ class EmpresaPersistenceAdapterTest {
     @Autowired
     private EmpresaPersistenceAdapter empresaPersistenceAdapter;
 
+    @Autowired
+    private EmpresaJpaRepository empresaJpaRepository;
+
+    @Autowired
+    private MovimientoJpaRepository movimientoJpaRepository;
+
+    @Autowired
+    private EmpresaSaldoJpaRepository empresaSaldoJpaRepository;
+
     @Test
     void guardarEmpresa_retornaEmpresaGuardada() {
 
@@ -37,7 +57,7 @@ class EmpresaPersistenceAdapterTest {
                 .razonSocial("Test Corp")
                 .cuit(Cuit.of("30-99999999-7"))
                 .fechaAdhesion(LocalDate.now())
-                .saldo(BigDecimal.ZERO)
+                .saldo(Monto.CERO)
                 .numeroCuenta(NumeroCuenta.of("987654321"))
                 .build();
 
@@ -47,6 +67,7 @@ class EmpresaPersistenceAdapterTest {
         assertThat(encontrada).isNotNull();
         assertThat(encontrada.getCodigo()).isEqualTo("EMP-TEST");
         assertThat(encontrada.getCuit().getValor()).isEqualTo("30-99999999-7");
+        assertThat(empresaGuardada.getSaldo()).isEqualTo(Monto.CERO);
     }
 
     @Test
@@ -58,7 +79,7 @@ class EmpresaPersistenceAdapterTest {
         entity.setRazonSocial("Find Corp");
         entity.setCuit(Cuit.of("30-88888888-8"));
         entity.setFechaAdhesion(LocalDate.now());
-        entity.setSaldo(BigDecimal.ZERO);
+        entity.setSaldo(Monto.CERO);
         entity.setNumeroCuenta(NumeroCuenta.of("123456789"));
         entityManager.merge(entity);
 
@@ -67,4 +88,223 @@ class EmpresaPersistenceAdapterTest {
         assertThat(resultado).isPresent();
         assertThat(resultado.get().getCodigo()).isEqualTo("EMP-FIND");
     }
-}
\ No newline at end of file
+
+    @Test
+    void debitarSiHayFondos_conSaldoSuficiente_registraMovimientoSinModificarLaEmpresa() {
+
+        var entity = nuevaEmpresaEntity("EMP-DEB", "30-77777777-7", "555555555", Monto.of("100.00"));
+
+        var debitado = empresaPersistenceAdapter.debitarSiHayFondos(NumeroCuenta.of("555555555"), Monto.of("60.00"));
+
+        assertThat(debitado).isTrue();
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(entityManager.find(EmpresaEntity.class, entity.getId()).getSaldo()).isEqualByComparingTo(Monto.of("100.00"));
+        assertThat(empresaPersistenceAdapter.findSaldoByNumeroCuenta(NumeroCuenta.of("555555555"))).contains(Monto.of("40.00"));
+        assertThat(empresaPersistenceAdapter.findByCodigo("EMP-DEB").orElseThrow().getSaldo()).isEqualByComparingTo(Monto.of("40.00"));
+    }
+
+    @Test
+    void debitarSiHayFondos_sinSaldoSuficiente_noRegistraMovimiento() {
+
+        nuevaEmpresaEntity("EMP-SIN", "30-66666666-6", "444444444", Monto.of("50.00"));
+
+        assertThat(empresaPersistenceAdapter.debitarSiHayFondos(NumeroCuenta.of("444444444"), Monto.of("30.00"))).isTrue();
+        assertThat(empresaPersistenceAdapter.debitarSiHayFondos(NumeroCuenta.of("444444444"), Monto.of("20.01"))).isFalse();
+        assertThat(empresaPersistenceAdapter.debitarSiHayFondos(NumeroCuenta.of("999999999"), Monto.of("1.00"))).isFalse();
+
+        assertThat(empresaPersistenceAdapter.findSaldoByNumeroCuenta(NumeroCuenta.of("444444444"))).contains(Monto.of("20.00"));
+    }
+
+    @Test
+    void acreditar_agregaMovimientoPorCodigo() {
+
+        nuevaEmpresaEntity("EMP-CRE", "30-55555555-5", "333333333", Monto.of("10.00"));
+
+        assertThat(empresaPersistenceAdapter.acreditar("EMP-CRE", Monto.of("15.50"))).isTrue();
+        assertThat(empresaPersistenceAdapter.acreditar("EMP-NO-EXISTE", Monto.of("15.50"))).isFalse();
+
+        assertThat(empresaPersistenceAdapter.findSaldoByNumeroCuenta(NumeroCuenta.of("333333333"))).contains(Monto.of("25.50"));
+        assertThat(empresaPersistenceAdapter.findSaldoByNumeroCuenta(NumeroCuenta.of("999999999"))).isEmpty();
+    }
+
+    @Test
+    void debitarSiHayFondos_consolidaLosMovimientosPendientesEnElSaldo() {
+
+        var entity = nuevaEmpresaEntity("EMP-PEN", "30-44444444-4", "111111119", Monto.of("10.00"));
+        movimiento(entity.getId(), "20.00", LocalDate.of(2024, 5, 19));
+        movimiento(entity.getId(), "5.00", LocalDate.of(2024, 5, 20));
+
+        assertThat(empresaPersistenceAdapter.debitarSiHayFondos(NumeroCuenta.of("111111119"), Monto.of("30.00"))).isTrue();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(movimientoJpaRepository.findByEmpresaIdAndCompactadoFalse(entity.getId())).isEmpty();
+        assertThat(saldoConsolidado(entity.getId())).isEqualByComparingTo("5.00");
+        assertThat(empresaPersistenceAdapter.debitarSiHayFondos(NumeroCuenta.of("111111119"), Monto.of("5.01"))).isFalse();
+        assertThat(empresaPersistenceAdapter.findSaldoByNumeroCuenta(NumeroCuenta.of("111111119"))).contains(Monto.of("5.00"));
+    }
+
+    @Test
+    void compactarSaldos_consolidaLasEmpresasConMovimientosPendientesYConservaLaHistoria() {
+
+        var entity = nuevaEmpresaEntity("EMP-SNP", "30-33333333-3", "222222222", Monto.of("100.00"));
+        movimiento(entity.getId(), "-30.00", LocalDate.of(2024, 5, 10));
+        movimiento(entity.getId(), "20.00", LocalDate.of(2024, 5, 15));
+        movimiento(entity.getId(), "-5.00", LocalDate.of(2024, 5, 20));
+
+        assertThat(empresaPersistenceAdapter.compactarSaldos(10)).isEqualTo(1);
+        assertThat(empresaPersistenceAdapter.compactarSaldos(10)).isZero();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(saldoConsolidado(entity.getId())).isEqualByComparingTo("85.00");
+        movimiento(entity.getId(), "15.00", LocalDate.of(2024, 5, 20));
+        assertThat(empresaPersistenceAdapter.findSaldoByNumeroCuenta(NumeroCuenta.of("222222222"))).contains(Monto.of("100.00"));
+        assertThat(movimientoJpaRepository.saldoAl("222222222", LocalDate.of(2024, 5, 14))).contains(new BigDecimal("70.00"));
+        assertThat(movimientoJpaRepository.saldoAl("222222222", LocalDate.of(2024, 5, 1))).contains(new BigDecimal("100.00"));
+    }
+
+    @Test
+    void saldoFragmentado_acreditaEnSlotsYDebitaDrenandolosEnOrden() {
+
+        var entity = nuevaEmpresaEntity("EMP-HOT", "30-71717171-7", "717171717", Monto.of("10.00"));
+        movimiento(entity.getId(), "20.00", LocalDate.of(2024, 5, 19));
+
+        assertThat(empresaPersistenceAdapter.fragmentarSaldo("EMP-HOT", 4)).isTrue();
+        assertThat(empresaPersistenceAdapter.fragmentarSaldo("EMP-HOT", 4)).isFalse();
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(empresaPersistenceAdapter.acreditar("EMP-HOT", Monto.of("5.00"))).isTrue();
+        }
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(empresaPersistenceAdapter.findByCodigo("EMP-HOT").orElseThrow().getSaldo()).isEqualTo(Monto.of("70.00"));
+
+        assertThat(empresaPersistenceAdapter.debitarSiHayFondos(NumeroCuenta.of("717171717"), Monto.of("65.00"))).isTrue();
+        assertThat(empresaPersistenceAdapter.debitarSiHayFondos(NumeroCuenta.of("717171717"), Monto.of("5.01"))).isFalse();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(entityManager.find(EmpresaEntity.class, entity.getId()).getSlotsSaldo()).isEqualTo(4);
+        assertThat(movimientoJpaRepository.findByEmpresaIdAndCompactadoFalse(entity.getId())).isEmpty();
+        assertThat(saldoConsolidado(entity.getId())).isEqualByComparingTo("5.00");
+        assertThat(empresaPersistenceAdapter.findSaldoByNumeroCuenta(NumeroCuenta.of("717171717"))).contains(Monto.of("5.00"));
+    }
+
+    @Test
+    void findAllPorCursor_recorreTodasLasEmpresasSinRepetirNiSaltear() {
+        var codigos = List.of("EMP-K1", "EMP-K2", "EMP-K3", "EMP-K4", "EMP-K5");
+        for (int i = 0; i < codigos.size(); i++) {
+            var entity = nuevaEmpresaEntity(codigos.get(i), "30-1111111" + i + "-" + i, "77777777" + i, Monto.CERO);
+            entity.setRazonSocial(i < 3 ? "Repetida S.A." : "Zeta " + i);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<String> recorridas = new ArrayList<>();
+        CursorEmpresa cursor = null;
+        do {
+            var pagina = empresaPersistenceAdapter.findAll(cursor, 2);
+            assertThat(pagina.getNumberOfElements()).isLessThanOrEqualTo(2);
+            pagina.forEach(empresa -> recorridas.add(empresa.getCodigo()));
+            var ultima = pagina.getContent().get(pagina.getNumberOfElements() - 1);
+            cursor = pagina.hasNext() ? CursorEmpresa.of(ultima.getRazonSocial(), ultima.getId()) : null;
+        } while (cursor != null);
+
+        assertThat(recorridas.stream().filter(codigos::contains).toList()).hasSize(5).doesNotHaveDuplicates();
+        assertThat(recorridas.subList(recorridas.size() - 2, recorridas.size())).containsExactly("EMP-K4", "EMP-K5");
+    }
+
+    @Test
+    void findAllByCodigoIn_cargaLasEmpresasExistentesEnUnaConsulta() {
+        nuevaEmpresaEntity("EMP-M1", "30-44444444-1", "555555551", Monto.of("10.00"));
+        nuevaEmpresaEntity("EMP-M2", "30-44444444-2", "555555552", Monto.of("20.00"));
+        nuevaEmpresaEntity("EMP-M3", "30-44444444-3", "555555553", Monto.CERO);
+        entityManager.flush();
+        entityManager.clear();
+
+        var empresas = empresaPersistenceAdapter.findAllByCodigoIn(List.of("EMP-M1", "EMP-M2", "NO-EXISTE"));
+
+        assertThat(empresas).extracting("codigo").containsExactlyInAnyOrder("EMP-M1", "EMP-M2");
+        assertThat(empresas).extracting("saldo").containsExactlyInAnyOrder(Monto.of("10.00"), Monto.of("20.00"));
+    }
+
+    @Test
+    void findAllYRecorrerTodas_informanElSaldoConLosMovimientosPendientes() {
+        var entity = nuevaEmpresaEntity("EMP-P1", "30-44444444-5", "555555554", Monto.of("10.00"));
+        assertThat(empresaPersistenceAdapter.debitarSiHayFondos(NumeroCuenta.of("555555554"), Monto.of("4.00"))).isTrue();
+        movimiento(entity.getId(), "7.50", LocalDate.of(2024, 5, 20));
+        entityManager.clear();
+
+        var pagina = empresaPersistenceAdapter.findAll(PageRequest.of(0, 50));
+        List<Empresa> recorridas = new ArrayList<>();
+        empresaPersistenceAdapter.recorrerTodas(recorridas::add);
+
+        assertThat(pagina.getContent()).filteredOn(empresa -> empresa.getCodigo().equals("EMP-P1"))
+                .extracting("saldo").containsExactly(Monto.of("13.50"));
+        assertThat(recorridas).filteredOn(empresa -> empresa.getCodigo().equals("EMP-P1"))
+                .extracting("saldo").containsExactly(Monto.of("13.50"));
+    }
+
+    @Test
+    void findEmpresasAdheridasPorCursor_ordenaPorFechaDescendenteYContinuaDesdeElCursor() {
+        var reciente = nuevaEmpresaEntity("EMP-F1", "30-22222222-1", "666666661", Monto.CERO);
+        reciente.setFechaAdhesion(LocalDate.of(2024, 5, 15));
+        var anterior = nuevaEmpresaEntity("EMP-F2", "30-22222222-2", "666666662", Monto.CERO);
+        anterior.setFechaAdhesion(LocalDate.of(2024, 5, 1));
+        var vieja = nuevaEmpresaEntity("EMP-F3", "30-22222222-3", "666666663", Monto.CERO);
+        vieja.setFechaAdhesion(LocalDate.of(2024, 1, 1));
+        entityManager.flush();
+
+        var primera = empresaPersistenceAdapter.findEmpresasAdheridasEnElUltimoMes(null, 1);
+        assertThat(primera.getContent()).extracting("codigo").containsExactly("EMP-F1");
+        assertThat(primera.hasNext()).isTrue();
+
+        var cursor = CursorEmpresa.of("2024-05-15", primera.getContent().get(0).getId());
+        var segunda = empresaPersistenceAdapter.findEmpresasAdheridasEnElUltimoMes(cursor, 1);
+        assertThat(segunda.getContent()).extracting("codigo").containsExactly("EMP-F2");
+        assertThat(segunda.hasNext()).isFalse();
+    }
+
+    @Test
+    void findEmpresasConTransferencias_filtraPorUltimaTransferenciaYAceptaElOrdenAnterior() {
+        var activa = nuevaEmpresaEntity("EMP-ACT", "30-33333333-1", "333333331", Monto.CERO);
+        var inactiva = nuevaEmpresaEntity("EMP-INA", "30-33333333-2", "333333332", Monto.CERO);
+        nuevaEmpresaEntity("EMP-NUN", "30-33333333-3", "333333333", Monto.CERO);
+        empresaJpaRepository.registrarUltimaTransferencia(activa.getId(), LocalDate.of(2024, 5, 18));
+        empresaJpaRepository.registrarUltimaTransferencia(inactiva.getId(), LocalDate.of(2024, 3, 1));
+
+        var pagina = empresaPersistenceAdapter.findEmpresasConTransferenciasEnElUltimoMes(
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "empresa.razonSocial")));
+
+        assertThat(pagina.getContent()).extracting("codigo").containsExactly("EMP-ACT");
+        assertThat(pagina.getTotalElements()).isEqualTo(1);
+    }
+
+    private EmpresaEntity nuevaEmpresaEntity(String codigo, String cuit, String numeroCuenta, Monto saldo) {
+        var entity = new EmpresaEntity();
+        entity.setId(UUID.randomUUID().toString());
+        entity.setCodigo(codigo);
+        entity.setRazonSocial(codigo + " Corp");
+        entity.setCuit(Cuit.of(cuit));
+        entity.setFechaAdhesion(LocalDate.now());
+        entity.setSaldo(saldo);
+        entity.setNumeroCuenta(NumeroCuenta.of(numeroCuenta));
+        var guardada = entityManager.merge(entity);
+        entityManager.flush();
+        return guardada;
+    }
+
+    private void movimiento(String empresaId, String importe, LocalDate fecha) {
+        entityManager.persist(new MovimientoEntity(empresaId, new BigDecimal(importe), fecha));
+        entityManager.flush();
+    }
+
+    private BigDecimal saldoConsolidado(String empresaId) {
+        return empresaSaldoJpaRepository.findAll().stream()
+                .filter(saldo -> saldo.getEmpresaId().equals(empresaId))
+                .map(EmpresaSaldoEntity::getSaldo)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
@@ -3,6 +3,7 @@ package com.sooft.challenge.infrastructure.adapter.out.persistence.adapter;
 import com.sooft.challenge.domain.model.IdempotencyRecord;
 import com.sooft.challenge.infrastructure.adapter.out.persistence.mapper.IdempotencyKeyMapperImpl;
 import com.sooft.challenge.infrastructure.adapter.out.persistence.repository.IdempotencyKeyJpaRepository;
+import com.sooft.challenge.infrastructure.config.TestClockConfiguration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,7 +19,7 @@ import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
-@Import({IdempotencyKeyPersistenceAdapter.class, IdempotencyKeyMapperImpl.class})
+@Import({IdempotencyKeyPersistenceAdapter.class, IdempotencyKeyMapperImpl.class, TestClockConfiguration.class})
 class IdempotencyKeyPersistenceAdapterTest {
 
     @Autowired
@@ -37,7 +39,8 @@ class IdempotencyKeyPersistenceAdapterTest {
         String key = UUID.randomUUID().toString();
         IdempotencyRecord recordToSave = IdempotencyRecord.builder()
                 .idempotencyKey(key)
-                .responseBody("{\"status\":\"ok\"}")
+                .requestHash(new byte[]{1, 2, 3})
+                .responseBody("{\"status\":\"ok\"}".getBytes(StandardCharsets.UTF_8))
                 .responseStatus(200)
                 .createdAt(LocalDateTime.now())
                 .build();
@@ -50,7 +53,8 @@ class IdempotencyKeyPersistenceAdapterTest {
         IdempotencyRecord foundRecord = foundRecordOpt.get();
 
         assertEquals(recordToSave.getIdempotencyKey(), foundRecord.getIdempotencyKey());
-        assertEquals(recordToSave.getResponseBody(), foundRecord.getResponseBody());
+        assertArrayEquals(recordToSave.getRequestHash(), foundRecord.getRequestHash());
+        assertArrayEquals(recordToSave.getResponseBody(), foundRecord.getResponseBody());
         assertEquals(recordToSave.getResponseStatus(), foundRecord.getResponseStatus());
         assertEquals(recordToSave.getCreatedAt().withNano(0), foundRecord.getCreatedAt().withNano(0));
 
@@ -66,4 +70,70 @@ class IdempotencyKeyPersistenceAdapterTest {
 
         assertTrue(foundRecordOpt.isEmpty(), "No se debería encontrar ningún registro.");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Debe tratar como inexistente una clave cuyo TTL venció aunque todavía no se haya purgado")
+    void shouldIgnoreExpiredRecordBeforePurge() {
+        idempotencyKeyPersistenceAdapter.save(registro("vencida", LocalDateTime.of(2024, 5, 19, 11, 59)));
+        idempotencyKeyPersistenceAdapter.save(registro("vigente", LocalDateTime.of(2024, 5, 19, 12, 1)));
+
+        assertTrue(idempotencyKeyPersistenceAdapter.findById("vencida").isEmpty());
+        assertTrue(idempotencyKeyPersistenceAdapter.findById("vigente").isPresent());
+        assertEquals(2, idempotencyKeyJpaRepository.count());
+    }
+
+    @Test
+    @DisplayName("Debe purgar las claves vencidas en lotes acotados sin tocar las vigentes")
+    void shouldPurgeExpiredRecordsInChunks() {
+        for (int i = 0; i < 5; i++) {
+            idempotencyKeyPersistenceAdapter.save(registro("vencida-" + i, LocalDateTime.of(2024, 5, 1, 0, i)));
+        }
+        idempotencyKeyPersistenceAdapter.save(registro("vigente", LocalDateTime.of(2024, 5, 20, 0, 0)));
+
+        assertEquals(2, idempotencyKeyPersistenceAdapter.purgarExpiradas(2));
+        assertEquals(2, idempotencyKeyPersistenceAdapter.purgarExpiradas(2));
+        assertEquals(1, idempotencyKeyPersistenceAdapter.purgarExpiradas(2));
+        assertEquals(0, idempotencyKeyPersistenceAdapter.purgarExpiradas(2));
+
+        assertEquals(1, idempotencyKeyJpaRepository.count());
+        assertTrue(idempotencyKeyJpaRepository.existsById("vigente"));
+    }
+
+    @Test
+    @DisplayName("Debe reservar una clave una sola vez y completarla al guardar la respuesta")
+    void shouldReserveKeyOnceAndCompleteIt() {
+        String key = UUID.randomUUID().toString();
+
+        assertTrue(idempotencyKeyPersistenceAdapter.reservar(key));
+        assertFalse(idempotencyKeyPersistenceAdapter.reservar(key));
+        assertTrue(idempotencyKeyPersistenceAdapter.findById(key).isEmpty(), "Una reserva en curso no es una respuesta.");
+
+        idempotencyKeyPersistenceAdapter.save(registro(key, LocalDateTime.of(2024, 5, 20, 12, 0)));
+
+        assertEquals(201, idempotencyKeyPersistenceAdapter.findById(key).orElseThrow().getResponseStatus());
+    }
+
+    @Test
+    @DisplayName("Debe liberar la reserva y permitir tomar una reserva abandonada")
+    void shouldReleaseAndTakeOverStaleReservations() {
+        String liberada = UUID.randomUUID().toString();
+        assertTrue(idempotencyKeyPersistenceAdapter.reservar(liberada));
+        idempotencyKeyPersistenceAdapter.liberar(liberada);
+        assertTrue(idempotencyKeyPersistenceAdapter.reservar(liberada));
+        idempotencyKeyPersistenceAdapter.liberar(liberada);
+
+        String abandonada = UUID.randomUUID().toString();
+        idempotencyKeyJpaRepository.insertarReserva(abandonada, LocalDateTime.of(2024, 5, 20, 11, 59));
+        assertTrue(idempotencyKeyPersistenceAdapter.reservar(abandonada));
+        idempotencyKeyPersistenceAdapter.liberar(abandonada);
+    }
+
+    private IdempotencyRecord registro(String key, LocalDateTime createdAt) {
+        return IdempotencyRecord.builder()
+                .idempotencyKey(key)
+                .responseBody("{}".getBytes(StandardCharsets.UTF_8))
+                .responseStatus(201)
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.sooft.challenge.infrastructure.adapter.out.persistence.adapter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sooft.challenge.domain.model.EventoOutbox;
+import com.sooft.challenge.domain.model.Monto;
+import com.sooft.challenge.domain.model.TransferenciaRealizada;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.repository.OutboxEventoJpaRepository;
+import com.sooft.challenge.infrastructure.config.TestClockConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import({OutboxPersistenceAdapter.class, TestClockConfiguration.class, JacksonAutoConfiguration.class})
+class OutboxPersistenceAdapterTest {
+
+    @Autowired
+    private OutboxPersistenceAdapter outboxPersistenceAdapter;
+
+    @Autowired
+    private OutboxEventoJpaRepository outboxEventoJpaRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventoJpaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Debe registrar el evento con su payload y devolverlo en orden de inserción")
+    void registrarYBloquearPendientes() throws Exception {
+        outboxPersistenceAdapter.registrar(evento(10L, "1111111111"));
+        outboxPersistenceAdapter.registrar(evento(11L, "2222222222"));
+
+        List<EventoOutbox> pendientes = outboxPersistenceAdapter.bloquearPendientes(10);
+
+        assertEquals(2, pendientes.size());
+        EventoOutbox primero = pendientes.get(0);
+        assertEquals(TransferenciaRealizada.TIPO, primero.getTipo());
+        assertEquals("1111111111", primero.getClave());
+        assertEquals(LocalDateTime.of(2024, 5, 20, 12, 0), primero.getCreadoEn());
+        var payload = objectMapper.readTree(primero.getPayload());
+        assertEquals(10L, payload.get("idTransferencia").asLong());
+        assertEquals("EMP-DESTINO", payload.get("codigoEmpresaCredito").asText());
+        assertEquals(0, new BigDecimal("150.25").compareTo(payload.get("importe").decimalValue()));
+        assertEquals("2024-05-20", payload.get("fecha").asText());
+        assertEquals("2222222222", pendientes.get(1).getClave());
+    }
+
+    @Test
+    @DisplayName("Debe respetar el tamaño del lote y eliminar los eventos publicados")
+    void bloquearPendientesPorLoteYEliminar() {
+        outboxPersistenceAdapter.registrar(evento(1L, "1111111111"));
+        outboxPersistenceAdapter.registrar(evento(2L, "1111111111"));
+        outboxPersistenceAdapter.registrar(evento(3L, "1111111111"));
+
+        List<EventoOutbox> lote = outboxPersistenceAdapter.bloquearPendientes(2);
+        assertEquals(2, lote.size());
+
+        outboxPersistenceAdapter.eliminar(lote.stream().map(EventoOutbox::getId).toList());
+
+        List<EventoOutbox> restantes = outboxPersistenceAdapter.bloquearPendientes(2);
+        assertEquals(1, restantes.size());
+        assertTrue(restantes.get(0).getPayload().contains("\"idTransferencia\":3"));
+    }
+
+    private TransferenciaRealizada evento(Long id, String cuentaDebito) {
+        return TransferenciaRealizada.builder()
+                .idTransferencia(id)
+                .idEmpresaDebito("EMP-ORIGEN")
+                .cuentaDebito(cuentaDebito)
+                .codigoEmpresaCredito("EMP-DESTINO")
+                .cuentaCredito("9999999999")
+                .importe(Monto.of(new BigDecimal("150.25")))
+                .fecha(LocalDate.of(2024, 5, 20))
+                .build();
+    }
+}
@@ -0,0 +1,160 @@
+package com.sooft.challenge.infrastructure.adapter.out.persistence.adapter;
+
+import com.sooft.challenge.domain.model.ActividadEmpresa;
+import com.sooft.challenge.domain.model.Cuit;
+import com.sooft.challenge.domain.model.CursorTransferencia;
+import com.sooft.challenge.domain.model.Monto;
+import com.sooft.challenge.domain.model.NumeroCuenta;
+import com.sooft.challenge.domain.model.Transferencia;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.entity.EmpresaEntity;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.entity.TransferenciaEntity;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.mapper.EmpresaMapperImpl;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.mapper.TransferenciaMapperImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@Import({TransferenciaPersistenceAdapter.class, TransferenciaMapperImpl.class, EmpresaMapperImpl.class})
+class TransferenciaPersistenceAdapterTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransferenciaPersistenceAdapter transferenciaPersistenceAdapter;
+
+    @Test
+    void guardarTransferencias_asignaIdsDeLaSecuencia() {
+
+        var empresa = nuevaEmpresa("EMP-SEQ", "30-77777777-7", "1-777777-77");
+
+        var primera = transferenciaPersistenceAdapter.save(transferencia(empresa.getId()));
+        var segunda = transferenciaPersistenceAdapter.save(transferencia(empresa.getId()));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(primera.getId()).isNotNull();
+        assertThat(segunda.getId()).isGreaterThan(primera.getId());
+        assertThat(entityManager.find(TransferenciaEntity.class, segunda.getId())).isNotNull();
+    }
+
+    @Test
+    void guardarTransferencia_registraLaUltimaFechaSinRetroceder() {
+
+        var empresa = nuevaEmpresa("EMP-ULT", "30-66666666-6", "1-666666-66");
+
+        transferenciaPersistenceAdapter.save(transferencia(empresa.getId(), LocalDate.of(2024, 5, 10)));
+        transferenciaPersistenceAdapter.save(transferencia(empresa.getId(), LocalDate.of(2024, 5, 1)));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(entityManager.find(EmpresaEntity.class, empresa.getId()).getUltimaTransferencia())
+                .isEqualTo(LocalDate.of(2024, 5, 10));
+    }
+
+    @Test
+    void contarActividadDesde_agrupaPorEmpresaYDia() {
+
+        var empresa = nuevaEmpresa("EMP-ACT", "30-55555555-5", "1-555555-55");
+
+        transferenciaPersistenceAdapter.save(transferencia(empresa.getId(), LocalDate.of(2024, 5, 10)));
+        transferenciaPersistenceAdapter.save(transferencia(empresa.getId(), LocalDate.of(2024, 5, 10)));
+        transferenciaPersistenceAdapter.save(transferencia(empresa.getId(), LocalDate.of(2024, 5, 12)));
+        transferenciaPersistenceAdapter.save(transferencia(empresa.getId(), LocalDate.of(2024, 4, 1)));
+        entityManager.flush();
+
+        var actividad = transferenciaPersistenceAdapter.contarActividadDesde(LocalDate.of(2024, 5, 1)).stream()
+                .filter(fila -> fila.getIdEmpresa().equals(empresa.getId()))
+                .toList();
+
+        assertThat(actividad)
+                .extracting(ActividadEmpresa::getFecha, ActividadEmpresa::getCantidad, ActividadEmpresa::getRazonSocial)
+                .containsExactlyInAnyOrder(
+                        tuple(LocalDate.of(2024, 5, 10), 2L, "EMP-ACT Corp"),
+                        tuple(LocalDate.of(2024, 5, 12), 1L, "EMP-ACT Corp"));
+    }
+
+    @Test
+    void recorrerTodas_transmiteCadaTransferenciaEnOrdenDeId() {
+
+        var empresa = nuevaEmpresa("EMP-EXP", "30-88888888-8", "1-888888-88");
+        var guardadas = List.of(
+                transferenciaPersistenceAdapter.save(transferencia(empresa.getId(), LocalDate.of(2024, 5, 10))),
+                transferenciaPersistenceAdapter.save(transferencia(empresa.getId(), LocalDate.of(2024, 5, 11))),
+                transferenciaPersistenceAdapter.save(transferencia(empresa.getId(), LocalDate.of(2024, 5, 12))));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Transferencia> recorridas = new ArrayList<>();
+        long filas = transferenciaPersistenceAdapter.recorrerTodas(recorridas::add);
+
+        assertThat(filas).isEqualTo(recorridas.size());
+        assertThat(recorridas).extracting(Transferencia::getId)
+                .containsSubsequence(guardadas.stream().map(Transferencia::getId).toList());
+        assertThat(recorridas).filteredOn(t -> t.getIdEmpresa().equals(empresa.getId())).hasSize(3);
+    }
+
+    @Test
+    void findByEmpresa_recorrePorFechaDescendenteDentroDelRango() {
+
+        var empresa = nuevaEmpresa("EMP-HIS", "30-44444444-4", "1-444444-44");
+        var otra = nuevaEmpresa("EMP-OTR", "30-43434343-4", "1-434343-43");
+        var mayo20a = transferenciaPersistenceAdapter.save(transferencia(empresa.getId(), LocalDate.of(2024, 5, 20)));
+        var mayo20b = transferenciaPersistenceAdapter.save(transferencia(empresa.getId(), LocalDate.of(2024, 5, 20)));
+        var mayo15 = transferenciaPersistenceAdapter.save(transferencia(empresa.getId(), LocalDate.of(2024, 5, 15)));
+        transferenciaPersistenceAdapter.save(transferencia(empresa.getId(), LocalDate.of(2024, 4, 30)));
+        transferenciaPersistenceAdapter.save(transferencia(otra.getId(), LocalDate.of(2024, 5, 18)));
+        entityManager.flush();
+        entityManager.clear();
+
+        var desde = LocalDate.of(2024, 5, 1);
+        var hasta = LocalDate.of(2024, 5, 31);
+        var primera = transferenciaPersistenceAdapter.findByEmpresa(empresa.getId(), desde, hasta, null, 2);
+        var ultima = primera.getContent().get(1);
+        var segunda = transferenciaPersistenceAdapter.findByEmpresa(empresa.getId(), desde, hasta,
+                CursorTransferencia.of(ultima.getFecha(), ultima.getId()), 2);
+
+        assertThat(primera.hasNext()).isTrue();
+        assertThat(primera.getContent()).extracting(Transferencia::getId).containsExactly(mayo20b.getId(), mayo20a.getId());
+        assertThat(segunda.hasNext()).isFalse();
+        assertThat(segunda.getContent()).extracting(Transferencia::getId).containsExactly(mayo15.getId());
+        assertThat(segunda.getContent().get(0))
+                .extracting(Transferencia::getIdEmpresa, Transferencia::getImporte, Transferencia::getCuentaCredito)
+                .containsExactly(empresa.getId(), Monto.of("1.00"), "2-222222-22");
+    }
+
+    private EmpresaEntity nuevaEmpresa(String codigo, String cuit, String numeroCuenta) {
+        var empresa = new EmpresaEntity();
+        empresa.setCodigo(codigo);
+        empresa.setRazonSocial(codigo + " Corp");
+        empresa.setCuit(Cuit.of(cuit));
+        empresa.setFechaAdhesion(LocalDate.now());
+        empresa.setSaldo(Monto.of("10.00"));
+        empresa.setNumeroCuenta(NumeroCuenta.of(numeroCuenta));
+        return entityManager.persistAndFlush(empresa);
+    }
+
+    private Transferencia transferencia(String idEmpresa) {
+        return transferencia(idEmpresa, LocalDate.now());
+    }
+
+    private Transferencia transferencia(String idEmpresa, LocalDate fecha) {
+        return Transferencia.builder()
+                .importe(Monto.of("1.00"))
+                .idEmpresa(idEmpresa)
+                .cuentaDebito("1-777777-77")
+                .cuentaCredito("2-222222-22")
+                .fecha(fecha)
+                .build();
+    }
+}
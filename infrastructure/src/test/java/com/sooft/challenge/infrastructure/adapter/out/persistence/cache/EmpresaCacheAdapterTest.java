@@ -0,0 +1,87 @@
+package com.sooft.challenge.infrastructure.adapter.out.persistence.cache;
+
+import com.sooft.challenge.domain.model.Cuit;
+import com.sooft.challenge.domain.model.Empresa;
+import com.sooft.challenge.domain.model.Monto;
+import com.sooft.challenge.domain.model.NumeroCuenta;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.adapter.EmpresaPersistenceAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmpresaCacheAdapterTest {
+
+    private static final Cuit CUIT = Cuit.of("30-11111111-1");
+    private static final NumeroCuenta CUENTA = NumeroCuenta.of("111111111");
+
+    @Mock
+    private EmpresaPersistenceAdapter delegado;
+
+    private EmpresaCacheAdapter cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new EmpresaCacheAdapter(delegado, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void findByCodigo_cacheaLaIdentidadPorLasTresClavesSinElSaldo() {
+        when(delegado.findByCodigo("EMP-1")).thenReturn(Optional.of(empresa()));
+
+        var primera = cache.findByCodigo("EMP-1").orElseThrow();
+        var porCuenta = cache.findByNumeroCuenta(CUENTA).orElseThrow();
+        var porCuit = cache.findByCuit(CUIT).orElseThrow();
+
+        assertThat(primera.getRazonSocial()).isEqualTo("Empresa Uno");
+        assertThat(primera.getSaldo()).isNull();
+        assertThat(porCuenta.getId()).isEqualTo("id-1");
+        assertThat(porCuit.getCodigo()).isEqualTo("EMP-1");
+        assertThat(porCuenta).isNotSameAs(porCuit);
+        verify(delegado, times(1)).findByCodigo("EMP-1");
+        verifyNoMoreInteractions(delegado);
+        assertThat(cache.caches().get("empresas.codigo").stats().missCount()).isEqualTo(1);
+        assertThat(cache.caches().get("empresas.numero-cuenta").stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findByCuit_noCacheaLasEmpresasInexistentes() {
+        when(delegado.findByCuit(CUIT)).thenReturn(Optional.empty()).thenReturn(Optional.of(empresa()));
+
+        assertThat(cache.findByCuit(CUIT)).isEmpty();
+        assertThat(cache.findByCuit(CUIT)).isPresent();
+        verify(delegado, times(2)).findByCuit(CUIT);
+    }
+
+    @Test
+    void findSaldoByNumeroCuenta_siempreConsultaAlDelegado() {
+        when(delegado.findSaldoByNumeroCuenta(CUENTA)).thenReturn(Optional.of(Monto.of("10.00"))).thenReturn(Optional.of(Monto.of("7.50")));
+
+        assertThat(cache.findSaldoByNumeroCuenta(CUENTA)).contains(Monto.of("10.00"));
+        assertThat(cache.findSaldoByNumeroCuenta(CUENTA)).contains(Monto.of("7.50"));
+    }
+
+    private Empresa empresa() {
+        return Empresa.builder()
+                .id("id-1")
+                .codigo("EMP-1")
+                .cuit(CUIT)
+                .razonSocial("Empresa Uno")
+                .fechaAdhesion(LocalDate.of(2024, 5, 1))
+                .numeroCuenta(CUENTA)
+                .saldo(Monto.of("100.00"))
+                .build();
+    }
+}
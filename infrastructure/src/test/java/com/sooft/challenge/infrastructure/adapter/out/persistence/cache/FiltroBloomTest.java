@@ -0,0 +1,72 @@
+package com.sooft.challenge.infrastructure.adapter.out.persistence.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FiltroBloomTest {
+
+    @Test
+    void puedeContener_nuncaDaFalsosNegativosYAcotaLosFalsosPositivos() {
+        var filtro = new FiltroBloom(10_000, 0.01, Duration.ofHours(1), Clock.systemUTC());
+        var agregadas = IntStream.range(0, 10_000).mapToObj(i -> UUID.randomUUID().toString()).toList();
+        agregadas.forEach(filtro::agregar);
+
+        assertThat(agregadas).allMatch(filtro::puedeContener);
+        long falsosPositivos = IntStream.range(0, 10_000)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .filter(filtro::puedeContener)
+                .count();
+        assertThat(falsosPositivos).isLessThan(300);
+    }
+
+    @Test
+    void rotacion_conservaLasClavesUnPeriodoCompletoYLuegoLasDescarta() {
+        var clock = new RelojAjustable(Instant.parse("2024-05-20T12:00:00Z"));
+        var filtro = new FiltroBloom(1_000, 0.01, Duration.ofHours(1), clock);
+        filtro.agregar("clave-vieja");
+
+        clock.avanzar(Duration.ofMinutes(61));
+        filtro.agregar("clave-nueva");
+        assertThat(filtro.puedeContener("clave-vieja")).isTrue();
+
+        clock.avanzar(Duration.ofMinutes(61));
+        assertThat(filtro.puedeContener("clave-nueva")).isTrue();
+        assertThat(filtro.puedeContener("clave-vieja")).isFalse();
+    }
+
+    private static final class RelojAjustable extends Clock {
+
+        private Instant instante;
+
+        private RelojAjustable(Instant instante) {
+            this.instante = instante;
+        }
+
+        private void avanzar(Duration duracion) {
+            instante = instante.plus(duracion);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instante;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.sooft.challenge.infrastructure.adapter.out.persistence.cache;
+
+import com.sooft.challenge.domain.model.IdempotencyRecord;
+import com.sooft.challenge.infrastructure.adapter.out.persistence.adapter.IdempotencyKeyPersistenceAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyKeyCacheAdapterTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-05-20T12:00:00Z"), ZoneId.of("UTC"));
+
+    @Mock
+    private IdempotencyKeyPersistenceAdapter delegado;
+
+    private IdempotencyKeyCacheAdapter cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new IdempotencyKeyCacheAdapter(delegado, CLOCK, Duration.ofHours(24), 100, 1_000, 0.01);
+    }
+
+    @Test
+    void findById_descartaLasClavesNuncaVistasSinConsultarLaBase() {
+        when(delegado.reservar("nueva")).thenReturn(true);
+
+        assertThat(cache.reservar("nueva")).isTrue();
+        assertThat(cache.findById("nueva")).isEmpty();
+
+        verify(delegado, never()).findById("nueva");
+        assertThat(cache.descartadasPorFiltro()).isEqualTo(1);
+    }
+
+    @Test
+    void findById_consultaLaBaseCuandoLaReservaFallaYRecuerdaLaRespuesta() {
+        var registro = registro("existente");
+        when(delegado.reservar("existente")).thenReturn(false);
+        when(delegado.findById("existente")).thenReturn(Optional.of(registro));
+
+        assertThat(cache.reservar("existente")).isFalse();
+        assertThat(cache.findById("existente")).contains(registro);
+        assertThat(cache.findById("existente")).contains(registro);
+
+        verify(delegado).findById("existente");
+    }
+
+    @Test
+    void save_fueraDeUnaTransaccionSirveLaRespuestaDesdeMemoria() {
+        var registro = registro("guardada");
+
+        cache.save(registro);
+
+        assertThat(cache.findById("guardada")).contains(registro);
+        verify(delegado).save(registro);
+        verify(delegado, never()).findById("guardada");
+    }
+
+    private IdempotencyRecord registro(String clave) {
+        return IdempotencyRecord.builder()
+                .idempotencyKey(clave)
+                .responseBody("{}".getBytes(StandardCharsets.UTF_8))
+                .responseStatus(201)
+                .createdAt(LocalDateTime.now(CLOCK))
+                .build();
+    }
+}
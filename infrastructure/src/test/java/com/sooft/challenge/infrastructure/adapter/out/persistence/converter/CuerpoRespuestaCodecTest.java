@@ -0,0 +1,42 @@
+package com.sooft.challenge.infrastructure.adapter.out.persistence.converter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CuerpoRespuestaCodecTest {
+
+    @Test
+    @DisplayName("Debe comprimir con Deflate y recuperar el cuerpo original")
+    void comprimir_yDescomprimir_recuperaElCuerpo() {
+        var cuerpo = ("{\"id\":\"ABC12345\",\"cuit\":\"20-12345678-9\",\"razonSocial\":\"Empresa de prueba S.A.\"," +
+                "\"razonSocialAnterior\":\"Empresa de prueba S.A.\",\"numeroCuenta\":\"123456789012345\"}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        var almacenado = CuerpoRespuestaCodec.comprimir(cuerpo);
+
+        assertEquals(CuerpoRespuestaCodec.DEFLATE, almacenado[0]);
+        assertTrue(almacenado.length < cuerpo.length);
+        assertArrayEquals(cuerpo, CuerpoRespuestaCodec.descomprimir(almacenado));
+    }
+
+    @Test
+    @DisplayName("Debe guardar sin comprimir cuando Deflate no reduce el tamaño")
+    void comprimir_cuerpoIncompresible_seGuardaCrudo() {
+        var cuerpo = "{}".getBytes(StandardCharsets.UTF_8);
+
+        var almacenado = CuerpoRespuestaCodec.comprimir(cuerpo);
+
+        assertEquals(CuerpoRespuestaCodec.SIN_COMPRIMIR, almacenado[0]);
+        assertArrayEquals(cuerpo, CuerpoRespuestaCodec.descomprimir(almacenado));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un formato desconocido")
+    void descomprimir_formatoDesconocido_lanzaExcepcion() {
+        assertThrows(IllegalStateException.class, () -> CuerpoRespuestaCodec.descomprimir(new byte[]{9, 1, 2}));
+    }
+}
@@ -2,13 +2,13 @@ package com.sooft.challenge.infrastructure.adapter.out.persistence.mapper;
 
 import com.sooft.challenge.domain.model.Cuit;
 import com.sooft.challenge.domain.model.Empresa;
+import com.sooft.challenge.domain.model.Monto;
 import com.sooft.challenge.domain.model.NumeroCuenta;
 import com.sooft.challenge.infrastructure.adapter.out.persistence.entity.EmpresaEntity;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -28,7 +28,7 @@ class EmpresaMapperTest {
         entity.setRazonSocial("Razón Social Entity");
         entity.setCuit(Cuit.of("30-11111111-1"));
         entity.setFechaAdhesion(LocalDate.of(2024, 1, 15));
-        entity.setSaldo(new BigDecimal("2500.50"));
+        entity.setSaldo(Monto.of("2500.50"));
         entity.setNumeroCuenta(NumeroCuenta.of("ACC-ENTITY-123"));
 
         Empresa domainModel = mapper.toDomain(entity);
@@ -50,7 +50,7 @@ class EmpresaMapperTest {
                 .razonSocial("Razón Social Dominio")
                 .cuit(Cuit.of("30-22222222-2"))
                 .fechaAdhesion(LocalDate.of(2023, 5, 20))
-                .saldo(new BigDecimal("999.99"))
+                .saldo(Monto.of("999.99"))
                 .numeroCuenta(NumeroCuenta.of("ACC-DOMAIN-456"))
                 .build();
 
@@ -1,12 +1,12 @@
 package com.sooft.challenge.infrastructure.adapter.out.persistence.mapper;
 
+import com.sooft.challenge.domain.model.Monto;
 import com.sooft.challenge.domain.model.Transferencia;
 import com.sooft.challenge.infrastructure.adapter.out.persistence.entity.TransferenciaEntity;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -26,7 +26,7 @@ class TransferenciaMapperTest {
         transferenciaEntity.setId(1L);
         transferenciaEntity.setCuentaDebito("ORIGEN-001");
         transferenciaEntity.setCuentaCredito("DESTINO-002");
-        transferenciaEntity.setImporte(new BigDecimal("150.75"));
+        transferenciaEntity.setImporte(Monto.of("150.75"));
         transferenciaEntity.setFecha(LocalDate.now());
 
         Transferencia transferenciaModel = mapper.toDomain(transferenciaEntity);
@@ -47,7 +47,7 @@ class TransferenciaMapperTest {
                 .id(2L)
                 .cuentaDebito("DOMAIN-ORIGEN-003")
                 .cuentaCredito("DOMAIN-DESTINO-004")
-                .importe(new BigDecimal("88.88"))
+                .importe(Monto.of("88.88"))
                 .fecha(LocalDate.now())
                 .build();
 
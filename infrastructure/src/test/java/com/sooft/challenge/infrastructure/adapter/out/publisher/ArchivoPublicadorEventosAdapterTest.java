@@ -0,0 +1,57 @@
+package com.sooft.challenge.infrastructure.adapter.out.publisher;
+
+import com.sooft.challenge.domain.model.EventoOutbox;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ArchivoPublicadorEventosAdapterTest {
+
+    @TempDir
+    Path directorio;
+
+    private Path archivo;
+
+    private ArchivoPublicadorEventosAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        archivo = directorio.resolve("outbox").resolve("eventos.ndjson");
+        adapter = new ArchivoPublicadorEventosAdapter(archivo.toString());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        adapter.cerrar();
+    }
+
+    @Test
+    @DisplayName("Debe agregar una línea NDJSON por evento en publicaciones sucesivas")
+    void publicar_agregaUnaLineaPorEvento() throws IOException {
+        adapter.publicar(List.of(evento(1), evento(2)));
+        adapter.publicar(List.of(evento(3)));
+
+        List<String> lineas = Files.readAllLines(archivo);
+
+        assertEquals(3, lineas.size());
+        assertEquals("{\"id\":1,\"tipo\":\"TransferenciaRealizada\",\"clave\":\"1234567890\","
+                + "\"creadoEn\":\"2024-05-20T10:00\",\"payload\":{\"idTransferencia\":1}}", lineas.get(0));
+        assertEquals("{\"id\":3,\"tipo\":\"TransferenciaRealizada\",\"clave\":\"1234567890\","
+                + "\"creadoEn\":\"2024-05-20T10:00\",\"payload\":{\"idTransferencia\":3}}", lineas.get(2));
+    }
+
+    private EventoOutbox evento(long id) {
+        return new EventoOutbox(id, "TransferenciaRealizada", "1234567890",
+                "{\"idTransferencia\":" + id + "}", LocalDateTime.of(2024, 5, 20, 10, 0));
+    }
+}
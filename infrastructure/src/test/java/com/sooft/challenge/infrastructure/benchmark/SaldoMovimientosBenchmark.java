@@ -0,0 +1,117 @@
+package com.sooft.challenge.infrastructure.benchmark;
+
+import org.flywaydb.core.Flyway;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class SaldoMovimientosBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:benchmark_saldos;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000";
+    private static final String ACREDITAR_FILA_UNICA =
+            "UPDATE empresa_saldos SET saldo = saldo + ? WHERE empresa_id = (SELECT e.id FROM empresas e WHERE e.codigo = ?)";
+    private static final String ACREDITAR_MOVIMIENTO =
+            "INSERT INTO movimientos (id, empresa_id, importe, fecha) " +
+            "SELECT NEXT VALUE FOR movimientos_seq, e.id, ?, CURRENT_DATE FROM empresas e WHERE e.codigo = ?";
+
+    public static void main(String[] args) throws Exception {
+        int hilos = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int creditosPorHilo = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        long trabajoEnTransaccionMicros = args.length > 2 ? Long.parseLong(args[2]) : 200;
+
+        Flyway.configure().dataSource(URL, "sa", "").load().migrate();
+        crearEmpresa("FILA", "30-11111111-1", "111111111");
+        crearEmpresa("MOVS", "30-22222222-2", "222222222");
+
+        System.out.printf("Hilos: %d, créditos por hilo: %d, trabajo en transacción: %d µs%n",
+                hilos, creditosPorHilo, trabajoEnTransaccionMicros);
+        for (int ronda = 0; ronda < 3; ronda++) {
+            medir("fila única", hilos, creditosPorHilo, trabajoEnTransaccionMicros, conexion -> {
+                try (PreparedStatement sentencia = conexion.prepareStatement(ACREDITAR_FILA_UNICA)) {
+                    sentencia.setBigDecimal(1, BigDecimal.ONE);
+                    sentencia.setString(2, "FILA");
+                    return sentencia.executeUpdate();
+                }
+            });
+            medir("movimientos", hilos, creditosPorHilo, trabajoEnTransaccionMicros, conexion -> {
+                try (PreparedStatement sentencia = conexion.prepareStatement(ACREDITAR_MOVIMIENTO)) {
+                    sentencia.setBigDecimal(1, BigDecimal.ONE);
+                    sentencia.setString(2, "MOVS");
+                    return sentencia.executeUpdate();
+                }
+            });
+        }
+    }
+
+    private static void medir(String nombre, int hilos, int creditosPorHilo, long trabajoMicros, Credito credito) throws Exception {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        List<Future<Void>> tareas = new ArrayList<>();
+        long inicio = System.nanoTime();
+        for (int hilo = 0; hilo < hilos; hilo++) {
+            tareas.add(ejecutor.submit(() -> {
+                try (Connection conexion = DriverManager.getConnection(URL, "sa", "")) {
+                    conexion.setAutoCommit(false);
+                    for (int i = 0; i < creditosPorHilo; i++) {
+                        if (credito.aplicar(conexion) != 1) {
+                            throw new IllegalStateException("El crédito no actualizó ninguna fila");
+                        }
+                        esperarActivamente(trabajoMicros);
+                        conexion.commit();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<Void> tarea : tareas) {
+            tarea.get();
+        }
+        long transcurrido = System.nanoTime() - inicio;
+        ejecutor.shutdown();
+        ejecutor.awaitTermination(1, TimeUnit.MINUTES);
+
+        long total = (long) hilos * creditosPorHilo;
+        System.out.printf("%-12s %,10d créditos en %,8d ms -> %,10.0f créditos/s%n",
+                nombre, total, TimeUnit.NANOSECONDS.toMillis(transcurrido), total / (transcurrido / 1e9));
+    }
+
+    private static void esperarActivamente(long micros) {
+        long hasta = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(micros);
+        while (System.nanoTime() < hasta) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void crearEmpresa(String codigo, String cuit, String numeroCuenta) throws SQLException {
+        try (Connection conexion = DriverManager.getConnection(URL, "sa", "")) {
+            try (PreparedStatement sentencia = conexion.prepareStatement(
+                    "INSERT INTO empresas (id, codigo, razon_social, cuit, fecha_adhesion, numero_cuenta, saldo) " +
+                            "VALUES (?, ?, ?, ?, CURRENT_DATE, ?, 0)")) {
+                sentencia.setString(1, codigo);
+                sentencia.setString(2, codigo);
+                sentencia.setString(3, codigo + " Corp");
+                sentencia.setString(4, cuit);
+                sentencia.setString(5, numeroCuenta);
+                sentencia.executeUpdate();
+            }
+            try (PreparedStatement sentencia = conexion.prepareStatement(
+                    "INSERT INTO empresa_saldos (empresa_id, saldo) VALUES (?, 0)")) {
+                sentencia.setString(1, codigo);
+                sentencia.executeUpdate();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Credito {
+        int aplicar(Connection conexion) throws SQLException;
+    }
+}
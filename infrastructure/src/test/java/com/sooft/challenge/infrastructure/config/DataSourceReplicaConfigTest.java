@@ -0,0 +1,95 @@
+package com.sooft.challenge.infrastructure.config;
+
+import com.sooft.challenge.application.service.EmpresaService;
+import com.sooft.challenge.domain.model.Empresa;
+import jakarta.persistence.EntityManager;
+import org.flywaydb.core.Flyway;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "datasource.replica.enabled=true",
+        "datasource.replica.jdbc-url=" + DataSourceReplicaConfigTest.URL_REPLICA
+})
+class DataSourceReplicaConfigTest {
+
+    static final String URL_REPLICA = "jdbc:h2:file:./target/replica/challenge_db";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EmpresaService empresaService;
+
+    @BeforeAll
+    static void prepararReplica() throws SQLException {
+        var flyway = Flyway.configure().dataSource(URL_REPLICA, "sa", "password").cleanDisabled(false).load();
+        flyway.clean();
+        flyway.migrate();
+        try (var conexion = DriverManager.getConnection(URL_REPLICA, "sa", "password");
+             var sentencia = conexion.createStatement()) {
+            sentencia.executeUpdate("INSERT INTO empresas (id, codigo, razon_social, cuit, fecha_adhesion, numero_cuenta, saldo) " +
+                    "VALUES ('replica-1', 'REPLICA001', 'Empresa Solo En Replica', '30444444444', DATE '2024-05-01', '99999-9', 0)");
+        }
+    }
+
+    @Test
+    @DisplayName("Las transacciones de solo lectura deben usar la réplica con una sesión de Hibernate read-only")
+    void soloLectura_usaReplica() {
+        var template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+
+        template.executeWithoutResult(status -> {
+            assertTrue(urlConexion().startsWith(URL_REPLICA));
+            assertTrue(entityManager.unwrap(Session.class).isDefaultReadOnly());
+        });
+    }
+
+    @Test
+    @DisplayName("Las transacciones de escritura deben usar la base primaria")
+    void escritura_usaPrimaria() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            assertFalse(urlConexion().startsWith(URL_REPLICA));
+            assertFalse(entityManager.unwrap(Session.class).isDefaultReadOnly());
+        });
+    }
+
+    @Test
+    @DisplayName("Los listados de empresas deben leerse desde la réplica")
+    void findAll_leeDeLaReplica() {
+        var empresas = empresaService.findAll(PageRequest.of(0, 10)).getContent();
+
+        assertEquals(1, empresas.size());
+        assertEquals("REPLICA001", empresas.stream().map(Empresa::getCodigo).findFirst().orElseThrow());
+    }
+
+    private String urlConexion() {
+        try {
+            return DataSourceUtils.getConnection(dataSource).getMetaData().getURL();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}